@@ -0,0 +1,272 @@
+package benchmark;
+
+import features.nami.GitHub;
+import features.nami.Issue;
+import org.junit.jupiter.api.Test;
+import org.noear.nami.*;
+import org.noear.nami.annotation.NamiBody;
+import org.noear.nami.annotation.NamiMapping;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.MethodWrap;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Nami 客户端的调用计划（与之前逐次解析的结果一致；main 为单次调用开销的基准，本地桩通道，不走网络）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class NamiCallPlanTest {
+    public interface UserApi {
+        @NamiMapping(value = "GET /user/{id}/detail", headers = "X-Ver=1")
+        String detail(Integer id, String lang);
+
+        @NamiMapping("PUT user/{id}")
+        String update(long id, @NamiBody Map<String, Object> data);
+
+        String list(String key, Integer page);
+    }
+
+    static final Result stubResult = new Result(200, new byte[0]);
+
+    static final Channel stubChannel = ctx -> stubResult;
+
+    static final Decoder stubDecoder = new Decoder() {
+        @Override
+        public String enctype() {
+            return "application/json";
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            return null;
+        }
+
+        @Override
+        public void pretreatment(Context ctx) {
+
+        }
+    };
+
+    @Test
+    public void url() throws Exception {
+        Issue issue = new Issue();
+        issue.title = "测试";
+        issue.body = "同题";
+
+        for (String url : new String[]{"http://127.0.0.1:8080", "http://127.0.0.1:8080/", "http://127.0.0.1:8080/{fun}?v=1"}) {
+            Recorder recorder = new Recorder();
+            GitHub github = builder(recorder).url(url).create(GitHub.class);
+            UserApi userApi = builder(recorder).url(url).create(UserApi.class);
+
+            recorder.call(github, "contributors", "OpenFeign", "feign");
+            recorder.call(github, "createIssue", issue, "OpenFeign", "feign");
+            recorder.call(userApi, "detail", 12, "zh");
+            recorder.call(userApi, "detail", 7, null);
+            recorder.call(userApi, "update", 3L, new HashMap<>());
+            recorder.call(userApi, "list", "a", 1);
+
+            recorder.check(ctx -> url, null);
+        }
+    }
+
+    @Test
+    public void upstream() throws Exception {
+        for (String path : new String[]{"", "/api", "api/"}) {
+            Recorder recorder = new Recorder();
+            GitHub github = builder(recorder).upstream(() -> "127.0.0.1:8080/x").path(path).create(GitHub.class);
+            UserApi userApi = builder(recorder).upstream(() -> "http://127.0.0.1:8080").path(path).create(UserApi.class);
+
+            recorder.call(github, "contributors", "OpenFeign", "feign");
+            recorder.call(github, "contributors", "noear", "solon");
+            recorder.call(userApi, "detail", 12, "zh");
+            recorder.call(userApi, "update", 3L, null);
+            recorder.call(userApi, "list", null, 2);
+
+            recorder.check(ctx -> (ctx.method.getDeclaringClass() == GitHub.class ? "127.0.0.1:8080/x" : "http://127.0.0.1:8080"), path);
+        }
+    }
+
+    private static NamiBuilder builder(Recorder recorder) {
+        return Nami.builder()
+                .decoder(stubDecoder)
+                .channel(recorder);
+    }
+
+    /**
+     * 记录通道（记下每次调用的上下文与参数值）
+     */
+    static class Recorder implements Channel {
+        final List<Context> calls = new ArrayList<>();
+        final List<Object[]> valsList = new ArrayList<>();
+
+        @Override
+        public Result call(Context ctx) {
+            calls.add(ctx);
+            return stubResult;
+        }
+
+        void call(Object proxy, String name, Object... vals) throws Exception {
+            for (Method m : proxy.getClass().getInterfaces()[0].getMethods()) {
+                if (m.getName().equals(name)) {
+                    valsList.add(vals);
+                    m.invoke(proxy, vals);
+                    return;
+                }
+            }
+
+            throw new IllegalArgumentException(name);
+        }
+
+        void check(Function<Context, String> urlOf, String path) {
+            assert calls.size() == valsList.size();
+
+            for (int i = 0; i < calls.size(); i++) {
+                Context actual = calls.get(i);
+                Context expected = legacy(actual, valsList.get(i), urlOf.apply(actual), path);
+
+                assert expected.url.equals(actual.url) : actual.url + " != " + expected.url;
+                assert String.valueOf(expected.action).equals(String.valueOf(actual.action)) : actual.action;
+                assert expected.headers.equals(actual.headers) : actual.headers + " != " + expected.headers;
+                assert new ArrayList<>(expected.args.entrySet()).equals(new ArrayList<>(actual.args.entrySet())) : actual.args + " != " + expected.args;
+                //没有主体时，Nami 用参数作主体
+                assert actual.body == (expected.body == null ? actual.args : expected.body);
+            }
+        }
+    }
+
+    //////////////////
+
+    private static final Pattern pathKeyExpr = Pattern.compile("\\{([^\\\\}]+)\\}");
+
+    /**
+     * 之前逐次解析的做法（用作对照）
+     *
+     * @param path 接口级路径（为 null 时，表示直接 url）
+     */
+    private static Context legacy(Context ctx, Object[] vals, String url, String path) {
+        Method method = ctx.method;
+        MethodWrap methodWrap = MethodWrap.get(method);
+
+        Map<String, String> headers = new HashMap<>(ctx.config.getHeaders());
+        Map<String, Object> args = new LinkedHashMap<>();
+        Object body = null;
+        Parameter[] names = methodWrap.getParameters();
+        for (int i = 0, len = names.length; i < len; i++) {
+            if (vals[i] != null) {
+                args.put(names[i].getName(), vals[i]);
+            }
+        }
+
+        if (methodWrap.getBodyName() != null) {
+            body = args.get(methodWrap.getBodyName());
+
+            if (ctx.config.getEncoder() == null) {
+                headers.putIfAbsent(Constants.HEADER_CONTENT_TYPE, methodWrap.getBodyAnno().contentType());
+            }
+        }
+
+        String fun = method.getName();
+        String act = null;
+
+        if (methodWrap.getMappingAnno() != null) {
+            if (methodWrap.getAct() != null) {
+                act = methodWrap.getAct();
+            }
+
+            if (methodWrap.getFun() != null) {
+                fun = methodWrap.getFun();
+            }
+
+            if (methodWrap.getMappingHeaders() != null) {
+                headers.putAll(methodWrap.getMappingHeaders());
+            }
+        }
+
+        if (path != null) {
+            if (url.indexOf("://") < 0) {
+                url = "http://" + url;
+            }
+
+            if (path.length() > 0) {
+                int idx = url.indexOf("/", 9);
+                if (idx > 0) {
+                    url = url.substring(0, idx);
+                }
+
+                if (path.endsWith("/")) {
+                    fun = path + fun;
+                } else {
+                    fun = path + "/" + fun;
+                }
+            }
+        }
+
+        if (fun.indexOf("{") > 0) {
+            Matcher pm = pathKeyExpr.matcher(fun);
+            Map<String, String> pathKeys = new LinkedHashMap<>();
+            while (pm.find()) {
+                pathKeys.put(pm.group(), pm.group(1));
+            }
+
+            for (Map.Entry<String, String> kv : pathKeys.entrySet()) {
+                Object arg = args.get(kv.getValue());
+
+                if (arg != null) {
+                    fun = fun.replace(kv.getKey(), arg.toString());
+                    args.remove(kv.getValue());
+                }
+            }
+        }
+
+        //与 Nami::url(url, fun) 一致
+        if (url.indexOf("{fun}") > 0) {
+            url = url.replace("{fun}", fun);
+        } else if (url.endsWith("/")) {
+            url = url + (fun.startsWith("/") ? fun.substring(1) : fun);
+        } else {
+            url = url + (fun.startsWith("/") ? fun : "/" + fun);
+        }
+
+        Context expected = new Context(ctx.config, null, method, act == null ? ctx.action : act, url);
+        expected.headers.putAll(headers);
+        expected.args.putAll(args);
+        expected.body = body;
+        return expected;
+    }
+
+    //////////////////
+
+    public static void main(String[] args) {
+        GitHub github = Nami.builder()
+                .decoder(stubDecoder)
+                .channel(stubChannel)
+                .upstream(() -> "http://127.0.0.1:8080")
+                .create(GitHub.class);
+
+        Issue issue = new Issue();
+        issue.title = "测试";
+        issue.body = "同题";
+
+        int count = 2_000_000;
+
+        for (int r = 0; r < 3; r++) {
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < count; i++) {
+                github.contributors("OpenFeign", "feign");
+                github.createIssue(issue, "OpenFeign", "feign");
+            }
+            System.out.println("call: " + (System.currentTimeMillis() - start) + "ms");
+        }
+    }
+}
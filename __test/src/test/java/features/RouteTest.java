@@ -4,7 +4,12 @@ import org.junit.Test;
 import org.noear.solon.auth.impl.AuthRuleImpl;
 import org.noear.solon.core.handle.MethodType;
 import org.noear.solon.core.route.PathRule;
+import org.noear.solon.core.handle.Result;
 import org.noear.solon.core.route.RoutingDefault;
+import org.noear.solon.core.route.RoutingTableRadix;
+
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author noear 2024/1/2 created
@@ -45,4 +50,33 @@ public class RouteTest {
         assert pathRule.test("/captchaImage") == false;
         assert pathRule.test("/captchaimage");
     }
+
+    @Test
+    public void routingTableRadix() {
+        RoutingTableRadix<String> table = new RoutingTableRadix<>();
+        table.add(new RoutingDefault<>("/user/{id}", MethodType.GET, "user"));
+        table.add(new RoutingDefault<>("/user/{id}/avatar.{ext}", MethodType.GET, "avatar"));
+        table.add(new RoutingDefault<>("/static/**", MethodType.HTTP, "static"));
+        table.add(0, new RoutingDefault<>("/user/list", MethodType.POST, "list"));
+
+        Map<String, String> pathVars = new HashMap<>();
+        Result<String> rst = table.matchOneAndStatus("/user/12", MethodType.GET, pathVars);
+        assert "user".equals(rst.getData());
+        assert "12".equals(pathVars.get("id"));
+
+        pathVars = new HashMap<>();
+        rst = table.matchOneAndStatus("/user/12/avatar.png", MethodType.GET, pathVars);
+        assert "avatar".equals(rst.getData());
+        assert "12".equals(pathVars.get("id"));
+        assert "png".equals(pathVars.get("ext"));
+
+        //静态记录在前，优先
+        assert "list".equals(table.matchOne("/user/list", MethodType.POST));
+        assert "user".equals(table.matchOne("/user/list", MethodType.GET));
+
+        assert "static".equals(table.matchOne("/static/js/app.js", MethodType.GET));
+
+        assert table.matchOneAndStatus("/user/12", MethodType.POST).getCode() == 405;
+        assert table.matchOneAndStatus("/order/12", MethodType.GET).getCode() == 404;
+    }
 }
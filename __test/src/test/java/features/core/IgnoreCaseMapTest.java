@@ -0,0 +1,216 @@
+package features.core;
+
+import org.junit.jupiter.api.Test;
+import org.noear.solon.core.NvMap;
+import org.noear.solon.core.util.IgnoreCaseMap;
+
+import java.util.*;
+
+/**
+ * IgnoreCaseMap 的正确性验证
+ *
+ * @author noear 2023/12/1 created
+ */
+public class IgnoreCaseMapTest {
+    @Test
+    public void putGetRemove() {
+        IgnoreCaseMap<String> map = new IgnoreCaseMap<>();
+
+        assert map.put("Content-Type", "text/html") == null;
+        assert map.put("X-Token", "1") == null;
+
+        assert "text/html".equals(map.get("content-type"));
+        assert "text/html".equals(map.get("CONTENT-TYPE"));
+        assert map.containsKey("x-token");
+        assert map.get("x-tokens") == null;
+        assert map.size() == 2;
+
+        assert "1".equals(map.remove("X-TOKEN"));
+        assert map.remove("X-TOKEN") == null;
+        assert map.containsKey("x-token") == false;
+        assert map.size() == 1;
+
+        map.clear();
+        assert map.isEmpty();
+        assert map.get("content-type") == null;
+    }
+
+    @Test
+    public void caseVariants() {
+        IgnoreCaseMap<String> map = new IgnoreCaseMap<>();
+
+        map.put("a", "1");
+        map.put("Name", "2");
+        map.put("b", "3");
+
+        //同名（大小写不同）：替换值，键以新的为准，并移到最后
+        assert "2".equals(map.put("NAME", "4"));
+        assert map.size() == 3;
+        assert Arrays.asList("a", "b", "NAME").equals(new ArrayList<>(map.keySet()));
+        assert "4".equals(map.get("name"));
+
+        //同名（大小写相同）：原位替换
+        assert "1".equals(map.put("a", "5"));
+        assert Arrays.asList("a", "b", "NAME").equals(new ArrayList<>(map.keySet()));
+
+        //非 ASCII
+        map.put("Ärger", "6");
+        assert "6".equals(map.get("ärger"));
+        assert "6".equals(map.get("ÄRGER"));
+    }
+
+    @Test
+    public void iteration() {
+        IgnoreCaseMap<Integer> map = new IgnoreCaseMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("Key" + i, i);
+        }
+
+        //按插入顺序，遍历时移除
+        int expected = 0;
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Integer> entry = iterator.next();
+            assert entry.getValue() == expected;
+            assert entry.getKey().equals("Key" + expected);
+
+            if (expected % 2 == 0) {
+                iterator.remove();
+            }
+            expected++;
+        }
+
+        assert expected == 100;
+        assert map.size() == 50;
+
+        for (int i = 0; i < 100; i++) {
+            assert map.containsKey("KEY" + i) == (i % 2 == 1);
+        }
+
+        //添加后的压缩不影响顺序
+        for (int i = 100; i < 200; i++) {
+            map.put("key" + i, i);
+        }
+
+        int last = -1;
+        for (Integer v : map.values()) {
+            assert v > last;
+            last = v;
+        }
+        assert map.size() == 150;
+    }
+
+    @Test
+    public void collisions() {
+        //"a_" 与 "b@" 的（小写）哈希相同
+        assert "a_".hashCode() == "b@".hashCode();
+
+        IgnoreCaseMap<String> map = new IgnoreCaseMap<>();
+        map.put("A_", "1");
+        map.put("b@", "2");
+        map.put("Aa", "3");
+        map.put("bB", "4");
+
+        assert "1".equals(map.get("a_"));
+        assert "2".equals(map.get("B@"));
+        assert "3".equals(map.get("AA"));
+        assert "4".equals(map.get("BB"));
+
+        //移除探测链中间的项，后面的仍可找到
+        map.remove("a_");
+        assert map.get("a_") == null;
+        assert "2".equals(map.get("b@"));
+        assert "3".equals(map.get("aa"));
+        assert "4".equals(map.get("bb"));
+    }
+
+    @Test
+    public void randomAgainstReference() {
+        Random random = new Random(1);
+        IgnoreCaseMap<Integer> map = new IgnoreCaseMap<>(4, null);
+        //参考实现：小写键 -> 原始键与值（按插入顺序）
+        LinkedHashMap<String, Map.Entry<String, Integer>> ref = new LinkedHashMap<>();
+
+        for (int i = 0; i < 20000; i++) {
+            String key = randomKey(random);
+            String lower = key.toLowerCase(Locale.ROOT);
+
+            switch (random.nextInt(3)) {
+                case 0:
+                case 1: {
+                    Map.Entry<String, Integer> old = ref.get(lower);
+                    Integer prev = map.put(key, i);
+
+                    assert Objects.equals(prev, old == null ? null : old.getValue());
+
+                    if (old != null && old.getKey().equals(key) == false) {
+                        ref.remove(lower);
+                    }
+                    if (old != null && old.getKey().equals(key)) {
+                        old.setValue(i);
+                    } else {
+                        ref.put(lower, new AbstractMap.SimpleEntry<>(key, i));
+                    }
+                    break;
+                }
+                default: {
+                    Map.Entry<String, Integer> old = ref.remove(lower);
+                    Integer prev = map.remove(key);
+
+                    assert Objects.equals(prev, old == null ? null : old.getValue());
+                    break;
+                }
+            }
+
+            assert map.size() == ref.size();
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (Map.Entry<String, Integer> e : ref.values()) {
+            keys.add(e.getKey());
+            assert e.getValue().equals(map.get(e.getKey().toUpperCase(Locale.ROOT)));
+        }
+
+        assert keys.equals(new ArrayList<>(map.keySet()));
+    }
+
+    @Test
+    public void convertKeyOverride() {
+        //重写 convertKey 的，存取按重写的结果
+        IgnoreCaseMap<String> map = new IgnoreCaseMap<String>() {
+            @Override
+            protected String convertKey(String key) {
+                return super.convertKey(key).replace('_', '-');
+            }
+        };
+
+        map.put("X_Token", "1");
+        assert "1".equals(map.get("x-token"));
+        assert "1".equals(map.remove("X-TOKEN"));
+        assert map.isEmpty();
+    }
+
+    @Test
+    public void nvMapClone() {
+        NvMap map = new NvMap();
+        map.put("Id", "1");
+        map.put("Name", "noear");
+
+        IgnoreCaseMap<String> copy = map.clone();
+        copy.remove("id");
+
+        assert "1".equals(map.get("ID"));
+        assert copy.get("ID") == null;
+        assert "noear".equals(copy.get("NAME"));
+    }
+
+    private static String randomKey(Random random) {
+        //小的键空间，让同名与大小写变体经常出现
+        char[] chars = new char[1 + random.nextInt(2)];
+        for (int i = 0; i < chars.length; i++) {
+            char c = (char) ('a' + random.nextInt(6));
+            chars[i] = random.nextBoolean() ? Character.toUpperCase(c) : c;
+        }
+        return new String(chars);
+    }
+}
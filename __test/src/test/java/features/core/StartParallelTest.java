@@ -0,0 +1,141 @@
+package features.core;
+
+import org.junit.jupiter.api.Test;
+import org.noear.solon.annotation.*;
+import org.noear.solon.core.AppContext;
+import org.noear.solon.core.Props;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 并行启动（solon.start.parallel）的顺序验证
+ *
+ * @author noear 2023/12/1 created
+ */
+public class StartParallelTest {
+    static final List<String> trace = new CopyOnWriteArrayList<>();
+
+    private AppContext newContext() {
+        Props props = new Props();
+        props.put(AppContext.PROP_START_PARALLEL, "true");
+
+        return new AppContext(StartParallelTest.class.getClassLoader(), props);
+    }
+
+    @Test
+    public void interfaceChain() {
+        trace.clear();
+
+        AppContext context = newContext();
+
+        //故意倒序登记
+        context.beanMake(OrderController.class);
+        context.beanMake(OrderServiceImpl.class);
+        context.beanMake(UserCacheWarmup.class);
+        context.beanMake(OrderRepo.class);
+
+        context.start();
+
+        System.out.println(trace);
+
+        //通过接口注入的，依赖图不完整，要等同顺序位的（实现类）都完成后再执行
+        assert context.getBean(OrderController.class).serviceReady;
+        assert trace.size() == 4;
+        assert "repo".equals(trace.get(0));
+        assert "controller".equals(trace.get(3));
+    }
+
+    @Test
+    public void beanMethods() {
+        AppContext context = newContext();
+
+        context.beanMake(PoolConfig.class);
+
+        String pool1 = context.getBean("pool1");
+        String pool2 = context.getBean("pool2");
+
+        System.out.println(pool1 + ", " + pool2);
+
+        //无参数的 @Bean 函数在启动线程池上并行执行
+        assert pool1 != null && pool1.startsWith("Solon-start-");
+        assert pool2 != null && pool2.startsWith("Solon-start-");
+        assert pool1.equals(pool2) == false;
+
+        context.start();
+    }
+
+    public interface OrderService {
+        boolean isReady();
+    }
+
+    @Component
+    public static class OrderRepo {
+        @Init
+        public void init() throws Exception {
+            Thread.sleep(50);
+            trace.add("repo");
+        }
+    }
+
+    @Component
+    public static class OrderServiceImpl implements OrderService {
+        @Inject
+        OrderRepo repo;
+
+        volatile boolean ready;
+
+        @Init
+        public void init() throws Exception {
+            Thread.sleep(100);
+            ready = true;
+            trace.add("service");
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+    }
+
+    @Component
+    public static class UserCacheWarmup {
+        @Inject
+        OrderRepo repo;
+
+        @Init
+        public void init() throws Exception {
+            Thread.sleep(100);
+            trace.add("warmup");
+        }
+    }
+
+    @Component
+    public static class OrderController {
+        @Inject
+        OrderService orderService;
+
+        volatile boolean serviceReady;
+
+        @Init
+        public void init() {
+            serviceReady = orderService.isReady();
+            trace.add("controller");
+        }
+    }
+
+    @Configuration
+    public static class PoolConfig {
+        @Bean("pool1")
+        public String pool1() throws Exception {
+            Thread.sleep(100);
+            return Thread.currentThread().getName();
+        }
+
+        @Bean("pool2")
+        public String pool2() throws Exception {
+            Thread.sleep(100);
+            return Thread.currentThread().getName();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package features.nami;
+
+import org.junit.jupiter.api.Test;
+import org.noear.nami.*;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nami 异步调用（CompletableFuture、Publisher）与返回体流的释放
+ *
+ * @author noear 2023/12/1 created
+ */
+public class NamiAsyncTest {
+    public interface HelloService {
+        CompletableFuture<String> hello(String name);
+
+        Publisher<String> helloRx(String name);
+
+        String helloSync(String name);
+    }
+
+    @Test
+    public void future() throws Exception {
+        List<Result> seen = new CopyOnWriteArrayList<>();
+        List<Result> completed = new CopyOnWriteArrayList<>();
+        CountDownLatch completedLatch = new CountDownLatch(1);
+
+        HelloService service = builder(new EchoChannel(null))
+                .filterAdd(inv -> {
+                    Result result = inv.invoke();
+                    //异步时，过滤器链上拿到的是占位结果（不是 null）
+                    seen.add(result);
+                    inv.future().whenComplete((r, e) -> {
+                        completed.add(r);
+                        completedLatch.countDown();
+                    });
+                    return result;
+                })
+                .create(HelloService.class);
+
+        assert "hello noear".equals(service.hello("noear").get(2, TimeUnit.SECONDS));
+
+        assert seen.size() == 1;
+        assert seen.get(0) != null && seen.get(0).isPending();
+        //过滤器挂接的后续处理，也能拿到真实结果
+        assert completedLatch.await(2, TimeUnit.SECONDS);
+        assert completed.size() == 1 && completed.get(0).code() == 200;
+    }
+
+    @Test
+    public void publisher() throws Exception {
+        HelloService service = builder(new EchoChannel(null)).create(HelloService.class);
+
+        List<Object> signals = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        service.helloRx("noear").subscribe(new Subscriber<String>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(String s) {
+                signals.add(s);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                signals.add(t);
+                latch.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("complete");
+                latch.countDown();
+            }
+        });
+
+        assert latch.await(2, TimeUnit.SECONDS);
+        assert signals.size() == 2;
+        assert "hello noear".equals(signals.get(0));
+        assert "complete".equals(signals.get(1));
+    }
+
+    @Test
+    public void cancelledReleasesStream() throws Exception {
+        CompletableFuture<Result> pending = new CompletableFuture<>();
+        HelloService service = builder(new EchoChannel(pending)).create(HelloService.class);
+
+        CompletableFuture<String> future = service.hello("noear");
+        future.cancel(false);
+
+        //取消后才到达的流式结果，要被释放
+        TrackedStream stream = new TrackedStream("hello".getBytes());
+        pending.complete(new Result(200, stream));
+
+        assert stream.closed;
+    }
+
+    @Test
+    public void replacedResultReleasesStream() throws Exception {
+        TrackedStream stream = new TrackedStream("hello".getBytes());
+
+        HelloService service = builder(new EchoChannel(null) {
+            @Override
+            public Result call(Context ctx) {
+                return new Result(200, stream);
+            }
+        })
+                .filterAdd(inv -> {
+                    inv.invoke();
+                    //过滤器替换了结果
+                    return new Result(200, "\"cached\"".getBytes());
+                })
+                .create(HelloService.class);
+
+        assert "cached".equals(service.helloSync("noear"));
+        assert stream.closed;
+    }
+
+    private NamiBuilder builder(Channel channel) {
+        return Nami.builder()
+                .url("http://localhost:8080/demo/")
+                .channel(channel)
+                .decoder(new TextDecoder());
+    }
+
+    /**
+     * 回显通道（pending 不为 null 时，异步结果由外部完成）
+     */
+    static class EchoChannel implements Channel {
+        private final CompletableFuture<Result> pending;
+
+        EchoChannel(CompletableFuture<Result> pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public Result call(Context ctx) {
+            String body = "\"hello " + ctx.args.get("name") + "\"";
+            return new Result(200, body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public CompletableFuture<Result> callAsync(Context ctx) {
+            if (pending != null) {
+                return pending;
+            }
+
+            return CompletableFuture.supplyAsync(() -> call(ctx));
+        }
+    }
+
+    /**
+     * 文本解码器（去掉引号）
+     */
+    static class TextDecoder implements Decoder {
+        @Override
+        public String enctype() {
+            return "application/json";
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            String str = rst.bodyAsString();
+            return (T) str.substring(1, str.length() - 1);
+        }
+
+        @Override
+        public void pretreatment(Context ctx) {
+
+        }
+    }
+
+    static class TrackedStream extends ByteArrayInputStream {
+        volatile boolean closed;
+
+        TrackedStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -1,18 +1,76 @@
 package org.noear.nami.channel.http.okhttp;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.noear.nami.*;
 import org.noear.nami.common.Constants;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Http 通道
  * */
 public class HttpChannel extends ChannelBase implements Channel {
     public static final HttpChannel instance = new HttpChannel();
 
+    /**
+     * 返回体超过这个大小（或长度未知，如分块传输）时，以流的形式交给解码器（不再整体读入内存）
+     */
+    private static final long bodyStreamThreshold = 512 * 1024;
+
     @Override
     public Result call(Context ctx) throws Throwable {
+        Call call = buildCall(ctx);
+
+        if (call == null) {
+            return null;
+        }
+
+        return buildResult(call.execute());
+    }
+
+    @Override
+    public CompletableFuture<Result> callAsync(Context ctx) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        Call call;
+
+        try {
+            call = buildCall(ctx);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        if (call == null) {
+            future.complete(null);
+            return future;
+        }
+
+        //异步执行（不占用调用线程）
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try {
+                    future.complete(buildResult(response));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+
+        return future;
+    }
+
+    private Call buildCall(Context ctx) throws Throwable {
         pretreatment(ctx);
 
         //0.检测method
@@ -45,18 +103,18 @@ public class HttpChannel extends ChannelBase implements Channel {
 
         //0.开始构建http
         HttpUtils http = HttpUtils.http(url).headers(ctx.headers).timeout(ctx.config.getTimeout());
-        Response response = null;
+        Call call = null;
         Encoder encoder = ctx.config.getEncoder();
 
-        //1.执行并返回
+        //1.构建调用
         if (is_get || ctx.args.size() == 0) {
-            response = http.exec(Constants.METHOD_GET);
+            call = http.call(Constants.METHOD_GET);
         } else {
             if (encoder == null) {
                 String ct0 = ctx.headers.getOrDefault(Constants.HEADER_CONTENT_TYPE, "");
 
                 if (ct0.length() == 0) {
-                    response = http.data(ctx.args).exec(ctx.action);
+                    call = http.data(ctx.args).call(ctx.action);
                 } else {
                     encoder = NamiManager.getEncoder(ct0);
                 }
@@ -65,20 +123,29 @@ public class HttpChannel extends ChannelBase implements Channel {
             }
         }
 
-        if (response == null && encoder != null) {
+        if (call == null && encoder != null) {
             byte[] bytes = encoder.encode(ctx.body);
 
             if (bytes != null) {
-                response = http.bodyRaw(bytes, encoder.enctype()).exec(ctx.action);
+                call = http.bodyRaw(bytes, encoder.enctype()).call(ctx.action);
             }
         }
 
-        if (response == null) {
-            return null;
-        }
+        return call;
+    }
+
+    private Result buildResult(Response response) throws IOException {
+        ResponseBody body = response.body();
 
         //2.构建结果
-        Result result = new Result(response.code(), response.body().bytes());
+        Result result;
+        long contentLength = body.contentLength();
+        if (contentLength < 0 || contentLength > bodyStreamThreshold) {
+            //大返回体（或分块传输的），交给解码器按流消费（由 Result.close 释放）
+            result = new Result(response.code(), body.byteStream());
+        } else {
+            result = new Result(response.code(), body.bytes());
+        }
 
         //2.1.设置头
         for (int i = 0, len = response.headers().size(); i < len; i++) {
@@ -86,7 +153,7 @@ public class HttpChannel extends ChannelBase implements Channel {
         }
 
         //2.2.设置字符码
-        MediaType contentType = response.body().contentType();
+        MediaType contentType = body.contentType();
         if (contentType != null) {
             result.charsetSet(contentType.charset());
         }
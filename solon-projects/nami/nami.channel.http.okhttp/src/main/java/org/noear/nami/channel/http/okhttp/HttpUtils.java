@@ -3,6 +3,8 @@ package org.noear.nami.channel.http.okhttp;
 import okhttp3.*;
 import org.noear.nami.NamiException;
 import org.noear.nami.NamiGlobal;
+import org.noear.solon.Solon;
+import org.noear.solon.core.util.ThreadsUtil;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
@@ -17,7 +19,13 @@ import java.util.function.Supplier;
  * */
 class HttpUtils {
     private final static Supplier<Dispatcher> httpClientDispatcher = () -> {
-        Dispatcher temp = new Dispatcher();
+        Dispatcher temp;
+        if (Solon.app() != null && Solon.cfg().isEnabledVirtualThreads() && ThreadsUtil.isSupportedVirtualThreads()) {
+            //异步调用（enqueue）时，用虚拟线程等待响应
+            temp = new Dispatcher(ThreadsUtil.newVirtualThreadPerTaskExecutor("Nami-okhttp-"));
+        } else {
+            temp = new Dispatcher();
+        }
         temp.setMaxRequests(NamiGlobal.getMaxConnections());
         temp.setMaxRequestsPerHost(NamiGlobal.getMaxConnections());
         return temp;
@@ -28,6 +36,7 @@ class HttpUtils {
             .writeTimeout(NamiGlobal.getWriteTimeout(), TimeUnit.SECONDS)
             .readTimeout(NamiGlobal.getReadTimeout(), TimeUnit.SECONDS)
             .dispatcher(httpClientDispatcher.get())
+            .connectionPool(new ConnectionPool(NamiGlobal.getMaxIdleConnections(), 5, TimeUnit.MINUTES))
             .addInterceptor(HttpInterceptor.instance)
             .sslSocketFactory(SSLClient.getSSLSocketFactory(), SSLClient.getX509TrustManager())
             .hostnameVerifier(SSLClient.defaultHostnameVerifier)
@@ -140,6 +149,13 @@ class HttpUtils {
      * 执行请求，返回响应对象
      * */
     public Response exec(String mothod) throws Exception {
+        return call(mothod).execute();
+    }
+
+    /**
+     * 构建请求调用（可同步 execute，或异步 enqueue）
+     * */
+    public Call call(String mothod) {
         if (_form != null) {
             FormBody.Builder fb = new FormBody.Builder(_charset);
 
@@ -162,8 +178,7 @@ class HttpUtils {
             default: throw new IllegalStateException("This method is not supported");
         }
 
-        Call call = _client.newCall(_builder.build());
-        return call.execute();
+        return _client.newCall(_builder.build());
     }
 
     private void tryInitForm(){
@@ -8,6 +8,7 @@ import org.noear.socketd.transport.core.Session;
 import org.noear.socketd.transport.core.entity.EntityDefault;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
@@ -32,6 +33,54 @@ public class SocketdChannel extends ChannelBase implements Channel {
      * */
     @Override
     public Result call(Context ctx) throws Throwable {
+        Entity request = buildRequest(ctx);
+
+        //3.获取会话
+        Session session = sessions.get();
+
+        //4.发送消息
+        Entity response = session.sendAndRequest(ctx.url, request, ctx.config.getTimeout() * 1000)
+                .await();
+
+        return buildResult(response);
+    }
+
+    /**
+     * 异步调用（用 socketd 原生的异步应答）
+     *
+     * @param ctx 上下文
+     * @return 调用结果
+     * @since 2.6
+     */
+    @Override
+    public CompletableFuture<Result> callAsync(Context ctx) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+
+        try {
+            Entity request = buildRequest(ctx);
+
+            //3.获取会话
+            Session session = sessions.get();
+
+            //4.发送消息
+            session.sendAndRequest(ctx.url, request, ctx.config.getTimeout() * 1000)
+                    .thenReply(reply -> {
+                        try {
+                            future.complete(buildResult(reply));
+                        } catch (Throwable e) {
+                            //应答处理出错时，也要结束（不然调用方会一直等）
+                            future.completeExceptionally(e);
+                        }
+                    })
+                    .thenError(future::completeExceptionally);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    private Entity buildRequest(Context ctx) throws Throwable {
         pretreatment(ctx);
 
         if(ctx.config.getDecoder() == null){
@@ -54,15 +103,10 @@ public class SocketdChannel extends ChannelBase implements Channel {
         //2.构建消息
         ctx.headers.put(Constants.HEADER_CONTENT_TYPE, encoder.enctype());
         byte[] bytes = encoder.encode(ctx.body);
-        Entity request = new EntityDefault().metaMapPut(ctx.headers).dataSet(bytes);
-
-        //3.获取会话
-        Session session = sessions.get();
-
-        //4.发送消息
-        Entity response = session.sendAndRequest(ctx.url, request, ctx.config.getTimeout() * 1000)
-                .await();
+        return new EntityDefault().metaMapPut(ctx.headers).dataSet(bytes);
+    }
 
+    private Result buildResult(Entity response) {
         if (response == null) {
             return null;
         }
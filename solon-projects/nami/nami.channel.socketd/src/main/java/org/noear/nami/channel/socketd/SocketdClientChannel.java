@@ -10,6 +10,7 @@ import org.noear.socketd.transport.core.Session;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Socketd 客户端通道
@@ -59,4 +60,21 @@ public class SocketdClientChannel extends ChannelBase implements Channel {
 
         return channel.call(ctx);
     }
+
+    @Override
+    public CompletableFuture<Result> callAsync(Context ctx) {
+        try {
+            pretreatment(ctx);
+
+            URI uri = URI.create(ctx.url);
+            String hostname = uri.getAuthority();
+            SocketdChannel channel = get(hostname, ctx.url);
+
+            return channel.callAsync(ctx);
+        } catch (Throwable e) {
+            CompletableFuture<Result> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
 }
@@ -14,6 +14,7 @@ import org.noear.nami.Result;
 import org.noear.nami.common.Constants;
 import org.noear.nami.common.ContentTypes;
 
+import java.io.InputStream;
 import java.lang.reflect.Type;
 
 /**
@@ -48,6 +49,11 @@ public class JacksonDecoder implements Decoder {
 
     @Override
     public <T> T decode(Result rst, Type type) {
+        if (rst.hasBodyStream() && rst.code() < 400) {
+            //大返回体，直接按流解码（不再转成字符串）
+            return decodeStream(rst, type);
+        }
+
         String str = rst.bodyAsString();
 
         Object returnVal = null;
@@ -66,6 +72,21 @@ public class JacksonDecoder implements Decoder {
             returnVal = ex;
         }
 
+        return returnOrThrow(returnVal);
+    }
+
+    private <T> T decodeStream(Result rst, Type type) {
+        Object returnVal = null;
+        try (InputStream in = rst.bodyAsStream()) {
+            returnVal = mapper_type.readValue(in, mapper_type.getTypeFactory().constructType(type));
+        } catch (Throwable ex) {
+            returnVal = ex;
+        }
+
+        return returnOrThrow(returnVal);
+    }
+
+    private <T> T returnOrThrow(Object returnVal) {
         if (returnVal != null && returnVal instanceof Throwable) {
             if (returnVal instanceof RuntimeException) {
                 throw (RuntimeException) returnVal;
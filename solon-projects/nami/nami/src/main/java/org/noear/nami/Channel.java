@@ -1,5 +1,7 @@
 package org.noear.nami;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Nami 执行通道
  *
@@ -8,4 +10,21 @@ package org.noear.nami;
  * */
 public interface Channel {
     Result call(Context ctx) throws Throwable;
+
+    /**
+     * 异步调用（不支持原生异步的通道，同步执行后返回已完成的结果）
+     *
+     * @since 2.6
+     */
+    default CompletableFuture<Result> callAsync(Context ctx) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+
+        try {
+            future.complete(call(ctx));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
 }
@@ -3,6 +3,7 @@ package org.noear.nami;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Nami - 调用者
@@ -13,13 +14,26 @@ import java.util.List;
 public class Invocation extends Context {
     private List<Filter> filters = new ArrayList<>();
     private int index;
+    private final boolean async;
+    private CompletableFuture<Result> future;
+    //执行器产生的结果（过滤器出错或替换结果时，由 Nami 释放）
+    Result actuatorResult;
 
     public Invocation(Config config, Object proxy, Method method, String action, String url, Filter actuator) {
+        this(config, proxy, method, action, url, actuator, false);
+    }
+
+    /**
+     * @param async 是否异步
+     * @since 2.6
+     */
+    public Invocation(Config config, Object proxy, Method method, String action, String url, Filter actuator, boolean async) {
         super(config, proxy, method, action, url);
         this.headers.putAll(config.getHeaders());
         this.filters.addAll(config.getFilters());
         this.filters.add(actuator);
         this.index = 0;
+        this.async = async;
     }
 
     /**
@@ -28,4 +42,31 @@ public class Invocation extends Context {
     public Result invoke() throws Throwable {
         return filters.get(index++).doFilter(this);
     }
+
+    /**
+     * 是否异步（异步时 invoke() 返回占位结果 Result::isPending，真实结果通过 future() 获取）
+     *
+     * @since 2.6
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * 异步结果（invoke() 之后才有；过滤器可以在上面挂接后续处理）
+     *
+     * @since 2.6
+     */
+    public CompletableFuture<Result> future() {
+        return future;
+    }
+
+    /**
+     * 设置异步结果（由执行器设置）
+     *
+     * @since 2.6
+     */
+    public void futureSet(CompletableFuture<Result> future) {
+        this.future = future;
+    }
 }
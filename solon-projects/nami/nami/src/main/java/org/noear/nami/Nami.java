@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Nami（Solon rest * rpc client）
@@ -118,10 +119,15 @@ public class Nami {
     }
 
     public Nami call(Map<String, String> headers, Map args, Object body) {
-        try {
-            Invocation invocation = new Invocation(_config, _target,_method, _action, _url, this::callDo);
+        if (_result != null) {
+            //重复调用时，释放上次的结果（如果是流）
+            _result.close();
+            _result = null;
+        }
 
+        Invocation invocation = new Invocation(_config, _target,_method, _action, _url, this::callDo);
 
+        try {
             if (headers != null) {
                 invocation.headers.putAll(headers);
             }
@@ -135,15 +141,80 @@ public class Nami {
             }
 
             _result = invocation.invoke();
-        } catch (RuntimeException ex) {
-            throw ex;
+
+            if (invocation.actuatorResult != null && invocation.actuatorResult != _result) {
+                //被过滤器替换了结果，释放通道的结果
+                invocation.actuatorResult.close();
+            }
         } catch (Throwable ex) {
-            throw new RuntimeException(ex);
+            //过滤器出错时，释放通道的结果
+            if (invocation.actuatorResult != null) {
+                invocation.actuatorResult.close();
+            }
+
+            if (ex instanceof RuntimeException) {
+                throw (RuntimeException) ex;
+            } else {
+                throw new RuntimeException(ex);
+            }
         }
 
         return this;
     }
 
+    /**
+     * 异步执行呼叫（过滤器仍同步执行；通道支持原生异步时，不占用调用线程等待）
+     *
+     * @since 2.6
+     */
+    public CompletableFuture<Result> callAsync(Map<String, String> headers, Map args, Object body) {
+        Invocation invocation = new Invocation(_config, _target, _method, _action, _url, this::callDo, true);
+
+        try {
+            if (headers != null) {
+                invocation.headers.putAll(headers);
+            }
+
+            if (args != null) {
+                invocation.args.putAll(args);
+            }
+
+            if (body != null) {
+                invocation.body = body;
+            }
+
+            Result result = invocation.invoke();
+            CompletableFuture<Result> future = invocation.future();
+
+            if (future == null) {
+                //被过滤器直接返回了
+                return CompletableFuture.completedFuture(result);
+            }
+
+            if (result != null && result.isPending() == false) {
+                //被过滤器替换了结果：用过滤器的，通道的结果到达后释放
+                future.thenAccept(Nami::closeResult);
+                return CompletableFuture.completedFuture(result);
+            }
+
+            return future;
+        } catch (Throwable ex) {
+            //过滤器出错时，通道的结果到达后释放
+            if (invocation.future() != null) {
+                invocation.future().thenAccept(Nami::closeResult);
+            }
+
+            CompletableFuture<Result> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+    }
+
+    private static void closeResult(Result result) {
+        if (result != null) {
+            result.close();
+        }
+    }
 
     private Result callDo(Invocation inv) throws Throwable {
         Channel channel = _config.getChannel();
@@ -174,11 +245,20 @@ public class Nami {
 
         log.trace("Nami call: {}", inv.url);
 
-        return channel.call(inv);
+        if (inv.isAsync()) {
+            inv.futureSet(channel.callAsync(inv));
+            return Result.pending();
+        } else {
+            inv.actuatorResult = channel.call(inv);
+            return inv.actuatorResult;
+        }
     }
 
     private Result _result;
 
+    /**
+     * 获取结果（大返回体可能是流的形式；不经 getString、getObject 读取时，用完需要 close）
+     */
     public Result result() {
         return _result;
     }
@@ -198,24 +278,38 @@ public class Nami {
      * 获取结果（返序列化为object）
      */
     public <T> T getObject(Type returnType) {
-        if (_result == null) {
+        return getObject(_result, returnType);
+    }
+
+    /**
+     * 获取结果（返序列化为object；用于异步结果）
+     *
+     * @since 2.6
+     */
+    public <T> T getObject(Result result, Type returnType) {
+        if (result == null) {
             return null;
         }
 
-        if (Void.TYPE.equals(returnType)) {
-            if (_result.body() == null || _result.body().length < 20) {
-                return null;
+        try {
+            if (Void.TYPE.equals(returnType) || Void.class.equals(returnType)) {
+                if (result.body() == null || result.body().length < 20) {
+                    return null;
+                }
             }
-        }
 
 
-        Decoder decoder = _config.getDecoder();
+            Decoder decoder = _config.getDecoder();
 
-        if (decoder == null) {
-            decoder = NamiManager.getDecoder(ContentTypes.JSON_VALUE);
-        }
+            if (decoder == null) {
+                decoder = NamiManager.getDecoder(ContentTypes.JSON_VALUE);
+            }
 
-        return decoder.decode(_result, returnType);
+            return decoder.decode(result, returnType);
+        } finally {
+            //释放返回体流（如果有）
+            result.close();
+        }
     }
 
     public static NamiBuilder builder() {
@@ -11,6 +11,10 @@ public class NamiGlobal {
      * 最大连接数
      */
     static int maxConnections = 10000;
+    /**
+     * 最大空闲连接数（连接池保持的）
+     */
+    static int maxIdleConnections = 64;
     /**
      * 连接超时（单位：秒）
      */
@@ -31,6 +35,15 @@ public class NamiGlobal {
         return maxConnections;
     }
 
+    /**
+     * 最大空闲连接数（连接池保持的）
+     *
+     * @since 2.6
+     */
+    public static int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
     /**
      * 连接超时（单位：秒）
      */
@@ -58,6 +71,12 @@ public class NamiGlobal {
         }
     }
 
+    public static void setMaxIdleConnections(int number) {
+        if (number > 0) {
+            maxIdleConnections = number;
+        }
+    }
+
     public static void setConnectTimeout(int seconds) {
         if (seconds > 0) {
             connectTimeout = seconds;
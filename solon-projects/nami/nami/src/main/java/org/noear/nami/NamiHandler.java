@@ -1,6 +1,5 @@
 package org.noear.nami;
 
-import org.noear.nami.annotation.NamiMapping;
 import org.noear.nami.annotation.NamiClient;
 import org.noear.nami.common.*;
 
@@ -9,8 +8,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Nami - 调用处理程序
@@ -19,14 +19,14 @@ import java.util.regex.Pattern;
  * @since 1.0
  * */
 public class NamiHandler implements InvocationHandler {
-    private final static Pattern pathKeyExpr = Pattern.compile("\\{([^\\\\}]+)\\}");
+    private static final Object[] EMPTY_ARGS = new Object[0];
 
     private final Config config;
     private final NamiClient client;
 
     private final Map<String, String> headers0 = new LinkedHashMap<>();
     private final Class<?> clz0;
-    private final Map<String, Map> pathKeysCached = new LinkedHashMap<>();
+    private final Map<Method, MethodCallPlan> plans = new ConcurrentHashMap<>();
 
     /**
      * @param config 配置
@@ -115,6 +115,15 @@ public class NamiHandler implements InvocationHandler {
 
         //2.配置初始化
         config.init();
+
+        //3.预编译调用计划
+        for (Method method : clz0.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+
+            plans.put(method, new MethodCallPlan(method, headers0, config.getPath()));
+        }
     }
 
 
@@ -142,59 +151,28 @@ public class NamiHandler implements InvocationHandler {
             return MethodHandlerUtils.invokeObject(clz0,proxy, method, vals);
         }
 
-        MethodWrap methodWrap = MethodWrap.get(method);
-
-        //构建 headers
-        Map<String, String> headers = new HashMap<>(headers0);
-
-        //构建 args
-        Map<String, Object> args = new LinkedHashMap<>();
-        Object body = null;
-        Parameter[] names = methodWrap.getParameters();
-        for (int i = 0, len = names.length; i < len; i++) {
-            if (vals[i] != null) {
-                args.put(names[i].getName(), vals[i]);
-            }
-        }
-
-        //确定body及默认编码
-        if (methodWrap.getBodyName() != null) {
-            body = args.get(methodWrap.getBodyName());
-
-            if (config.getEncoder() == null) {
-                headers.putIfAbsent(Constants.HEADER_CONTENT_TYPE, methodWrap.getBodyAnno().contentType());
-            }
-        }
-
-        //构建 fun
-        String fun = method.getName();
-        String act = null;
+        MethodCallPlan plan = getPlan(method);
 
-        //处理mapping
-        NamiMapping mapping = methodWrap.getMappingAnno();
-        if (mapping != null) {
-            if (methodWrap.getAct() != null) {
-                act = methodWrap.getAct();
-            }
+        //构建 headers（有附加的才复制）
+        Map<String, String> headers = plan.getHeaders();
+        boolean needContentType = (plan.getBodyContentType() != null && config.getEncoder() == null);
+        Map<String, String> contextMap = NamiAttachment.getData();
 
-            if (methodWrap.getFun() != null) {
-                fun = methodWrap.getFun();
-            }
+        if (needContentType || contextMap.size() > 0) {
+            headers = new HashMap<>(headers);
 
-            if (methodWrap.getMappingHeaders() != null) {
-                headers.putAll(methodWrap.getMappingHeaders());
+            //确定默认编码
+            if (needContentType) {
+                headers.putIfAbsent(Constants.HEADER_CONTENT_TYPE, plan.getBodyContentType());
             }
-        }
 
-        //处理附加信息
-        Map<String, String> contextMap = NamiAttachment.getData();
-        if (contextMap.size() > 0) {
+            //处理附加信息
             headers.putAll(contextMap);
         }
 
-
         //构建 url
         String url = null;
+        boolean withPath = false;
         if (TextUtils.isEmpty(config.getUrl())) {
             url = config.getUpstream().get();
 
@@ -219,76 +197,83 @@ public class NamiHandler implements InvocationHandler {
                     url = url.substring(0, idx);
                 }
 
-                if (config.getPath().endsWith("/")) {
-                    fun = config.getPath() + fun;
-                } else {
-                    fun = config.getPath() + "/" + fun;
-                }
+                withPath = true;
             }
 
         } else {
             url = config.getUrl();
         }
 
-        if (fun != null && fun.indexOf("{") > 0) {
-            //
-            //处理Path参数
-            //
-            Map<String, String> pathKeys = buildPathKeys(fun);
-
-            for (Map.Entry<String, String> kv : pathKeys.entrySet()) {
-                //
-                //处理path参数不为String类型时报错的问题
-                //String val = (String) args.get(kv.getValue());
-                //
-                Object arg = args.get(kv.getValue());
-
-                if (arg != null) {
-                    String val = arg.toString();
-                    fun = fun.replace(kv.getKey(), val);
-                    args.remove(kv.getValue());
-                }
-            }
+        if(url.startsWith("sd:")){
+            url = url.substring(3);
         }
 
+        //构建 args 与 body（用于路径的参数，不再作为参数）
+        Object[] vals2 = (vals == null ? EMPTY_ARGS : vals);
+        Map<String, Object> args = plan.buildArgs(vals2, withPath);
+        Object body = plan.getBody(vals2);
+
         //确定返回类型
-        Type type = method.getGenericReturnType();
-        if (type == null) {
-            type = method.getReturnType();
-        }
+        Type type = plan.getReturnType();
+        MethodWrap methodWrap = plan.getMethodWrap();
 
-        if(url.startsWith("sd:")){
-            url = url.substring(3);
+        Nami nami = new Nami(config)
+                .method(proxy, method)
+                .action(plan.getAct())
+                .url(plan.buildUrl(url, vals2, withPath));
+
+        if (methodWrap.isReturnFuture() || methodWrap.isReturnPublisher()) {
+            //异步调用
+            CompletableFuture<Object> future = getObjectAsync(nami, nami.callAsync(headers, args, body), type);
+
+            if (methodWrap.isReturnPublisher()) {
+                return new NamiPublisher<>(future);
+            } else {
+                return future;
+            }
         }
 
         //执行调用
-        Object rst = new Nami(config)
-                .method(proxy, method)
-                .action(act)
-                .url(url, fun)
-                .call(headers, args, body)
+        Object rst = nami.call(headers, args, body)
                 .getObject(type);
 
         return rst;//调试时，方便看
     }
 
-    private Map<String, String> buildPathKeys(String path) {
-        Map<String, String> pathKeys = pathKeysCached.get(path);
-        if (pathKeys == null) {
-            synchronized (pathKeysCached) {
-                pathKeys = pathKeysCached.get(path);
-                if (pathKeys == null) {
-                    pathKeys = new LinkedHashMap<>();
-
-                    Matcher pm = pathKeyExpr.matcher(path);
-
-                    while (pm.find()) {
-                        pathKeys.put(pm.group(), pm.group(1));
-                    }
+    /**
+     * 异步解码（结果到达时，如果已被取消，直接释放结果）
+     */
+    private static CompletableFuture<Object> getObjectAsync(Nami nami, CompletableFuture<Result> resultFuture, Type type) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+
+        resultFuture.whenComplete((r, e) -> {
+            if (future.isDone()) {
+                //已取消（没人要了），释放返回体流
+                if (r != null) {
+                    r.close();
+                }
+            } else if (e != null) {
+                future.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            } else {
+                try {
+                    future.complete(nami.getObject(r, type));
+                } catch (Throwable ex) {
+                    future.completeExceptionally(ex);
                 }
             }
+        });
+
+        return future;
+    }
+
+    private MethodCallPlan getPlan(Method method) {
+        MethodCallPlan plan = plans.get(method);
+
+        if (plan == null) {
+            //一般不会到这里（创建时已预编译）
+            plan = plans.computeIfAbsent(method, m -> new MethodCallPlan(m, headers0, config.getPath()));
         }
 
-        return pathKeys;
+        return plan;
     }
 }
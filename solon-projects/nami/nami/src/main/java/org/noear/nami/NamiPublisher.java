@@ -0,0 +1,86 @@
+package org.noear.nami;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nami - 单值发布者（把异步结果适配为 reactive-streams；需要引入 reactive-streams）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class NamiPublisher<T> implements Publisher<T> {
+    private final CompletableFuture<T> future;
+
+    public NamiPublisher(CompletableFuture<T> future) {
+        this.future = future;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+
+        subscriber.onSubscribe(new SubscriptionImpl<>(future, subscriber));
+    }
+
+    static class SubscriptionImpl<T> implements Subscription {
+        private final CompletableFuture<T> future;
+        private final Subscriber<? super T> subscriber;
+        private final AtomicBoolean requested = new AtomicBoolean();
+        private volatile boolean cancelled;
+
+        SubscriptionImpl(CompletableFuture<T> future, Subscriber<? super T> subscriber) {
+            this.future = future;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled) {
+                return;
+            }
+
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("§3.9: the requested amount must be positive"));
+                return;
+            }
+
+            if (requested.compareAndSet(false, true) == false) {
+                return;
+            }
+
+            future.whenComplete((value, error) -> {
+                if (cancelled) {
+                    return;
+                }
+
+                if (error != null) {
+                    if (error instanceof CompletionException && error.getCause() != null) {
+                        error = error.getCause();
+                    }
+
+                    subscriber.onError(error);
+                } else {
+                    if (value != null) {
+                        subscriber.onNext(value);
+                    }
+
+                    subscriber.onComplete();
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
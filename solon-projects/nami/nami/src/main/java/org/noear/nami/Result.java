@@ -1,5 +1,10 @@
 package org.noear.nami;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap;
@@ -13,7 +18,7 @@ import java.util.Map;
  * @author noear
  * @since 1.2
  * */
-public class Result {
+public class Result implements Closeable {
     /**
      * 状态码
      */
@@ -30,10 +35,18 @@ public class Result {
      * 返回体
      */
     private byte[] body;
+    /**
+     * 返回体流（大返回体时，由解码器直接消费）
+     */
+    private InputStream bodyStream;
     /**
      * 返回体的字符串形式
      */
     private String bodyString;
+    /**
+     * 是否为异步占位结果
+     */
+    private boolean pending;
 
     public Result() {
         headers = new ArrayList<>();
@@ -52,6 +65,26 @@ public class Result {
         this.body = body;
     }
 
+    /**
+     * @param bodyStream 返回体流（用完需要关闭；可用 close()）
+     * @since 2.6
+     */
+    public Result(int code, InputStream bodyStream) {
+        this();
+        this.code = code;
+        this.charset = StandardCharsets.UTF_8;
+        this.bodyStream = bodyStream;
+    }
+
+    /**
+     * 异步占位结果（异步调用时，过滤器链上返回的）
+     */
+    static Result pending() {
+        Result result = new Result();
+        result.pending = true;
+        return result;
+    }
+
     //////////////////
     //////////////////
     //////////////////
@@ -88,6 +121,15 @@ public class Result {
         return headers;
     }
 
+    /**
+     * 是否为异步占位结果（异步调用时，过滤器链上返回的是它；真实结果通过 Invocation.future() 获取）
+     *
+     * @since 2.6
+     */
+    public boolean isPending() {
+        return pending;
+    }
+
     /**
      * 状态码
      */
@@ -106,18 +148,72 @@ public class Result {
      * 返回体
      */
     public byte[] body() {
+        if (bodyStream != null) {
+            //没有被当作流消费，则全读出来
+            try (InputStream in = bodyStream) {
+                bodyStream = null;
+                body = readAll(in);
+            } catch (IOException e) {
+                throw new NamiException(e);
+            }
+        }
+
         return body;
     }
 
+    /**
+     * 是否有返回体流（未读取的）
+     *
+     * @since 2.6
+     */
+    public boolean hasBodyStream() {
+        return bodyStream != null;
+    }
+
+    /**
+     * 返回体流形式（只能消费一次）
+     *
+     * @since 2.6
+     */
+    public InputStream bodyAsStream() {
+        if (bodyStream != null) {
+            return bodyStream;
+        }
+
+        byte[] bytes = body();
+        return bytes == null ? null : new ByteArrayInputStream(bytes);
+    }
+
+    /**
+     * 关闭（释放返回体流）
+     *
+     * @since 2.6
+     */
+    @Override
+    public void close() {
+        if (bodyStream != null) {
+            try {
+                bodyStream.close();
+            } catch (IOException ignored) {
+            }
+
+            bodyStream = null;
+        }
+    }
+
     /**
      * 返回体字符形式
      */
     public String bodyAsString() {
         if (bodyString == null) {
-            if (charset == null) {
-                bodyString = new String(body);
+            byte[] bytes = body();
+
+            if (bytes == null) {
+                bodyString = null;
+            } else if (charset == null) {
+                bodyString = new String(bytes);
             } else {
-                bodyString = new String(body, charset);
+                bodyString = new String(bytes, charset);
             }
 
             //清掉body
@@ -130,4 +226,14 @@ public class Result {
             return bodyString;
         }
     }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[8192];
+        int len;
+        while ((len = in.read(buf)) != -1) {
+            out.write(buf, 0, len);
+        }
+        return out.toByteArray();
+    }
 }
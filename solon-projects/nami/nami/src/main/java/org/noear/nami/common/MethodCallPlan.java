@@ -0,0 +1,268 @@
+package org.noear.nami.common;
+
+import org.noear.nami.annotation.NamiMapping;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 函数调用计划（创建代理时预编译；调用时只按参数位渲染）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class MethodCallPlan {
+    private final static Pattern pathKeyExpr = Pattern.compile("\\{([^\\\\}]+)\\}");
+
+    private final MethodWrap methodWrap;
+    private final String act;
+    private final Map<String, String> headers;
+    private final String[] argNames;
+    private final int bodyIndex;
+    private final String bodyContentType;
+    private final Type returnType;
+
+    //函数（直接 url 时用）
+    private final FunTemplate fun;
+    //函数（有 path 前缀时用，upstream 时用）
+    private final FunTemplate funWithPath;
+
+    /**
+     * @param method   函数
+     * @param headers0 接口级的头
+     * @param path     接口级的路径（用于 upstream 时）
+     */
+    public MethodCallPlan(Method method, Map<String, String> headers0, String path) {
+        this.methodWrap = MethodWrap.get(method);
+
+        //1.参数
+        Parameter[] parameters = methodWrap.getParameters();
+        argNames = new String[parameters.length];
+        int bodyIdx = -1;
+        for (int i = 0; i < parameters.length; i++) {
+            argNames[i] = parameters[i].getName();
+
+            if (argNames[i].equals(methodWrap.getBodyName())) {
+                bodyIdx = i;
+            }
+        }
+        bodyIndex = bodyIdx;
+        bodyContentType = (bodyIdx < 0 ? null : methodWrap.getBodyAnno().contentType());
+
+        //2.头与动作
+        Map<String, String> headerMap = new HashMap<>(headers0);
+        String actTmp = null;
+        String funTmp = method.getName();
+
+        NamiMapping mapping = methodWrap.getMappingAnno();
+        if (mapping != null) {
+            if (methodWrap.getAct() != null) {
+                actTmp = methodWrap.getAct();
+            }
+
+            if (methodWrap.getFun() != null) {
+                funTmp = methodWrap.getFun();
+            }
+
+            if (methodWrap.getMappingHeaders() != null) {
+                headerMap.putAll(methodWrap.getMappingHeaders());
+            }
+        }
+
+        act = actTmp;
+        headers = Collections.unmodifiableMap(headerMap);
+        returnType = methodWrap.getReturnType();
+
+        //3.函数模板
+        fun = new FunTemplate(funTmp, argNames);
+
+        if (TextUtils.isNotEmpty(path)) {
+            if (path.endsWith("/")) {
+                funWithPath = new FunTemplate(path + funTmp, argNames);
+            } else {
+                funWithPath = new FunTemplate(path + "/" + funTmp, argNames);
+            }
+        } else {
+            funWithPath = fun;
+        }
+    }
+
+    public MethodWrap getMethodWrap() {
+        return methodWrap;
+    }
+
+    /**
+     * 动作（null 表示默认）
+     */
+    public String getAct() {
+        return act;
+    }
+
+    /**
+     * 头（接口级 + 函数级；只读）
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * 主体的内容类型（没有主体时为 null）
+     */
+    public String getBodyContentType() {
+        return bodyContentType;
+    }
+
+    /**
+     * 返回类型（异步的为元素类型）
+     */
+    public Type getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * 获取主体
+     */
+    public Object getBody(Object[] vals) {
+        return bodyIndex < 0 ? null : vals[bodyIndex];
+    }
+
+    /**
+     * 构建参数（已用于路径的参数，不再作为参数）
+     */
+    public Map<String, Object> buildArgs(Object[] vals, boolean withPath) {
+        FunTemplate tml = withPath ? funWithPath : fun;
+        Map<String, Object> args = new LinkedHashMap<>();
+
+        for (int i = 0; i < argNames.length; i++) {
+            if (vals[i] != null && tml.pathArgs[i] == false) {
+                args.put(argNames[i], vals[i]);
+            }
+        }
+
+        return args;
+    }
+
+    /**
+     * 构建请求地址
+     *
+     * @param url      服务地址
+     * @param vals     参数值
+     * @param withPath 是否带接口级路径
+     */
+    public String buildUrl(String url, Object[] vals, boolean withPath) {
+        FunTemplate tml = withPath ? funWithPath : fun;
+
+        if (url.indexOf("{fun}") > 0) {
+            return url.replace("{fun}", tml.render(new StringBuilder(), vals));
+        }
+
+        StringBuilder sb = new StringBuilder(url.length() + tml.length + 32);
+        sb.append(url);
+
+        if (url.endsWith("/")) {
+            if (tml.startsWithSlash) {
+                sb.setLength(sb.length() - 1);
+            }
+        } else {
+            if (tml.startsWithSlash == false) {
+                sb.append('/');
+            }
+        }
+
+        return tml.render(sb, vals);
+    }
+
+    /**
+     * 函数模板（按 {name} 切为文本段与参数位）
+     */
+    static class FunTemplate {
+        //文本段（参数位的为占位原文，参数为 null 时保留）
+        final String[] segments;
+        //参数位（-1 表示文本段）
+        final int[] argIndexes;
+        //已用于路径的参数
+        final boolean[] pathArgs;
+        final boolean startsWithSlash;
+        final int length;
+
+        FunTemplate(String fun, String[] argNames) {
+            List<String> segmentList = new ArrayList<>();
+            List<Integer> indexList = new ArrayList<>();
+            pathArgs = new boolean[argNames.length];
+
+            //与之前一致：以 { 开头的不作为模板
+            if (fun.indexOf("{") > 0) {
+                Matcher pm = pathKeyExpr.matcher(fun);
+                int start = 0;
+
+                while (pm.find()) {
+                    int argIdx = indexOf(argNames, pm.group(1));
+                    if (argIdx < 0) {
+                        //没有对应参数，保持原文
+                        continue;
+                    }
+
+                    if (pm.start() > start) {
+                        segmentList.add(fun.substring(start, pm.start()));
+                        indexList.add(-1);
+                    }
+
+                    segmentList.add(pm.group());
+                    indexList.add(argIdx);
+                    pathArgs[argIdx] = true;
+                    start = pm.end();
+                }
+
+                if (start < fun.length()) {
+                    segmentList.add(fun.substring(start));
+                    indexList.add(-1);
+                }
+            } else {
+                segmentList.add(fun);
+                indexList.add(-1);
+            }
+
+            segments = segmentList.toArray(new String[0]);
+            argIndexes = new int[indexList.size()];
+            for (int i = 0; i < argIndexes.length; i++) {
+                argIndexes[i] = indexList.get(i);
+            }
+
+            startsWithSlash = fun.startsWith("/");
+            length = fun.length();
+        }
+
+        String render(StringBuilder sb, Object[] vals) {
+            for (int i = 0; i < segments.length; i++) {
+                int argIdx = argIndexes[i];
+
+                if (argIdx < 0 || vals[argIdx] == null) {
+                    sb.append(segments[i]);
+                } else {
+                    sb.append(vals[argIdx]);
+                }
+            }
+
+            return sb.toString();
+        }
+
+        private static int indexOf(String[] names, String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+    }
+}
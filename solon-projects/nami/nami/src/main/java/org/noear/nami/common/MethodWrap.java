@@ -4,8 +4,12 @@ import org.noear.nami.annotation.*;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * 函数包装器（预处理并缓存）
@@ -52,10 +56,35 @@ public class MethodWrap {
     }
 
 
+    protected void resolveReturnType(Method m) {
+        Class<?> returnClz = m.getReturnType();
+
+        if (returnClz == CompletableFuture.class || returnClz == CompletionStage.class) {
+            returnFuture = true;
+        } else if ("org.reactivestreams.Publisher".equals(returnClz.getName())) {
+            returnPublisher = true;
+        }
+
+        returnType = m.getGenericReturnType();
+        if (returnType == null) {
+            returnType = returnClz;
+        }
+
+        if (returnFuture || returnPublisher) {
+            //异步的，取元素类型
+            if (returnType instanceof ParameterizedType) {
+                returnType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+            } else {
+                returnType = Object.class;
+            }
+        }
+    }
+
     protected MethodWrap(Method m) {
         this.method = m;
         this.parameters = m.getParameters();
         resolveMappingAnno(m);
+        resolveReturnType(m);
 
         for (Parameter p1 : parameters) {
             resolveBodyAnno(p1);
@@ -100,6 +129,9 @@ public class MethodWrap {
     private Map<String,String> mappingHeaders;
     private String act;
     private String fun;
+    private Type returnType;
+    private boolean returnFuture;
+    private boolean returnPublisher;
 
     public Method getMethod() {
         return method;
@@ -132,4 +164,31 @@ public class MethodWrap {
     public String getFun() {
         return fun;
     }
+
+    /**
+     * 返回类型（异步的为元素类型）
+     *
+     * @since 2.6
+     */
+    public Type getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * 是否返回 CompletableFuture（或 CompletionStage）
+     *
+     * @since 2.6
+     */
+    public boolean isReturnFuture() {
+        return returnFuture;
+    }
+
+    /**
+     * 是否返回 org.reactivestreams.Publisher
+     *
+     * @since 2.6
+     */
+    public boolean isReturnPublisher() {
+        return returnPublisher;
+    }
 }
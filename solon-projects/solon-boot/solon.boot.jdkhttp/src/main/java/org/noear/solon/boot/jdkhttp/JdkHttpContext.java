@@ -248,6 +248,23 @@ public class JdkHttpContext extends WebContextBase {
 
     private NvMap _cookieMap;
 
+    @Override
+    public String header(String name) {
+        if (_headerMap == null) {
+            //未物化时，直接从 jdk 头里取（本身不区分大小写）
+            Headers headers = _exchange.getRequestHeaders();
+            return headers == null ? null : headers.getFirst(name);
+        }
+
+        return _headerMap.get(name);
+    }
+
+    @Override
+    public String headerOrDefault(String name, String def) {
+        String val = header(name);
+        return val == null ? def : val;
+    }
+
     @Override
     public NvMap headerMap() {
         if (_headerMap == null) {
@@ -70,6 +70,10 @@ public final class XPluginImp implements Plugin {
         final int _port = props.getPort();
         final String _name = props.getName();
 
+        if (props.isIoVirtual()) {
+            _server.setExecutor(props.getBioExecutor("jetty-"));
+        }
+
         long time_start = System.currentTimeMillis();
 
         EventBus.publish(_server);
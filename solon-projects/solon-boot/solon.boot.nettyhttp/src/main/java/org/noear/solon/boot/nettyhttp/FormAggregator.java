@@ -0,0 +1,37 @@
+package org.noear.solon.boot.nettyhttp;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequest;
+
+/**
+ * 表单请求聚合器（流式模式用；只聚合表单与文件上传请求，其它的原样放过）
+ *
+ * @author noear
+ * @since 2.6
+ */
+class FormAggregator extends HttpObjectAggregator {
+    public FormAggregator(int maxContentLength) {
+        super(maxContentLength);
+    }
+
+    @Override
+    protected boolean isStartMessage(HttpObject msg) throws Exception {
+        if (msg instanceof HttpRequest) {
+            String ct = ((HttpRequest) msg).headers().get(HttpHeaderNames.CONTENT_TYPE);
+            return isForm(ct);
+        } else {
+            return false;
+        }
+    }
+
+    private static boolean isForm(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+
+        String ct = contentType.toLowerCase();
+        return ct.startsWith("application/x-www-form-urlencoded") || ct.startsWith("multipart/");
+    }
+}
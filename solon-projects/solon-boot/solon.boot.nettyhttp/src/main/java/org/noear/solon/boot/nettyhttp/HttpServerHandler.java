@@ -4,32 +4,141 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
-import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
 import org.noear.solon.boot.ServerProps;
+import org.noear.solon.boot.web.FormUrlencodedUtils;
 import org.noear.solon.core.handle.Handler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class HttpServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+public class HttpServerHandler extends SimpleChannelInboundHandler<HttpObject> {
 
     static final Logger log = LoggerFactory.getLogger(HttpServerHandler.class);
 
+    //流式请求体的最大缓冲块数（每块最大 8k，由 HttpRequestDecoder 决定）
+    static final int BODY_MAX_CHUNKS = 16;
+
     private final Handler _handler;
+    //业务执行器（为 null 时，在 io 线程上处理）
+    private final Executor _executor;
+    //流式请求体的读取超时（毫秒）
+    private final long _bodyReadTimeout;
+
+    //当前流式请求体（仅流式模式有效）
+    private NettyBodyInputStream _body;
+
+    //同一连接上的请求按顺序处理（管线化时，前一个响应完成后再派发下一个；只在 io 线程上访问）
+    private final Queue<PendingRequest> _pending = new ArrayDeque<>();
+    private boolean _busy;
 
     public HttpServerHandler(final Handler handler) {
+        this(handler, null, 0L);
+    }
+
+    public HttpServerHandler(final Handler handler, final Executor executor, final long bodyReadTimeout) {
         this._handler = handler;
+        this._executor = executor;
+        this._bodyReadTimeout = bodyReadTimeout;
     }
 
     @Override
     protected void channelRead0(final ChannelHandlerContext ctx,
-            final FullHttpRequest request)
+            final HttpObject msg)
             throws Exception {
 
+        if (msg instanceof FullHttpRequest) {
+            //聚合模式
+            FullHttpRequest request = (FullHttpRequest) msg;
+            dispatch(ctx, request.retain(), null);
+            return;
+        }
+
+        if (msg instanceof HttpRequest) {
+            //流式模式：收到头即派发，请求体随后写入
+            _body = new NettyBodyInputStream(ctx.channel(), BODY_MAX_CHUNKS, _bodyReadTimeout);
+
+            dispatch(ctx, (HttpRequest) msg, _body);
+        }
+
+        if (msg instanceof HttpContent && _body != null) {
+            _body.offer(((HttpContent) msg).content().retain());
+
+            if (msg instanceof LastHttpContent) {
+                _body.complete();
+                _body = null;
+            }
+        }
+    }
+
+    private void dispatch(final ChannelHandlerContext ctx, final HttpRequest request, final NettyBodyInputStream body) {
+        if (_executor == null) {
+            //在 io 线程上处理的，本来就是按顺序的
+            handleDo(ctx, request, body, null);
+            return;
+        }
+
+        if (_busy) {
+            //前一个请求还没响应完：排队，并暂停读取（已解码出来的仍会到达）
+            _pending.offer(new PendingRequest(request, body));
+            ctx.channel().config().setAutoRead(false);
+        } else {
+            _busy = true;
+            submit(ctx, request, body);
+        }
+    }
+
+    private void submit(final ChannelHandlerContext ctx, final HttpRequest request, final NettyBodyInputStream body) {
+        try {
+            _executor.execute(() -> handleDo(ctx, request, body, () -> ctx.executor().execute(() -> next(ctx))));
+        } catch (RejectedExecutionException e) {
+            log.warn("Netty http executor rejected: " + request.uri());
+
+            try {
+                NettyHttpContext context = new NettyHttpContext(ctx, request, body,
+                        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.SERVICE_UNAVAILABLE));
+                context.sendError(HttpResponseStatus.SERVICE_UNAVAILABLE);
+            } finally {
+                release(request, body);
+                next(ctx);
+            }
+        }
+    }
+
+    /**
+     * 派发下一个排队的请求（io 线程；此时前一个响应的写出已在它之前入队）
+     */
+    private void next(final ChannelHandlerContext ctx) {
+        PendingRequest tmp = _pending.poll();
+
+        //恢复读取（下一个请求的流式请求体可能还要继续读；再有排队的，会重新暂停）
+        ctx.channel().config().setAutoRead(true);
+
+        if (tmp == null) {
+            _busy = false;
+        } else {
+            submit(ctx, tmp.request, tmp.body);
+        }
+    }
+
+    /**
+     * @param done 处理完成（含异步完成）后的回调
+     */
+    private void handleDo(final ChannelHandlerContext ctx, final HttpRequest request, final NettyBodyInputStream body, final Runnable done) {
         final NettyHttpContext context = new NettyHttpContext(
                 ctx,
                 request,
+                body,
                 new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
 
         try {
@@ -39,6 +148,8 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<FullHttpReque
                 context.headerSet("Solon-Boot", XPluginImp.solon_boot_ver());
             }
 
+            //编码窗体预处理（流式模式下，表单请求也是聚合的）
+            FormUrlencodedUtils.pretreatment(context);
             _handler.handle(context);
 //
 //            if (context.innerIsAsync()) {
@@ -51,15 +162,52 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<FullHttpReque
             log.warn(e.getMessage(), e);
 
             context.sendError();
-        }
+        } finally {
+            release(request, body);
 
+            if (done != null) {
+                context.asyncThen(done);
+            }
+        }
+    }
 
+    private void release(HttpRequest request, NettyBodyInputStream body) {
+        if (body != null) {
+            //未读完的分块释放掉
+            body.close();
+        } else {
+            ReferenceCountUtil.release(request);
+        }
     }
 
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (_body != null) {
+            _body.abort();
+            _body = null;
+        }
+
+        PendingRequest tmp;
+        while ((tmp = _pending.poll()) != null) {
+            release(tmp.request, tmp.body);
+        }
+
+        super.channelInactive(ctx);
+    }
 
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
         // 发生异常时的处理逻辑
         ctx.close();
     }
-}
\ No newline at end of file
+
+    private static class PendingRequest {
+        final HttpRequest request;
+        final NettyBodyInputStream body;
+
+        PendingRequest(HttpRequest request, NettyBodyInputStream body) {
+            this.request = request;
+            this.body = body;
+        }
+    }
+}
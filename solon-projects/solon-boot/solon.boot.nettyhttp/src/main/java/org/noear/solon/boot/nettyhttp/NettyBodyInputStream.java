@@ -0,0 +1,209 @@
+package org.noear.solon.boot.nettyhttp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流式请求体（由 io 线程写入分块，业务线程读取）
+ *
+ * <p>队列达到高水位时暂停通道读取（autoRead=false），消费到低水位后再恢复，以此控制内存；
+ * 暂停后已解码的分块仍会到达，所以队列另有硬上限，超出时中断连接</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class NettyBodyInputStream extends InputStream {
+    //结束标记
+    private static final ByteBuf EOF = Unpooled.EMPTY_BUFFER;
+
+    private final Channel channel;
+    private final BlockingQueue<ByteBuf> queue;
+    private final int hardLimit;
+    private final int highWater;
+    private final int lowWater;
+    private final long readTimeout;
+
+    private ByteBuf current;
+    private boolean eof;
+    private volatile boolean closed;
+    private volatile boolean aborted;
+    private volatile boolean paused;
+
+    /**
+     * @param channel     通道
+     * @param maxChunks   最大缓冲块数
+     * @param readTimeout 读取超时（毫秒）
+     */
+    public NettyBodyInputStream(Channel channel, int maxChunks, long readTimeout) {
+        this.channel = channel;
+        this.highWater = Math.max(maxChunks, 2);
+        this.lowWater = highWater / 2;
+        //暂停后最多再到达一次读取的分块（64k / 8k），留足余量
+        this.hardLimit = highWater * 4;
+        //多留 2 个位置给结束标记
+        this.queue = new LinkedBlockingQueue<>(hardLimit + 2);
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * 写入分块（io 线程）
+     */
+    protected synchronized void offer(ByteBuf buf) {
+        if (closed || buf.isReadable() == false) {
+            buf.release();
+            return;
+        }
+
+        if (queue.size() >= hardLimit) {
+            //暂停读取后仍在大量到达（不应该发生），中断连接
+            buf.release();
+            abort();
+            channel.close();
+            return;
+        }
+
+        queue.offer(buf);
+
+        if (queue.size() >= highWater) {
+            //不判断 paused（通道的读取可能被别处恢复了）
+            paused = true;
+            channel.config().setAutoRead(false);
+        }
+    }
+
+    /**
+     * 写入结束（io 线程）
+     */
+    protected void complete() {
+        queue.offer(EOF);
+    }
+
+    /**
+     * 连接中断（io 线程）
+     */
+    protected void abort() {
+        aborted = true;
+        queue.offer(EOF);
+    }
+
+    @Override
+    public int read() throws IOException {
+        ByteBuf buf = current();
+
+        if (buf == null) {
+            return -1;
+        } else {
+            return buf.readByte() & 0xFF;
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        ByteBuf buf = current();
+
+        if (buf == null) {
+            return -1;
+        }
+
+        int size = Math.min(len, buf.readableBytes());
+        buf.readBytes(b, off, size);
+        return size;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (current == null) {
+            return 0;
+        } else {
+            return current.readableBytes();
+        }
+    }
+
+    private ByteBuf current() throws IOException {
+        while (current == null || current.isReadable() == false) {
+            if (current != null) {
+                current.release();
+                current = null;
+            }
+
+            if (eof || closed) {
+                return null;
+            }
+
+            ByteBuf tmp;
+            try {
+                tmp = queue.poll(readTimeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+
+            if (tmp == null) {
+                throw new IOException("Request body read timeout: " + readTimeout + "ms");
+            }
+
+            if (tmp == EOF) {
+                eof = true;
+
+                if (aborted) {
+                    throw new IOException("Connection closed before request body completed");
+                }
+
+                return null;
+            }
+
+            current = tmp;
+            resumeIfNeed();
+        }
+
+        return current;
+    }
+
+    private synchronized void resumeIfNeed() {
+        if (paused && queue.size() <= lowWater) {
+            paused = false;
+            channel.config().setAutoRead(true);
+        }
+    }
+
+    /**
+     * 关闭（释放未读的分块）
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        if (current != null) {
+            current.release();
+            current = null;
+        }
+
+        ByteBuf tmp;
+        while ((tmp = queue.poll()) != null) {
+            if (tmp != EOF) {
+                tmp.release();
+            }
+        }
+
+        if (paused) {
+            paused = false;
+            channel.config().setAutoRead(true);
+        }
+    }
+}
@@ -2,17 +2,24 @@ package org.noear.solon.boot.nettyhttp;
 
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -36,7 +43,9 @@ import org.noear.solon.core.util.IoUtil;
 public class NettyHttpContext extends WebContextBase {
 
     private final ChannelHandlerContext ctx;
-    private FullHttpRequest request;
+    private HttpRequest request;
+    //流式请求体（为 null 时，为聚合模式）
+    private InputStream requestBody;
     private FullHttpResponse response;
     protected Map<String, List<UploadedFile>> _fileMap;
 
@@ -53,8 +62,16 @@ public class NettyHttpContext extends WebContextBase {
     public NettyHttpContext(final ChannelHandlerContext ctx,
             final FullHttpRequest request,
             final FullHttpResponse response) {
+        this(ctx, request, null, response);
+    }
+
+    public NettyHttpContext(final ChannelHandlerContext ctx,
+            final HttpRequest request,
+            final InputStream requestBody,
+            final FullHttpResponse response) {
         this.ctx = ctx;
         this.request = request;
+        this.requestBody = requestBody;
         this.response = response;
         _fileMap = new HashMap<>();
     }
@@ -170,7 +187,16 @@ public class NettyHttpContext extends WebContextBase {
 
     @Override
     public InputStream bodyAsStream() throws IOException {
-        return new ByteBufInputStream(request.content());
+        if (requestBody != null) {
+            //流式模式
+            return requestBody;
+        }
+
+        if (request instanceof FullHttpRequest) {
+            return new ByteBufInputStream(((FullHttpRequest) request).content());
+        } else {
+            return new ByteArrayInputStream(new byte[0]);
+        }
     }
 
     private NvMap _paramMap;
@@ -250,6 +276,23 @@ public class NettyHttpContext extends WebContextBase {
 
     private NvMap _cookieMap;
 
+    @Override
+    public String header(String name) {
+        if (_headerMap == null) {
+            //未物化时，直接从 netty 头里取（本身不区分大小写）
+            HttpHeaders headers = request.headers();
+            return headers == null ? null : headers.get(name);
+        }
+
+        return _headerMap.get(name);
+    }
+
+    @Override
+    public String headerOrDefault(String name, String def) {
+        String val = header(name);
+        return val == null ? def : val;
+    }
+
     @Override
     public NvMap headerMap() {
         if (_headerMap == null) {
@@ -262,15 +305,22 @@ public class NettyHttpContext extends WebContextBase {
     private NvMap _headerMap;
 
     private void resolveHeaders() {
-        _headerMap = new NvMap();
+        NvMap headerMap = new NvMap();
         _headersMap = new IgnoreCaseMap<>();
 
         HttpHeaders headers = request.headers();
         if (headers != null) {
-            headers.forEach(kv -> {
-                _headersMap.put(kv.getKey(), Collections.singletonList(kv.getValue()));
-            });
+            for (String k : headers.names()) {
+                List<String> l = headers.getAll(k);
+
+                if (l.size() > 0) {
+                    headerMap.put(k, l.get(0));
+                }
+                _headersMap.put(k, l);
+            }
         }
+
+        _headerMap = headerMap;
     }
 
     @Override
@@ -354,6 +404,51 @@ public class NettyHttpContext extends WebContextBase {
     }
 
 
+    /**
+     * 输出 文件通道（使用 DefaultFileRegion，在支持的传输上走 sendfile 零拷贝）
+     */
+    @Override
+    public void outputFile(FileChannel channel, long position, long count) throws IOException {
+        if (_allows_write == false) {
+            //不允许输出内容的（如 HEAD），直接丢弃
+            channel.close();
+            return;
+        }
+
+        if (_headers_sent) {
+            super.outputFile(channel, position, count);
+            return;
+        }
+
+        _headers_sent = true;
+
+        if ("HEAD".equals(method())) {
+            _allows_write = false;
+        }
+
+        if (sessionState() != null) {
+            sessionState().sessionPublish();
+        }
+
+        HttpResponse head = new DefaultHttpResponse(response.protocolVersion(),
+                HttpResponseStatus.valueOf(status()),
+                response.headers());
+        head.headers().set(HttpHeaderNames.CONTENT_LENGTH, count);
+
+        if (_allows_write == false) {
+            //HEAD 请求：只输出头（带上长度），不输出内容
+            channel.close();
+            ctx.write(head);
+            ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+            return;
+        }
+
+        //头 + 文件区域（释放时关闭通道） + 结束标记
+        ctx.write(head);
+        ctx.write(new DefaultFileRegion(channel, position, count));
+        ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+    }
+
     @Override
     public void headerSet(String key, String val) {
         response.headers().set(key, val);
@@ -456,6 +551,17 @@ public class NettyHttpContext extends WebContextBase {
         }
     }
 
+    /**
+     * 处理完成后执行（异步时，等异步完成后再执行）
+     */
+    protected void asyncThen(Runnable task) {
+        if (_isAsync) {
+            _asyncFuture.whenComplete((r, e) -> task.run());
+        } else {
+            task.run();
+        }
+    }
+
     protected void asyncAwait() throws InterruptedException, ExecutionException, IOException {
         if (_isAsync) {
             if (_asyncTimeout > 0) {
@@ -514,7 +620,11 @@ public class NettyHttpContext extends WebContextBase {
     }
 
     public void sendError() {
-        response.setStatus(HttpResponseStatus.INTERNAL_SERVER_ERROR);
+        sendError(HttpResponseStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    public void sendError(HttpResponseStatus status) {
+        response.setStatus(status);
         response.headers().set(Constants.HEADER_CONTENT_LENGTH, "0");
         ctx.writeAndFlush(response);
     }
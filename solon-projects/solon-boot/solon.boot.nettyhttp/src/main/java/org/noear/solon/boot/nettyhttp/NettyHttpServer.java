@@ -5,6 +5,10 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
@@ -13,9 +17,14 @@ import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import org.noear.solon.boot.ServerLifecycle;
+import org.noear.solon.boot.ServerProps;
 import org.noear.solon.boot.prop.impl.HttpServerProps;
 import org.noear.solon.core.handle.Handler;
+import org.noear.solon.core.util.LogUtil;
+import org.noear.solon.core.util.NamedThreadFactory;
 
 public final class NettyHttpServer implements ServerLifecycle {
 
@@ -26,6 +35,13 @@ public final class NettyHttpServer implements ServerLifecycle {
     private final HttpServerProps _props;
     private final Handler _handler;
 
+    //业务执行器（为 null 时，在 io 线程上处理）
+    private Executor _executor;
+    //是否流式请求体（不聚合，需要业务执行器）
+    private boolean _streaming;
+    //是否尝试使用 epoll
+    private boolean _epoll = true;
+
     public NettyHttpServer(final InetSocketAddress address,
             final HttpServerProps props,
             final Handler handler) {
@@ -34,25 +50,67 @@ public final class NettyHttpServer implements ServerLifecycle {
         this._handler = handler;
     }
 
+    /**
+     * 设置执行器（线程池）
+     */
+    public void setExecutor(Executor executor) {
+        this._executor = executor;
+    }
+
+    /**
+     * 设置流式请求体模式
+     */
+    public void setStreaming(boolean streaming) {
+        this._streaming = streaming;
+    }
+
+    /**
+     * 设置是否尝试使用 epoll（仅 linux 有效）
+     */
+    public void setEpoll(boolean epoll) {
+        this._epoll = epoll;
+    }
+
 
     @Override
     public void start(final String host, final int port) throws Throwable {
+        final boolean streaming;
+        if (_streaming && _executor == null) {
+            LogUtil.global().warn("Server:main: nettyhttp: Streaming body requires an executor, fallback to aggregated");
+            streaming = false;
+        } else {
+            streaming = _streaming;
+        }
+
+        final boolean epoll = _epoll && Epoll.isAvailable();
+        final Class<? extends ServerChannel> channelClz = epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+
+        //有业务执行器时，io 线程只做编解码（按核心数）；否则 io 线程也处理业务
+        final int ioThreads = (_executor == null ? _props.getMaxThreads(false) : _props.getCoreThreads());
+        final int maxContentLength = (ServerProps.request_maxBodySize > 0 && ServerProps.request_maxBodySize < Integer.MAX_VALUE) ?
+                (int) ServerProps.request_maxBodySize : Integer.MAX_VALUE;
+
         new Thread(() -> {
-            EventLoopGroup boos = new NioEventLoopGroup(_props.getCoreThreads()),
-                    work = new NioEventLoopGroup(_props.getMaxThreads(false));
+            EventLoopGroup boos = newEventLoopGroup(epoll, 1, "nettyhttp-boss-"),
+                    work = newEventLoopGroup(epoll, ioThreads, "nettyhttp-io-");
             try {
                 b = new ServerBootstrap();
                 b.group(boos, work)
-                        .channel(NioServerSocketChannel.class)
+                        .channel(channelClz)
                         .childHandler(new ChannelInitializer<SocketChannel>() {
                             @Override
                             public void initChannel(SocketChannel ch) throws Exception {
                                 ChannelPipeline p = ch.pipeline();
                                 p.addLast(new HttpRequestDecoder());
-                                p.addLast(new HttpObjectAggregator(65536));
+                                if (streaming) {
+                                    //表单与文件上传仍然聚合（参数解析需要完整的请求体）
+                                    p.addLast(new FormAggregator(maxContentLength));
+                                } else {
+                                    p.addLast(new HttpObjectAggregator(maxContentLength));
+                                }
                                 p.addLast(new HttpResponseEncoder());
                                 p.addLast(new ChunkedWriteHandler());
-                                p.addLast(new HttpServerHandler(_handler));
+                                p.addLast(new HttpServerHandler(_handler, _executor, _props.getIdleTimeoutOrDefault()));
                             }
                         });
                 // 服务器绑定端口监听
@@ -70,6 +128,14 @@ public final class NettyHttpServer implements ServerLifecycle {
         }).start();
     }
 
+    private static EventLoopGroup newEventLoopGroup(boolean epoll, int threads, String namePrefix) {
+        if (epoll) {
+            return new EpollEventLoopGroup(threads, new NamedThreadFactory(namePrefix));
+        } else {
+            return new NioEventLoopGroup(threads, new NamedThreadFactory(namePrefix));
+        }
+    }
+
     @Override
     public void stop() {
         if (_server == null) {
@@ -78,6 +144,10 @@ public final class NettyHttpServer implements ServerLifecycle {
 
         _server.channel().close();
         _server = null;
+
+        if (_executor instanceof ExecutorService) {
+            ((ExecutorService) _executor).shutdown();
+        }
     }
 
     public boolean isSecure() {
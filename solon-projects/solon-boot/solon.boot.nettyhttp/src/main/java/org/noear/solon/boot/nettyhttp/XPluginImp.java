@@ -16,6 +16,9 @@ import org.noear.solon.core.util.LogUtil;
 
 public final class XPluginImp implements Plugin {
 
+    private static final String PROP_STREAMING = "server.http.streaming";
+    private static final String PROP_EPOLL = "server.http.epoll";
+
     private static Signal _signal;
 
     public static Signal signal() {
@@ -55,6 +58,14 @@ public final class XPluginImp implements Plugin {
                 props,
                 Solon.app()::tryHandle);
 
+        if (props.isIoBound()) {
+            //如果是io密集型的，加二段线程池（业务不占用 io 线程）
+            _server.setExecutor(props.getBioExecutor("nettyhttp-"));
+        }
+
+        _server.setStreaming(Solon.cfg().getBool(PROP_STREAMING, false));
+        _server.setEpoll(Solon.cfg().getBool(PROP_EPOLL, true));
+
         //尝试事件扩展
         EventBus.publish(_server);
         _server.start(_host, _port);
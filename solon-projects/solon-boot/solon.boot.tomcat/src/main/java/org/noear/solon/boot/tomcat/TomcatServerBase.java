@@ -10,6 +10,7 @@ import org.noear.solon.core.util.LogUtil;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import static org.noear.solon.boot.tomcat.XPluginImp.solon_boot_ver;
 
@@ -20,6 +21,14 @@ import static org.noear.solon.boot.tomcat.XPluginImp.solon_boot_ver;
  **/
 public abstract class TomcatServerBase implements ServerLifecycle {
     protected Tomcat _server;
+    protected Executor executor;
+
+    /**
+     * 设置请求执行器（例如：虚拟线程）
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
 
     @Override
     public void start(String host, int port) throws Throwable {
@@ -66,6 +75,10 @@ public abstract class TomcatServerBase implements ServerLifecycle {
 
         Connector connector = _server.getConnector();
 
+        if (executor != null) {
+            connector.getProtocolHandler().setExecutor(executor);
+        }
+
         if (ServerProps.request_maxBodySize > 0) {
             if (ServerProps.request_maxBodySize > Integer.MAX_VALUE) {
                 connector.setMaxPostSize(Integer.MAX_VALUE);
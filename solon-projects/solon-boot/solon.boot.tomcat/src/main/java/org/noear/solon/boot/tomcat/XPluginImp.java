@@ -57,12 +57,19 @@ public final class XPluginImp implements Plugin {
         final int _port = props.getPort();
         final String _name = props.getName();
 
+        TomcatServerBase server;
         if (jspClz == null) {
-            _server = new TomcatServer();
+            server = new TomcatServer();
         } else {
-            _server = new TomcatServerAddJsp();
+            server = new TomcatServerAddJsp();
         }
 
+        if (props.isIoVirtual()) {
+            server.setExecutor(props.getBioExecutor("tomcat-"));
+        }
+
+        _server = server;
+
         long time_start = System.currentTimeMillis();
 
         _server.start(_host, _port);
@@ -11,7 +11,6 @@ import org.noear.solon.boot.ssl.SslConfig;
 import org.noear.solon.boot.undertow.http.UtContainerInitializer;
 import org.noear.solon.boot.http.HttpServerConfigure;
 import org.noear.solon.core.runtime.NativeDetector;
-import org.noear.solon.core.util.LogUtil;
 import org.noear.solon.core.util.ResourceUtil;
 import org.noear.solon.lang.Nullable;
 
@@ -25,6 +24,7 @@ import java.util.Set;
 import java.util.concurrent.Executor;
 
 abstract class UndertowServerBase implements ServerLifecycle, HttpServerConfigure {
+    protected Executor executor;
     protected HttpServerProps props = HttpServerProps.getInstance();
     protected SslConfig sslConfig = new SslConfig(ServerConstants.SIGNAL_HTTP);
     protected boolean enableHttp2 = false;
@@ -59,7 +59,8 @@ abstract class UndertowServerBase implements ServerLifecycle, HttpServerConfigur
 
     @Override
     public void setExecutor(Executor executor) {
-        LogUtil.global().warn("Undertow does not support user-defined executor");
+        //用于 servlet 请求分派（例如：虚拟线程）
+        this.executor = executor;
     }
 
     public HttpServerProps getProps() {
@@ -85,6 +86,10 @@ abstract class UndertowServerBase implements ServerLifecycle, HttpServerConfigur
             builder.setDefaultSessionTimeout(ServerProps.session_timeout);
         }
 
+        if (executor != null) {
+            builder.setExecutor(executor);
+        }
+
         return builder;
     }
 
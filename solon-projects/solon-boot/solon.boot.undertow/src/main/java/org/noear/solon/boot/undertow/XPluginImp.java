@@ -65,6 +65,10 @@ public final class XPluginImp implements Plugin {
         final int _port = props.getPort();
         final String _name = props.getName();
 
+        if (props.isIoVirtual()) {
+            _server.setExecutor(props.getBioExecutor("undertow-"));
+        }
+
         EventBus.publish(_server);
         _server.start(_host, _port);
 
@@ -1,6 +1,7 @@
 package org.noear.solon.boot.prop;
 
 import org.noear.solon.core.util.NamedThreadFactory;
+import org.noear.solon.core.util.ThreadsUtil;
 
 import java.util.concurrent.*;
 
@@ -13,6 +14,15 @@ import java.util.concurrent.*;
 public interface ServerExecutorProps {
     boolean isIoBound();
 
+    /**
+     * 是否为虚拟线程（ioBound=virtual，需要 JDK21+）
+     *
+     * @since 2.6
+     */
+    default boolean isIoVirtual() {
+        return false;
+    }
+
     /**
      * 核心线程数
      */
@@ -37,6 +47,11 @@ public interface ServerExecutorProps {
      * 获取一个执行器（Bio 一级执行器）
      */
     default ExecutorService getBioExecutor(String namePrefix) {
+        if (isIoVirtual()) {
+            //每个请求一个虚拟线程
+            return ThreadsUtil.newVirtualThreadPerTaskExecutor(namePrefix);
+        }
+
         return new ThreadPoolExecutor(getCoreThreads(), getMaxThreads(true),
                 60, TimeUnit.SECONDS,
                 new SynchronousQueue<>(), //BlockingQueue //SynchronousQueue
@@ -4,6 +4,8 @@ import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.boot.prop.ServerExecutorProps;
 import org.noear.solon.boot.prop.ServerSignalProps;
+import org.noear.solon.core.util.LogUtil;
+import org.noear.solon.core.util.ThreadsUtil;
 
 /**
  * 基础服务属性
@@ -12,6 +14,8 @@ import org.noear.solon.boot.prop.ServerSignalProps;
  * @since 1.10
  */
 public abstract class BaseServerProps implements ServerSignalProps, ServerExecutorProps {
+    private static final String IO_BOUND_VIRTUAL = "virtual";
+
     private String PROP_NAME = "server.@@.name";
     private String PROP_PORT = "server.@@.port";
     private String PROP_HOST = "server.@@.host";
@@ -30,6 +34,7 @@ public abstract class BaseServerProps implements ServerSignalProps, ServerExecut
     private String wrapHost;
 
     private boolean ioBound;
+    private boolean ioVirtual;
     private int coreThreads;
     private int maxThreads;
     private long idleTimeout;
@@ -125,7 +130,25 @@ public abstract class BaseServerProps implements ServerSignalProps, ServerExecut
     ////////////////////////////////
 
     private void initExecutorProps() {
-        ioBound = Solon.cfg().getBool(PROP_IO_BOUND, true);
+        //支持：true 或 false 或 virtual（虚拟线程，需要 JDK21+）
+        String ioBoundStr = Solon.cfg().get(PROP_IO_BOUND);
+        if (IO_BOUND_VIRTUAL.equals(ioBoundStr)) {
+            ioBound = true;
+            ioVirtual = true;
+        } else {
+            ioBound = Solon.cfg().getBool(PROP_IO_BOUND, true);
+            ioVirtual = ioBound && Solon.cfg().isEnabledVirtualThreads();
+        }
+
+        if (ioVirtual) {
+            if (ThreadsUtil.isSupportedVirtualThreads()) {
+                ThreadsUtil.warnPinnedRisks();
+            } else {
+                ioVirtual = false;
+                LogUtil.global().warn("Server: Virtual threads are not supported, fallback to platform threads: " + PROP_IO_BOUND);
+            }
+        }
+
         idleTimeout = Solon.cfg().getLong(PROP_IDLE_TIMEOUT, 0L);
 
         //支持：16 或 x16（倍数）
@@ -164,6 +187,14 @@ public abstract class BaseServerProps implements ServerSignalProps, ServerExecut
         return ioBound;
     }
 
+    /**
+     * 是否为虚拟线程（JDK21+ 且有配置时为 true）
+     */
+    @Override
+    public boolean isIoVirtual() {
+        return ioVirtual;
+    }
+
     /**
      * Cpu 核数
      */
@@ -9,9 +9,13 @@ import org.noear.solon.core.util.IoUtil;
 import org.noear.solon.core.util.LogUtil;
 
 import java.io.*;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.zip.GZIPOutputStream;
 
 /**
@@ -79,36 +83,123 @@ public class OutputUtils {
             ctx.contentType(contentType);
         }
 
-        try (InputStream ins = new FileInputStream(file)) {
-            OutputUtils.global().outputStream(ctx, ins, file.length(), contentType);
-        }
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        OutputUtils.global().outputChannel(ctx, channel, file.length(), contentType);
     }
 
     /**
      * 输出文件（主要是给静态文件用）
      */
-    public void outputFile(Context ctx, URL file , String conentType,boolean useCaches) throws IOException {
-        //
-        // todo: 有 gzip 需求时，可以再增加 demo.js 由 demo.js.gz 输出的尝试（如果有）
-        //
-        if (useCaches) {
-            //使用 uri 缓存（jdk 内部有缓存）
-            try (InputStream stream = file.openStream()) {
-                ctx.contentType(conentType);
-                outputStream(ctx, stream, stream.available(), conentType);
+    public void outputFile(Context ctx, URL file, String conentType, boolean useCaches) throws IOException {
+        ctx.contentType(conentType);
+
+        File localFile = getLocalFile(file);
+        if (localFile != null) {
+            //本地文件，走文件通道（适配器原生支持时零拷贝，否则为缓冲复制）
+            FileChannel channel = FileChannel.open(localFile.toPath(), StandardOpenOption.READ);
+            outputChannel(ctx, channel, localFile.length(), conentType);
+            return;
+        }
+
+        //useCaches=false 说明不需要 uri 缓存; 或者是调试模式
+        URLConnection connection = file.openConnection();
+        connection.setUseCaches(useCaches);
+
+        try (InputStream stream = connection.getInputStream()) {
+            outputStream(ctx, stream, connection.getContentLengthLong(), conentType);
+        }
+    }
+
+    /**
+     * 输出文件，做为 range 形式输出（主要是给预压缩的静态文件用，例如 demo.js.gz）
+     *
+     * @since 2.6
+     */
+    public void outputFileAsRange(Context ctx, URL file) throws IOException {
+        File localFile = getLocalFile(file);
+        if (localFile != null) {
+            FileChannel channel = FileChannel.open(localFile.toPath(), StandardOpenOption.READ);
+            outputChannelAsRange(ctx, channel, localFile.length());
+            return;
+        }
+
+        URLConnection connection = file.openConnection();
+        try (InputStream stream = connection.getInputStream()) {
+            outputStreamAsRange(ctx, stream, connection.getContentLengthLong());
+        }
+    }
+
+    /**
+     * 获取本地文件（如果是）
+     */
+    protected File getLocalFile(URL file) {
+        if ("file".equals(file.getProtocol())) {
+            try {
+                File localFile = new File(file.toURI());
+                if (localFile.isFile()) {
+                    return localFile;
+                }
+            } catch (URISyntaxException | IllegalArgumentException ignored) {
+                //不能转为本地文件的，走流输出
             }
-        } else {
-            //说明不需要 uri 缓存; 或者是调试模式
-            URLConnection connection = file.openConnection();
-            connection.setUseCaches(false);
+        }
+
+        return null;
+    }
 
-            try (InputStream stream = connection.getInputStream()) {
-                ctx.contentType(conentType);
-                outputStream(ctx, stream, stream.available(), conentType);
+    /**
+     * 输出文件通道（通道由本方法负责关闭）
+     *
+     * @since 2.6
+     */
+    public void outputChannel(Context ctx, FileChannel channel, long channelSize, String mime) throws IOException {
+        if (GzipProps.requiredGzip(ctx, mime, channelSize)) {
+            try (InputStream stream = Channels.newInputStream(channel)) {
+                outputStreamAsGzip(ctx, stream);
             }
+        } else {
+            outputChannelAsRange(ctx, channel, channelSize);
         }
     }
 
+    /**
+     * 输出文件通道，做为 range 形式输出（通道由本方法负责关闭）
+     *
+     * @since 2.6
+     */
+    public void outputChannelAsRange(Context ctx, FileChannel channel, long channelSize) throws IOException {
+        boolean transferred = false;
+
+        try {
+            if (channelSize <= 0) {
+                //空文件
+                ctx.contentLength(0);
+                ctx.status(200);
+                return;
+            }
+
+            long[] range = prepareRange(ctx, channelSize);
+            if (range == null) {
+                return;
+            }
+
+            transferred = true;
+            if (ctx.status() == 206) {
+                try {
+                    ctx.outputFile(channel, range[0], range[1]);
+                } catch (IOException e) {
+                    //会很常见，没必要异常
+                    LogUtil.global().warn("The http range output is abnormal: " + e.getMessage());
+                }
+            } else {
+                ctx.outputFile(channel, range[0], range[1]);
+            }
+        } finally {
+            if (transferred == false) {
+                channel.close();
+            }
+        }
+    }
 
     /**
      * 输出流
@@ -138,21 +229,46 @@ public class OutputUtils {
      * 输出流，做为 range 形式输出（如果支持）
      */
     public void outputStreamAsRange(Context ctx, InputStream stream, long streamSize) throws IOException {
-        if (streamSize > 0) {
-            //支持分版
-            ctx.headerSet("Accept-Ranges", "bytes");
-        } else {
+        if (streamSize <= 0) {
             //大小未知时，不支持分片
             ctx.status(200);
             ctx.output(stream);
             return;
         }
 
+        long[] range = prepareRange(ctx, streamSize);
+        if (range == null) {
+            return;
+        }
+
+        if (ctx.status() == 206) {
+            try {
+                IoUtil.transferTo(stream, ctx.outputStream(), range[0], range[1]);
+            } catch (IOException e) {
+                //会很常见，没必要异常
+                LogUtil.global().warn("The http range output is abnormal: " + e.getMessage());
+            }
+        } else {
+            ctx.output(stream);
+        }
+    }
+
+    /**
+     * 准备 range 输出（设置状态与头信息）
+     *
+     * @param contentSize 内容大小（大于0）
+     * @return {start, size}；为 null 时，说明已经处理完成（如 HEAD 或 416）
+     * @since 2.6
+     */
+    protected long[] prepareRange(Context ctx, long contentSize) {
+        //支持分版
+        ctx.headerSet("Accept-Ranges", "bytes");
+
         if ("HEAD".equals(ctx.method())) {
             //如果客户端在探测
-            ctx.contentLength(streamSize);
+            ctx.contentLength(contentSize);
             ctx.status(200);
-            return;
+            return null;
         }
 
 
@@ -161,10 +277,9 @@ public class OutputUtils {
         long size = 0;
 
         if (Utils.isEmpty(range)) {
-            ctx.contentLength(streamSize);
+            ctx.contentLength(contentSize);
             ctx.status(200);
-            ctx.output(stream);
-            return;
+            return new long[]{0, contentSize};
         } else {
             String[] ss1 = range.split("=");
 
@@ -178,56 +293,50 @@ public class OutputUtils {
                         end = getLong(ss2[1]);
                     } else if (ss2.length == 1) {
                         start = getLong(ss2[0]);
-                        end = streamSize - 1;
+                        end = contentSize - 1;
                     } else {
                         //说明格式有误
                         ctx.status(416);
-                        return;
+                        return null;
                     }
                 } else {
                     //说明格式有误
                     ctx.status(416);
-                    return;
+                    return null;
                 }
             } else {
                 //说明格式有误
                 ctx.status(416);
-                return;
+                return null;
             }
         }
 
         if (end > 0) {
             size = end - start + 1; //从0开始的
         } else {
-            end = (streamSize - 1);
+            end = (contentSize - 1);
             size = end - start + 1;//从0开始的
         }
 
         if (end < 1 || size < 0) {
             //说明格式有误
             ctx.status(416);
-            return;
+            return null;
         }
 
-        if (size > (streamSize - start)) {
+        if (size > (contentSize - start)) {
             //说明大小超界了
             ctx.status(416);
-            return;
+            return null;
         }
 
         ctx.contentLength(size);
         ctx.status(206);
 
         ctx.headerSet("Connection", "keep-alive");
-        ctx.headerSet("Content-Range", "bytes " + start + "-" + end + "/" + streamSize);
+        ctx.headerSet("Content-Range", "bytes " + start + "-" + end + "/" + contentSize);
 
-        //ctx.output(stream);
-        try {
-            IoUtil.transferTo(stream, ctx.outputStream(), start, size);
-        } catch (IOException e) {
-            //会很常见，没必要异常
-            LogUtil.global().warn("The http range output is abnormal: " + e.getMessage());
-        }
+        return new long[]{start, size};
     }
 
     /**
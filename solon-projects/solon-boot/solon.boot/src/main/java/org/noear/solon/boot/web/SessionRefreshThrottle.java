@@ -0,0 +1,83 @@
+package org.noear.solon.boot.web;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 会话续期节流（同一会话在本节点，间隔内只续期一次）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class SessionRefreshThrottle {
+    private final Map<String, Long> refreshTimes = new ConcurrentHashMap<>();
+    private final long intervalMillis;
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    /**
+     * @param intervalSeconds 间隔秒数（0 表示不节流）
+     */
+    public SessionRefreshThrottle(int intervalSeconds) {
+        this(intervalSeconds, 100_000);
+    }
+
+    /**
+     * @param intervalSeconds 间隔秒数（0 表示不节流）
+     * @param maxSize         最多记录的会话数
+     */
+    public SessionRefreshThrottle(int intervalSeconds, int maxSize) {
+        this(intervalSeconds, maxSize, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock 时钟
+     */
+    SessionRefreshThrottle(int intervalSeconds, int maxSize, LongSupplier clock) {
+        this.intervalMillis = intervalSeconds * 1000L;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * 尝试续期（需要续期时，返回 true 并记下时间）
+     */
+    public boolean tryRefresh(String sessionId) {
+        if (intervalMillis <= 0) {
+            return true;
+        }
+
+        long now = clock.getAsLong();
+        Long last = refreshTimes.get(sessionId);
+
+        if (last != null && now - last < intervalMillis) {
+            return false;
+        }
+
+        touch(sessionId, now);
+        return true;
+    }
+
+    /**
+     * 记下续期时间（已通过其它方式续期时用）
+     */
+    public void touch(String sessionId) {
+        if (intervalMillis > 0) {
+            touch(sessionId, clock.getAsLong());
+        }
+    }
+
+    private void touch(String sessionId, long now) {
+        if (refreshTimes.size() >= maxSize) {
+            //清理过了间隔的；仍然太多则全清（最多多续期一次）
+            refreshTimes.values().removeIf(t -> now - t >= intervalMillis);
+
+            if (refreshTimes.size() >= maxSize) {
+                refreshTimes.clear();
+            }
+        }
+
+        refreshTimes.put(sessionId, now);
+    }
+}
@@ -0,0 +1,194 @@
+package org.noear.solon.boot.web;
+
+import org.noear.solon.Utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 会话状态快照（一个请求内有效；首次读取时整体加载，写入只记录变更，请求结束时批量回写并续期）
+ *
+ * <p>请求结束由 publish 触发（之后的变更直接回写）；没有变更时的续期，按节流器控制</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class SessionStateSnapshot<V> {
+    /**
+     * 快照的存储
+     */
+    public interface Storage<V> {
+        /**
+         * 当前会话id
+         */
+        String sessionId();
+
+        /**
+         * 加载会话的全部数据
+         */
+        Map<String, V> load();
+
+        /**
+         * 回写变更并续期（两者都可能为空，此时只续期）
+         *
+         * @param puts    待写入的
+         * @param removes 待删除的
+         */
+        void write(Map<String, V> puts, Set<String> removes);
+    }
+
+    private final Storage<V> storage;
+    private final SessionRefreshThrottle refreshThrottle;
+
+    //null 表示未加载
+    private Map<String, V> data;
+    private final Map<String, V> puts = new LinkedHashMap<>();
+    private final Set<String> removes = new LinkedHashSet<>();
+
+    //请求带来的会话id（需要续期的）
+    private String refreshSid;
+    private boolean published;
+
+    public SessionStateSnapshot(Storage<V> storage, SessionRefreshThrottle refreshThrottle) {
+        this.storage = storage;
+        this.refreshThrottle = refreshThrottle;
+    }
+
+    /**
+     * 是否已加载
+     */
+    public boolean isLoaded() {
+        return data != null;
+    }
+
+    private Map<String, V> data() {
+        if (data == null) {
+            Map<String, V> map = storage.load();
+            data = (map == null ? new HashMap<>() : new HashMap<>(map));
+
+            //加载前已有的变更，覆盖在加载的数据上
+            data.putAll(puts);
+            for (String key : removes) {
+                data.remove(key);
+            }
+        }
+
+        return data;
+    }
+
+    public V get(String key) {
+        return data().get(key);
+    }
+
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(data().keySet());
+    }
+
+    public void put(String key, V val) {
+        if (data != null) {
+            data.put(key, val);
+        }
+
+        puts.put(key, val);
+        removes.remove(key);
+
+        if (published) {
+            flush();
+        }
+    }
+
+    public void remove(String key) {
+        if (data != null) {
+            data.remove(key);
+        }
+
+        puts.remove(key);
+        removes.add(key);
+
+        if (published) {
+            flush();
+        }
+    }
+
+    /**
+     * 清空（已从存储中删除时用）
+     */
+    public void clear() {
+        data = new HashMap<>();
+        puts.clear();
+        removes.clear();
+    }
+
+    /**
+     * 会话id变更前（先回写到旧的会话，再卸载）
+     */
+    public void beforeChangeId() {
+        flush();
+
+        data = null;
+        puts.clear();
+        removes.clear();
+        refreshSid = null;
+    }
+
+    /**
+     * 需要续期（在请求结束时，与回写合并）
+     *
+     * @param sid 推送的会话id
+     */
+    public void refresh(String sid) {
+        if (Utils.isNotEmpty(sid)) {
+            refreshSid = sid;
+        }
+    }
+
+    /**
+     * 请求结束（回写变更并续期）
+     */
+    public void publish() {
+        published = true;
+        flush();
+    }
+
+    /**
+     * 是否有变更
+     */
+    public boolean isDirty() {
+        return puts.size() > 0 || removes.size() > 0;
+    }
+
+    /**
+     * 回写变更并续期
+     */
+    protected void flush() {
+        boolean dirty = isDirty();
+
+        if (dirty == false) {
+            boolean refresh = false;
+
+            if (refreshSid != null) {
+                refresh = refreshThrottle.tryRefresh(refreshSid);
+                refreshSid = null;
+            }
+
+            if (refresh == false) {
+                return;
+            }
+        }
+
+        String sid = storage.sessionId();
+        storage.write(puts, removes);
+
+        puts.clear();
+        removes.clear();
+
+        if (dirty) {
+            refreshThrottle.touch(sid);
+            refreshSid = null;
+        }
+    }
+}
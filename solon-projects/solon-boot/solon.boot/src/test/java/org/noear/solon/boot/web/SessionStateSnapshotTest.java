@@ -0,0 +1,247 @@
+package org.noear.solon.boot.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 会话状态快照（一个请求只加载一次；只回写变更；续期节流）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class SessionStateSnapshotTest {
+    /**
+     * 内存存储（记录加载与回写）
+     */
+    static class MemoryStorage implements SessionStateSnapshot.Storage<String> {
+        final Map<String, String> data = new HashMap<>();
+        String sid = "s1";
+        int loads;
+        final List<Map<String, String>> putsList = new ArrayList<>();
+        final List<Set<String>> removesList = new ArrayList<>();
+
+        @Override
+        public String sessionId() {
+            return sid;
+        }
+
+        @Override
+        public Map<String, String> load() {
+            loads++;
+            return data;
+        }
+
+        @Override
+        public void write(Map<String, String> puts, Set<String> removes) {
+            putsList.add(new LinkedHashMap<>(puts));
+            removesList.add(new HashSet<>(removes));
+
+            data.putAll(puts);
+            data.keySet().removeAll(removes);
+        }
+
+        int writes() {
+            return putsList.size();
+        }
+    }
+
+    private static SessionStateSnapshot<String> snapshot(MemoryStorage storage) {
+        return new SessionStateSnapshot<>(storage, new SessionRefreshThrottle(60));
+    }
+
+    @Test
+    public void loadOnce() {
+        MemoryStorage storage = new MemoryStorage();
+        storage.data.put("a", "1");
+        storage.data.put("b", "2");
+
+        SessionStateSnapshot<String> snapshot = snapshot(storage);
+
+        //不读取，不加载
+        snapshot.put("c", "3");
+        assert storage.loads == 0;
+
+        assert "1".equals(snapshot.get("a"));
+        assert "2".equals(snapshot.get("b"));
+        assert "3".equals(snapshot.get("c"));
+        assert snapshot.get("x") == null;
+        assert snapshot.keys().size() == 3;
+
+        //一个请求只加载一次
+        assert storage.loads == 1;
+    }
+
+    @Test
+    public void writeBeforeLoad() {
+        MemoryStorage storage = new MemoryStorage();
+        storage.data.put("a", "1");
+        storage.data.put("b", "2");
+
+        SessionStateSnapshot<String> snapshot = snapshot(storage);
+
+        //加载前的变更，覆盖在加载的数据上
+        snapshot.put("a", "10");
+        snapshot.remove("b");
+
+        assert "10".equals(snapshot.get("a"));
+        assert snapshot.get("b") == null;
+        assert snapshot.keys().size() == 1;
+    }
+
+    @Test
+    public void publishDirtyOnly() {
+        MemoryStorage storage = new MemoryStorage();
+        storage.data.put("a", "1");
+        storage.data.put("b", "2");
+
+        SessionStateSnapshot<String> snapshot = snapshot(storage);
+        snapshot.get("a");
+        snapshot.put("b", "20");
+        snapshot.put("c", "3");
+
+        //请求期间不回写
+        assert storage.writes() == 0;
+
+        snapshot.publish();
+
+        //只回写变更的键（一次）
+        assert storage.writes() == 1;
+        assert storage.putsList.get(0).keySet().equals(new HashSet<>(Arrays.asList("b", "c")));
+        assert storage.removesList.get(0).isEmpty();
+        assert "20".equals(storage.data.get("b"));
+        assert "3".equals(storage.data.get("c"));
+
+        //没有新的变更，不再回写
+        assert snapshot.isDirty() == false;
+    }
+
+    @Test
+    public void publishRemoves() {
+        MemoryStorage storage = new MemoryStorage();
+        storage.data.put("a", "1");
+        storage.data.put("b", "2");
+
+        SessionStateSnapshot<String> snapshot = snapshot(storage);
+        snapshot.put("x", "9");
+        snapshot.remove("x");
+        snapshot.remove("a");
+
+        snapshot.publish();
+
+        //删除也回写（写入后又删除的，不再写入）
+        assert storage.writes() == 1;
+        assert storage.putsList.get(0).isEmpty();
+        assert storage.removesList.get(0).contains("a");
+        assert storage.removesList.get(0).contains("x");
+        assert storage.data.containsKey("a") == false;
+        assert "2".equals(storage.data.get("b"));
+    }
+
+    @Test
+    public void afterPublish() {
+        MemoryStorage storage = new MemoryStorage();
+        SessionStateSnapshot<String> snapshot = snapshot(storage);
+
+        snapshot.publish();
+        assert storage.writes() == 0;
+
+        //请求结束后的变更，直接回写
+        snapshot.put("a", "1");
+        assert storage.writes() == 1;
+        assert "1".equals(storage.data.get("a"));
+
+        snapshot.remove("a");
+        assert storage.writes() == 2;
+        assert storage.data.isEmpty();
+    }
+
+    @Test
+    public void changeId() {
+        MemoryStorage storage = new MemoryStorage();
+        storage.data.put("a", "1");
+
+        SessionStateSnapshot<String> snapshot = snapshot(storage);
+        snapshot.put("b", "2");
+
+        //变更前的，先回写到旧的会话
+        snapshot.beforeChangeId();
+        assert storage.writes() == 1;
+        assert snapshot.isLoaded() == false;
+
+        storage.sid = "s2";
+        snapshot.get("a");
+        assert storage.loads == 1;
+    }
+
+    @Test
+    public void refreshThrottle() {
+        AtomicLong clock = new AtomicLong(1_000_000L);
+        SessionRefreshThrottle throttle = new SessionRefreshThrottle(60, 100, clock::get);
+        MemoryStorage storage = new MemoryStorage();
+
+        //没有变更的请求，只续期
+        SessionStateSnapshot<String> snapshot = new SessionStateSnapshot<>(storage, throttle);
+        snapshot.refresh("s1");
+        snapshot.publish();
+        assert storage.writes() == 1;
+        assert storage.putsList.get(0).isEmpty();
+
+        //间隔内的请求，跳过续期
+        clock.addAndGet(30_000);
+        snapshot = new SessionStateSnapshot<>(storage, throttle);
+        snapshot.refresh("s1");
+        snapshot.publish();
+        assert storage.writes() == 1;
+
+        //过了间隔，再续期
+        clock.addAndGet(31_000);
+        snapshot = new SessionStateSnapshot<>(storage, throttle);
+        snapshot.refresh("s1");
+        snapshot.publish();
+        assert storage.writes() == 2;
+
+        //有变更的回写（同时续期）也记下时间，之后间隔内跳过
+        clock.addAndGet(61_000);
+        snapshot = new SessionStateSnapshot<>(storage, throttle);
+        snapshot.refresh("s1");
+        snapshot.put("a", "1");
+        snapshot.publish();
+        assert storage.writes() == 3;
+
+        clock.addAndGet(1_000);
+        snapshot = new SessionStateSnapshot<>(storage, throttle);
+        snapshot.refresh("s1");
+        snapshot.publish();
+        assert storage.writes() == 3;
+    }
+
+    @Test
+    public void refreshThrottleBounded() {
+        AtomicLong clock = new AtomicLong(1_000_000L);
+        SessionRefreshThrottle throttle = new SessionRefreshThrottle(60, 10, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            assert throttle.tryRefresh("s" + i);
+        }
+
+        assert throttle.tryRefresh("s0") == false;
+
+        //记录满了（都在间隔内），全清后最多多续期一次
+        assert throttle.tryRefresh("s10");
+        assert throttle.tryRefresh("s0");
+        assert throttle.tryRefresh("s0") == false;
+
+        //不节流
+        SessionRefreshThrottle none = new SessionRefreshThrottle(0);
+        assert none.tryRefresh("s0");
+        assert none.tryRefresh("s0");
+    }
+}
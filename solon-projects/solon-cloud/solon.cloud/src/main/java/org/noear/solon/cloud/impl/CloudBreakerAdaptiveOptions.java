@@ -0,0 +1,89 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.core.Props;
+
+/**
+ * 自适应熔断选项（配置前缀：solon.cloud.local.adaptiveBreaker）
+ *
+ * <p>阀值仍由 solon.cloud.local.breaker.{name} 配置，作为并发限制的上限</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class CloudBreakerAdaptiveOptions {
+    /**
+     * 并发限制的下限
+     */
+    final int minLimit;
+    /**
+     * 并发限制的初始值
+     */
+    final int initialLimit;
+    /**
+     * 限制的平滑系数（0~1）
+     */
+    final double smoothing;
+    /**
+     * 耗时容忍度（短期耗时超过最小耗时的多少倍才开始收缩）
+     */
+    final double rttTolerance;
+    /**
+     * 最小耗时的重置间隔（毫秒）
+     */
+    final long minRttResetMs;
+
+    /**
+     * 滑动窗口时长（毫秒）
+     */
+    final long windowMs;
+    /**
+     * 滑动窗口的桶数
+     */
+    final int windowBuckets;
+    /**
+     * 窗口内达到多少调用才开始评估
+     */
+    final int minCalls;
+    /**
+     * 出错率阀值（0~1）
+     */
+    final double errorRate;
+    /**
+     * 慢调用耗时（毫秒；0 表示不评估慢调用）
+     */
+    final long slowCallMs;
+    /**
+     * 慢调用率阀值（0~1）
+     */
+    final double slowCallRate;
+    /**
+     * 熔断打开时长（毫秒；之后进入半开探测）
+     */
+    final long openMs;
+    /**
+     * 半开时的探测数（全部成功才关闭）
+     */
+    final int halfOpenProbes;
+    /**
+     * 度量导出间隔（毫秒；0 表示不导出）
+     */
+    final long metricsIntervalMs;
+
+    public CloudBreakerAdaptiveOptions(Props props) {
+        minLimit = Math.max(1, props.getInt("minLimit", 4));
+        initialLimit = Math.max(minLimit, props.getInt("initialLimit", 20));
+        smoothing = props.getDouble("smoothing", 0.2D);
+        rttTolerance = props.getDouble("rttTolerance", 1.5D);
+        minRttResetMs = props.getLong("minRttResetMs", 30_000L);
+
+        windowMs = props.getLong("windowMs", 10_000L);
+        windowBuckets = Math.max(1, props.getInt("windowBuckets", 10));
+        minCalls = props.getInt("minCalls", 20);
+        errorRate = props.getDouble("errorRate", 0.5D);
+        slowCallMs = props.getLong("slowCallMs", 0L);
+        slowCallRate = props.getDouble("slowCallRate", 0.8D);
+        openMs = props.getLong("openMs", 5_000L);
+        halfOpenProbes = Math.max(1, props.getInt("halfOpenProbes", 5));
+        metricsIntervalMs = props.getLong("metricsIntervalMs", 60_000L);
+    }
+}
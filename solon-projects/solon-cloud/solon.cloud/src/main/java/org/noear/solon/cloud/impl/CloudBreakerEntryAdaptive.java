@@ -0,0 +1,419 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.cloud.model.BreakerEntrySim;
+import org.noear.solon.cloud.model.BreakerException;
+import org.noear.solon.cloud.model.BreakerPass;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自适应断路器入口（全部为无锁计数）
+ *
+ * <p>1.并发限制：按耗时梯度自动调整（短期耗时比最小耗时大出容忍度则收缩，否则缓慢增长；上限为配置的阀值）</p>
+ * <p>2.熔断：滑动窗口内的出错率或慢调用率超过阀值时打开；打开一段时间后半开探测，探测全部成功才关闭</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class CloudBreakerEntryAdaptive extends BreakerEntrySim {
+    public static final int STATE_CLOSED = 0;
+    public static final int STATE_OPEN = 1;
+    public static final int STATE_HALF_OPEN = 2;
+
+    /**
+     * 短期耗时的平滑系数
+     */
+    private static final double shortRttAlpha = 0.2D;
+
+    private final String breakerName;
+    private final CloudBreakerAdaptiveOptions options;
+
+    //并发限制
+    private volatile int maxLimit;
+    private volatile double limit;
+    private volatile double shortRttNanos;
+    private volatile double minRttNanos;
+    private volatile long minRttTime;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicBoolean limitUpdating = new AtomicBoolean();
+
+    //熔断
+    private final AtomicInteger state = new AtomicInteger(STATE_CLOSED);
+    private volatile long openedTime;
+    private final AtomicInteger probePermits = new AtomicInteger();
+    private final AtomicInteger probeSuccesses = new AtomicInteger();
+
+    //滑动窗口（每桶三个计数：调用、出错、慢调用）
+    private final long bucketMs;
+    private final long slowCallNanos;
+    private final AtomicLongArray bucketEpochs;
+    private final AtomicLongArray bucketCounts;
+
+    //累计计数
+    private final LongAdder passedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder slowCount = new LongAdder();
+
+    public CloudBreakerEntryAdaptive(String breakerName, int maxLimit, CloudBreakerAdaptiveOptions options) {
+        this.breakerName = breakerName;
+        this.options = options;
+        this.maxLimit = maxLimit;
+        this.limit = clamp(options.initialLimit, maxLimit);
+
+        this.bucketMs = Math.max(1L, options.windowMs / options.windowBuckets);
+        this.slowCallNanos = options.slowCallMs * 1_000_000L;
+        this.bucketEpochs = new AtomicLongArray(options.windowBuckets);
+        this.bucketCounts = new AtomicLongArray(options.windowBuckets * 3);
+
+        for (int i = 0; i < options.windowBuckets; i++) {
+            bucketEpochs.set(i, -1L);
+        }
+    }
+
+    @Override
+    public AutoCloseable enter() throws BreakerException {
+        boolean probe = false;
+        int st = state.get();
+
+        if (st == STATE_OPEN) {
+            if (System.currentTimeMillis() - openedTime < options.openMs) {
+                throw reject();
+            }
+
+            if (state.compareAndSet(STATE_OPEN, STATE_HALF_OPEN)) {
+                probeSuccesses.set(0);
+                probePermits.set(options.halfOpenProbes);
+            }
+
+            st = state.get();
+        }
+
+        if (st == STATE_HALF_OPEN) {
+            if (acquireProbe() == false) {
+                throw reject();
+            }
+            probe = true;
+        } else if (st == STATE_OPEN) {
+            throw reject();
+        }
+
+        int lim = (int) limit;
+        int n;
+        while (true) {
+            n = inflight.get();
+            if (n >= lim) {
+                if (probe) {
+                    probePermits.incrementAndGet();
+                }
+                throw reject();
+            }
+
+            if (inflight.compareAndSet(n, n + 1)) {
+                break;
+            }
+        }
+
+        passedCount.increment();
+        return new Pass(probe, n + 1);
+    }
+
+    @Override
+    public void reset(int value) {
+        if (maxLimit != value) {
+            maxLimit = value;
+            limit = clamp(limit, value);
+        }
+    }
+
+    private BreakerException reject() {
+        rejectedCount.increment();
+        return new BreakerException();
+    }
+
+    private boolean acquireProbe() {
+        while (true) {
+            int p = probePermits.get();
+            if (p <= 0) {
+                return false;
+            }
+
+            if (probePermits.compareAndSet(p, p - 1)) {
+                return true;
+            }
+        }
+    }
+
+    private double clamp(double val, int max) {
+        int min = Math.min(options.minLimit, max);
+
+        if (val < min) {
+            return min;
+        } else if (val > max) {
+            return max;
+        } else {
+            return val;
+        }
+    }
+
+    /**
+     * 调用结束
+     */
+    private void onComplete(boolean probe, int inflightAtStart, long rttNanos, boolean error) {
+        inflight.decrementAndGet();
+
+        boolean slow = (slowCallNanos > 0 && rttNanos >= slowCallNanos);
+
+        if (error) {
+            errorCount.increment();
+        }
+
+        if (slow) {
+            slowCount.increment();
+        }
+
+        if (probe) {
+            if (error || slow) {
+                trip(STATE_HALF_OPEN);
+            } else if (probeSuccesses.incrementAndGet() >= options.halfOpenProbes) {
+                if (state.compareAndSet(STATE_HALF_OPEN, STATE_CLOSED)) {
+                    resetWindow();
+                }
+            }
+        } else {
+            long now = System.currentTimeMillis();
+            record(now, error, slow);
+
+            if (state.get() == STATE_CLOSED) {
+                evaluate(now);
+            }
+        }
+
+        if (error == false) {
+            //出错的耗时没有参考价值（交给熔断处理）
+            updateLimit(rttNanos, inflightAtStart);
+        }
+    }
+
+    /**
+     * 打开熔断
+     */
+    private void trip(int expect) {
+        //先设时间（别的线程看到打开时，时间已是新的）
+        openedTime = System.currentTimeMillis();
+        state.compareAndSet(expect, STATE_OPEN);
+    }
+
+    /**
+     * 更新并发限制（梯度算法；同一时间只有一个线程更新，其它线程的样本跳过）
+     */
+    private void updateLimit(long rttNanos, int inflightAtStart) {
+        if (limitUpdating.compareAndSet(false, true) == false) {
+            return;
+        }
+
+        try {
+            double rtt = Math.max(1D, rttNanos);
+            long now = System.currentTimeMillis();
+
+            //最小耗时（无负载时的基线；定期重置，以适应后端变化）
+            if (minRttNanos == 0D || rtt < minRttNanos || now - minRttTime > options.minRttResetMs) {
+                minRttNanos = rtt;
+                minRttTime = now;
+            }
+
+            //短期耗时（平滑掉单个样本的抖动）
+            double shortRtt = shortRttNanos;
+            shortRtt = (shortRtt == 0D ? rtt : shortRtt + shortRttAlpha * (rtt - shortRtt));
+            shortRttNanos = shortRtt;
+
+            double lim = limit;
+            double gradient = Math.max(0.5D, Math.min(1D, options.rttTolerance * minRttNanos / shortRtt));
+
+            if (gradient >= 1D && inflightAtStart < lim / 2) {
+                //没有用满，不需要增长
+                return;
+            }
+
+            double newLimit = lim * gradient + Math.sqrt(lim);
+            newLimit = lim * (1D - options.smoothing) + newLimit * options.smoothing;
+
+            limit = clamp(newLimit, maxLimit);
+        } finally {
+            limitUpdating.set(false);
+        }
+    }
+
+    /**
+     * 记录到滑动窗口（桶轮换时有极小概率丢失并发计数，统计允许近似）
+     */
+    private void record(long now, boolean error, boolean slow) {
+        long epoch = now / bucketMs;
+        int idx = (int) (epoch % options.windowBuckets);
+
+        long old = bucketEpochs.get(idx);
+        if (old != epoch) {
+            if (bucketEpochs.compareAndSet(idx, old, epoch)) {
+                bucketCounts.set(idx * 3, 0L);
+                bucketCounts.set(idx * 3 + 1, 0L);
+                bucketCounts.set(idx * 3 + 2, 0L);
+            }
+        }
+
+        bucketCounts.incrementAndGet(idx * 3);
+
+        if (error) {
+            bucketCounts.incrementAndGet(idx * 3 + 1);
+        }
+
+        if (slow) {
+            bucketCounts.incrementAndGet(idx * 3 + 2);
+        }
+    }
+
+    /**
+     * 评估是否需要打开熔断
+     */
+    private void evaluate(long now) {
+        long epoch = now / bucketMs;
+        long calls = 0;
+        long errors = 0;
+        long slows = 0;
+
+        for (int i = 0; i < options.windowBuckets; i++) {
+            if (epoch - bucketEpochs.get(i) < options.windowBuckets) {
+                calls += bucketCounts.get(i * 3);
+                errors += bucketCounts.get(i * 3 + 1);
+                slows += bucketCounts.get(i * 3 + 2);
+            }
+        }
+
+        if (calls < options.minCalls || calls == 0) {
+            return;
+        }
+
+        if (errors >= calls * options.errorRate) {
+            trip(STATE_CLOSED);
+        } else if (slowCallNanos > 0 && slows >= calls * options.slowCallRate) {
+            trip(STATE_CLOSED);
+        }
+    }
+
+    private void resetWindow() {
+        for (int i = 0; i < options.windowBuckets; i++) {
+            bucketEpochs.set(i, -1L);
+        }
+    }
+
+
+    /**
+     * 名字
+     */
+    public String getName() {
+        return breakerName;
+    }
+
+    /**
+     * 熔断状态（STATE_CLOSED、STATE_OPEN、STATE_HALF_OPEN）
+     */
+    public int getState() {
+        return state.get();
+    }
+
+    /**
+     * 当前并发限制
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * 并发限制上限（即配置的阀值）
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * 进行中的调用数
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * 短期平滑耗时（毫秒）
+     */
+    public double getRttMs() {
+        return shortRttNanos / 1_000_000D;
+    }
+
+    /**
+     * 最小耗时（毫秒）
+     */
+    public double getMinRttMs() {
+        return minRttNanos / 1_000_000D;
+    }
+
+    /**
+     * 累计通过数
+     */
+    public long getPassedCount() {
+        return passedCount.sum();
+    }
+
+    /**
+     * 累计拒绝数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 累计出错数
+     */
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    /**
+     * 累计慢调用数
+     */
+    public long getSlowCount() {
+        return slowCount.sum();
+    }
+
+    /**
+     * 通行凭证（一次调用一个）
+     */
+    class Pass implements BreakerPass {
+        private final boolean probe;
+        private final int inflightAtStart;
+        private final long start = System.nanoTime();
+        private boolean error;
+        private boolean closed;
+
+        Pass(boolean probe, int inflightAtStart) {
+            this.probe = probe;
+            this.inflightAtStart = inflightAtStart;
+        }
+
+        @Override
+        public void error(Throwable e) {
+            error = true;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            onComplete(probe, inflightAtStart, System.nanoTime() - start, error);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.noear.solon.Utils;
 import org.noear.solon.cloud.CloudClient;
 import org.noear.solon.cloud.annotation.CloudBreaker;
 import org.noear.solon.cloud.model.BreakerException;
+import org.noear.solon.cloud.model.BreakerPass;
 import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.aspect.Interceptor;
 import org.noear.solon.core.aspect.Invocation;
@@ -30,7 +31,15 @@ public class CloudBreakerInterceptor implements Interceptor {
             String name = Solon.cfg().getByParse(Utils.annoAlias(anno.value(), anno.name()));
 
             try (AutoCloseable entry = CloudClient.breaker().entry(name)) {
-                return inv.invoke();
+                try {
+                    return inv.invoke();
+                } catch (Throwable e) {
+                    if (entry instanceof BreakerPass && (e instanceof DataThrowable) == false) {
+                        //反馈出错（用于出错率统计）
+                        ((BreakerPass) entry).error(e);
+                    }
+                    throw e;
+                }
             } catch (BreakerException ex) {
                 Context ctx = Context.current();
                 if (ctx != null) {
@@ -0,0 +1,130 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.Solon;
+import org.noear.solon.cloud.CloudClient;
+import org.noear.solon.cloud.model.BreakerEntrySim;
+import org.noear.solon.core.util.LogUtil;
+import org.noear.solon.core.util.RunUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 本地自适应熔断服务（不依赖第三方框架）
+ *
+ * <p><code>
+ * solon.cloud.local.breaker.root: 100  #并发上限（也可按名字配置）
+ * solon.cloud.local.adaptiveBreaker.enable: true
+ * solon.cloud.local.adaptiveBreaker.slowCallMs: 1000
+ * solon.cloud.local.adaptiveBreaker.metricsIntervalMs: 60000 #度量导出间隔（0 表示不导出）
+ * </code></p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class CloudBreakerServiceAdaptiveImpl extends CloudBreakerServiceLocalImpl {
+    public static final String CONFIG_ADAPTIVE_PREFIX = "solon.cloud.local.adaptiveBreaker";
+    public static final String CONFIG_ADAPTIVE_ENABLE = CONFIG_ADAPTIVE_PREFIX + ".enable";
+
+    private static CloudBreakerServiceAdaptiveImpl instance;
+
+    public static synchronized CloudBreakerServiceAdaptiveImpl getInstance() {
+        if (instance == null) {
+            instance = new CloudBreakerServiceAdaptiveImpl();
+        }
+
+        return instance;
+    }
+
+    //父类构造时就会调用 create，所以延迟加载（且不能有初始值）
+    private volatile CloudBreakerAdaptiveOptions options;
+    //上次导出的累计计数（用于算增量）
+    private Map<String, long[]> exported;
+    //度量导出的定时任务
+    private ScheduledFuture<?> metricsFuture;
+
+    private CloudBreakerAdaptiveOptions options() {
+        CloudBreakerAdaptiveOptions tmp = options;
+
+        if (tmp == null) {
+            synchronized (this) {
+                if (options == null) {
+                    options = new CloudBreakerAdaptiveOptions(Solon.cfg().getProp(CONFIG_ADAPTIVE_PREFIX));
+                }
+
+                tmp = options;
+            }
+        }
+
+        return tmp;
+    }
+
+    @Override
+    protected BreakerEntrySim create(String name, int value) {
+        return new CloudBreakerEntryAdaptive(name, value, options());
+    }
+
+    /**
+     * 开始定时导出度量（间隔为 metricsIntervalMs）
+     */
+    public synchronized void startMetrics() {
+        long interval = options().metricsIntervalMs;
+
+        if (metricsFuture == null && interval > 0) {
+            metricsFuture = RunUtil.scheduleWithFixedDelay(() -> {
+                try {
+                    exportMetrics();
+                } catch (Throwable e) {
+                    //不能抛出（否则后续不再执行）
+                    LogUtil.global().warn("Breaker metrics export failed", e);
+                }
+            }, interval, interval);
+        }
+    }
+
+    /**
+     * 停止定时导出度量
+     */
+    public synchronized void stopMetrics() {
+        if (metricsFuture != null) {
+            metricsFuture.cancel(false);
+            metricsFuture = null;
+        }
+    }
+
+    /**
+     * 导出度量（类别为 breaker；startMetrics 后定时执行）
+     */
+    public synchronized void exportMetrics() {
+        if (exported == null) {
+            exported = new HashMap<>();
+        }
+
+        for (BreakerEntrySim tmp : getBreakers().values()) {
+            if (tmp instanceof CloudBreakerEntryAdaptive) {
+                CloudBreakerEntryAdaptive entry = (CloudBreakerEntryAdaptive) tmp;
+                String name = entry.getName();
+
+                CloudClient.metric().addGauge("breaker", name + ".limit", entry.getLimit());
+                CloudClient.metric().addGauge("breaker", name + ".inflight", entry.getInflight());
+                CloudClient.metric().addGauge("breaker", name + ".state", entry.getState());
+                CloudClient.metric().addGauge("breaker", name + ".rtt", (long) entry.getRttMs());
+
+                long[] last = exported.computeIfAbsent(name, k -> new long[4]);
+                last[0] = addCounter(name + ".passed", entry.getPassedCount(), last[0]);
+                last[1] = addCounter(name + ".rejected", entry.getRejectedCount(), last[1]);
+                last[2] = addCounter(name + ".error", entry.getErrorCount(), last[2]);
+                last[3] = addCounter(name + ".slow", entry.getSlowCount(), last[3]);
+            }
+        }
+    }
+
+    private long addCounter(String item, long total, long last) {
+        if (total > last) {
+            CloudClient.metric().addCounter("breaker", item, total - last);
+        }
+
+        return total;
+    }
+}
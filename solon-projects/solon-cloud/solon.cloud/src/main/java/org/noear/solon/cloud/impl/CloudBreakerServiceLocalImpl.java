@@ -6,8 +6,9 @@ import org.noear.solon.cloud.model.BreakerException;
 import org.noear.solon.cloud.service.CloudBreakerService;
 import org.noear.solon.core.Props;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 本地熔断服务
@@ -23,7 +24,7 @@ public abstract class CloudBreakerServiceLocalImpl implements CloudBreakerServic
     static final String CONFIG_PREFIX = "solon.cloud.local.breaker";
     static final String CONFIG_DEF = "root";
 
-    private Map<String, BreakerEntrySim> breakers = new HashMap<>();
+    private Map<String, BreakerEntrySim> breakers = new ConcurrentHashMap<>();
     private int rootValue = 0;
 
     public CloudBreakerServiceLocalImpl() {
@@ -61,20 +62,22 @@ public abstract class CloudBreakerServiceLocalImpl implements CloudBreakerServic
 
     protected abstract BreakerEntrySim create(String name, int value);
 
+    /**
+     * 获取所有断路器入口（只读）
+     *
+     * @since 2.6
+     */
+    public Map<String, BreakerEntrySim> getBreakers() {
+        return Collections.unmodifiableMap(breakers);
+    }
+
     @Override
     public AutoCloseable entry(String breakerName) throws BreakerException {
         BreakerEntrySim tmp = breakers.get(breakerName);
 
         if(tmp == null && rootValue > 0) {
             //动态创建
-            synchronized (breakers) {
-                tmp = breakers.get(breakerName);
-
-                if (tmp == null) {
-                    tmp = create(breakerName, rootValue);
-                    breakers.put(breakerName, tmp);
-                }
-            }
+            tmp = breakers.computeIfAbsent(breakerName, k -> create(k, rootValue));
         }
 
         if (tmp == null) {
@@ -0,0 +1,121 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.Utils;
+import org.noear.solon.cloud.CloudClient;
+import org.noear.solon.cloud.annotation.EventLevel;
+import org.noear.solon.cloud.model.Event;
+import org.noear.solon.core.util.LogUtil;
+import org.noear.solon.data.cache.CacheInvalidateChannel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 缓存失效通道（基于云端事件服务，实例级订阅）
+ *
+ * <p>需在事件服务开始订阅前创建（如在 @Bean 里构建二级缓存时）</p>
+ *
+ * <p><code>
+ * &#64;Bean
+ * public CacheService cache(&#64;Inject("${cache.redis}") RedisCacheService redis) {
+ *     return new SecondCacheService(new LocalCacheService(), redis, 300, new CloudCacheInvalidateChannel("demo.cache.invalidate"));
+ * }
+ * </code></p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class CloudCacheInvalidateChannel implements CacheInvalidateChannel {
+    private final String topic;
+    //节点标识（用于忽略自己发布的）
+    private final String nodeId = Utils.guid();
+
+    /**
+     * @param topic 事件主题
+     */
+    public CloudCacheInvalidateChannel(String topic) {
+        if (CloudClient.event() == null) {
+            throw new IllegalArgumentException("Missing CloudEventService component");
+        }
+
+        this.topic = topic;
+    }
+
+    @Override
+    public void publish(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        //格式：节点标识 + 换行，之后每个键为 "长度:键"（键里可以有任意字符）
+        StringBuilder buf = new StringBuilder(nodeId).append('\n');
+        for (String key : keys) {
+            buf.append(key.length()).append(':').append(key);
+        }
+
+        try {
+            CloudClient.event().publish(new Event(topic, buf.toString()));
+        } catch (Throwable e) {
+            //失效通知失败不影响业务（一级缓存到期后自然恢复）
+            LogUtil.global().warn("Cache invalidate publish failed: " + topic, e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Collection<String>> listener) {
+        CloudClient.event().attention(EventLevel.instance, "", "", topic, "", 0, event -> {
+            String content = event.content();
+            if (content == null) {
+                return true;
+            }
+
+            int idx = content.indexOf('\n');
+            if (idx < 0 || nodeId.equals(content.substring(0, idx))) {
+                return true;
+            }
+
+            List<String> keys = decodeKeys(content, idx + 1);
+            if (keys == null) {
+                LogUtil.global().warn("Cache invalidate message is malformed: " + topic);
+                return true;
+            }
+
+            listener.accept(keys);
+            return true;
+        });
+    }
+
+    /**
+     * 解码键（"长度:键" 连续排列；格式不对时，返回 null）
+     */
+    static List<String> decodeKeys(String content, int start) {
+        List<String> keys = new ArrayList<>();
+        int pos = start;
+
+        while (pos < content.length()) {
+            int colon = content.indexOf(':', pos);
+            if (colon <= pos) {
+                return null;
+            }
+
+            int len;
+            try {
+                len = Integer.parseInt(content.substring(pos, colon));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            int end = colon + 1 + len;
+            if (len < 0 || end > content.length()) {
+                return null;
+            }
+
+            keys.add(content.substring(colon + 1, end));
+            pos = end;
+        }
+
+        return keys;
+    }
+}
@@ -0,0 +1,166 @@
+package org.noear.solon.cloud.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 负载统计（按服务地址；由调用结果反馈，如 NamiLoadStatsFilter）
+ *
+ * <p>有需要统计的策略时才启用（如 CloudLoadStrategyLeastActive、CloudLoadStrategyLeastLatency）。
+ * 闲置太久的（节点下线后不会再被选到）会被清理掉</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class CloudLoadStats {
+    /**
+     * 闲置多久后清理（毫秒）
+     */
+    private static final long idleMillis = 5 * 60 * 1000L;
+    /**
+     * 清理间隔（毫秒）
+     */
+    private static final long sweepMillis = 60 * 1000L;
+
+    private static final Map<String, Stats> statsMap = new ConcurrentHashMap<>();
+    private static final AtomicLong nextSweepTime = new AtomicLong();
+    private static volatile boolean enabled;
+
+    /**
+     * 是否启用
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 启用
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * 获取统计（没有则新建）
+     *
+     * @param server 服务地址（如：http://127.0.0.1:8080）
+     */
+    public static Stats get(String server) {
+        long now = System.currentTimeMillis();
+
+        Stats stats = statsMap.get(server);
+        if (stats == null) {
+            stats = statsMap.computeIfAbsent(server, k -> new Stats());
+        }
+        stats.lastTime = now;
+
+        long sweepTime = nextSweepTime.get();
+        if (now >= sweepTime && nextSweepTime.compareAndSet(sweepTime, now + sweepMillis)) {
+            sweep(now);
+        }
+
+        return stats;
+    }
+
+    /**
+     * 移除统计（节点下线时）
+     *
+     * @param server 服务地址
+     */
+    public static void remove(String server) {
+        statsMap.remove(server);
+    }
+
+    /**
+     * 统计数量
+     */
+    public static int size() {
+        return statsMap.size();
+    }
+
+    /**
+     * 清理闲置的统计（没有进行中的调用，且太久没被选到或调用）
+     */
+    static void sweep(long now) {
+        statsMap.entrySet().removeIf(kv -> kv.getValue().getActive() <= 0
+                && now - kv.getValue().lastTime > idleMillis);
+    }
+
+    /**
+     * 从请求地址中提取服务地址（协议 + 主机 + 端口）
+     */
+    public static String serverOf(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        int start = url.indexOf("://");
+        if (start < 0) {
+            return null;
+        }
+
+        int end = url.indexOf('/', start + 3);
+        return end < 0 ? url : url.substring(0, end);
+    }
+
+    /**
+     * 服务地址统计
+     */
+    public static class Stats {
+        /**
+         * 平滑系数
+         */
+        private static final double alpha = 0.2D;
+        /**
+         * 出错时的最小计入耗时（毫秒；让出错的节点暂时少分流量）
+         */
+        private static final double errorPenaltyMs = 1000D;
+
+        private final AtomicInteger active = new AtomicInteger();
+        private volatile double ewmaMs;
+        //最后使用时间（选择或调用）
+        private volatile long lastTime = System.currentTimeMillis();
+
+        /**
+         * 开始一次调用
+         */
+        public void start() {
+            active.incrementAndGet();
+        }
+
+        /**
+         * 结束一次调用
+         *
+         * @param nanos 耗时（纳秒）
+         * @param error 是否出错
+         */
+        public void end(long nanos, boolean error) {
+            active.decrementAndGet();
+
+            double ms = nanos / 1_000_000D;
+            if (error && ms < errorPenaltyMs) {
+                ms = errorPenaltyMs;
+            }
+
+            //近似值即可（并发覆盖不影响选择）
+            double old = ewmaMs;
+            ewmaMs = (old == 0D ? ms : old + alpha * (ms - old));
+        }
+
+        /**
+         * 进行中的调用数
+         */
+        public int getActive() {
+            return active.get();
+        }
+
+        /**
+         * 平滑耗时（毫秒）
+         */
+        public double getEwmaMs() {
+            return ewmaMs;
+        }
+    }
+}
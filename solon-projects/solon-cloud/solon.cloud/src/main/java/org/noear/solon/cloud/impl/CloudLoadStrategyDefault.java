@@ -3,29 +3,31 @@ package org.noear.solon.cloud.impl;
 import org.noear.solon.cloud.model.Discovery;
 import org.noear.solon.cloud.model.Instance;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * 默认负载策略
+ * 默认负载策略（轮询；无锁，计数器挂在发现模型的附件上）
  *
  * @author noear
  * @since 2.2
  */
 public class CloudLoadStrategyDefault implements CloudLoadStrategy {
-    private static final int indexMax = 99999999;
-
     @Override
     public String getServer(Discovery discovery) {
-        Instance instance;
+        Object attachment = discovery.attachment();
+        AtomicInteger counter;
 
-        synchronized (discovery.service().intern()) {
-            Integer index = discovery.attachment();
-            if (index == null || index > indexMax) {
-                index = 0;
-            }
-
-            instance = discovery.instanceGet(index++);
-            discovery.attachmentSet(index);
+        if (attachment instanceof AtomicInteger) {
+            counter = (AtomicInteger) attachment;
+        } else {
+            //首次（或被其它策略占用过）；并发时多建一个也无妨
+            counter = new AtomicInteger();
+            discovery.attachmentSet(counter);
         }
 
+        int index = counter.getAndIncrement() & Integer.MAX_VALUE;
+        Instance instance = discovery.instanceGet(index);
+
         return instance.uri();
     }
 }
@@ -0,0 +1,16 @@
+package org.noear.solon.cloud.impl;
+
+/**
+ * 最少活跃负载策略（二选一，选进行中的调用少的；相同时选平滑耗时低的）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class CloudLoadStrategyLeastActive extends CloudLoadStrategyP2c {
+    @Override
+    protected double cost(CloudLoadStats.Stats stats) {
+        //耗时只作为同活跃数时的次序（折算到 0~1 之间）
+        double ewma = stats.getEwmaMs();
+        return stats.getActive() + ewma / (ewma + 1D);
+    }
+}
@@ -0,0 +1,14 @@
+package org.noear.solon.cloud.impl;
+
+/**
+ * 最低延时负载策略（二选一，选平滑耗时 * (进行中的调用 + 1) 小的）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class CloudLoadStrategyLeastLatency extends CloudLoadStrategyP2c {
+    @Override
+    protected double cost(CloudLoadStats.Stats stats) {
+        return stats.getEwmaMs() * (stats.getActive() + 1);
+    }
+}
@@ -0,0 +1,46 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.cloud.model.Discovery;
+import org.noear.solon.cloud.model.Instance;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 二选一负载策略基类（随机取两个节点，选成本低的；无锁）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public abstract class CloudLoadStrategyP2c implements CloudLoadStrategy {
+    public CloudLoadStrategyP2c() {
+        CloudLoadStats.enable();
+    }
+
+    /**
+     * 成本（越小越优先）
+     */
+    protected abstract double cost(CloudLoadStats.Stats stats);
+
+    @Override
+    public String getServer(Discovery discovery) {
+        int size = discovery.clusterSize();
+        if (size == 1) {
+            return discovery.instanceGet(0).uri();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i1 = random.nextInt(size);
+        int i2 = random.nextInt(size - 1);
+        if (i2 >= i1) {
+            i2++;
+        }
+
+        Instance instance1 = discovery.instanceGet(i1);
+        Instance instance2 = discovery.instanceGet(i2);
+
+        double cost1 = cost(CloudLoadStats.get(instance1.uri()));
+        double cost2 = cost(CloudLoadStats.get(instance2.uri()));
+
+        return (cost2 < cost1 ? instance2 : instance1).uri();
+    }
+}
@@ -0,0 +1,98 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.solon.cloud.model.Discovery;
+import org.noear.solon.cloud.model.Instance;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 权重轮询负载策略（按 Instance.weight；无锁）
+ *
+ * <p>按平滑权重轮询预先排好一轮的顺序（挂在发现模型的附件上），之后只需原子计数取位；集群版本变化时重排</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class CloudLoadStrategyWeighted implements CloudLoadStrategy {
+    /**
+     * 一轮的最大长度
+     */
+    private static final int scheduleMax = 1024;
+
+    @Override
+    public String getServer(Discovery discovery) {
+        Object attachment = discovery.attachment();
+        Schedule schedule;
+
+        if (attachment instanceof Schedule && ((Schedule) attachment).version == discovery.version()) {
+            schedule = (Schedule) attachment;
+        } else {
+            //先取版本再取节点（并发变化时，宁可多重排一次）
+            int version = discovery.version();
+            schedule = new Schedule(discovery.cluster(), version);
+            discovery.attachmentSet(schedule);
+        }
+
+        return schedule.next().uri();
+    }
+
+    static class Schedule {
+        final int version;
+        final int size;
+        final Instance[] slots;
+        final AtomicInteger counter = new AtomicInteger();
+
+        Schedule(List<Instance> cluster, int version) {
+            this.version = version;
+
+            Instance[] instances = cluster.toArray(new Instance[0]);
+            size = instances.length;
+
+            double[] weights = new double[size];
+            double total = 0;
+            for (int i = 0; i < size; i++) {
+                weights[i] = Math.max(0D, instances[i].weight());
+                total += weights[i];
+            }
+
+            if (total <= 0) {
+                //都没有权重，则平分
+                for (int i = 0; i < size; i++) {
+                    weights[i] = 1D;
+                }
+                total = size;
+            }
+
+            //一轮的长度（按最小正权重折算，不超过上限）
+            double min = Double.MAX_VALUE;
+            for (double w : weights) {
+                if (w > 0 && w < min) {
+                    min = w;
+                }
+            }
+
+            int length = (int) Math.min(scheduleMax, Math.max(size, Math.round(total / min)));
+
+            //平滑权重轮询（nginx 的算法）
+            slots = new Instance[length];
+            double[] current = new double[size];
+            for (int n = 0; n < length; n++) {
+                int best = -1;
+                for (int i = 0; i < size; i++) {
+                    current[i] += weights[i];
+                    if (weights[i] > 0 && (best < 0 || current[i] > current[best])) {
+                        best = i;
+                    }
+                }
+
+                current[best] -= total;
+                slots[n] = instances[best];
+            }
+        }
+
+        Instance next() {
+            return slots[(counter.getAndIncrement() & Integer.MAX_VALUE) % slots.length];
+        }
+    }
+}
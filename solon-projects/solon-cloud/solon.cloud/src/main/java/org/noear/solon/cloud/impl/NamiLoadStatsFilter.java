@@ -0,0 +1,56 @@
+package org.noear.solon.cloud.impl;
+
+import org.noear.nami.Filter;
+import org.noear.nami.Invocation;
+import org.noear.nami.NamiManager;
+import org.noear.nami.Result;
+
+/**
+ * Nami 负载统计过滤器（把调用结果反馈给 CloudLoadStats）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class NamiLoadStatsFilter implements Filter {
+    /**
+     * 注册过滤器
+     * */
+    public static void register() {
+        NamiManager.reg(new NamiLoadStatsFilter());
+    }
+
+    @Override
+    public Result doFilter(Invocation inv) throws Throwable {
+        if (CloudLoadStats.isEnabled() == false) {
+            return inv.invoke();
+        }
+
+        String server = CloudLoadStats.serverOf(inv.url);
+        if (server == null) {
+            return inv.invoke();
+        }
+
+        CloudLoadStats.Stats stats = CloudLoadStats.get(server);
+        long start = System.nanoTime();
+        Result result;
+
+        stats.start();
+        try {
+            result = inv.invoke();
+        } catch (Throwable e) {
+            stats.end(System.nanoTime() - start, true);
+            throw e;
+        }
+
+        if (inv.isAsync() && inv.future() != null) {
+            //异步的，等结果出来再统计
+            inv.future().whenComplete((r, e) -> {
+                stats.end(System.nanoTime() - start, e != null || (r != null && r.code() >= 500));
+            });
+        } else {
+            stats.end(System.nanoTime() - start, result != null && result.code() >= 500);
+        }
+
+        return result;
+    }
+}
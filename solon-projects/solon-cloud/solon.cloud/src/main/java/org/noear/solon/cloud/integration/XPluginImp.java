@@ -73,6 +73,12 @@ public class XPluginImp implements Plugin , InitializingBean {
             }
         }
 
+        if (CloudClient.breaker() == null && Solon.cfg().getBool(CloudBreakerServiceAdaptiveImpl.CONFIG_ADAPTIVE_ENABLE, false)) {
+            //设置本地自适应熔断服务（并定时导出度量）
+            CloudManager.register(CloudBreakerServiceAdaptiveImpl.getInstance());
+            CloudBreakerServiceAdaptiveImpl.getInstance().startMetrics();
+        }
+
         if (CloudClient.trace() == null) {
             //设置默认的登录服务
             CloudManager.register(new CloudTraceServiceImpl());
@@ -82,6 +88,8 @@ public class XPluginImp implements Plugin , InitializingBean {
         if (ClassUtil.loadClass("org.noear.nami.NamiManager") != null) {
             //注册Nami跟踪过滤器
             NamiTraceFilter.register();
+            //注册Nami负载统计过滤器（有需要统计的负载策略时才生效）
+            NamiLoadStatsFilter.register();
         }
 
         context.getBeanAsync(CloudLoadStrategy.class, bean -> {
@@ -110,4 +118,11 @@ public class XPluginImp implements Plugin , InitializingBean {
             }
         }
     }
+
+    @Override
+    public void stop() throws Throwable {
+        if (CloudClient.breaker() instanceof CloudBreakerServiceAdaptiveImpl) {
+            ((CloudBreakerServiceAdaptiveImpl) CloudClient.breaker()).stopMetrics();
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package org.noear.solon.cloud.model;
+
+/**
+ * 断路器通行凭证（进入后获得；可反馈出错，关闭时结算）
+ *
+ * <p><code>
+ *     try(AutoCloseable entry = CloudClient.breaker().entry("test")){
+ *         try {
+ *             //业务处理
+ *         } catch (Throwable e) {
+ *             if (entry instanceof BreakerPass) {
+ *                 ((BreakerPass) entry).error(e);
+ *             }
+ *             throw e;
+ *         }
+ *     }
+ * </code></p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public interface BreakerPass extends AutoCloseable {
+    /**
+     * 标记出错
+     */
+    void error(Throwable e);
+}
@@ -15,6 +15,8 @@ public class Discovery implements Serializable {
     private final List<Instance> cluster;
     private String agent;
     private String policy;
+    //集群版本（节点变化时递增）
+    private volatile int version;
 
     private transient Object attachment;
     /*
@@ -86,11 +88,21 @@ public class Discovery implements Serializable {
         return cluster.size();
     }
 
+    /**
+     * 获取集群版本（节点变化时递增；给策略判断附件是否过时）
+     *
+     * @since 2.6
+     * */
+    public int version() {
+        return version;
+    }
+
     /**
      * 添加集群实例节点
      * */
     public Discovery instanceAdd(Instance instance){
         cluster.add(instance);
+        version++;
         return this;
     }
 
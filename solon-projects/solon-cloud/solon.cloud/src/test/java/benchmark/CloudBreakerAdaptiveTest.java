@@ -0,0 +1,143 @@
+package benchmark;
+
+import org.noear.solon.cloud.impl.CloudBreakerAdaptiveOptions;
+import org.noear.solon.cloud.impl.CloudBreakerEntryAdaptive;
+import org.noear.solon.cloud.model.BreakerException;
+import org.noear.solon.cloud.model.BreakerPass;
+import org.noear.solon.core.Props;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自适应熔断（64 个并发调用者；后端只能并行处理 16 个，超出则排队变慢；后段时间后端全部出错）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class CloudBreakerAdaptiveTest {
+    static final int threads = 64;
+    static final int capacity = 16;
+    static final long durationMs = 3000;
+
+    static final AtomicInteger backendActive = new AtomicInteger();
+    static volatile boolean backendDown;
+
+    public static void main(String[] args) throws Exception {
+        for (int r = 0; r < 2; r++) {
+            testStatic();
+            testAdaptive();
+            System.out.println();
+        }
+    }
+
+    static void testStatic() throws Exception {
+        Semaphore semaphore = new Semaphore(100);
+        run("static", () -> {
+            if (semaphore.tryAcquire() == false) {
+                return -1;
+            }
+
+            try {
+                return backend();
+            } finally {
+                semaphore.release();
+            }
+        });
+    }
+
+    static void testAdaptive() throws Exception {
+        Props props = new Props();
+        props.put("slowCallMs", "50");
+        props.put("windowMs", "1000");
+        props.put("openMs", "200");
+        CloudBreakerEntryAdaptive entry = new CloudBreakerEntryAdaptive("demo", 100, new CloudBreakerAdaptiveOptions(props));
+
+        run("adaptive", () -> {
+            try (AutoCloseable pass = entry.enter()) {
+                try {
+                    return backend();
+                } catch (Exception e) {
+                    ((BreakerPass) pass).error(e);
+                    throw e;
+                }
+            } catch (BreakerException e) {
+                return -1;
+            }
+        });
+
+        System.out.println("adaptive: limit=" + entry.getLimit() + ", state=" + entry.getState()
+                + ", passed=" + entry.getPassedCount() + ", rejected=" + entry.getRejectedCount()
+                + ", error=" + entry.getErrorCount());
+    }
+
+    /**
+     * 模拟后端（超出并行能力时按比例变慢）
+     */
+    static long backend() throws Exception {
+        int n = backendActive.incrementAndGet();
+        try {
+            long start = System.nanoTime();
+            Thread.sleep(Math.max(1, n / capacity) * 2L);
+
+            if (backendDown) {
+                throw new IllegalStateException("down");
+            }
+
+            return System.nanoTime() - start;
+        } finally {
+            backendActive.decrementAndGet();
+        }
+    }
+
+    static void run(String name, Call call) throws Exception {
+        LongAdder ok = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder nanos = new LongAdder();
+
+        backendDown = false;
+        long end = System.currentTimeMillis() + durationMs;
+        long downAt = end - durationMs / 3;
+
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                while (true) {
+                    long now = System.currentTimeMillis();
+                    if (now > end) {
+                        break;
+                    }
+
+                    if (now > downAt) {
+                        backendDown = true;
+                    }
+
+                    try {
+                        long rst = call.call();
+                        if (rst < 0) {
+                            rejected.increment();
+                            Thread.yield();
+                        } else {
+                            ok.increment();
+                            nanos.add(rst);
+                        }
+                    } catch (Exception e) {
+                        failed.increment();
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        latch.await();
+
+        System.out.println(name + ": ok=" + ok.sum() + ", avg=" + (nanos.sum() / Math.max(1, ok.sum()) / 1000) + "us"
+                + ", rejected=" + rejected.sum() + ", failed(backend calls)=" + failed.sum());
+    }
+
+    interface Call {
+        long call() throws Exception;
+    }
+}
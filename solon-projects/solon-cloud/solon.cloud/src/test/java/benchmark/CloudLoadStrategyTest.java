@@ -0,0 +1,84 @@
+package benchmark;
+
+import org.noear.solon.cloud.impl.*;
+import org.noear.solon.cloud.model.Discovery;
+import org.noear.solon.cloud.model.Instance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 负载策略（32 个并发调用者，同一个服务 4 个节点）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class CloudLoadStrategyTest {
+    static final int threads = 32;
+    static final int count = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        for (int r = 0; r < 3; r++) {
+            test("old", new OldStrategy());
+            test("round-robin", new CloudLoadStrategyDefault());
+            test("weighted", new CloudLoadStrategyWeighted());
+            test("least-active", new CloudLoadStrategyLeastActive());
+            test("least-latency", new CloudLoadStrategyLeastLatency());
+            System.out.println();
+        }
+    }
+
+    static void test(String name, CloudLoadStrategy strategy) throws Exception {
+        Discovery discovery = new Discovery("demo");
+        for (int i = 0; i < 4; i++) {
+            discovery.instanceAdd(new Instance("demo", "127.0.0.1:808" + i).weight(i + 1));
+        }
+
+        Map<String, LongAdder> hits = new ConcurrentHashMap<>();
+        for (Instance instance : discovery.cluster()) {
+            hits.put(instance.uri(), new LongAdder());
+        }
+
+        CountDownLatch latch = new CountDownLatch(threads);
+        long start = System.currentTimeMillis();
+
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    String server = strategy.getServer(discovery);
+                    if ((i & 1023) == 0) {
+                        hits.get(server).increment();
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        latch.await();
+
+        System.out.println(name + ": " + (System.currentTimeMillis() - start) + "ms " + hits);
+    }
+
+    /**
+     * 之前的实现（按服务名加锁）
+     */
+    static class OldStrategy implements CloudLoadStrategy {
+        @Override
+        public String getServer(Discovery discovery) {
+            Instance instance;
+
+            synchronized (discovery.service().intern()) {
+                Integer index = discovery.attachment();
+                if (index == null || index > 99999999) {
+                    index = 0;
+                }
+
+                instance = discovery.instanceGet(index++);
+                discovery.attachmentSet(index);
+            }
+
+            return instance.uri();
+        }
+    }
+}
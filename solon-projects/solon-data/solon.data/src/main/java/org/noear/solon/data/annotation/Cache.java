@@ -27,6 +27,15 @@ public @interface Cache {
     @Note("缓存时间，0表示缓存服务的默认时间")
     int seconds() default 0;
 
+    /**
+     * 大于0且小于缓存时间时有效：超过软时间后，异步刷新（同一个 key 只有一个在刷新），调用者继续用旧值（stale-while-revalidate）；
+     * 软过期时间存在缓存值里（需要序列化方案能保留值类型）
+     *
+     * @since 2.6
+     * */
+    @Note("软缓存时间，0表示不启用")
+    int softSeconds() default 0;
+
     /**
      * 例：user_${user_id}
      * */
@@ -6,8 +6,16 @@ import org.noear.solon.data.annotation.Cache;
 import org.noear.solon.data.annotation.CachePut;
 import org.noear.solon.data.annotation.CacheRemove;
 import org.noear.solon.data.util.InvKeys;
+import org.noear.solon.core.util.LogUtil;
+import org.noear.solon.core.util.RunUtil;
 import org.noear.solon.core.util.SupplierEx;
 
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
 /**
  * 缓存执行器
  *
@@ -17,6 +25,9 @@ import org.noear.solon.core.util.SupplierEx;
 public class CacheExecutorImp {
     public static final CacheExecutorImp global = new CacheExecutorImp();
 
+    //进行中的加载（key 为：service#key）
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
     /**
      * 添加缓存
      *
@@ -40,43 +51,193 @@ public class CacheExecutorImp {
         }
 
 
-        Object result = null;
         CacheService cs = CacheLib.cacheServiceGet(anno.service());
+        String flightKey = anno.service() + "#" + key;
+        Class<?> returnType = inv.method().getReturnType();
+        //启用软过期时，缓存的是带着软过期时间的值（不需要额外的标记键）
+        Class<?> cachedType = (isSoftEnabled(anno) ? SoftValue.class : returnType);
 
-        String keyLock = key + ":lock";
+        //1.从缓存获取
+        //
+        Object cached = cs.get(key, cachedType);
+        Object result = unwrap(cached, returnType);
 
-        synchronized (keyLock.intern()) {
+        if (result != null && cached instanceof SoftValue) {
+            if (((SoftValue) cached).softTime <= System.currentTimeMillis()) {
+                //1.1.软过期：异步刷新（同一个 key 只有一个在刷新），调用者继续用旧值
+                refreshAsync(anno, inv, executor, cs, key, flightKey, (SoftValue) cached);
+            }
+        }
 
-            //1.从缓存获取
-            //
-            result = cs.get(key, inv.method().getReturnType());
+        if (result != null) {
+            return result;
+        }
+
+        //2.没有缓存：同一个 key 只有一个调用者加载，其它调用者共享结果（single-flight）
+        //
+        Flight flight = new Flight();
+        Flight flightOld = flights.putIfAbsent(flightKey, flight);
+
+        if (flightOld != null) {
+            if (flightOld.owner == Thread.currentThread()) {
+                //重入（同一线程再次加载同一个 key）
+                return executor.get();
+            } else {
+                return flightOld.await();
+            }
+        }
+
+        try {
+            //再查一次（可能刚被其它调用者加载过）
+            result = unwrap(cs.get(key, cachedType), returnType);
 
             if (result == null) {
-                //2.执行调用，并返回
-                //
-                result = executor.get();
+                result = load(anno, inv, executor, cs, key);
+            }
 
-                if (result != null) {
-                    //3.不为null，则进行缓存
-                    //
-                    cs.store(key, result, anno.seconds());
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * 异步刷新（与加载共用 single-flight；刷新结果为 null 或失败时，旧值退避一个软时间后再刷新）
+     */
+    private void refreshAsync(Cache anno, Invocation inv, SupplierEx executor, CacheService cs, String key, String flightKey, SoftValue stale) {
+        Flight flight = new Flight();
+        if (flights.putIfAbsent(flightKey, flight) != null) {
+            //已经在加载或刷新了
+            return;
+        }
 
-                    if (Utils.isNotEmpty(anno.tags())) {
-                        String tags = InvKeys.buildByTmlAndInv(anno.tags(), inv, result);
-                        CacheTags ct = new CacheTags(cs);
+        try {
+            RunUtil.async(() -> {
+                flight.owner = Thread.currentThread();
 
-                        //4.添加缓存标签
-                        for (String tag : tags.split(",")) {
-                            ct.add(tag, key, anno.seconds());
-                        }
+                try {
+                    Object tmp = load(anno, inv, executor, cs, key);
+
+                    if (tmp == null) {
+                        backoff(anno, cs, key, stale);
                     }
+
+                    flight.complete(tmp == null ? stale.value : tmp);
+                } catch (Throwable e) {
+                    backoff(anno, cs, key, stale);
+                    flight.complete(stale.value);
+                    LogUtil.global().warn("Cache refresh failed, stale value served: " + key, e);
+                } finally {
+                    flights.remove(flightKey, flight);
                 }
+            });
+        } catch (Throwable e) {
+            //提交失败（如执行器已关闭）
+            flights.remove(flightKey, flight);
+            flight.complete(stale.value);
+        }
+    }
+
+    /**
+     * 退避（旧值按原来的过期时间保留，软过期时间往后推一个软时间）
+     */
+    private void backoff(Cache anno, CacheService cs, String key, SoftValue stale) {
+        long now = System.currentTimeMillis();
+        int seconds = anno.seconds();
+
+        if (stale.expireTime > 0) {
+            seconds = (int) ((stale.expireTime - now) / 1000);
+
+            if (seconds <= 0) {
+                //旧值也到期了，不再保留
+                return;
             }
+        }
 
-            return result;
+        CacheInvalidateBatch.beginFill();
+        try {
+            cs.store(key, new SoftValue(stale.value, now + anno.softSeconds() * 1000L, stale.expireTime), seconds);
+        } finally {
+            CacheInvalidateBatch.endFill();
         }
     }
 
+    /**
+     * 取出值（序列化方案没有保留值类型的，当没有缓存）
+     */
+    private static Object unwrap(Object cached, Class<?> returnType) {
+        if (cached instanceof SoftValue) {
+            Object value = ((SoftValue) cached).value;
+
+            if (value != null && returnType.isPrimitive() == false && returnType.isInstance(value) == false) {
+                return null;
+            } else {
+                return value;
+            }
+        } else {
+            return cached;
+        }
+    }
+
+    /**
+     * 执行调用并缓存
+     */
+    private Object load(Cache anno, Invocation inv, SupplierEx executor, CacheService cs, String key) throws Throwable {
+        //执行调用，并返回
+        //
+        Object result = executor.get();
+
+        if (result != null) {
+            //不为null，则进行缓存
+            //
+            //回填（不是变更，二级缓存不通知其它节点）
+            CacheInvalidateBatch.beginFill();
+            try {
+                if (isSoftEnabled(anno)) {
+                    long now = System.currentTimeMillis();
+                    long expireTime = (anno.seconds() > 0 ? now + anno.seconds() * 1000L : 0);
+
+                    cs.store(key, new SoftValue(result, now + anno.softSeconds() * 1000L, expireTime), anno.seconds());
+                } else {
+                    cs.store(key, result, anno.seconds());
+                }
+            } finally {
+                CacheInvalidateBatch.endFill();
+            }
+
+            if (Utils.isNotEmpty(anno.tags())) {
+                String tags = InvKeys.buildByTmlAndInv(anno.tags(), inv, result);
+                CacheTags ct = new CacheTags(cs);
+
+                //添加缓存标签
+                for (String tag : tags.split(",")) {
+                    ct.add(tag, key, anno.seconds());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 是否启用软过期（软时间大于 0，且小于缓存时间）
+     */
+    private static boolean isSoftEnabled(Cache anno) {
+        if (anno.softSeconds() <= 0) {
+            return false;
+        }
+
+        if (anno.seconds() > 0 && anno.softSeconds() >= anno.seconds()) {
+            return false;
+        }
+
+        return true;
+    }
+
     /**
      * 清除移除
      *
@@ -89,25 +250,31 @@ public class CacheExecutorImp {
             return;
         }
 
-        CacheService cs = CacheLib.cacheServiceGet(anno.service());
+        //一次操作的失效，合并为一批（二级缓存跨节点失效时用）
+        CacheInvalidateBatch.begin();
+        try {
+            CacheService cs = CacheLib.cacheServiceGet(anno.service());
 
-        //按 key 清除缓存
-        if (Utils.isNotEmpty(anno.keys())) {
-            String keys = InvKeys.buildByTmlAndInv(anno.keys(), inv, rstValue);
+            //按 key 清除缓存
+            if (Utils.isNotEmpty(anno.keys())) {
+                String keys = InvKeys.buildByTmlAndInv(anno.keys(), inv, rstValue);
 
-            for (String key : keys.split(",")) {
-                cs.remove(key);
+                for (String key : keys.split(",")) {
+                    cs.remove(key);
+                }
             }
-        }
 
-        //按 tags 清除缓存
-        if (Utils.isNotEmpty(anno.tags())) {
-            String tags = InvKeys.buildByTmlAndInv(anno.tags(), inv, rstValue);
-            CacheTags ct = new CacheTags(cs);
+            //按 tags 清除缓存
+            if (Utils.isNotEmpty(anno.tags())) {
+                String tags = InvKeys.buildByTmlAndInv(anno.tags(), inv, rstValue);
+                CacheTags ct = new CacheTags(cs);
 
-            for (String tag : tags.split(",")) {
-                ct.remove(tag);
+                for (String tag : tags.split(",")) {
+                    ct.remove(tag);
+                }
             }
+        } finally {
+            CacheInvalidateBatch.end();
         }
     }
 
@@ -123,22 +290,74 @@ public class CacheExecutorImp {
             return;
         }
 
-        CacheService cs = CacheLib.cacheServiceGet(anno.service());
+        //一次操作的失效，合并为一批（二级缓存跨节点失效时用）
+        CacheInvalidateBatch.begin();
+        try {
+            CacheService cs = CacheLib.cacheServiceGet(anno.service());
+
+            //按 key 更新缓存
+            if (Utils.isNotEmpty(anno.key())) {
+                String key = InvKeys.buildByTmlAndInv(anno.key(), inv, rstValue);
+                cs.store(key, rstValue, anno.seconds());
+            }
 
-        //按 key 更新缓存
-        if (Utils.isNotEmpty(anno.key())) {
-            String key = InvKeys.buildByTmlAndInv(anno.key(), inv, rstValue);
-            cs.store(key, rstValue, anno.seconds());
+            //按 tags 更新缓存
+            if (Utils.isNotEmpty(anno.tags())) {
+                String tags = InvKeys.buildByTmlAndInv(anno.tags(), inv, rstValue);
+                CacheTags ct = new CacheTags(cs);
+
+                for (String tag : tags.split(",")) {
+                    ct.update(tag, rstValue, anno.seconds());
+                }
+            }
+        } finally {
+            CacheInvalidateBatch.end();
         }
+    }
 
-        //按 tags 更新缓存
-        if (Utils.isNotEmpty(anno.tags())) {
-            String tags = InvKeys.buildByTmlAndInv(anno.tags(), inv, rstValue);
-            CacheTags ct = new CacheTags(cs);
+    /**
+     * 进行中的加载
+     */
+    private static class Flight extends CompletableFuture<Object> {
+        //加载线程（异步刷新时为刷新线程）
+        volatile Thread owner = Thread.currentThread();
 
-            for (String tag : tags.split(",")) {
-                ct.update(tag, rstValue, anno.seconds());
+        Object await() throws Throwable {
+            try {
+                return get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 带软过期时间的缓存值（启用软过期时，缓存的是它）
+     */
+    public static class SoftValue implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 值
+         */
+        public Object value;
+        /**
+         * 软过期时间（到了之后异步刷新）
+         */
+        public long softTime;
+        /**
+         * 过期时间（0 表示由缓存服务决定）
+         */
+        public long expireTime;
+
+        public SoftValue() {
+            //用于反序列化
+        }
+
+        public SoftValue(Object value, long softTime, long expireTime) {
+            this.value = value;
+            this.softTime = softTime;
+            this.expireTime = expireTime;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.noear.solon.data.cache;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 缓存失效批次（同一线程内，一次操作产生的失效合并为一批发布）
+ *
+ * <p><code>
+ * CacheInvalidateBatch.begin();
+ * try {
+ *     cs.remove("k1");
+ *     cs.remove("k2");
+ * } finally {
+ *     CacheInvalidateBatch.end(); //合并为一次发布
+ * }
+ * </code></p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class CacheInvalidateBatch {
+    private static final ThreadLocal<CacheInvalidateBatch> threadLocal = new ThreadLocal<>();
+    //回填深度（回源加载后的写入）
+    private static final ThreadLocal<int[]> fillLocal = new ThreadLocal<>();
+
+    private final Map<CacheInvalidateChannel, Set<String>> pending = new LinkedHashMap<>();
+    private int depth;
+
+    /**
+     * 开始批次（可嵌套，最外层结束时发布）
+     */
+    public static void begin() {
+        CacheInvalidateBatch batch = threadLocal.get();
+        if (batch == null) {
+            batch = new CacheInvalidateBatch();
+            threadLocal.set(batch);
+        }
+
+        batch.depth++;
+    }
+
+    /**
+     * 结束批次
+     */
+    public static void end() {
+        CacheInvalidateBatch batch = threadLocal.get();
+        if (batch == null) {
+            return;
+        }
+
+        if (--batch.depth > 0) {
+            return;
+        }
+
+        threadLocal.remove();
+
+        for (Map.Entry<CacheInvalidateChannel, Set<String>> kv : batch.pending.entrySet()) {
+            kv.getKey().publish(kv.getValue());
+        }
+    }
+
+    /**
+     * 加入当前批次（没有批次时，返回 false）
+     */
+    public static boolean offer(CacheInvalidateChannel channel, String key) {
+        CacheInvalidateBatch batch = threadLocal.get();
+        if (batch == null) {
+            return false;
+        }
+
+        batch.pending.computeIfAbsent(channel, k -> new LinkedHashSet<>()).add(key);
+        return true;
+    }
+
+    /**
+     * 开始回填（回源加载后的写入只是补缓存，不是变更，不通知其它节点；可嵌套）
+     */
+    public static void beginFill() {
+        int[] depth = fillLocal.get();
+        if (depth == null) {
+            depth = new int[1];
+            fillLocal.set(depth);
+        }
+
+        depth[0]++;
+    }
+
+    /**
+     * 结束回填
+     */
+    public static void endFill() {
+        int[] depth = fillLocal.get();
+        if (depth == null) {
+            return;
+        }
+
+        if (--depth[0] <= 0) {
+            fillLocal.remove();
+        }
+    }
+
+    /**
+     * 是否在回填中
+     */
+    static boolean isFilling() {
+        return fillLocal.get() != null;
+    }
+}
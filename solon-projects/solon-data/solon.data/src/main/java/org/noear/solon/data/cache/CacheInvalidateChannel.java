@@ -0,0 +1,28 @@
+package org.noear.solon.data.cache;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * 缓存失效通道（用于二级缓存的跨节点失效；一个实例代表一个节点的端点）
+ *
+ * <p>自己发布的，自己不会收到</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public interface CacheInvalidateChannel {
+    /**
+     * 发布失效的缓存键（批量）
+     *
+     * @param keys 缓存键
+     */
+    void publish(Collection<String> keys);
+
+    /**
+     * 订阅其它节点发布的失效
+     *
+     * @param listener 监听者（参数为缓存键）
+     */
+    void subscribe(Consumer<Collection<String>> listener);
+}
@@ -0,0 +1,55 @@
+package org.noear.solon.data.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 缓存失效回环（在 JVM 内模拟多个节点；用于测试或单机多实例）
+ *
+ * <p><code>
+ * CacheInvalidateLoopback loopback = new CacheInvalidateLoopback();
+ * CacheService node1 = new SecondCacheService(l1a, redis, 5, loopback.channel());
+ * CacheService node2 = new SecondCacheService(l1b, redis, 5, loopback.channel());
+ * </code></p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class CacheInvalidateLoopback {
+    private final List<Endpoint> endpoints = new CopyOnWriteArrayList<>();
+
+    /**
+     * 新建一个节点的通道
+     */
+    public CacheInvalidateChannel channel() {
+        Endpoint endpoint = new Endpoint();
+        endpoints.add(endpoint);
+        return endpoint;
+    }
+
+    private class Endpoint implements CacheInvalidateChannel {
+        private final List<Consumer<Collection<String>>> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(Collection<String> keys) {
+            //复制一份（避免发布者之后修改）
+            List<String> copy = new ArrayList<>(keys);
+
+            for (Endpoint e : endpoints) {
+                if (e != this) {
+                    for (Consumer<Collection<String>> listener : e.listeners) {
+                        listener.accept(copy);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void subscribe(Consumer<Collection<String>> listener) {
+            listeners.add(listener);
+        }
+    }
+}
@@ -67,13 +67,19 @@ public class CacheTags {
 
         List<String> cacheKeyList = _get(tagKey);
 
-        for (String cacheKey : cacheKeyList) {
-            if (cacheKey.startsWith(TAG_SECONDS) == false) {
-                _cache.remove(cacheKey);
+        //标签相关的失效，合并为一批
+        CacheInvalidateBatch.begin();
+        try {
+            for (String cacheKey : cacheKeyList) {
+                if (cacheKey.startsWith(TAG_SECONDS) == false) {
+                    _cache.remove(cacheKey);
+                }
             }
-        }
 
-        _cache.remove(tagKey);
+            _cache.remove(tagKey);
+        } finally {
+            CacheInvalidateBatch.end();
+        }
 
         return this;
     }
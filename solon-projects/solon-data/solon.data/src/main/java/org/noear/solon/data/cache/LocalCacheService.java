@@ -3,41 +3,116 @@ package org.noear.solon.data.cache;
 import org.noear.solon.Utils;
 import org.noear.solon.core.util.RunUtil;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * 默认缓存服务
  *
+ * <p>分段存储（有最大数量时，每段一个 LRU 链表与锁，按段近似 LRU 淘汰；不限数量时，为无锁读的并发表）；
+ * 过期为读时惰性检查，加一个共享的时间轮（秒级）回收；覆盖、移除、淘汰时，旧实体同时移出时间轮</p>
+ *
  * @author noear
  * @since 1.0
  * */
 public class LocalCacheService implements CacheService {
     public static final CacheService instance = new LocalCacheService();
 
+    private static final int SEGMENT_COUNT = 16;
+    private static final int WHEEL_SIZE = 512; //时间轮槽数（秒）
+
     private int _defaultSeconds;
+    private long _maxSize;
+
+    //缓存存储器（分段）
+    private final Segment[] _segments;
+
+    //时间轮
+    private final WheelSlot[] _wheel = buildWheel();
+    private volatile ScheduledFuture<?> _wheelFuture;
+    private long _wheelTick;
+
+    //统计
+    private final LongAdder _hitCount = new LongAdder();
+    private final LongAdder _missCount = new LongAdder();
+    private final LongAdder _evictionCount = new LongAdder();
 
-    //缓存存储器
-    private final Map<String, Entity> _data = new ConcurrentHashMap<>();
     public LocalCacheService() {
         this(30);
     }
 
     public LocalCacheService(int defSeconds) {
+        this(defSeconds, 0);
+    }
+
+    /**
+     * @param defSeconds 默认秒数
+     * @param maxSize    最大数量（0 表示不限）
+     * @since 2.6
+     */
+    public LocalCacheService(int defSeconds, long maxSize) {
         _defaultSeconds = defSeconds;
+        _maxSize = maxSize;
+        _segments = buildSegments();
     }
 
     public LocalCacheService(Properties prop) {
         String defSeconds_str = prop.getProperty("defSeconds");
+        String maxSize_str = prop.getProperty("maxSize");
 
         if (Utils.isNotEmpty(defSeconds_str)) {
             _defaultSeconds = Integer.parseInt(defSeconds_str);
         }
 
+        if (Utils.isNotEmpty(maxSize_str)) {
+            _maxSize = Long.parseLong(maxSize_str);
+        }
+
         if (_defaultSeconds < 1) {
             _defaultSeconds = 30;
         }
+
+        _segments = buildSegments();
+    }
+
+    private Segment[] buildSegments() {
+        long segmentMaxSize = 0;
+        if (_maxSize > 0) {
+            segmentMaxSize = Math.max(1, (_maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        }
+
+        Segment[] segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentMaxSize, this::wheelRemove);
+        }
+
+        return segments;
+    }
+
+    private static WheelSlot[] buildWheel() {
+        WheelSlot[] wheel = new WheelSlot[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new WheelSlot();
+        }
+
+        return wheel;
+    }
+
+    private Segment segmentFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return _segments[h & (SEGMENT_COUNT - 1)];
     }
 
     /**
@@ -53,24 +128,21 @@ public class LocalCacheService implements CacheService {
             seconds = getDefalutSeconds();
         }
 
-        synchronized (_data) {
-            Entity ent = _data.get(key);
-            if (ent == null) {
-                //如果末存在，则新建实体
-                ent = new Entity(obj);
-                _data.put(key, ent);
-            } else {
-                //如果已存储，取消超时处理，且更新值
-                ent.value = obj;
-                ent.futureDel();
-            }
+        long expireTime = 0;
+        if (seconds > 0) {
+            expireTime = System.currentTimeMillis() + seconds * 1000L;
+        }
 
-            if (seconds > 0) {
-                //设定新的超时
-                ent.future = RunUtil.delay(() -> {
-                    _data.remove(key);
-                }, seconds * 1000L);
-            }
+        //每次保存都是新实体（被替换的旧实体，由分段移出时间轮）
+        Entity ent = new Entity(key, obj, expireTime);
+
+        int evicted = segmentFor(key).put(ent);
+        if (evicted > 0) {
+            _evictionCount.add(evicted);
+        }
+
+        if (expireTime > 0) {
+            wheelAdd(ent);
         }
     }
 
@@ -80,10 +152,17 @@ public class LocalCacheService implements CacheService {
      * @param key 缓存键
      */
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T get(String key, Class<T> clz) {
-        Entity ent = _data.get(key);
+        Entity ent = segmentFor(key).get(key, System.currentTimeMillis());
 
-        return ent == null ? null : (T)ent.value;
+        if (ent == null) {
+            _missCount.increment();
+            return null;
+        } else {
+            _hitCount.increment();
+            return (T) ent.value;
+        }
     }
 
     /**
@@ -93,47 +172,402 @@ public class LocalCacheService implements CacheService {
      */
     @Override
     public void remove(String key) {
-        synchronized (_data) {
-            Entity ent = _data.remove(key);
-
-            if (ent != null) {
-                ent.futureDel();
-            }
-        }
+        segmentFor(key).remove(key, null);
     }
 
     /**
      * 表空
      * */
     public void clear() {
-        for (Entity ent : _data.values()) {
-            ent.futureDel();
+        for (Segment segment : _segments) {
+            segment.clear();
         }
 
-        _data.clear();
+        for (WheelSlot slot : _wheel) {
+            slot.drain();
+        }
     }
 
     public int getDefalutSeconds() {
         return _defaultSeconds;
     }
 
+    /**
+     * 最大数量（0 表示不限）
+     *
+     * @since 2.6
+     */
+    public long getMaxSize() {
+        return _maxSize;
+    }
+
+    /**
+     * 当前数量
+     *
+     * @since 2.6
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : _segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * 命中次数
+     *
+     * @since 2.6
+     */
+    public long getHitCount() {
+        return _hitCount.sum();
+    }
+
+    /**
+     * 未命中次数
+     *
+     * @since 2.6
+     */
+    public long getMissCount() {
+        return _missCount.sum();
+    }
+
+    /**
+     * 淘汰次数（因数量超限）
+     *
+     * @since 2.6
+     */
+    public long getEvictionCount() {
+        return _evictionCount.sum();
+    }
+
+    /////////////////////
+
+    private WheelSlot wheelSlotFor(Entity ent) {
+        //同一实体总是落在同一个槽（移出时据此定位）
+        return _wheel[(int) ((ent.expireTime / 1000) & (WHEEL_SIZE - 1))];
+    }
+
+    private void wheelAdd(Entity ent) {
+        wheelSlotFor(ent).add(ent);
+
+        if (_wheelFuture == null) {
+            wheelStart();
+        }
+    }
+
+    /**
+     * 移出时间轮（实体被覆盖、移除或淘汰时）
+     */
+    private void wheelRemove(Entity ent) {
+        if (ent.expireTime > 0) {
+            wheelSlotFor(ent).remove(ent);
+        }
+    }
+
+    /**
+     * 时间轮里的实体数
+     */
+    long wheelSize() {
+        long size = 0;
+        for (WheelSlot slot : _wheel) {
+            size += slot.size();
+        }
+        return size;
+    }
+
+    private synchronized void wheelStart() {
+        if (_wheelFuture != null) {
+            return;
+        }
+
+        _wheelTick = System.currentTimeMillis() / 1000 - 1;
+
+        //弱引用，避免时间轮任务拖住缓存实例
+        WeakReference<LocalCacheService> ref = new WeakReference<>(this);
+        AtomicReference<ScheduledFuture<?>> holder = new AtomicReference<>();
+        holder.set(RunUtil.scheduleAtFixedRate(() -> {
+            LocalCacheService cache = ref.get();
+            if (cache == null) {
+                holder.get().cancel(false);
+            } else {
+                cache.wheelTick();
+            }
+        }, 1000, 1000));
+
+        _wheelFuture = holder.get();
+    }
+
+    private void wheelTick() {
+        long now = System.currentTimeMillis();
+        long nowTick = now / 1000;
+
+        //只处理已走完的刻度；并追赶落下的刻度（最多一圈）
+        long toTick = nowTick - 1;
+        long fromTick = Math.max(_wheelTick + 1, toTick - WHEEL_SIZE + 1);
+
+        for (long tick = fromTick; tick <= toTick; tick++) {
+            int slot = (int) (tick & (WHEEL_SIZE - 1));
+            List<Entity> list = _wheel[slot].drain();
+            if (list == null) {
+                continue;
+            }
+
+            for (Entity ent : list) {
+                if (ent.expireTime <= now) {
+                    //仅移除同一实体（已更新或已移除的，忽略）
+                    segmentFor(ent.key).remove(ent.key, ent);
+                } else {
+                    //后面的圈次（已被替换或移除的，不再加回）
+                    wheelAdd(ent);
+                }
+            }
+        }
+
+        _wheelTick = toTick;
+    }
+
+    /**
+     * 时间轮的槽（实体自带前后指针的双向链表；添加、移出与取走用同一把锁，不会丢失并发添加的）
+     */
+    private static class WheelSlot {
+        private Entity head;
+        private int size;
+
+        synchronized void add(Entity ent) {
+            if (ent.removed || ent.linked) {
+                return;
+            }
+
+            ent.linked = true;
+            ent.prev = null;
+            ent.next = head;
+            if (head != null) {
+                head.prev = ent;
+            }
+            head = ent;
+            size++;
+        }
+
+        synchronized void remove(Entity ent) {
+            //标记后，取走中的也不会再加回
+            ent.removed = true;
+
+            if (ent.linked == false) {
+                return;
+            }
+
+            if (ent.prev == null) {
+                head = ent.next;
+            } else {
+                ent.prev.next = ent.next;
+            }
+
+            if (ent.next != null) {
+                ent.next.prev = ent.prev;
+            }
+
+            ent.linked = false;
+            ent.prev = null;
+            ent.next = null;
+            size--;
+        }
+
+        synchronized List<Entity> drain() {
+            if (head == null) {
+                return null;
+            }
+
+            List<Entity> tmp = new ArrayList<>(size);
+            for (Entity ent = head; ent != null; ) {
+                Entity next = ent.next;
+                ent.linked = false;
+                ent.prev = null;
+                ent.next = null;
+                tmp.add(ent);
+                ent = next;
+            }
+
+            head = null;
+            size = 0;
+            return tmp;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+
+    /**
+     * 分段（有上限时，一个 LRU 链表 + 一把锁；不限时，为并发表，读写不加锁）
+     */
+    private static class Segment {
+        private final long maxSize;
+        private final Map<String, Entity> data;
+        private final ReentrantLock lock;
+        //实体离开分段时（移出时间轮）
+        private final Consumer<Entity> onRemoved;
+
+        Segment(long maxSize, Consumer<Entity> onRemoved) {
+            this.maxSize = maxSize;
+            this.onRemoved = onRemoved;
+
+            if (maxSize > 0) {
+                //有上限时，按访问排序（LRU）
+                this.data = new LinkedHashMap<>(16, 0.75f, true);
+                this.lock = new ReentrantLock();
+            } else {
+                this.data = new ConcurrentHashMap<>();
+                this.lock = null;
+            }
+        }
+
+        Entity get(String key, long now) {
+            if (lock == null) {
+                Entity ent = data.get(key);
+
+                if (ent != null && ent.isExpired(now)) {
+                    //惰性过期（仅移除同一实体）
+                    if (data.remove(key, ent)) {
+                        onRemoved.accept(ent);
+                    }
+                    return null;
+                }
+
+                return ent;
+            }
+
+            lock.lock();
+            try {
+                Entity ent = data.get(key);
+
+                if (ent != null && ent.isExpired(now)) {
+                    //惰性过期
+                    data.remove(key);
+                    onRemoved.accept(ent);
+                    return null;
+                }
+
+                return ent;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int put(Entity ent) {
+            if (lock == null) {
+                replaced(data.put(ent.key, ent));
+                return 0;
+            }
+
+            lock.lock();
+            try {
+                replaced(data.put(ent.key, ent));
+
+                if (data.size() > maxSize) {
+                    return evict();
+                } else {
+                    return 0;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(String key, Entity expected) {
+            if (lock == null) {
+                if (expected == null) {
+                    replaced(data.remove(key));
+                } else if (data.remove(key, expected)) {
+                    onRemoved.accept(expected);
+                }
+                return;
+            }
+
+            lock.lock();
+            try {
+                if (expected == null) {
+                    replaced(data.remove(key));
+                } else if (data.get(key) == expected) {
+                    data.remove(key);
+                    onRemoved.accept(expected);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void replaced(Entity old) {
+            if (old != null) {
+                onRemoved.accept(old);
+            }
+        }
+
+        void clear() {
+            if (lock == null) {
+                data.clear();
+                return;
+            }
+
+            lock.lock();
+            try {
+                data.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            if (lock == null) {
+                return data.size();
+            }
+
+            lock.lock();
+            try {
+                return data.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int evict() {
+            int evicted = 0;
+
+            //按 LRU 淘汰最久未访问的（已过期的由时间轮回收）
+            Iterator<Entity> iterator = data.values().iterator();
+            while (iterator.hasNext() && data.size() > maxSize) {
+                Entity ent = iterator.next();
+                iterator.remove();
+                onRemoved.accept(ent);
+                evicted++;
+            }
+
+            return evicted;
+        }
+    }
 
     /**
      * 存储实体
      * */
     private static class Entity {
-        public Object value;
-        public Future future;
+        public final String key;
+        public final Object value;
+        public final long expireTime; //0 表示不过期
 
-        public Entity(Object val) {
-            this.value = val;
+        //时间轮链表（由所在的槽加锁维护）
+        private Entity prev;
+        private Entity next;
+        private boolean linked;
+        private boolean removed;
+
+        public Entity(String key, Object value, long expireTime) {
+            this.key = key;
+            this.value = value;
+            this.expireTime = expireTime;
         }
 
-        protected void futureDel() {
-            if (future != null) {
-                future.cancel(true);
-                future = null;
-            }
+        protected boolean isExpired(long now) {
+            return expireTime > 0 && expireTime <= now;
         }
     }
 }
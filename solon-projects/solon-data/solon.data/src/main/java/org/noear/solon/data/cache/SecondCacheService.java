@@ -1,8 +1,12 @@
 package org.noear.solon.data.cache;
 
+import java.util.Collections;
+
 /**
  * 二级缓存服务
  *
+ * <p>有失效通道时，写入与移除会通知其它节点移除一级缓存（一级缓存即可放心用长时间）；回源加载后的回填不通知</p>
+ *
  * @author noear
  * @since 1.2
  * */
@@ -10,6 +14,7 @@ public class SecondCacheService implements CacheService {
     private CacheService cache1;
     private CacheService cache2;
     private int bufferSeconds;
+    private CacheInvalidateChannel invalidateChannel;
 
 
     /**
@@ -31,10 +36,35 @@ public class SecondCacheService implements CacheService {
         this.bufferSeconds = bufferSeconds;
     }
 
+    /**
+     * @param cache1            一级缓存
+     * @param cache2            二级缓存
+     * @param bufferSeconds     缓冲秒数
+     * @param invalidateChannel 失效通道
+     * @since 2.6
+     */
+    public SecondCacheService(CacheService cache1, CacheService cache2, int bufferSeconds, CacheInvalidateChannel invalidateChannel) {
+        this(cache1, cache2, bufferSeconds);
+        this.invalidateChannel = invalidateChannel;
+
+        if (invalidateChannel != null) {
+            //其它节点有变更，只移除一级缓存
+            invalidateChannel.subscribe(keys -> {
+                for (String key : keys) {
+                    cache1.remove(key);
+                }
+            });
+        }
+    }
+
     @Override
     public void store(String key, Object obj, int seconds) {
         cache1.store(key, obj, seconds);
         cache2.store(key, obj, seconds);
+
+        if (CacheInvalidateBatch.isFilling() == false) {
+            invalidate(key);
+        }
     }
 
     @Override
@@ -53,5 +83,17 @@ public class SecondCacheService implements CacheService {
     public void remove(String key) {
         cache2.remove(key);
         cache1.remove(key);
+        invalidate(key);
+    }
+
+    /**
+     * 通知其它节点失效（有批次时，合并到批次）
+     */
+    private void invalidate(String key) {
+        if (invalidateChannel != null) {
+            if (CacheInvalidateBatch.offer(invalidateChannel, key) == false) {
+                invalidateChannel.publish(Collections.singletonList(key));
+            }
+        }
     }
 }
@@ -0,0 +1,237 @@
+package org.noear.solon.data.util;
+
+import org.noear.solon.core.wrap.ClassWrap;
+import org.noear.solon.core.wrap.FieldWrap;
+import org.noear.solon.core.wrap.ParamWrap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 拦截动作的键模板（按函数预编译为：字面量、参数位置、字段访问等片段）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class InvKeyTemplate {
+    //${name}
+    //${.name}
+    //${obj.name}
+    private static final Pattern pattern = Pattern.compile("\\$\\{(\\w*\\.?\\w+)\\}");
+
+    private final Part[] parts;
+    private final int sizeHint;
+
+    /**
+     * 编译
+     *
+     * @param tml    模板
+     * @param params 函数参数
+     */
+    public static InvKeyTemplate compile(String tml, ParamWrap[] params) {
+        List<Part> parts = new ArrayList<>();
+
+        Matcher m = pattern.matcher(tml);
+        int start = 0;
+        while (m.find()) {
+            if (m.start() > start) {
+                parts.add(new LiteralPart(tml.substring(start, m.start())));
+            }
+
+            parts.add(compilePart(m.group(1), params));
+            start = m.end();
+        }
+
+        if (start < tml.length()) {
+            parts.add(new LiteralPart(tml.substring(start)));
+        }
+
+        return new InvKeyTemplate(parts.toArray(new Part[0]), tml.length() + 16);
+    }
+
+    private static Part compilePart(String name, ParamWrap[] params) {
+        int argIdx = indexOf(name, params);
+
+        if (argIdx >= 0) {
+            //说明从输入参数取值
+            return new ArgPart(argIdx);
+        } else if (name.contains(".")) {
+            if (name.startsWith(".")) {
+                //说明要从返回结果取值
+                return new FieldPart(name, -1, name.substring(1));
+            } else {
+                //说明要从参数的字段取值
+                String[] cf = name.split("\\.");
+                return new FieldPart(name, indexOf(cf[0], params), cf[1]);
+            }
+        } else {
+            //如果缺少参数就出异常，容易发现问题
+            return new MissingPart(name);
+        }
+    }
+
+    private static int indexOf(String name, ParamWrap[] params) {
+        for (int i = 0; i < params.length; i++) {
+            if (name.equals(params[i].getName())) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private InvKeyTemplate(Part[] parts, int sizeHint) {
+        this.parts = parts;
+        this.sizeHint = sizeHint;
+    }
+
+    /**
+     * 渲染
+     *
+     * @param args 参数
+     * @param rst  返回值
+     */
+    public String render(Object[] args, Object rst) {
+        if (parts.length == 1 && parts[0] instanceof LiteralPart) {
+            return ((LiteralPart) parts[0]).text;
+        }
+
+        StringBuilder buf = new StringBuilder(sizeHint);
+        for (Part part : parts) {
+            part.appendTo(buf, args, rst);
+        }
+
+        return buf.toString();
+    }
+
+
+    /**
+     * 片段
+     */
+    private interface Part {
+        void appendTo(StringBuilder buf, Object[] args, Object rst);
+    }
+
+    /**
+     * 字面量片段
+     */
+    private static class LiteralPart implements Part {
+        final String text;
+
+        LiteralPart(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object[] args, Object rst) {
+            buf.append(text);
+        }
+    }
+
+    /**
+     * 参数片段
+     */
+    private static class ArgPart implements Part {
+        final int index;
+
+        ArgPart(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object[] args, Object rst) {
+            buf.append(args[index]);
+        }
+    }
+
+    /**
+     * 字段片段（来自参数或返回值）
+     */
+    private static class FieldPart implements Part {
+        final String name;
+        final int index; //-1 表示返回值
+        final String fieldKey;
+
+        //单态缓存（一般只会有一种类型）
+        volatile FieldCache cached;
+
+        FieldPart(String name, int index, String fieldKey) {
+            this.name = name;
+            this.index = index;
+            this.fieldKey = fieldKey;
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object[] args, Object rst) {
+            Object obj;
+            if (index < 0) {
+                obj = (name.startsWith(".") ? rst : null);
+            } else {
+                obj = args[index];
+            }
+
+            if (obj == null) {
+                return;
+            }
+
+            Object valTmp;
+            if (obj instanceof Map) {
+                valTmp = ((Map) obj).get(fieldKey);
+            } else {
+                try {
+                    valTmp = getFieldWrap(obj.getClass()).getValue(obj);
+                } catch (ReflectiveOperationException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            if (valTmp != null) {
+                buf.append(valTmp);
+            }
+        }
+
+        private FieldWrap getFieldWrap(Class<?> clz) {
+            FieldCache tmp = cached;
+            if (tmp != null && tmp.clz == clz) {
+                return tmp.fw;
+            }
+
+            FieldWrap fw = ClassWrap.get(clz).getFieldWrap(fieldKey);
+            if (fw == null) {
+                throw new IllegalArgumentException("Missing cache tag parameter (result field): " + name);
+            }
+
+            cached = new FieldCache(clz, fw);
+            return fw;
+        }
+    }
+
+    private static class FieldCache {
+        final Class<?> clz;
+        final FieldWrap fw;
+
+        FieldCache(Class<?> clz, FieldWrap fw) {
+            this.clz = clz;
+            this.fw = fw;
+        }
+    }
+
+    /**
+     * 缺失的参数片段
+     */
+    private static class MissingPart implements Part {
+        final String name;
+
+        MissingPart(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object[] args, Object rst) {
+            throw new IllegalArgumentException("Missing cache tag parameter: " + name);
+        }
+    }
+}
@@ -2,13 +2,10 @@ package org.noear.solon.data.util;
 
 import org.noear.solon.Utils;
 import org.noear.solon.core.aspect.Invocation;
-import org.noear.solon.core.wrap.ClassWrap;
-import org.noear.solon.core.wrap.FieldWrap;
 
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 拦截动作模板处理
@@ -17,6 +14,7 @@ import java.util.regex.Pattern;
  * @since 1.6
  */
 public class InvKeys {
+    private static final Map<Method, Map<String, InvKeyTemplate>> cached = new ConcurrentHashMap<>();
 
     /**
      * 基于调用构建Key
@@ -61,71 +59,13 @@ public class InvKeys {
             return tml;
         }
 
-        Map map = inv.argsAsMap();
-        String str2 = tml;
+        //按函数缓存预编译的模板
+        Map<String, InvKeyTemplate> tmlCached = cached.computeIfAbsent(inv.method().getMethod(),
+                k -> new ConcurrentHashMap<>());
 
-        //${name}
-        //${.name}
-        //${obj.name}
-        Pattern pattern = Pattern.compile("\\$\\{(\\w*\\.?\\w+)\\}");
-        Matcher m = pattern.matcher(tml);
-        while (m.find()) {
-            String mark = m.group(0);
-            String name = m.group(1);
+        InvKeyTemplate template = tmlCached.computeIfAbsent(tml,
+                k -> InvKeyTemplate.compile(k, inv.method().getParamWraps()));
 
-            if (map.containsKey(name)) {
-                //说明从输入参数取值
-                String val = String.valueOf(map.get(name));
-
-                str2 = str2.replace(mark, val);
-            } else if (name.contains(".")) {
-                //说明要从返回结果取值
-                Object obj;
-                String fieldKey = null;
-                String fieldVal = null;
-                if (name.startsWith(".")) {
-                    obj = rst;
-                    fieldKey = name.substring(1);
-                } else {
-                    String[] cf = name.split("\\.");
-                    obj = map.get(cf[0]);
-                    fieldKey = cf[1];
-                }
-
-                if (obj != null) {
-                    Object valTmp = null;
-
-                    if (obj instanceof Map) {
-                        valTmp = ((Map) obj).get(fieldKey);
-                    } else {
-                        FieldWrap fw = ClassWrap.get(obj.getClass()).getFieldWrap(fieldKey);
-                        if (fw == null) {
-                            throw new IllegalArgumentException("Missing cache tag parameter (result field): " + name);
-                        }
-
-                        try {
-                            valTmp = fw.getValue(obj);
-                        } catch (ReflectiveOperationException e) {
-                            throw new RuntimeException(e);
-                        }
-                    }
-
-                    if (valTmp != null) {
-                        fieldVal = valTmp.toString();
-                    }
-                }
-
-                if (fieldVal == null) {
-                    fieldVal = "";
-                }
-
-                str2 = str2.replace(mark, fieldVal);
-            } else {
-                //如果缺少参数就出异常，容易发现问题
-                throw new IllegalArgumentException("Missing cache tag parameter: " + name);
-            }
-        }
-
-        return str2;
+        return template.render(inv.args(), rst);
     }
 }
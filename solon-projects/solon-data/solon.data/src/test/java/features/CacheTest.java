@@ -3,16 +3,57 @@ package features;
 import org.noear.solon.data.cache.CacheService;
 import org.noear.solon.data.cache.LocalCacheService;
 
+import java.lang.reflect.Method;
+
 /**
  * @author noear 2022/2/21 created
  */
 public class CacheTest {
 
-    public static void main(String[] args){
+    public static void main(String[] args) throws Exception {
         CacheService cacheService = new LocalCacheService();
 
         cacheService.store("1","world",100);
 
         assert "world".equals(cacheService.get("1", String.class));
+
+
+        LocalCacheService boundedService = new LocalCacheService(30, 100);
+
+        for (int i = 0; i < 1000; i++) {
+            boundedService.store("k" + i, i, 100);
+        }
+
+        assert boundedService.size() <= 100 + 16;
+        assert boundedService.getEvictionCount() > 0;
+        assert Integer.valueOf(999).equals(boundedService.get("k999", Integer.class));
+
+        //被淘汰的，也移出时间轮
+        assert wheelSize(boundedService) == boundedService.size();
+
+        wheelBounded();
+    }
+
+    /**
+     * 同一个键反复覆盖，时间轮里只留最新的实体
+     */
+    static void wheelBounded() throws Exception {
+        LocalCacheService cacheService = new LocalCacheService();
+
+        for (int i = 0; i < 100_000; i++) {
+            cacheService.store("hot", new byte[1024], 3600);
+        }
+
+        assert cacheService.size() == 1;
+        assert wheelSize(cacheService) == 1;
+
+        cacheService.remove("hot");
+        assert wheelSize(cacheService) == 0;
+    }
+
+    static long wheelSize(LocalCacheService cacheService) throws Exception {
+        Method method = LocalCacheService.class.getDeclaredMethod("wheelSize");
+        method.setAccessible(true);
+        return (long) method.invoke(cacheService);
     }
 }
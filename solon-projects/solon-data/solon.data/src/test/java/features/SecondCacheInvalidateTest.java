@@ -0,0 +1,110 @@
+package features;
+
+import org.noear.solon.data.cache.CacheInvalidateBatch;
+import org.noear.solon.data.cache.CacheInvalidateChannel;
+import org.noear.solon.data.cache.CacheInvalidateLoopback;
+import org.noear.solon.data.cache.CacheService;
+import org.noear.solon.data.cache.CacheTags;
+import org.noear.solon.data.cache.LocalCacheService;
+import org.noear.solon.data.cache.SecondCacheService;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 二级缓存跨节点失效（两个节点共用一个二级缓存，一级缓存各自一份）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class SecondCacheInvalidateTest {
+    public static void main(String[] args) {
+        CacheService redis = new LocalCacheService();
+        CacheService l1a = new LocalCacheService();
+        CacheService l1b = new LocalCacheService();
+
+        CacheInvalidateLoopback loopback = new CacheInvalidateLoopback();
+        CountedChannel channelA = new CountedChannel(loopback.channel());
+
+        CacheService nodeA = new SecondCacheService(l1a, redis, 300, channelA);
+        CacheService nodeB = new SecondCacheService(l1b, redis, 300, loopback.channel());
+
+        //1.节点B读取后，一级缓存有了
+        nodeA.store("user:1", "v1", 300);
+        assert "v1".equals(nodeB.get("user:1", String.class));
+        assert "v1".equals(l1b.get("user:1", String.class));
+
+        //2.节点A更新，节点B的一级缓存被移除
+        nodeA.store("user:1", "v2", 300);
+        assert l1b.get("user:1", String.class) == null;
+        assert "v2".equals(nodeB.get("user:1", String.class));
+
+        //3.节点A移除
+        nodeA.remove("user:1");
+        assert l1b.get("user:1", String.class) == null;
+        assert nodeB.get("user:1", String.class) == null;
+
+        //4.标签移除，合并为一批
+        CacheTags tagsA = new CacheTags(nodeA);
+        for (int i = 0; i < 10; i++) {
+            nodeA.store("order:" + i, "o" + i, 300);
+            tagsA.add("orders", "order:" + i, 300);
+            nodeB.get("order:" + i, String.class);
+        }
+
+        int published = channelA.count.get();
+        tagsA.remove("orders");
+        assert channelA.count.get() == published + 1;
+
+        for (int i = 0; i < 10; i++) {
+            assert l1b.get("order:" + i, String.class) == null;
+        }
+
+        //5.手动批次
+        published = channelA.count.get();
+        CacheInvalidateBatch.begin();
+        try {
+            nodeA.remove("x1");
+            nodeA.remove("x2");
+        } finally {
+            CacheInvalidateBatch.end();
+        }
+        assert channelA.count.get() == published + 1;
+
+        //6.回填（回源加载后的写入）不通知，节点B的一级缓存保留
+        nodeA.store("user:2", "v1", 300);
+        assert "v1".equals(nodeB.get("user:2", String.class));
+
+        published = channelA.count.get();
+        CacheInvalidateBatch.beginFill();
+        try {
+            nodeA.store("user:2", "v1", 300);
+        } finally {
+            CacheInvalidateBatch.endFill();
+        }
+        assert channelA.count.get() == published;
+        assert "v1".equals(l1b.get("user:2", String.class));
+
+        System.out.println("ok");
+    }
+
+    static class CountedChannel implements CacheInvalidateChannel {
+        final CacheInvalidateChannel real;
+        final AtomicInteger count = new AtomicInteger();
+
+        CountedChannel(CacheInvalidateChannel real) {
+            this.real = real;
+        }
+
+        @Override
+        public void publish(Collection<String> keys) {
+            count.incrementAndGet();
+            real.publish(keys);
+        }
+
+        @Override
+        public void subscribe(Consumer<Collection<String>> listener) {
+            real.subscribe(listener);
+        }
+    }
+}
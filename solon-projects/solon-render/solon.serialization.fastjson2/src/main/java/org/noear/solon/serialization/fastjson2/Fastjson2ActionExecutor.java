@@ -2,11 +2,13 @@ package org.noear.solon.serialization.fastjson2;
 
 import com.alibaba.fastjson2.*;
 import org.noear.solon.Utils;
+import org.noear.solon.core.handle.ActionBodyReader;
 import org.noear.solon.core.handle.ActionExecuteHandlerDefault;
 import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.wrap.MethodWrap;
 import org.noear.solon.core.wrap.ParamWrap;
 
+import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.List;
 
@@ -50,6 +52,22 @@ public class Fastjson2ActionExecutor extends ActionExecuteHandlerDefault {
         }
     }
 
+    /**
+     * 直接从 body 流反序列化（只有一个实体类型的 @Body 参数时）
+     *
+     * @since 2.6
+     */
+    @Override
+    protected ActionBodyReader buildBodyReader(MethodWrap mWrap, ParamWrap p) {
+        Type type = (p.isGenericType() ? p.getGenericType() : p.getType());
+
+        return (ctx, body) -> {
+            try (JSONReader reader = JSONReader.of(body, charsetOf(ctx), config)) {
+                return reader.read(type);
+            }
+        };
+    }
+
     @Override
     protected Object changeValue(Context ctx, ParamWrap p, int pi, Class<?> pt, Object bodyObj) throws Exception {
         if(p.isRequiredPath() || p.isRequiredCookie() || p.isRequiredHeader()){
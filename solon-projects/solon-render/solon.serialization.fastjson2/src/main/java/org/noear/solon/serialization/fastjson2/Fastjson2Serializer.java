@@ -2,16 +2,19 @@ package org.noear.solon.serialization.fastjson2;
 
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.writer.ObjectWriter;
 import com.alibaba.fastjson2.writer.ObjectWriterProvider;
+import org.noear.solon.serialization.StreamSerializer;
 import org.noear.solon.serialization.StringSerializer;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * @author 暮城留风
  * @since 1.10
  */
-public class Fastjson2Serializer implements StringSerializer {
+public class Fastjson2Serializer implements StringSerializer<Object>, StreamSerializer<Object> {
     ObjectWriterProvider config;
     JSONWriter.Feature[] features;
     JSONWriter.Context writeContext;
@@ -33,4 +36,26 @@ public class Fastjson2Serializer implements StringSerializer {
             return JSON.toJSONString(obj, writeContext);
         }
     }
+
+    @Override
+    public void serialize(Object obj, OutputStream out) throws IOException {
+        if (config == null) {
+            JSON.writeTo(out, obj, features);
+            return;
+        }
+
+        try (JSONWriter writer = JSONWriter.ofUTF8(writeContext)) {
+            if (obj == null) {
+                writer.writeNull();
+            } else {
+                writer.setRootObject(obj);
+
+                Class<?> valueClass = obj.getClass();
+                ObjectWriter<?> objectWriter = writeContext.getObjectWriter(valueClass, valueClass);
+                objectWriter.write(writer, obj, null, null, 0);
+            }
+
+            writer.flushTo(out);
+        }
+    }
 }
@@ -1,13 +1,16 @@
 package org.noear.solon.serialization.gson;
 
 import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
 import org.noear.solon.Utils;
+import org.noear.solon.core.handle.ActionBodyReader;
 import org.noear.solon.core.handle.ActionExecuteHandlerDefault;
 import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.wrap.MethodWrap;
 import org.noear.solon.core.wrap.ParamWrap;
 import org.noear.solon.serialization.gson.impl.DateReadAdapter;
 
+import java.io.InputStreamReader;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -62,6 +65,18 @@ public class GsonActionExecutor extends ActionExecuteHandlerDefault {
         }
     }
 
+    /**
+     * 直接从 body 流反序列化（只有一个实体类型的 @Body 参数时）
+     *
+     * @since 2.6
+     */
+    @Override
+    protected ActionBodyReader buildBodyReader(MethodWrap mWrap, ParamWrap p) {
+        TypeToken<?> type = TypeToken.get(p.isGenericType() ? p.getGenericType() : p.getType());
+
+        return (ctx, body) -> gson().fromJson(new InputStreamReader(body, charsetOf(ctx)), type);
+    }
+
     @Override
     protected Object changeValue(Context ctx, ParamWrap p, int pi, Class<?> pt, Object bodyObj) throws Exception {
         if(p.isRequiredPath() || p.isRequiredCookie() || p.isRequiredHeader()){
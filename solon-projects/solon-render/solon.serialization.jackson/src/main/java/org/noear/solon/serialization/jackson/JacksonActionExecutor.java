@@ -6,13 +6,19 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.noear.solon.Utils;
+import org.noear.solon.core.handle.ActionBodyReader;
 import org.noear.solon.core.handle.ActionExecuteHandlerDefault;
 import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.wrap.MethodWrap;
 import org.noear.solon.core.wrap.ParamWrap;
 
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author noear
@@ -22,6 +28,8 @@ public class JacksonActionExecutor extends ActionExecuteHandlerDefault {
     private static final String label = "/json";
 
     private ObjectMapper mapper_type = new ObjectMapper();
+    //参数的类型描述（按参数缓存）
+    private final Map<ParamWrap, JavaType> javaTypes = new ConcurrentHashMap<>();
 
     public ObjectMapper config(){
         return mapper_type;
@@ -68,6 +76,37 @@ public class JacksonActionExecutor extends ActionExecuteHandlerDefault {
         }
     }
 
+    /**
+     * 直接从 body 流反序列化（只有一个实体类型的 @Body 参数时）
+     *
+     * @since 2.6
+     */
+    @Override
+    protected ActionBodyReader buildBodyReader(MethodWrap mWrap, ParamWrap p) {
+        ObjectReader reader = mapper_type.readerFor(javaType(p));
+
+        return (ctx, body) -> {
+            Charset charset = charsetOf(ctx);
+
+            if (StandardCharsets.UTF_8.equals(charset)) {
+                //utf-8 直接按字节解析
+                return reader.readValue(body);
+            } else {
+                return reader.readValue(new InputStreamReader(body, charset));
+            }
+        };
+    }
+
+    private JavaType javaType(ParamWrap p) {
+        JavaType type = javaTypes.get(p);
+
+        if (type == null) {
+            type = javaTypes.computeIfAbsent(p, k -> mapper_type.constructType(new TypeReferenceImp<>(k)));
+        }
+
+        return type;
+    }
+
     /**
      * @since 1.11 增加 requireBody 支持
      * */
@@ -97,7 +136,7 @@ public class JacksonActionExecutor extends ActionExecuteHandlerDefault {
                 if (tmp.has(p.getName())) {
                     JsonNode m1 = tmp.get(p.getName());
 
-                    return mapper_type.readValue(mapper_type.treeAsTokens(m1), new TypeReferenceImp<>(p));
+                    return mapper_type.readValue(mapper_type.treeAsTokens(m1), javaType(p));
                 }
             }
 
@@ -114,7 +153,7 @@ public class JacksonActionExecutor extends ActionExecuteHandlerDefault {
                 }
 
                 //支持泛型的转换 如：Map<T>
-                return mapper_type.readValue(mapper_type.treeAsTokens(tmp), new TypeReferenceImp<>(p));
+                return mapper_type.readValue(mapper_type.treeAsTokens(tmp), javaType(p));
             }
         }
 
@@ -124,12 +163,12 @@ public class JacksonActionExecutor extends ActionExecuteHandlerDefault {
                 return null;
             }
 
-            return mapper_type.readValue(mapper_type.treeAsTokens(tmp), new TypeReferenceImp<>(p));
+            return mapper_type.readValue(mapper_type.treeAsTokens(tmp), javaType(p));
         }
 
         //return tmp.val().getRaw();
         if (tmp.isValueNode()) {
-            return mapper_type.readValue(mapper_type.treeAsTokens(tmp), new TypeReferenceImp<>(p));
+            return mapper_type.readValue(mapper_type.treeAsTokens(tmp), javaType(p));
         } else {
             return null;
         }
@@ -1,15 +1,19 @@
 package org.noear.solon.serialization.jackson;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.noear.solon.serialization.StreamSerializer;
 import org.noear.solon.serialization.StringSerializer;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * @author noear
  * @since 1.5
  */
-public class JacksonSerializer implements StringSerializer {
+public class JacksonSerializer implements StringSerializer<Object>, StreamSerializer<Object> {
     final ObjectMapper real;
     public JacksonSerializer(ObjectMapper real){
         this.real = real;
@@ -19,4 +23,13 @@ public class JacksonSerializer implements StringSerializer {
     public String serialize(Object obj) throws IOException {
         return real.writeValueAsString(obj);
     }
+
+    @Override
+    public void serialize(Object obj, OutputStream out) throws IOException {
+        try (JsonGenerator gen = real.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            //输出流由外部管理
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            real.writeValue(gen, obj);
+        }
+    }
 }
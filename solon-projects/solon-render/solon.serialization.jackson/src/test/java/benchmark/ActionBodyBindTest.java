@@ -0,0 +1,117 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.noear.solon.annotation.Body;
+import org.noear.solon.core.AppContext;
+import org.noear.solon.core.Props;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.core.wrap.MethodWrap;
+import org.noear.solon.serialization.jackson.JacksonActionExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Json body 绑定（@Body 实体参数直接从字节解析 vs 先解析为树再转换；1k、100k、5m 三种 body）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class ActionBodyBindTest {
+    public static void main(String[] args) throws Throwable {
+        AppContext appContext = new AppContext(ActionBodyBindTest.class.getClassLoader(), new Props());
+        MethodWrap streamed = new MethodWrap(appContext, DemoController.class.getMethod("save", OrderDto.class));
+        MethodWrap tree = new MethodWrap(appContext, DemoController.class.getMethod("save2", OrderDto.class, String.class));
+
+        JacksonActionExecutor executor = new JacksonActionExecutor();
+        DemoController controller = new DemoController();
+
+        for (int size : new int[]{1024, 100 * 1024, 5 * 1024 * 1024}) {
+            byte[] body = buildBody(size);
+            int count = Math.max(5, 20_000_000 / body.length);
+
+            for (int r = 0; r < 3; r++) {
+                long t1 = run(executor, controller, streamed, body, count);
+                long t2 = run(executor, controller, tree, body, count);
+
+                System.out.println("body=" + body.length / 1024 + "k, count=" + count
+                        + ", streamed=" + t1 + "ms, tree=" + t2 + "ms");
+            }
+        }
+    }
+
+    static long run(JacksonActionExecutor executor, DemoController controller, MethodWrap mWrap, byte[] body, int count) throws Throwable {
+        long start = System.currentTimeMillis();
+
+        for (int i = 0; i < count; i++) {
+            OrderDto order = (OrderDto) executor.executeHandle(new BodyContext(body), controller, mWrap);
+
+            if (order.items.size() == 0) {
+                throw new IllegalStateException();
+            }
+        }
+
+        return System.currentTimeMillis() - start;
+    }
+
+    static byte[] buildBody(int size) throws Exception {
+        OrderDto order = new OrderDto();
+        order.id = "order-1";
+        order.items = new ArrayList<>();
+
+        ObjectMapper mapper = new ObjectMapper();
+        byte[] body;
+        int n = 1;
+
+        while (true) {
+            ItemDto item = new ItemDto();
+            item.name = "item-" + n;
+            item.num = n;
+            item.price = n * 1.5D;
+            order.items.add(item);
+            n++;
+
+            if (n % 16 == 0) {
+                body = mapper.writeValueAsBytes(order);
+                if (body.length >= size) {
+                    return body;
+                }
+            }
+        }
+    }
+
+    static class BodyContext extends ContextEmpty {
+        private final byte[] body;
+
+        BodyContext(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public InputStream bodyAsStream() {
+            return new ByteArrayInputStream(body);
+        }
+    }
+
+    public static class DemoController {
+        public OrderDto save(@Body OrderDto order) {
+            return order;
+        }
+
+        public OrderDto save2(OrderDto order, String remark) {
+            return order;
+        }
+    }
+
+    public static class OrderDto {
+        public String id;
+        public List<ItemDto> items;
+    }
+
+    public static class ItemDto {
+        public String name;
+        public long num;
+        public double price;
+    }
+}
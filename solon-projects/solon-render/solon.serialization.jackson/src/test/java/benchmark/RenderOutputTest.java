@@ -0,0 +1,99 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.noear.solon.Solon;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.core.handle.Render;
+import org.noear.solon.serialization.StringSerializer;
+import org.noear.solon.serialization.StringSerializerRender;
+import org.noear.solon.serialization.jackson.JacksonSerializer;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Json 渲染（直接写入输出流 vs 先转为字符串再输出；每次渲染约 2m 的列表）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class RenderOutputTest {
+    public static void main(String[] args) throws Throwable {
+        Solon.start(RenderOutputTest.class, args, app -> app.enableHttp(false));
+
+        List<ItemDto> list = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ItemDto item = new ItemDto();
+            item.name = "item-" + i;
+            item.num = i;
+            item.price = i * 1.5D;
+            item.remark = "这是一个比较长的备注：" + i;
+            list.add(item);
+        }
+
+        JacksonSerializer serializer = new JacksonSerializer(new ObjectMapper());
+        Render streamed = new StringSerializerRender(false, serializer);
+        Render string = new StringSerializerRender(false, (StringSerializer) serializer::serialize);
+
+        for (int r = 0; r < 3; r++) {
+            run("streamed", streamed, list, 200);
+            run("string", string, list, 200);
+        }
+
+        System.exit(0);
+    }
+
+    static void run(String name, Render render, Object data, int count) throws Throwable {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        OutputContext ctx = new OutputContext();
+        long allocated = threadMXBean.getThreadAllocatedBytes(tid);
+        long start = System.currentTimeMillis();
+
+        for (int i = 0; i < count; i++) {
+            render.render(data, ctx);
+        }
+
+        long times = System.currentTimeMillis() - start;
+        allocated = threadMXBean.getThreadAllocatedBytes(tid) - allocated;
+
+        System.out.println(name + ": " + times + "ms, alloc/render=" + (allocated / count / 1024) + "k"
+                + ", out/render=" + (ctx.size / count / 1024) + "k");
+    }
+
+    static class OutputContext extends ContextEmpty {
+        long size;
+
+        //丢弃输出，只计数
+        final OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                size++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                size += len;
+            }
+        };
+
+        @Override
+        public OutputStream outputStream() {
+            return out;
+        }
+
+        @Override
+        public void output(byte[] bytes) {
+            size += bytes.length;
+        }
+    }
+
+    public static class ItemDto {
+        public String name;
+        public long num;
+        public double price;
+        public String remark;
+    }
+}
@@ -0,0 +1,88 @@
+package features.test5;
+
+import org.junit.jupiter.api.Test;
+import org.noear.solon.annotation.Body;
+import org.noear.solon.core.AppContext;
+import org.noear.solon.core.Props;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.core.wrap.MethodWrap;
+import org.noear.solon.serialization.jackson.JacksonActionExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @Body 实体参数直接绑定后，body 仍可再读取（如日志、签名校验）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class ActionBodyTest {
+    @Test
+    public void bodyAfterBind() throws Throwable {
+        String json = "{\"id\":\"order-1\",\"remark\":\"中文\"}";
+        OnceContext ctx = new OnceContext(json.getBytes(StandardCharsets.UTF_8));
+
+        AppContext appContext = new AppContext(ActionBodyTest.class.getClassLoader(), new Props());
+        MethodWrap mWrap = new MethodWrap(appContext, DemoController.class.getMethod("save", OrderDto.class));
+
+        OrderDto order = (OrderDto) new JacksonActionExecutor().executeHandle(ctx, new DemoController(), mWrap);
+
+        assert "order-1".equals(order.id);
+        assert "中文".equals(order.remark);
+
+        //流只能读一次，之后仍能拿到 body
+        assert json.equals(ctx.body());
+        assert json.equals(new String(ctx.bodyAsBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void bodyBeforeBind() throws Throwable {
+        String json = "{\"id\":\"order-2\"}";
+        OnceContext ctx = new OnceContext(json.getBytes(StandardCharsets.UTF_8));
+
+        //先被读取过（如过滤器里）
+        assert json.equals(ctx.body());
+
+        AppContext appContext = new AppContext(ActionBodyTest.class.getClassLoader(), new Props());
+        MethodWrap mWrap = new MethodWrap(appContext, DemoController.class.getMethod("save", OrderDto.class));
+
+        OrderDto order = (OrderDto) new JacksonActionExecutor().executeHandle(ctx, new DemoController(), mWrap);
+
+        assert "order-2".equals(order.id);
+    }
+
+    /**
+     * body 流只能读一次（与真实的服务端一致）
+     */
+    static class OnceContext extends ContextEmpty {
+        private byte[] body;
+
+        OnceContext(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public String contentType() {
+            return "application/json";
+        }
+
+        @Override
+        public InputStream bodyAsStream() {
+            byte[] tmp = body;
+            body = new byte[0];
+            return new ByteArrayInputStream(tmp);
+        }
+    }
+
+    public static class DemoController {
+        public OrderDto save(@Body OrderDto order) {
+            return order;
+        }
+    }
+
+    public static class OrderDto {
+        public String id;
+        public String remark;
+    }
+}
@@ -0,0 +1,149 @@
+package features.test6;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.serialization.StringSerializerRender;
+import org.noear.solon.serialization.jackson.JacksonSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 渲染直接写入输出流（没超出缓冲的带长度一次输出；超出的先输出已缓冲的再直接写；没有输出流的按字符串处理）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class RenderStreamTest {
+    static final ObjectMapper mapper = new ObjectMapper();
+
+    private static StringSerializerRender render() {
+        return new StringSerializerRender(false, new JacksonSerializer(mapper));
+    }
+
+    @Test
+    public void fits() throws Throwable {
+        StreamContext ctx = new StreamContext();
+        Map<String, Object> data = Collections.singletonMap("name", "中文");
+
+        render().render(data, ctx);
+
+        String json = mapper.writeValueAsString(data);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        assert String.valueOf(bytes.length).equals(ctx.headerOfResponse("Content-Length"));
+        assert ctx.out.writes == 1;
+        assert json.equals(ctx.out.toString());
+        assert ctx.contentType.startsWith("application/json");
+        assert ctx.attr("output") == null;
+    }
+
+    @Test
+    public void overflow() throws Throwable {
+        StreamContext ctx = new StreamContext();
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            data.add(Collections.singletonMap("name", "item-" + i));
+        }
+
+        render().render(data, ctx);
+
+        String json = mapper.writeValueAsString(data);
+        assert json.length() > 64 * 1024;
+
+        //先输出已缓冲的前段，之后直接写（不带长度）
+        assert ctx.headerOfResponse("Content-Length") == null;
+        assert ctx.out.writes > 1;
+        assert ctx.out.firstWrite >= 32 * 1024 && ctx.out.firstWrite <= 64 * 1024 : ctx.out.firstWrite;
+        assert json.equals(ctx.out.toString());
+        assert ctx.attr("output") == null;
+    }
+
+    @Test
+    public void presetContentType() throws Throwable {
+        StreamContext ctx = new StreamContext();
+        ctx.contentType("application/vnd.demo+json");
+
+        render().render(Collections.singletonMap("id", 1), ctx);
+
+        assert "application/vnd.demo+json".equals(ctx.contentType);
+        assert "{\"id\":1}".equals(ctx.out.toString());
+    }
+
+    @Test
+    public void noOutputStream() throws Throwable {
+        OutputContext ctx = new OutputContext();
+        Map<String, Object> data = Collections.singletonMap("name", "中文");
+
+        render().render(data, ctx);
+
+        //没有输出流的，按字符串处理（有 output 属性）
+        String json = mapper.writeValueAsString(data);
+        assert json.equals(ctx.attr("output"));
+        assert json.equals(new String(ctx.bytes, StandardCharsets.UTF_8));
+        assert ctx.headerOfResponse("Content-Length") == null;
+    }
+
+    /**
+     * 记录写入次数的输出流
+     */
+    static class CountingOutputStream extends ByteArrayOutputStream {
+        int writes;
+        int firstWrite = -1;
+
+        @Override
+        public synchronized void write(int b) {
+            record(1);
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            record(len);
+            super.write(b, off, len);
+        }
+
+        private void record(int len) {
+            if (writes++ == 0) {
+                firstWrite = len;
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            return new String(toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static class StreamContext extends ContextEmpty {
+        final CountingOutputStream out = new CountingOutputStream();
+        String contentType;
+
+        @Override
+        public OutputStream outputStream() {
+            return out;
+        }
+
+        @Override
+        protected void contentTypeDoSet(String contentType) {
+            this.contentType = contentType;
+        }
+    }
+
+    /**
+     * 没有输出流（如非 http 上下文）
+     */
+    static class OutputContext extends ContextEmpty {
+        byte[] bytes;
+
+        @Override
+        public void output(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.noear.solon.serialization;
+
+import org.noear.solon.core.handle.Context;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 输出缓冲（缓冲区可复用）
+ *
+ * <p>没超出缓冲区的，带上 Content-Length 一次输出；超出后，直接写入上下文的输出流（不带长度，由适配器分块输出）</p>
+ *
+ * <p>超出后响应已提交，之后出错无法再改为错误响应（客户端会收到不完整的内容）</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+class OutputBuffer extends OutputStream {
+    private static final int POOL_SIZE = 64;
+    //缓冲区池（不用线程本地变量，虚拟线程时会每线程一份）
+    private static final Queue<byte[]> pool = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger poolCount = new AtomicInteger();
+
+    /**
+     * 获取（用完需关闭，以归还缓冲区）
+     */
+    public static OutputBuffer get(Context ctx) {
+        byte[] buf = pool.poll();
+
+        if (buf == null) {
+            buf = new byte[SerializationConfig.getOutputBufferSize()];
+        } else {
+            poolCount.decrementAndGet();
+        }
+
+        return new OutputBuffer(ctx, buf);
+    }
+
+    private final Context ctx;
+    private final byte[] pooled;
+    private byte[] buf;
+    private int count;
+    //超出缓冲区后的输出流
+    private OutputStream target;
+    //是否没有输出流（如非 http 上下文），只能全部缓冲
+    private boolean targetless;
+
+    private OutputBuffer(Context ctx, byte[] buf) {
+        this.ctx = ctx;
+        this.pooled = buf;
+        this.buf = buf;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (target != null) {
+            target.write(b);
+            return;
+        }
+
+        if (count == buf.length) {
+            overflow(1);
+
+            if (target != null) {
+                target.write(b);
+                return;
+            }
+        }
+
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (target != null) {
+            target.write(b, off, len);
+            return;
+        }
+
+        if (count + len > buf.length) {
+            overflow(len);
+
+            if (target != null) {
+                target.write(b, off, len);
+                return;
+            }
+        }
+
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    private void overflow(int len) throws IOException {
+        if (targetless == false) {
+            OutputStream out = ctx.outputStream();
+
+            if (out != null) {
+                //先输出已缓冲的，之后直接写
+                out.write(buf, 0, count);
+                count = 0;
+                target = out;
+                return;
+            }
+
+            targetless = true;
+        }
+
+        buf = Arrays.copyOf(buf, Math.max(buf.length << 1, count + len));
+    }
+
+    /**
+     * 完成输出（没有输出流时，返回 false）
+     */
+    public boolean finish() throws IOException {
+        if (target != null) {
+            target.flush();
+            return true;
+        }
+
+        if (targetless) {
+            return false;
+        }
+
+        OutputStream out = ctx.outputStream();
+
+        if (out == null) {
+            return false;
+        }
+
+        //有输出流了，才设置长度
+        ctx.contentLength(count);
+        out.write(buf, 0, count);
+        return true;
+    }
+
+    /**
+     * 转为字符串（用于没有输出流时）
+     */
+    @Override
+    public String toString() {
+        return new String(buf, 0, count, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 关闭（归还缓冲区；不会关闭上下文的输出流）
+     */
+    @Override
+    public void close() {
+        if (buf == null) {
+            return;
+        }
+
+        if (poolCount.incrementAndGet() <= POOL_SIZE) {
+            pool.offer(pooled);
+        } else {
+            poolCount.decrementAndGet();
+        }
+
+        buf = null;
+    }
+}
@@ -9,9 +9,17 @@ import org.noear.solon.Solon;
 public class SerializationConfig {
 
     private static boolean outputMeta;
+    private static boolean outputAttr;
+    private static int outputBufferSize;
 
     static {
-        outputMeta = Solon.cfg().getInt("solon.output.meta", 0) > 0;
+        outputBufferSize = 64 * 1024;
+
+        if (Solon.app() != null) {
+            outputMeta = Solon.cfg().getInt("solon.output.meta", 0) > 0;
+            outputAttr = Solon.cfg().getInt("solon.output.attr", 0) > 0;
+            outputBufferSize = Solon.cfg().getInt("solon.output.bufferSize", outputBufferSize);
+        }
     }
 
     /**
@@ -20,4 +28,26 @@ public class SerializationConfig {
     public static boolean isOutputMeta() {
         return outputMeta;
     }
+
+    /**
+     * 是否保留输出属性（ctx.attr("output")；默认为 false，支持流序列化的直接写入输出流，不再有 output 属性）
+     *
+     * <p>有过滤器等需要读取 output 属性时，配置 solon.output.attr=1（渲染都先转为字符串）</p>
+     *
+     * @since 2.6
+     */
+    public static boolean isOutputAttr() {
+        return outputAttr;
+    }
+
+    /**
+     * 输出缓冲大小（没超出的，可带上 Content-Length 一次输出）
+     *
+     * <p>超出后已开始输出（状态码与头已发出）；如果之后序列化出错，客户端只会收到不完整的 200 响应。大响应可能出错时，调大它或保留输出属性</p>
+     *
+     * @since 2.6
+     */
+    public static int getOutputBufferSize() {
+        return outputBufferSize;
+    }
 }
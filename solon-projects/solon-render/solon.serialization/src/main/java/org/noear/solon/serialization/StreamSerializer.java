@@ -0,0 +1,18 @@
+package org.noear.solon.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 流序列化器（直接写入输出流，编码为 utf-8）
+ *
+ * @author noear
+ * @since 2.6
+ */
+@FunctionalInterface
+public interface StreamSerializer<T> {
+    /**
+     * 序列化到输出流（不需要关闭输出流）
+     * */
+    void serialize(T source, OutputStream out) throws IOException;
+}
@@ -19,11 +19,25 @@ public class StringSerializerRender implements Render {
      * 序列化器
      */
     StringSerializer serializer;
+    /**
+     * 流序列化器（序列化器支持时才有）
+     */
+    private final StreamSerializer<Object> streamSerializer;
 
 
     public StringSerializerRender(boolean typed,  StringSerializer serializer) {
         this.typed = typed;
         this.serializer = serializer;
+        this.streamSerializer = streamOf(serializer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StreamSerializer<Object> streamOf(StringSerializer<?> serializer) {
+        if (serializer instanceof StreamSerializer) {
+            return (StreamSerializer<Object>) serializer;
+        } else {
+            return null;
+        }
     }
 
     public boolean isTyped() {
@@ -54,6 +68,14 @@ public class StringSerializerRender implements Render {
             ctx.headerAdd("solon.serialization", getName());
         }
 
+        if (streamSerializer != null && SerializationConfig.isOutputAttr() == false) {
+            if (typed || (obj != null && obj instanceof String == false && obj instanceof Throwable == false)) {
+                //直接写入输出流（不再转为字符串；也没有 output 属性）
+                renderStream(obj, ctx);
+                return;
+            }
+        }
+
         String txt = null;
 
         if (typed) {
@@ -83,6 +105,30 @@ public class StringSerializerRender implements Render {
         output(ctx, obj, txt);
     }
 
+    /**
+     * 渲染到输出流（超出输出缓冲后，响应已提交；之后出错，客户端会收到不完整的内容）
+     *
+     * @since 2.6
+     */
+    protected void renderStream(Object obj, Context ctx) throws Throwable {
+        if (ctx.contentTypeNew() == null) {
+            //处理器已设置的，不覆盖
+            ctx.contentType("application/json;charset=utf-8");
+        }
+
+        try (OutputBuffer out = OutputBuffer.get(ctx)) {
+            streamSerializer.serialize(obj, out);
+
+            if (out.finish() == false) {
+                //没有输出流的（如非 http 上下文），按字符串处理
+                String txt = out.toString();
+                ctx.attrSet("output", txt);
+
+                output(ctx, obj, txt);
+            }
+        }
+    }
+
     protected void output(Context ctx, Object obj, String txt) {
         if (obj instanceof String && ctx.accept().contains("/json") == false) {
             ctx.output(txt);
@@ -33,6 +33,21 @@ public class JobManager extends AbstractJobManager {
         return jobHolder;
     }
 
+    /**
+     * 获取任务的调度器（可获取执行次数、延后、时长等指标）
+     *
+     * @since 2.6
+     */
+    public SimpleScheduler jobScheduler(String name) {
+        JobHolder jobHolder = jobGet(name);
+
+        if (jobHolder == null) {
+            return null;
+        } else {
+            return (SimpleScheduler) jobHolder.getAttachment();
+        }
+    }
+
     @Override
     public void jobStart(String name, Map<String, String> data) throws ScheduledException {
         JobHolder jobHolder = jobGet(name);
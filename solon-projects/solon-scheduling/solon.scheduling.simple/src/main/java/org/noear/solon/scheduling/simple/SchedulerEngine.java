@@ -0,0 +1,190 @@
+package org.noear.solon.scheduling.simple;
+
+import org.noear.solon.Solon;
+import org.noear.solon.core.util.NamedThreadFactory;
+
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 调度引擎（所有任务共用一个调度线程，按下次执行时间排队；执行交给有界的工作线程池）
+ *
+ * @author noear
+ * @since 2.6
+ */
+class SchedulerEngine {
+    private static SchedulerEngine instance;
+
+    /**
+     * 获取实例
+     */
+    public static synchronized SchedulerEngine getInstance() {
+        if (instance == null) {
+            int workers = Runtime.getRuntime().availableProcessors() * 2;
+
+            if (Solon.app() != null) {
+                workers = Solon.cfg().getInt("solon.scheduling.simple.workers", workers);
+            }
+
+            instance = new SchedulerEngine(workers);
+        }
+
+        return instance;
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    //按下次执行时间排队
+    private final PriorityQueue<SimpleScheduler> queue = new PriorityQueue<>((a, b) -> Long.compare(a.nextTime, b.nextTime));
+    //已登记的任务（有任务时，调度线程才运行）
+    private final Set<SimpleScheduler> jobs = new HashSet<>();
+    private final ThreadPoolExecutor workerPool;
+    private Thread ticker;
+
+    /**
+     * @param workers 工作线程数（solon.scheduling.simple.workers）。线程数固定、排队不限：
+     *                执行时间长的任务（cron 默认是 parallel 并发）会占满线程，其它任务只能排队；
+     *                按表达式调度的，排队超过错过阈值时算错过（不再执行），其它的延后执行
+     */
+    SchedulerEngine(int workers) {
+        workerPool = new ThreadPoolExecutor(workers, workers,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamedThreadFactory("Solon-job-"));
+        workerPool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 工作线程池
+     */
+    public ExecutorService getWorkerPool() {
+        return workerPool;
+    }
+
+    /**
+     * 登记任务
+     */
+    public void register(SimpleScheduler job) {
+        lock.lock();
+        try {
+            jobs.add(job);
+
+            if (ticker == null) {
+                ticker = new Thread(this::tickLoop, "Solon-job-ticker");
+                ticker.start();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 注销任务
+     */
+    public void unregister(SimpleScheduler job) {
+        lock.lock();
+        try {
+            jobs.remove(job);
+            queue.remove(job);
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 排队
+     *
+     * @param nextTime 下次执行时间
+     */
+    public void enqueue(SimpleScheduler job, long nextTime) {
+        lock.lock();
+        try {
+            if (jobs.contains(job) == false) {
+                return;
+            }
+
+            //在队列里时不能改时间（会破坏排序），先移出
+            queue.remove(job);
+            job.nextTime = nextTime;
+            queue.offer(job);
+
+            if (queue.peek() == job) {
+                //比原来的更早，唤醒调度线程
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 任务数
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return jobs.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void tickLoop() {
+        while (true) {
+            SimpleScheduler job;
+
+            lock.lock();
+            try {
+                job = takeDue();
+
+                if (job == null) {
+                    //没有任务了，调度线程退出（有新的登记时再启动）
+                    ticker = null;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            //在锁外处理（分派执行并计算下次时间）
+            job.fire(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 取出到期的任务（没有任务时，返回 null）
+     */
+    private SimpleScheduler takeDue() {
+        while (true) {
+            if (jobs.isEmpty()) {
+                return null;
+            }
+
+            SimpleScheduler job = queue.peek();
+
+            try {
+                if (job == null) {
+                    available.await();
+                } else {
+                    long delay = job.nextTime - System.currentTimeMillis();
+
+                    if (delay <= 0) {
+                        return queue.poll();
+                    }
+
+                    available.await(delay, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                //过滤中断（由注销来结束）
+            }
+        }
+    }
+}
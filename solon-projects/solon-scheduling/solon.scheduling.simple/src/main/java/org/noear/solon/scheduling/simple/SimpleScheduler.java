@@ -1,8 +1,8 @@
 package org.noear.solon.scheduling.simple;
 
+import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.core.Lifecycle;
-import org.noear.solon.core.util.RunUtil;
 import org.noear.solon.scheduling.scheduled.JobHolder;
 import org.noear.solon.scheduling.simple.cron.CronExpressionPlus;
 import org.noear.solon.scheduling.simple.cron.CronUtils;
@@ -11,10 +11,12 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Date;
 import java.util.TimeZone;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Job 简单调度器
+ * Job 简单调度器（由共享的调度引擎驱动）
  *
  * @author noear
  * @since 2.2
@@ -22,48 +24,102 @@ import java.util.concurrent.ScheduledFuture;
 public class SimpleScheduler implements Lifecycle {
     static final Logger log = LoggerFactory.getLogger(SimpleScheduler.class);
 
-    private JobHolder jobHolder;
     /**
-     * 调度表达式
+     * 错过多久内的，仍然执行（毫秒；按表达式调度时，在工作线程池里排队等待的时间也算在内）
      */
-    private CronExpressionPlus cron;
+    private static final long MISFIRE_THRESHOLD = 1000;
 
     /**
-     * 休息时间
+     * 并发策略：允许并行（cron 任务的默认）
      */
-    private long sleepMillis;
-
+    public static final String CONCURRENCY_PARALLEL = "parallel";
     /**
-     * 基准时间（对于比对）
+     * 并发策略：上次还在执行时，跳过
      */
-    private Date baseTime;
+    public static final String CONCURRENCY_SKIP = "skip";
     /**
-     * 下次执行时间
+     * 并发策略：上次还在执行时，等它结束后补执行一次（fixedRate 任务的默认）
      */
-    private Date nextTime;
+    public static final String CONCURRENCY_QUEUE = "queue";
 
+    private final JobHolder jobHolder;
+    private final SchedulerEngine engine;
+    /**
+     * 调度表达式
+     */
+    private CronExpressionPlus cron;
     /**
-     * 执行线程
+     * 并发策略
      */
-    private Thread jobThreadOfCron;
+    private final String concurrency;
+    private final long fixedRate;
+    private final long fixedDelay;
+
     /**
-     * 执行任务
+     * 下次执行时间（由调度引擎维护）
      */
-    private ScheduledFuture<?> jobFutureOfFixed;
+    volatile long nextTime;
+
+    private final AtomicInteger running = new AtomicInteger();
+    //补执行的计划时间（并发策略为 queue 时；0 表示没有）
+    private final AtomicLong pendingTime = new AtomicLong();
+
+    private final LongAdder execCount = new LongAdder();
+    private final LongAdder skipCount = new LongAdder();
+    private final LongAdder misfireCount = new LongAdder();
+    private volatile long lastLag;
+    private volatile long lastDuration;
+    private final AtomicLong maxLag = new AtomicLong();
+    private final AtomicLong maxDuration = new AtomicLong();
 
     public SimpleScheduler(JobHolder jobHolder) {
+        this(jobHolder, SchedulerEngine.getInstance(), concurrencyOf(jobHolder));
+    }
+
+    /**
+     * @param concurrency 并发策略（为 null 时，用默认的）
+     */
+    SimpleScheduler(JobHolder jobHolder, SchedulerEngine engine, String concurrency) {
         this.jobHolder = jobHolder;
+        this.engine = engine;
+        this.fixedRate = jobHolder.getScheduled().fixedRate();
+        this.fixedDelay = jobHolder.getScheduled().fixedDelay();
 
         if (Utils.isNotEmpty(jobHolder.getScheduled().cron())) {
             this.cron = CronUtils.get(jobHolder.getScheduled().cron());
 
             if (Utils.isNotEmpty(jobHolder.getScheduled().zone())) {
+                //表达式是共享缓存的，复制后再改时区
+                this.cron = new CronExpressionPlus(this.cron);
                 this.cron.setTimeZone(TimeZone.getTimeZone(jobHolder.getScheduled().zone()));
             }
         }
+
+        String concurrencyDef = (fixedRate > 0 ? CONCURRENCY_QUEUE : CONCURRENCY_PARALLEL);
+        if (Utils.isEmpty(concurrency)) {
+            this.concurrency = concurrencyDef;
+        } else if (CONCURRENCY_PARALLEL.equals(concurrency)
+                || CONCURRENCY_SKIP.equals(concurrency)
+                || CONCURRENCY_QUEUE.equals(concurrency)) {
+            this.concurrency = concurrency;
+        } else {
+            log.warn("The job concurrency is unknown: " + jobHolder.getName() + " = " + concurrency + ", use: " + concurrencyDef);
+            this.concurrency = concurrencyDef;
+        }
     }
 
-    boolean isStarted = false;
+    /**
+     * 获取配置的并发策略（solon.scheduling.job.{name}.concurrency）
+     */
+    private static String concurrencyOf(JobHolder jobHolder) {
+        if (Solon.app() != null && Utils.isNotEmpty(jobHolder.getName())) {
+            return Solon.cfg().get("solon.scheduling.job." + jobHolder.getName() + ".concurrency");
+        } else {
+            return null;
+        }
+    }
+
+    volatile boolean isStarted = false;
 
     @Override
     public void start() throws Throwable {
@@ -73,108 +129,240 @@ public class SimpleScheduler implements Lifecycle {
             isStarted = true;
         }
 
-        if (jobHolder.getScheduled().fixedDelay() > 0) {
-            jobFutureOfFixed = RunUtil.scheduleWithFixedDelay(this::exec0,
-                    jobHolder.getScheduled().initialDelay(),
-                    jobHolder.getScheduled().fixedDelay());
-        } else if (jobHolder.getScheduled().fixedRate() > 0) {
-            jobFutureOfFixed = RunUtil.scheduleAtFixedRate(this::exec0,
-                    jobHolder.getScheduled().initialDelay(),
-                    jobHolder.getScheduled().fixedRate());
-        } else {
-            jobThreadOfCron = new Thread(this::run);
+        long now = System.currentTimeMillis();
+        long firstTime;
 
-            if (Utils.isNotEmpty(jobHolder.getName())) {
-                jobThreadOfCron.setName("Job:" + jobHolder.getName());
+        if (cron != null && fixedDelay <= 0 && fixedRate <= 0) {
+            Date first = cron.getNextValidTimeAfter(new Date(now));
+
+            if (first == null) {
+                log.warn("The job cron has no next time: " + jobHolder.getName());
+                isStarted = false;
+                return;
             }
 
-            jobThreadOfCron.start();
+            firstTime = first.getTime();
+        } else {
+            firstTime = now + jobHolder.getScheduled().initialDelay();
         }
+
+        engine.register(this);
+        engine.enqueue(this, firstTime);
     }
 
     @Override
     public void stop() throws Throwable {
-        if (isStarted = false) {
+        if (isStarted == false) {
             return;
         } else {
             isStarted = false;
         }
 
-        if (jobThreadOfCron != null) {
-            jobThreadOfCron.interrupt();
+        engine.unregister(this);
+        //停止后，不再补执行
+        pendingTime.set(0);
+    }
+
+    /**
+     * 到点触发（由调度线程调用；只分派执行并计算下次时间）
+     *
+     * @param now 当前时间
+     */
+    void fire(long now) {
+        long fireTime = nextTime;
+
+        try {
+            if (fixedDelay > 0) {
+                //::固定延时（执行完后，再排下一次）
+                dispatch(fireTime);
+                return;
+            }
+
+            if (fixedRate > 0) {
+                //::固定频率（落后太多时，不补发）
+                dispatch(fireTime);
+
+                long next = fireTime + fixedRate;
+                engine.enqueue(this, Math.max(next, now));
+                return;
+            }
+
+            //::按表达式调度（错过太久的，不再执行）
+            if (now - fireTime <= MISFIRE_THRESHOLD) {
+                dispatch(fireTime);
+            } else {
+                misfireCount.increment();
+            }
+
+            //下次时间只从本次时间增量计算一次（落后太多时，从当前时间算起）
+            Date next = cron.getNextValidTimeAfter(new Date(Math.max(fireTime, now - MISFIRE_THRESHOLD)));
+
+            if (next == null) {
+                //表达式不会再有下次了
+                engine.unregister(this);
+                isStarted = false;
+            } else {
+                engine.enqueue(this, next.getTime());
+            }
+        } catch (Throwable e) {
+            log.warn(e.getMessage(), e);
         }
+    }
 
-        if (jobFutureOfFixed != null) {
-            jobFutureOfFixed.cancel(false);
+    /**
+     * 分派执行（按并发策略）
+     */
+    private void dispatch(long fireTime) {
+        if (running.get() > 0) {
+            if (CONCURRENCY_SKIP.equals(concurrency)) {
+                skipCount.increment();
+                return;
+            }
+
+            if (CONCURRENCY_QUEUE.equals(concurrency)) {
+                //合并为一次（保留最早的计划时间）；如果上次刚好结束了，自己认领
+                pendingTime.compareAndSet(0, fireTime);
+
+                if (running.get() == 0) {
+                    submitPending();
+                }
+                return;
+            }
         }
+
+        submit(fireTime, false);
     }
 
+    /**
+     * 认领补执行的（如果有）
+     */
+    private void submitPending() {
+        long fireTime = pendingTime.getAndSet(0);
 
-    private void run() {
-        if (baseTime == null) {
-            baseTime = new Date();
+        if (fireTime > 0) {
+            submit(fireTime, true);
         }
+    }
+
+    /**
+     * @param coalesced 是否为补执行的（等上次结束的时间，不算错过）
+     */
+    private void submit(long fireTime, boolean coalesced) {
+        running.incrementAndGet();
+        engine.getWorkerPool().execute(() -> exec0(fireTime, coalesced));
+    }
+
+    /**
+     * 执行
+     */
+    private void exec0(long fireTime, boolean coalesced) {
+        long start = System.currentTimeMillis();
 
-        while (true) {
-            if (isStarted == false) {
-                break;
+        try {
+            if (cron != null && fixedDelay <= 0 && fixedRate <= 0
+                    && coalesced == false && start - fireTime > MISFIRE_THRESHOLD) {
+                //按表达式调度的，在工作线程池里排队太久（线程都被占着），算错过
+                misfireCount.increment();
+                return;
             }
 
             try {
-                runAsCron();
+                jobHolder.handle(null);
             } catch (Throwable e) {
-                e = Utils.throwableUnwrap(e);
-                //过滤中断异常
-                if (e instanceof InterruptedException == false) {
-                    log.warn(e.getMessage(), e);
+                log.warn(e.getMessage(), e);
+            }
+
+            record(start - fireTime, System.currentTimeMillis() - start);
+        } finally {
+            running.decrementAndGet();
+
+            if (isStarted) {
+                if (fixedDelay > 0) {
+                    engine.enqueue(this, System.currentTimeMillis() + fixedDelay);
+                } else {
+                    submitPending();
                 }
             }
         }
     }
 
+    private void record(long lag, long duration) {
+        execCount.increment();
+
+        lastLag = lag;
+        lastDuration = duration;
+
+        maxLag.accumulateAndGet(lag, Math::max);
+        maxDuration.accumulateAndGet(duration, Math::max);
+    }
+
     /**
-     * 调度
+     * 获取并发策略
      */
-    private void runAsCron() throws Throwable {
-        //::按表达式调度（并行调用）
-        nextTime = cron.getNextValidTimeAfter(baseTime);
-        sleepMillis = System.currentTimeMillis() - nextTime.getTime();
+    public String getConcurrency() {
+        return concurrency;
+    }
 
-        if (sleepMillis >= 0) {
-            baseTime = nextTime;
-            nextTime = cron.getNextValidTimeAfter(baseTime);
+    /**
+     * 是否正在执行
+     */
+    public boolean isRunning() {
+        return running.get() > 0;
+    }
 
-            if (sleepMillis <= 1000) {
-                RunUtil.parallel(this::exec0);
+    /**
+     * 获取下次执行时间
+     */
+    public long getNextTime() {
+        return nextTime;
+    }
 
-                //重新设定休息时间
-                sleepMillis = System.currentTimeMillis() - nextTime.getTime();
-            }
-        }
+    /**
+     * 获取执行次数
+     */
+    public long getExecCount() {
+        return execCount.sum();
+    }
 
-        sleep0(sleepMillis);
+    /**
+     * 获取跳过次数（因上次还在执行）
+     */
+    public long getSkipCount() {
+        return skipCount.sum();
     }
 
     /**
-     * 执行
+     * 获取错过次数（调度落后太久）
      */
-    private void exec0() {
-        try {
-            jobHolder.handle(null);
-        } catch (Throwable e) {
-            log.warn(e.getMessage(), e);
-        }
+    public long getMisfireCount() {
+        return misfireCount.sum();
     }
 
-    private void sleep0(long millis) {
-        if (millis < 0) {
-            millis = 100;
-        }
+    /**
+     * 获取最近一次的延后（开始执行时间 - 计划时间，毫秒）
+     */
+    public long getLastLag() {
+        return lastLag;
+    }
 
-        try {
-            Thread.sleep(millis);
-        } catch (Throwable e) {
-            //过滤异常
-        }
+    /**
+     * 获取最近一次的执行时长（毫秒）
+     */
+    public long getLastDuration() {
+        return lastDuration;
+    }
+
+    /**
+     * 获取最大延后（毫秒）
+     */
+    public long getMaxLag() {
+        return maxLag.get();
+    }
+
+    /**
+     * 获取最大执行时长（毫秒）
+     */
+    public long getMaxDuration() {
+        return maxDuration.get();
     }
-}
\ No newline at end of file
+}
@@ -44,9 +44,9 @@ public class CronUtils {
 
                     if (tzIdx > 0) {
                         String tz = cron.substring(tzIdx);
-                        cron = cron.substring(0, tzIdx - 1);
 
-                        expr = new CronExpressionPlus(cron);
+                        //缓存仍用原始表达式做键
+                        expr = new CronExpressionPlus(cron.substring(0, tzIdx - 1));
                         expr.setTimeZone(TimeZone.getTimeZone(ZoneId.of(tz)));
                     } else {
                         expr = new CronExpressionPlus(cron);
@@ -0,0 +1,221 @@
+package org.noear.solon.scheduling.simple;
+
+import org.junit.jupiter.api.Test;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.scheduling.ScheduledAnno;
+import org.noear.solon.scheduling.scheduled.JobHandler;
+import org.noear.solon.scheduling.scheduled.JobHolder;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 简单调度器（并发策略、固定延时、停止与重启、错过）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class SimpleSchedulerTest {
+    /**
+     * 记录执行（开始时间、最大并行数；第一次执行时等放行）
+     */
+    static class Recorder implements JobHandler {
+        final List<Long> starts = new CopyOnWriteArrayList<>();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final long sleep;
+
+        Recorder(long sleep) {
+            this.sleep = sleep;
+        }
+
+        @Override
+        public void handle(Context ctx) throws Throwable {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                starts.add(System.currentTimeMillis());
+
+                if (starts.size() == 1) {
+                    firstStarted.countDown();
+                    release.await();
+                } else if (sleep > 0) {
+                    Thread.sleep(sleep);
+                }
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+
+    private static SimpleScheduler scheduler(ScheduledAnno anno, Recorder recorder, String concurrency) {
+        return new SimpleScheduler(new JobHolder("job", anno, recorder), new SchedulerEngine(4), concurrency);
+    }
+
+    @Test
+    public void skip() throws Throwable {
+        Recorder recorder = new Recorder(0);
+        SimpleScheduler scheduler = scheduler(new ScheduledAnno().fixedRate(50), recorder, SimpleScheduler.CONCURRENCY_SKIP);
+
+        scheduler.start();
+        recorder.firstStarted.await();
+        Thread.sleep(500);
+
+        //上次还在执行，到点的都跳过
+        assert scheduler.isRunning();
+        assert recorder.starts.size() == 1;
+        assert scheduler.getSkipCount() >= 5;
+
+        recorder.release.countDown();
+        Thread.sleep(300);
+        scheduler.stop();
+
+        assert recorder.starts.size() > 1;
+        assert recorder.maxActive.get() == 1;
+        assert scheduler.getExecCount() == recorder.starts.size();
+        assert scheduler.getMaxDuration() >= 450;
+    }
+
+    @Test
+    public void queue() throws Throwable {
+        Recorder recorder = new Recorder(0);
+        //fixedRate 默认为 queue
+        SimpleScheduler scheduler = scheduler(new ScheduledAnno().fixedRate(50), recorder, null);
+        assert SimpleScheduler.CONCURRENCY_QUEUE.equals(scheduler.getConcurrency());
+
+        scheduler.start();
+        recorder.firstStarted.await();
+        long firstStart = recorder.starts.get(0);
+        Thread.sleep(500);
+
+        assert recorder.starts.size() == 1;
+        assert scheduler.getSkipCount() == 0;
+
+        recorder.release.countDown();
+        Thread.sleep(30);
+        scheduler.stop();
+
+        //期间到点的 10 次，合并为一次补执行（之后可能刚好又到点一次）
+        assert recorder.starts.size() >= 2 && recorder.starts.size() <= 3 : recorder.starts.size();
+        assert recorder.maxActive.get() == 1;
+
+        //补执行的延后，按最早错过的计划时间算（不是上次结束的时间）
+        assert scheduler.getMaxLag() >= 400 : scheduler.getMaxLag();
+        assert recorder.starts.get(1) - firstStart >= 500;
+    }
+
+    @Test
+    public void fixedDelay() throws Throwable {
+        Recorder recorder = new Recorder(100);
+        SimpleScheduler scheduler = scheduler(new ScheduledAnno().fixedDelay(100), recorder, null);
+
+        scheduler.start();
+        recorder.release.countDown();
+        Thread.sleep(1000);
+        scheduler.stop();
+
+        //执行完后，再延时排下一次（每次间隔不少于 执行时长 + 延时）
+        assert recorder.starts.size() >= 3 : recorder.starts.size();
+        for (int i = 2; i < recorder.starts.size(); i++) {
+            assert recorder.starts.get(i) - recorder.starts.get(i - 1) >= 195 : recorder.starts;
+        }
+        assert recorder.maxActive.get() == 1;
+    }
+
+    @Test
+    public void stopWhileRunning() throws Throwable {
+        Recorder recorder = new Recorder(0);
+        SimpleScheduler scheduler = scheduler(new ScheduledAnno().fixedDelay(50), recorder, null);
+
+        scheduler.start();
+        recorder.firstStarted.await();
+
+        //执行中停止：结束后不再排下一次
+        scheduler.stop();
+        recorder.release.countDown();
+        Thread.sleep(300);
+
+        assert scheduler.isRunning() == false;
+        assert recorder.starts.size() == 1;
+
+        //重启后继续
+        scheduler.start();
+        Thread.sleep(300);
+        scheduler.stop();
+
+        int count = recorder.starts.size();
+        assert count > 1;
+
+        Thread.sleep(200);
+        assert recorder.starts.size() == count;
+    }
+
+    @Test
+    public void restartWhileRunning() throws Throwable {
+        Recorder recorder = new Recorder(0);
+        SimpleScheduler scheduler = scheduler(new ScheduledAnno().fixedRate(50), recorder, null);
+
+        scheduler.start();
+        recorder.firstStarted.await();
+
+        //执行中停止又重启：只有一次补执行，之后照常
+        scheduler.stop();
+        scheduler.start();
+        Thread.sleep(300);
+
+        assert recorder.starts.size() == 1;
+
+        recorder.release.countDown();
+        Thread.sleep(300);
+        scheduler.stop();
+
+        assert recorder.starts.size() > 2;
+        assert recorder.maxActive.get() == 1;
+    }
+
+    @Test
+    public void misfire() throws Throwable {
+        SchedulerEngine engine = new SchedulerEngine(1);
+
+        //占住唯一的工作线程
+        Recorder busy = new Recorder(0);
+        SimpleScheduler busyScheduler = new SimpleScheduler(new JobHolder("busy", new ScheduledAnno().fixedDelay(10_000), busy), engine, null);
+        busyScheduler.start();
+        busy.firstStarted.await();
+
+        Recorder recorder = new Recorder(0);
+        recorder.release.countDown();
+        SimpleScheduler scheduler = new SimpleScheduler(new JobHolder("job", new ScheduledAnno().cron("* * * * * ?"), recorder), engine, null);
+        scheduler.start();
+
+        Thread.sleep(3000);
+        busy.release.countDown();
+        Thread.sleep(200);
+
+        //在工作线程池里排队太久的，算错过
+        assert scheduler.getMisfireCount() >= 1 : scheduler.getMisfireCount();
+
+        //线程空出来后，照常执行
+        long misfireCount = scheduler.getMisfireCount();
+        Thread.sleep(1200);
+        scheduler.stop();
+        busyScheduler.stop();
+
+        assert recorder.starts.size() >= 1;
+        assert scheduler.getMisfireCount() == misfireCount;
+    }
+
+    @Test
+    public void concurrencyUnknown() {
+        SimpleScheduler scheduler = scheduler(new ScheduledAnno().cron("* * * * * ?"), new Recorder(0), "paralel");
+        assert SimpleScheduler.CONCURRENCY_PARALLEL.equals(scheduler.getConcurrency());
+
+        scheduler = scheduler(new ScheduledAnno().fixedRate(10), new Recorder(0), "Skip");
+        assert SimpleScheduler.CONCURRENCY_QUEUE.equals(scheduler.getConcurrency());
+
+        scheduler = scheduler(new ScheduledAnno().fixedRate(10), new Recorder(0), SimpleScheduler.CONCURRENCY_SKIP);
+        assert SimpleScheduler.CONCURRENCY_SKIP.equals(scheduler.getConcurrency());
+    }
+}
@@ -1,7 +1,10 @@
 package org.noear.solon.gradle.plugin;
 
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.plugins.*;
 import org.gradle.api.tasks.SourceSet;
@@ -13,7 +16,10 @@ import org.gradle.api.tasks.compile.JavaCompile;
 import org.jetbrains.annotations.NotNull;
 import org.noear.solon.gradle.dsl.SolonExtension;
 import org.noear.solon.gradle.tasks.bundling.SolonJar;
+import org.noear.solon.gradle.tools.ComponentIndexWriter;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Callable;
@@ -43,6 +49,7 @@ final class JavaPluginAction implements PluginApplicationAction {
         configureArtifactPublication(solonJar);
         project.afterEvaluate(this::configureUtf8Encoding);
         configureParametersCompilerArg(project);
+        configureComponentIndex(project);
     }
 
     private void configureBuildTask(Project project) {
@@ -118,6 +125,27 @@ final class JavaPluginAction implements PluginApplicationAction {
         });
     }
 
+    private void configureComponentIndex(Project project) {
+        project.getTasks().named(JavaPlugin.COMPILE_JAVA_TASK_NAME, JavaCompile.class)
+                .configure((compile) -> compile.doLast(new ComponentIndexAction()));
+    }
+
+    /**
+     * Writes the component index after compilation.
+     */
+    private static class ComponentIndexAction implements Action<Task> {
+        @Override
+        public void execute(@NotNull Task task) {
+            File classesDirectory = ((JavaCompile) task).getDestinationDirectory().get().getAsFile();
+            try {
+                int count = ComponentIndexWriter.write(classesDirectory);
+                task.getLogger().info("Component index generated: {} classes", count);
+            } catch (IOException ex) {
+                throw new GradleException("Component index generate failed", ex);
+            }
+        }
+    }
+
     private TaskProvider<SolonJar> configureSolonJarTask(Project project, TaskProvider<ResolveMainClassName> resolveMainClassName) {
         SourceSet mainSourceSet = javaPluginExtension(project).getSourceSets()
                 .getByName(SourceSet.MAIN_SOURCE_SET_NAME);
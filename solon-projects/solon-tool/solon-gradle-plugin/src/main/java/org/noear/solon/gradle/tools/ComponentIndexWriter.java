@@ -0,0 +1,164 @@
+package org.noear.solon.gradle.tools;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the component index ({@code META-INF/solon/components.idx}) that lets
+ * {@code AppContext.beanScan} skip classpath scanning at startup.
+ * <p>
+ * Only reads bytecode (classes are not loaded). Every class with runtime visible class
+ * annotations (its own or inherited from superclasses in the same directory) gets one line:
+ * {@code className=annotation1,annotation2}. Classes whose superclass lives outside the
+ * directory (JDK classes excepted) also get {@code *}, so the runtime loads them to check.
+ * The {@code #stamp=count:lastModified} header lets the runtime detect a stale index.
+ *
+ * @author noear
+ * @since 2.6
+ */
+public abstract class ComponentIndexWriter {
+
+    public static final String INDEX_RESOURCE_NAME = "META-INF/solon/components.idx";
+    public static final String STAMP_PREFIX = "#stamp=";
+    public static final String ANNOTATION_UNKNOWN = "*";
+
+    /**
+     * Write the index for the given classes directory.
+     *
+     * @param classesDirectory the classes directory
+     * @return the number of indexed classes
+     */
+    public static int write(File classesDirectory) throws IOException {
+        if (!classesDirectory.isDirectory()) {
+            return 0;
+        }
+
+        Path root = classesDirectory.toPath();
+        Map<String, ClassMeta> metas = new HashMap<>();
+        long count = 0;
+        long lastModified = 0;
+
+        try (Stream<Path> pathStream = Files.walk(root)) {
+            for (Path path : pathStream.filter(p -> p.toString().endsWith(".class")).collect(Collectors.toList())) {
+                count++;
+                lastModified = Math.max(lastModified, Files.getLastModifiedTime(path).toMillis());
+                readClass(path, metas);
+            }
+        }
+
+        Map<String, String> components = new TreeMap<>();
+        for (Map.Entry<String, ClassMeta> kv : metas.entrySet()) {
+            Set<String> annotations = collectAnnotations(kv.getValue(), metas);
+            if (annotations.size() > 0) {
+                components.put(kv.getKey(), String.join(",", annotations));
+            }
+        }
+
+        Path indexFile = root.resolve(INDEX_RESOURCE_NAME);
+        Files.createDirectories(indexFile.getParent());
+
+        try (Writer writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+            writer.write("# Generated by solon-gradle-plugin, do not edit\n");
+            writer.write(STAMP_PREFIX + count + ":" + lastModified + "\n");
+            for (Map.Entry<String, String> kv : components.entrySet()) {
+                writer.write(kv.getKey());
+                writer.write('=');
+                writer.write(kv.getValue());
+                writer.write('\n');
+            }
+        }
+
+        return components.size();
+    }
+
+    /**
+     * Own annotations plus those of the superclass chain; {@code *} when the chain leaves the directory.
+     */
+    private static Set<String> collectAnnotations(ClassMeta meta, Map<String, ClassMeta> metas) {
+        Set<String> annotations = new LinkedHashSet<>(meta.annotations);
+        String superName = meta.superName;
+
+        while (superName != null && !"java.lang.Object".equals(superName)) {
+            ClassMeta superMeta = metas.get(superName);
+
+            if (superMeta == null) {
+                if (!superName.startsWith("java.") && !superName.startsWith("javax.")) {
+                    annotations.add(ANNOTATION_UNKNOWN);
+                }
+                break;
+            }
+
+            annotations.addAll(superMeta.annotations);
+            superName = superMeta.superName;
+        }
+
+        return annotations;
+    }
+
+    private static void readClass(Path path, Map<String, ClassMeta> metas) throws IOException {
+        if ("module-info.class".equals(path.getFileName().toString())) {
+            return;
+        }
+
+        ClassReader classReader;
+        try (InputStream in = Files.newInputStream(path)) {
+            classReader = new ClassReader(in);
+        }
+
+        AnnotationCollector collector = new AnnotationCollector();
+        classReader.accept(collector, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+        String superName = null;
+        if ((classReader.getAccess() & Opcodes.ACC_INTERFACE) == 0 && classReader.getSuperName() != null) {
+            superName = classReader.getSuperName().replace('/', '.');
+        }
+
+        metas.put(classReader.getClassName().replace('/', '.'), new ClassMeta(superName, collector.annotations));
+    }
+
+    private static class ClassMeta {
+        final String superName;
+        final List<String> annotations;
+
+        ClassMeta(String superName, List<String> annotations) {
+            this.superName = superName;
+            this.annotations = annotations;
+        }
+    }
+
+    private static class AnnotationCollector extends ClassVisitor {
+        private final List<String> annotations = new ArrayList<>();
+
+        AnnotationCollector() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            if (visible) {
+                annotations.add(Type.getType(descriptor).getClassName());
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.noear.solon.maven.plugin;
+
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.annotation.Annotation;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 生成组件索引（META-INF/solon/components.idx），启动时 beanScan 用它替代类扫描
+ *
+ * <p>只读字节码（不加载类）；收录有运行时类注解的类（含从父类继承的），每行格式：类名=注解1,注解2；
+ * 父类不在本目录的（jdk 的除外），加一个 *，由运行时加载后确认。索引头的 #stamp=类文件数:最后修改时间，用于运行时核对是否过时</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+@Mojo(name = "component-index", defaultPhase = LifecyclePhase.PROCESS_CLASSES, threadSafe = true)
+public class ComponentIndexMojo extends AbstractMojo {
+
+    public static final String INDEX_RESOURCE_NAME = "META-INF/solon/components.idx";
+    public static final String STAMP_PREFIX = "#stamp=";
+    public static final String ANNOTATION_UNKNOWN = "*";
+
+    /**
+     * Directory containing the compiled classes.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File classesDirectory;
+
+    /**
+     * Skip the component index generation.
+     */
+    @Parameter(property = "solon.index.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip || !classesDirectory.isDirectory()) {
+            return;
+        }
+
+        try {
+            Path root = classesDirectory.toPath();
+            Map<String, ClassMeta> metas = new HashMap<>();
+            long count = 0;
+            long lastModified = 0;
+
+            try (Stream<Path> pathStream = Files.walk(root)) {
+                for (Path path : pathStream.filter(p -> p.toString().endsWith(".class")).collect(Collectors.toList())) {
+                    count++;
+                    lastModified = Math.max(lastModified, Files.getLastModifiedTime(path).toMillis());
+                    readClass(path, metas);
+                }
+            }
+
+            Map<String, String> components = new TreeMap<>();
+            for (Map.Entry<String, ClassMeta> kv : metas.entrySet()) {
+                Set<String> annotations = collectAnnotations(kv.getValue(), metas);
+                if (annotations.size() > 0) {
+                    components.put(kv.getKey(), String.join(",", annotations));
+                }
+            }
+
+            Path indexFile = root.resolve(INDEX_RESOURCE_NAME);
+            Files.createDirectories(indexFile.getParent());
+
+            try (Writer writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+                writer.write("# Generated by solon-maven-plugin, do not edit\n");
+                writer.write(STAMP_PREFIX + count + ":" + lastModified + "\n");
+                for (Map.Entry<String, String> kv : components.entrySet()) {
+                    writer.write(kv.getKey());
+                    writer.write('=');
+                    writer.write(kv.getValue());
+                    writer.write('\n');
+                }
+            }
+
+            getLog().info("Component index generated: " + components.size() + " classes");
+        } catch (IOException ex) {
+            throw new MojoExecutionException("Component index generate failed", ex);
+        }
+    }
+
+    /**
+     * 收集注解（自己的 + 父类链上的；父类不在本目录的，加 *）
+     */
+    private static Set<String> collectAnnotations(ClassMeta meta, Map<String, ClassMeta> metas) {
+        Set<String> annotations = new LinkedHashSet<>(meta.annotations);
+        String superName = meta.superName;
+
+        while (superName != null && "java.lang.Object".equals(superName) == false) {
+            ClassMeta superMeta = metas.get(superName);
+
+            if (superMeta == null) {
+                if (superName.startsWith("java.") == false && superName.startsWith("javax.") == false) {
+                    annotations.add(ANNOTATION_UNKNOWN);
+                }
+                break;
+            }
+
+            annotations.addAll(superMeta.annotations);
+            superName = superMeta.superName;
+        }
+
+        return annotations;
+    }
+
+    private static void readClass(Path path, Map<String, ClassMeta> metas) throws IOException {
+        String fileName = path.getFileName().toString();
+        if ("module-info.class".equals(fileName)) {
+            return;
+        }
+
+        ClassFile classFile;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            classFile = new ClassFile(new DataInputStream(in));
+        }
+
+        List<String> annotations = new ArrayList<>();
+        AnnotationsAttribute attr = (AnnotationsAttribute) classFile.getAttribute(AnnotationsAttribute.visibleTag);
+        if (attr != null) {
+            for (Annotation anno : attr.getAnnotations()) {
+                annotations.add(anno.getTypeName());
+            }
+        }
+
+        String superName = (classFile.isInterface() ? null : classFile.getSuperclass());
+        metas.put(classFile.getName(), new ClassMeta(superName, annotations));
+    }
+
+    private static class ClassMeta {
+        final String superName;
+        final List<String> annotations;
+
+        ClassMeta(String superName, List<String> annotations) {
+            this.superName = superName;
+            this.annotations = annotations;
+        }
+    }
+}
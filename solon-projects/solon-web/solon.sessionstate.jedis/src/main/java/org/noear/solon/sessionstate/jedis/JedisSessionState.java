@@ -13,12 +13,12 @@ import java.util.Collection;
  * */
 public class JedisSessionState extends SessionStateBase {
 
-    private RedisClient redisClient;
-    private Serializer<String> serializer;
+    protected final RedisClient redisClient;
+    protected final Serializer<String> serializer;
 
     protected JedisSessionState(Context ctx) {
         super(ctx);
-        this.serializer = JavabinSerializer.instance;
+        this.serializer = JedisSessionStateFactory.getInstance().serializer();
         this.redisClient = JedisSessionStateFactory.getInstance().redisClient();
     }
 
@@ -2,9 +2,11 @@ package org.noear.solon.sessionstate.jedis;
 
 import org.noear.redisx.RedisClient;
 import org.noear.solon.Solon;
+import org.noear.solon.boot.web.SessionRefreshThrottle;
 import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.handle.SessionState;
 import org.noear.solon.core.handle.SessionStateFactory;
+import org.noear.solon.data.cache.Serializer;
 
 import java.util.Properties;
 
@@ -30,14 +32,44 @@ public class JedisSessionStateFactory implements SessionStateFactory {
         }
 
         redisClient = new RedisClient(prop);
+
+        /*
+         *
+         * server.session.state.snapshot: true     #一个请求只加载一次，变更在请求结束时批量回写
+         * server.session.state.refreshSeconds: 60 #续期间隔（快照模式时）
+         * server.session.state.serializer: fury   #java-bin（默认）、json、fury
+         *
+         * */
+        snapshot = Solon.cfg().getBool("server.session.state.snapshot", false);
+        refreshThrottle = new SessionRefreshThrottle(Solon.cfg().getInt("server.session.state.refreshSeconds", 60));
+
+        String serializerName = Solon.cfg().get("server.session.state.serializer", JavabinSerializer.instance.name());
+        if (serializerName.startsWith("json")) {
+            serializer = JsonSerializer.instance;
+        } else if (serializerName.startsWith("fury")) {
+            serializer = FurySerializer.instance;
+        } else {
+            serializer = JavabinSerializer.instance;
+        }
     }
 
     private RedisClient redisClient;
+    private Serializer<String> serializer = JavabinSerializer.instance;
+    private boolean snapshot;
+    private SessionRefreshThrottle refreshThrottle;
 
     protected RedisClient redisClient() {
         return redisClient;
     }
 
+    protected Serializer<String> serializer() {
+        return serializer;
+    }
+
+    protected SessionRefreshThrottle refreshThrottle() {
+        return refreshThrottle;
+    }
+
     public static final int SESSION_STATE_PRIORITY = 2;
     @Override
     public int priority() {
@@ -47,6 +79,10 @@ public class JedisSessionStateFactory implements SessionStateFactory {
 
     @Override
     public SessionState create(Context ctx) {
-        return new JedisSessionState(ctx);
+        if (snapshot) {
+            return new JedisSessionStateSnapshot(ctx);
+        } else {
+            return new JedisSessionState(ctx);
+        }
     }
 }
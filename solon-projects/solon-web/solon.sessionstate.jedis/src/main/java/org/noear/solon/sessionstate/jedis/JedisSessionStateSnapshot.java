@@ -0,0 +1,124 @@
+package org.noear.solon.sessionstate.jedis;
+
+import org.noear.solon.boot.web.SessionStateSnapshot;
+import org.noear.solon.core.handle.Context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 快照模式（一个请求只加载一次会话；变更在请求结束时，用一个连接批量回写并续期）
+ *
+ * <p>续期按 refreshSeconds 节流；请求结束由 sessionPublish 触发（之后的变更直接回写）</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class JedisSessionStateSnapshot extends JedisSessionState {
+    private final SessionStateSnapshot<String> snapshot;
+
+    protected JedisSessionStateSnapshot(Context ctx) {
+        super(ctx);
+        this.snapshot = new SessionStateSnapshot<>(new SnapshotStorage(), JedisSessionStateFactory.getInstance().refreshThrottle());
+    }
+
+    @Override
+    public String sessionChangeId() {
+        //变更前的，先回写到旧的会话
+        snapshot.beforeChangeId();
+
+        return super.sessionChangeId();
+    }
+
+    @Override
+    public Collection<String> sessionKeys() {
+        return new ArrayList<>(snapshot.keys());
+    }
+
+    @Override
+    public <T> T sessionGet(String key, Class<T> clz) {
+        String val = snapshot.get(key);
+
+        if (val == null) {
+            return null;
+        }
+
+        try {
+            return (T) serializer.deserialize(val, clz);
+        } catch (Exception e) {
+            throw new RuntimeException("Session state deserialization error: " + key + " = " + val, e);
+        }
+    }
+
+    @Override
+    public void sessionSet(String key, Object val) {
+        if (val == null) {
+            sessionRemove(key);
+        } else {
+            String str;
+            try {
+                str = serializer.serialize(val);
+            } catch (Exception e) {
+                throw new RuntimeException("Session state serialization error: " + key + " = " + val, e);
+            }
+
+            snapshot.put(key, str);
+        }
+    }
+
+    @Override
+    public void sessionRemove(String key) {
+        snapshot.remove(key);
+    }
+
+    @Override
+    public void sessionClear() {
+        super.sessionClear();
+        snapshot.clear();
+    }
+
+    @Override
+    public void sessionRefresh() {
+        //只推送 cookie；续期在请求结束时（与回写合并）
+        snapshot.refresh(sessionIdPush());
+    }
+
+    @Override
+    public void sessionPublish() {
+        snapshot.publish();
+    }
+
+    /**
+     * 快照的存储（用一个连接回写）
+     */
+    private class SnapshotStorage implements SessionStateSnapshot.Storage<String> {
+        @Override
+        public String sessionId() {
+            return JedisSessionStateSnapshot.this.sessionId();
+        }
+
+        @Override
+        public Map<String, String> load() {
+            return redisClient.openAndGet((ru) -> ru.key(sessionId()).hashGetAll());
+        }
+
+        @Override
+        public void write(Map<String, String> puts, Set<String> removes) {
+            String sid = sessionId();
+
+            redisClient.open((ru) -> {
+                if (puts.size() > 0) {
+                    ru.key(sid).hashSetAll(puts);
+                }
+
+                for (String key : removes) {
+                    ru.key(sid).hashDel(key);
+                }
+
+                ru.key(sid).expire(_expiry).delay();
+            });
+        }
+    }
+}
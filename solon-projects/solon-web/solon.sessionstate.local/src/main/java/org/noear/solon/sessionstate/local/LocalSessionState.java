@@ -1,5 +1,6 @@
 package org.noear.solon.sessionstate.local;
 
+import org.noear.solon.Solon;
 import org.noear.solon.Utils;
 import org.noear.solon.boot.web.SessionStateBase;
 import org.noear.solon.core.handle.Context;
@@ -12,10 +13,15 @@ import java.util.Collection;
  * */
 public class LocalSessionState extends SessionStateBase {
 
-    private static ScheduledStore _store;
+    private static ShardedStore _store;
 
     static {
-        _store = new ScheduledStore(_expiry);
+        //server.session.state.local.maxSessions: 200000 #最大会话数（超出时驱逐最早到期的；默认不限）
+        _store = new ShardedStore(_expiry, Solon.cfg().getInt("server.session.state.local.maxSessions", 0));
+    }
+
+    protected static ShardedStore store() {
+        return _store;
     }
 
     protected LocalSessionState(Context ctx) {
@@ -48,7 +54,7 @@ public class LocalSessionState extends SessionStateBase {
 
     @Override
     public Collection<String> sessionKeys() {
-        return _store.keys();
+        return _store.keys(sessionId());
     }
 
     @Override
@@ -31,4 +31,31 @@ public class LocalSessionStateFactory implements SessionStateFactory {
         return new LocalSessionState(ctx);
     }
 
+    /**
+     * 活跃会话数
+     *
+     * @since 2.6
+     */
+    public int getSessionCount() {
+        return LocalSessionState.store().size();
+    }
+
+    /**
+     * 累计过期的会话数
+     *
+     * @since 2.6
+     */
+    public long getExpiredCount() {
+        return LocalSessionState.store().getExpiredCount();
+    }
+
+    /**
+     * 累计驱逐的会话数（超出最大会话数时）
+     *
+     * @since 2.6
+     */
+    public long getEvictedCount() {
+        return LocalSessionState.store().getEvictedCount();
+    }
+
 }
@@ -0,0 +1,341 @@
+package org.noear.solon.sessionstate.local;
+
+import org.noear.solon.core.util.RunUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 分片存储器（做为Session存储方案）
+ *
+ * <p>过期用一个粗粒度的时间轮：续期只更新时间，不重新调度；轮到时才检查，没过期的移到新的槽</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+class ShardedStore {
+    private static final int SHARDS = 16;
+    private static final int SLOTS = 64;
+
+    private final long ttlMillis;
+    private final long tickMillis;
+    private final int maxSessions;
+    private final LongSupplier clock;
+
+    private final Map<String, Entity>[] shards;
+    private final ConcurrentLinkedQueue<Entity>[] wheel;
+    private volatile long sweptTick;
+
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+
+    /**
+     * @param seconds     过期秒数
+     * @param maxSessions 最大会话数（0 表示不限）
+     */
+    public ShardedStore(int seconds, int maxSessions) {
+        this(seconds, maxSessions, System::currentTimeMillis);
+
+        RunUtil.scheduleWithFixedDelay(this::sweep, tickMillis, tickMillis);
+    }
+
+    /**
+     * @param clock 时钟（不自动转动时间轮，由调用方执行 sweep）
+     */
+    ShardedStore(int seconds, int maxSessions, LongSupplier clock) {
+        this.ttlMillis = seconds * 1000L;
+        //一圈要大于过期时长（留两个槽的余量）
+        this.tickMillis = Math.max(1000L, (ttlMillis + SLOTS - 3) / (SLOTS - 2));
+        this.maxSessions = maxSessions;
+        this.clock = clock;
+
+        this.shards = newShards();
+        this.wheel = newWheel();
+
+        this.sweptTick = clock.getAsLong() / tickMillis - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Entity>[] newShards() {
+        Map<String, Entity>[] shards = (Map<String, Entity>[]) new Map<?, ?>[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        return shards;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentLinkedQueue<Entity>[] newWheel() {
+        ConcurrentLinkedQueue<Entity>[] wheel = (ConcurrentLinkedQueue<Entity>[]) new ConcurrentLinkedQueue<?>[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        return wheel;
+    }
+
+    private Map<String, Entity> shard(String block) {
+        int h = block.hashCode();
+        return shards[(h ^ (h >>> 16)) & (SHARDS - 1)];
+    }
+
+    private int slotOf(long expireAt) {
+        return (int) ((expireAt / tickMillis) % SLOTS);
+    }
+
+    /**
+     * 获取会话实体（没有或已过期，返回 null）
+     */
+    private Entity getEntity(String block, long now) {
+        Entity ent = shard(block).get(block);
+
+        if (ent != null && ent.expireAt <= now) {
+            removeEntity(ent, expiredCount);
+            return null;
+        }
+
+        return ent;
+    }
+
+    private Entity getOrCreateEntity(String block, long now) {
+        Map<String, Entity> shard = shard(block);
+
+        while (true) {
+            Entity ent = shard.get(block);
+
+            if (ent != null) {
+                if (ent.expireAt > now) {
+                    return ent;
+                }
+
+                removeEntity(ent, expiredCount);
+                continue;
+            }
+
+            Entity entNew = new Entity(block, now + ttlMillis);
+            ent = shard.putIfAbsent(block, entNew);
+
+            if (ent == null) {
+                wheel[slotOf(entNew.expireAt)].add(entNew);
+
+                if (size.incrementAndGet() > maxSessions && maxSessions > 0) {
+                    evict();
+                }
+
+                return entNew;
+            }
+        }
+    }
+
+    private void removeEntity(Entity ent, LongAdder counter) {
+        //仍在的才移除（可能已被替换或清除）
+        if (shard(ent.block).remove(ent.block, ent)) {
+            ent.removed = true;
+            size.decrementAndGet();
+
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+    }
+
+    public Collection<String> keys(String block) {
+        Entity ent = getEntity(block, clock.getAsLong());
+
+        if (ent == null) {
+            return Collections.emptyList();
+        } else {
+            return Collections.unmodifiableSet(ent.map.keySet());
+        }
+    }
+
+    public void put(String block, String key, Object obj) {
+        long now = clock.getAsLong();
+        Entity ent = getOrCreateEntity(block, now);
+
+        ent.map.put(key, obj);
+        ent.expireAt = now + ttlMillis;
+    }
+
+    public void delay(String block) {
+        long now = clock.getAsLong();
+        Entity ent = getEntity(block, now);
+
+        if (ent != null) {
+            ent.expireAt = now + ttlMillis;
+        }
+    }
+
+    public Object get(String block, String key) {
+        Entity ent = getEntity(block, clock.getAsLong());
+
+        if (ent != null) {
+            return ent.map.get(key);
+        }
+
+        return null;
+    }
+
+    public void remove(String block, String key) {
+        Entity ent = getEntity(block, clock.getAsLong());
+
+        if (ent != null) {
+            ent.map.remove(key);
+        }
+    }
+
+    public void clear(String block) {
+        Entity ent = shard(block).get(block);
+
+        if (ent != null) {
+            removeEntity(ent, null);
+        }
+    }
+
+    public void clear() {
+        for (Map<String, Entity> shard : shards) {
+            for (Entity ent : shard.values()) {
+                removeEntity(ent, null);
+            }
+        }
+    }
+
+    /**
+     * 会话数
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * 累计过期数
+     */
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    /**
+     * 累计驱逐数（超出最大会话数时）
+     */
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    /**
+     * 转动时间轮（处理已完整过去的槽）
+     */
+    protected void sweep() {
+        long now = clock.getAsLong();
+        long nowTick = now / tickMillis;
+        long tick = sweptTick;
+
+        //落后太多时，每个槽处理一次即可
+        if (nowTick - 1 - tick > SLOTS) {
+            tick = nowTick - 1 - SLOTS;
+        }
+
+        while (tick < nowTick - 1) {
+            tick++;
+            sweepSlot((int) (tick % SLOTS), now);
+            sweptTick = tick;
+        }
+    }
+
+    private void sweepSlot(int slot, long now) {
+        ConcurrentLinkedQueue<Entity> queue = wheel[slot];
+        List<Entity> stay = null;
+
+        Entity ent;
+        while ((ent = queue.poll()) != null) {
+            if (ent.removed) {
+                continue;
+            }
+
+            long expireAt = ent.expireAt;
+            if (expireAt <= now) {
+                removeEntity(ent, expiredCount);
+            } else {
+                int slotNew = slotOf(expireAt);
+
+                if (slotNew == slot) {
+                    //转一圈后才到期的（一般不会有），处理完再放回
+                    if (stay == null) {
+                        stay = new ArrayList<>();
+                    }
+                    stay.add(ent);
+                } else {
+                    wheel[slotNew].add(ent);
+                }
+            }
+        }
+
+        if (stay != null) {
+            queue.addAll(stay);
+        }
+    }
+
+    /**
+     * 驱逐（从最早到期的槽开始；同一时间只有一个线程驱逐）
+     */
+    private void evict() {
+        if (evicting.compareAndSet(false, true) == false) {
+            return;
+        }
+
+        try {
+            long now = clock.getAsLong();
+            //从当前时间的槽开始（时间轮落后时，之前的槽会与一圈后的时间重叠）
+            long tick = Math.max(sweptTick + 1, now / tickMillis);
+
+            for (int i = 0; i < SLOTS && size.get() > maxSessions; i++) {
+                int slot = (int) ((tick + i) % SLOTS);
+                ConcurrentLinkedQueue<Entity> queue = wheel[slot];
+
+                Entity ent;
+                while (size.get() > maxSessions && (ent = queue.poll()) != null) {
+                    if (ent.removed) {
+                        continue;
+                    }
+
+                    long expireAt = ent.expireAt;
+                    int slotNew = slotOf(expireAt);
+
+                    if (expireAt <= now) {
+                        removeEntity(ent, expiredCount);
+                    } else if (slotNew == slot) {
+                        removeEntity(ent, evictedCount);
+                    } else {
+                        //已续期的，移到新的槽
+                        wheel[slotNew].add(ent);
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    //存储实体
+    private static class Entity {
+        final String block;
+        //会话的键一般不多
+        final Map<String, Object> map = new ConcurrentHashMap<>(4);
+        volatile long expireAt;
+        volatile boolean removed;
+
+        Entity(String block, long expireAt) {
+            this.block = block;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.noear.solon.sessionstate.local;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分片存储器（分片、时间轮过期、续期、驱逐；时钟由测试控制）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class ShardedStoreTest {
+    static final long T0 = 1_000_000L;
+
+    @Test
+    public void sharding() throws Exception {
+        ShardedStore store = new ShardedStore(60, 0, () -> T0);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int base = t * 1000;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    store.put("s" + (base + i), "uid", base + i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assert store.size() == 8000;
+
+        for (int i = 0; i < 8000; i++) {
+            assert Integer.valueOf(i).equals(store.get("s" + i, "uid"));
+        }
+
+        //会话分散到各个分片
+        Field field = ShardedStore.class.getDeclaredField("shards");
+        field.setAccessible(true);
+        for (Map<?, ?> shard : (Map<?, ?>[]) field.get(store)) {
+            assert shard.size() > 0;
+        }
+
+        //同一会话的键
+        store.put("s1", "name", "noear");
+        assert store.keys("s1").size() == 2;
+        store.remove("s1", "name");
+        assert store.keys("s1").size() == 1;
+
+        store.clear("s1");
+        assert store.get("s1", "uid") == null;
+        assert store.size() == 7999;
+
+        store.clear();
+        assert store.size() == 0;
+    }
+
+    @Test
+    public void expire() {
+        AtomicLong clock = new AtomicLong(T0);
+        ShardedStore store = new ShardedStore(60, 0, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            store.put("s" + i, "uid", i);
+        }
+
+        //没到期，时间轮不移除
+        clock.set(T0 + 59_000);
+        store.sweep();
+        assert store.size() == 100;
+
+        //到期后，由时间轮移除（不用读取）
+        clock.set(T0 + 61_000);
+        store.sweep();
+        assert store.size() == 0;
+        assert store.getExpiredCount() == 100;
+    }
+
+    @Test
+    public void expireOnRead() {
+        AtomicLong clock = new AtomicLong(T0);
+        ShardedStore store = new ShardedStore(60, 0, clock::get);
+
+        store.put("s1", "uid", 1);
+
+        //时间轮还没转到，读取时也会过期
+        clock.set(T0 + 60_000);
+        assert store.get("s1", "uid") == null;
+        assert store.size() == 0;
+        assert store.getExpiredCount() == 1;
+
+        //时间轮再转到时，不重复计数
+        clock.set(T0 + 62_000);
+        store.sweep();
+        assert store.getExpiredCount() == 1;
+    }
+
+    @Test
+    public void renew() {
+        AtomicLong clock = new AtomicLong(T0);
+        ShardedStore store = new ShardedStore(60, 0, clock::get);
+
+        store.put("a", "uid", 1);
+        store.put("b", "uid", 2);
+        store.put("c", "uid", 3);
+
+        //续期：a 用 delay，c 用 put
+        clock.set(T0 + 30_000);
+        store.delay("a");
+        store.put("c", "name", "noear");
+
+        //b 到期；a、c 移到新的槽
+        clock.set(T0 + 61_000);
+        store.sweep();
+        assert store.size() == 2;
+        assert store.get("b", "uid") == null;
+        assert Integer.valueOf(1).equals(store.get("a", "uid"));
+        assert "noear".equals(store.get("c", "name"));
+
+        //再转到新的槽时，到期移除
+        clock.set(T0 + 92_000);
+        store.sweep();
+        assert store.size() == 0;
+        assert store.getExpiredCount() == 3;
+    }
+
+    @Test
+    public void sweepBehind() {
+        AtomicLong clock = new AtomicLong(T0);
+        ShardedStore store = new ShardedStore(60, 0, clock::get);
+
+        store.put("a", "uid", 1);
+
+        //调度落后了好几圈，也能处理
+        clock.set(T0 + 600_000);
+        store.sweep();
+        assert store.size() == 0;
+    }
+
+    @Test
+    public void evict() {
+        AtomicLong clock = new AtomicLong(T0);
+        ShardedStore store = new ShardedStore(60, 10, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            store.put("s" + i, "uid", i);
+        }
+
+        //s0 续期了，超出时跳过它，驱逐最早到期的 s1
+        clock.set(T0 + 5_000);
+        store.delay("s0");
+        store.put("s10", "uid", 10);
+
+        assert store.size() == 10;
+        assert store.getEvictedCount() == 1;
+        assert store.get("s0", "uid") != null;
+        assert store.get("s1", "uid") == null;
+        assert store.get("s10", "uid") != null;
+
+        for (int i = 11; i < 20; i++) {
+            store.put("s" + i, "uid", i);
+        }
+
+        assert store.size() == 10;
+        assert store.getEvictedCount() == 10;
+    }
+}
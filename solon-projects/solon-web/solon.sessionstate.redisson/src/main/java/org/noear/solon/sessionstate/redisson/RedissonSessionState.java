@@ -15,7 +15,7 @@ import java.util.concurrent.TimeUnit;
  * */
 public class RedissonSessionState extends SessionStateBase {
 
-    private RedissonClient redisClient;
+    protected final RedissonClient redisClient;
 
     protected RedissonSessionState(Context ctx) {
         super(ctx);
@@ -1,6 +1,7 @@
 package org.noear.solon.sessionstate.redisson;
 
 import org.noear.solon.Solon;
+import org.noear.solon.boot.web.SessionRefreshThrottle;
 import org.noear.solon.core.handle.Context;
 import org.noear.solon.core.handle.SessionState;
 import org.noear.solon.core.handle.SessionStateFactory;
@@ -30,14 +31,29 @@ public class RedissonSessionStateFactory implements SessionStateFactory {
         }
 
         redisClient = RedissonBuilder.build(prop);
+
+        /*
+         *
+         * server.session.state.snapshot: true     #一个请求只加载一次，变更在请求结束时批量回写
+         * server.session.state.refreshSeconds: 60 #续期间隔（快照模式时）
+         *
+         * */
+        snapshot = Solon.cfg().getBool("server.session.state.snapshot", false);
+        refreshThrottle = new SessionRefreshThrottle(Solon.cfg().getInt("server.session.state.refreshSeconds", 60));
     }
 
     private RedissonClient redisClient;
+    private boolean snapshot;
+    private SessionRefreshThrottle refreshThrottle;
 
     protected RedissonClient redisClient() {
         return redisClient;
     }
 
+    protected SessionRefreshThrottle refreshThrottle() {
+        return refreshThrottle;
+    }
+
     public static final int SESSION_STATE_PRIORITY = 2;
     @Override
     public int priority() {
@@ -47,6 +63,10 @@ public class RedissonSessionStateFactory implements SessionStateFactory {
 
     @Override
     public SessionState create(Context ctx) {
-        return new RedissonSessionState(ctx);
+        if (snapshot) {
+            return new RedissonSessionStateSnapshot(ctx);
+        } else {
+            return new RedissonSessionState(ctx);
+        }
     }
 }
@@ -0,0 +1,110 @@
+package org.noear.solon.sessionstate.redisson;
+
+import org.noear.solon.boot.web.SessionStateSnapshot;
+import org.noear.solon.core.handle.Context;
+import org.redisson.api.RBatch;
+import org.redisson.api.RMapCacheAsync;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 快照模式（一个请求只加载一次会话；变更在请求结束时，用一个批次回写并续期）
+ *
+ * <p>续期按 refreshSeconds 节流；请求结束由 sessionPublish 触发（之后的变更直接回写）</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class RedissonSessionStateSnapshot extends RedissonSessionState {
+    private final SessionStateSnapshot<Object> snapshot;
+
+    protected RedissonSessionStateSnapshot(Context ctx) {
+        super(ctx);
+        this.snapshot = new SessionStateSnapshot<>(new SnapshotStorage(), RedissonSessionStateFactory.getInstance().refreshThrottle());
+    }
+
+    @Override
+    public String sessionChangeId() {
+        //变更前的，先回写到旧的会话
+        snapshot.beforeChangeId();
+
+        return super.sessionChangeId();
+    }
+
+    @Override
+    public Collection<String> sessionKeys() {
+        return new ArrayList<>(snapshot.keys());
+    }
+
+    @Override
+    public <T> T sessionGet(String key, Class<T> clz) {
+        return (T) snapshot.get(key);
+    }
+
+    @Override
+    public void sessionSet(String key, Object val) {
+        if (val == null) {
+            sessionRemove(key);
+        } else {
+            snapshot.put(key, val);
+        }
+    }
+
+    @Override
+    public void sessionRemove(String key) {
+        snapshot.remove(key);
+    }
+
+    @Override
+    public void sessionClear() {
+        super.sessionClear();
+        snapshot.clear();
+    }
+
+    @Override
+    public void sessionRefresh() {
+        //只推送 cookie；续期在请求结束时（与回写合并）
+        snapshot.refresh(sessionIdPush());
+    }
+
+    @Override
+    public void sessionPublish() {
+        snapshot.publish();
+    }
+
+    /**
+     * 快照的存储（用一个批次回写）
+     */
+    private class SnapshotStorage implements SessionStateSnapshot.Storage<Object> {
+        @Override
+        public String sessionId() {
+            return RedissonSessionStateSnapshot.this.sessionId();
+        }
+
+        @Override
+        public Map<String, Object> load() {
+            return redisClient.<String, Object>getMapCache(sessionId()).readAllMap();
+        }
+
+        @Override
+        public void write(Map<String, Object> puts, Set<String> removes) {
+            RBatch batch = redisClient.createBatch();
+            RMapCacheAsync<String, Object> hash = batch.getMapCache(sessionId());
+
+            if (puts.size() > 0) {
+                hash.putAllAsync(puts, _expiry, TimeUnit.SECONDS);
+            }
+
+            if (removes.size() > 0) {
+                hash.fastRemoveAsync(removes.toArray(new String[0]));
+            }
+
+            hash.expireAsync(_expiry, TimeUnit.SECONDS);
+            batch.execute();
+        }
+    }
+}
@@ -220,6 +220,22 @@ public class SolonServletContext extends WebContextBase {
         return _cookieMap;
     }
 
+    @Override
+    public String header(String name) {
+        if (_headerMap == null) {
+            //未物化时，直接从 servlet 头里取（本身不区分大小写）
+            return _request.getHeader(name);
+        }
+
+        return _headerMap.get(name);
+    }
+
+    @Override
+    public String headerOrDefault(String name, String def) {
+        String val = header(name);
+        return val == null ? def : val;
+    }
+
     @Override
     public NvMap headerMap() {
         if (_headerMap == null) {
@@ -0,0 +1,137 @@
+package org.noear.solon.web.staticfiles;
+
+import java.io.File;
+
+/**
+ * 静态资产（内存缓存的静态资源，含预压缩变体）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class StaticAsset {
+    private final String contentType;
+    private final byte[] content;
+    private final byte[] gzipContent;
+    private final byte[] brContent;
+    private final String etag;
+    private final String lastModified;
+
+    //本地文件（用于变更检测；jar 内资源为 null）
+    private final File file;
+    private final long fileModified;
+    //本地的 .gz、.br 兄弟文件的修改时间（不存在时为 0；出现、变更或删除也算过时）
+    private final long gzipFileModified;
+    private final long brFileModified;
+    private volatile long checkedTime;
+
+    public StaticAsset(String contentType, byte[] content, byte[] gzipContent, byte[] brContent,
+                       String etag, String lastModified, File file, long fileModified) {
+        this.contentType = contentType;
+        this.content = content;
+        this.gzipContent = gzipContent;
+        this.brContent = brContent;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.file = file;
+        this.fileModified = fileModified;
+        this.gzipFileModified = (file == null ? 0 : siblingOf(file, ".gz").lastModified());
+        this.brFileModified = (file == null ? 0 : siblingOf(file, ".br").lastModified());
+        this.checkedTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 内容类型
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 原始内容
+     */
+    public byte[] getContent() {
+        return content;
+    }
+
+    /**
+     * gzip 内容（.gz 兄弟文件或加载时预压缩；可能为 null）
+     */
+    public byte[] getGzipContent() {
+        return gzipContent;
+    }
+
+    /**
+     * br 内容（.br 兄弟文件；可能为 null）
+     */
+    public byte[] getBrContent() {
+        return brContent;
+    }
+
+    /**
+     * 是否有压缩变体
+     */
+    public boolean hasVariants() {
+        return gzipContent != null || brContent != null;
+    }
+
+    /**
+     * 实体标签（原始内容的）
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * 实体标签（压缩变体的）
+     */
+    public String getEtag(String encoding) {
+        return etag.substring(0, etag.length() - 1) + "-" + encoding + "\"";
+    }
+
+    /**
+     * 最后修改时间（http-date 格式）
+     */
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * 占用内存大小
+     */
+    public long memorySize() {
+        long size = content.length;
+
+        if (gzipContent != null) {
+            size += gzipContent.length;
+        }
+
+        if (brContent != null) {
+            size += brContent.length;
+        }
+
+        return size;
+    }
+
+    /**
+     * 是否已过时（本地文件或它的 .gz、.br 兄弟文件被修改或删除；检测间隔为 checkInterval 毫秒）
+     */
+    public boolean isStale(long checkInterval) {
+        if (file == null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - checkedTime < checkInterval) {
+            return false;
+        }
+
+        checkedTime = now;
+        return file.lastModified() != fileModified
+                || siblingOf(file, ".gz").lastModified() != gzipFileModified
+                || siblingOf(file, ".br").lastModified() != brFileModified;
+    }
+
+    private static File siblingOf(File file, String suffix) {
+        return new File(file.getPath() + suffix);
+    }
+}
@@ -0,0 +1,285 @@
+package org.noear.solon.web.staticfiles;
+
+import org.noear.solon.boot.prop.GzipProps;
+import org.noear.solon.core.util.IoUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 静态资产内存缓存（有总大小上限，LRU 淘汰；本地文件按修改时间失效）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class StaticAssetCache {
+    private static volatile StaticAssetCache global;
+
+    /**
+     * 全局实例（首次使用时按配置创建，即在应用启动后的请求处理时）
+     */
+    public static StaticAssetCache global() {
+        if (global == null) {
+            synchronized (StaticAssetCache.class) {
+                if (global == null) {
+                    global = new StaticAssetCache(
+                            StaticConfig.getMemoryCacheMaxSize(),
+                            StaticConfig.getMemoryCacheMaxFileSize());
+                }
+            }
+        }
+
+        return global;
+    }
+
+    /**
+     * 清空全局实例（还没创建时，什么也不做；静态映射变更时）
+     */
+    static void clearGlobal() {
+        StaticAssetCache tmp = global;
+
+        if (tmp != null) {
+            tmp.clear();
+        }
+    }
+
+    /**
+     * 本地文件变更的检测间隔（毫秒）
+     */
+    private static final long CHECK_INTERVAL = 1000L;
+
+    private final long maxSize;
+    private final long maxFileSize;
+    private final LinkedHashMap<String, StaticAsset> assets = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalSize;
+
+    public StaticAssetCache(long maxSize, long maxFileSize) {
+        this.maxSize = maxSize;
+        this.maxFileSize = Math.min(maxSize, maxFileSize);
+    }
+
+    /**
+     * 获取（如果已过时，则移除并返回 null）
+     *
+     * @param path 请求路径
+     */
+    public StaticAsset get(String path) {
+        StaticAsset asset;
+        synchronized (assets) {
+            asset = assets.get(path);
+        }
+
+        if (asset != null && asset.isStale(CHECK_INTERVAL)) {
+            remove(path);
+            return null;
+        }
+
+        return asset;
+    }
+
+    /**
+     * 加载并缓存（太大或无法读取的，返回 null）
+     *
+     * @param path        请求路径
+     * @param uri         资源地址
+     * @param contentType 内容类型
+     */
+    public StaticAsset load(String path, URL uri, String contentType) throws Exception {
+        File file = getLocalFile(uri);
+        long fileModified = 0;
+        long lastModified;
+        byte[] content;
+
+        if (file != null) {
+            if (file.length() > maxFileSize) {
+                return null;
+            }
+
+            fileModified = file.lastModified();
+            lastModified = fileModified;
+            content = readBytes(uri.openConnection());
+        } else {
+            URLConnection connection = uri.openConnection();
+            long size = connection.getContentLengthLong();
+            if (size > maxFileSize) {
+                return null;
+            }
+
+            lastModified = connection.getLastModified();
+            content = readBytes(connection);
+        }
+
+        if (content == null || content.length > maxFileSize) {
+            return null;
+        }
+
+        //预压缩变体（优先用构建时生成的兄弟文件）
+        byte[] gzipContent = null;
+        byte[] brContent = null;
+        if (GzipProps.hasMime(contentType)) {
+            brContent = readSibling(path + ".br");
+            gzipContent = readSibling(path + ".gz");
+
+            if (gzipContent == null && content.length >= GzipProps.minSize()) {
+                gzipContent = gzip(content);
+            }
+        }
+
+        if (lastModified <= 0) {
+            lastModified = System.currentTimeMillis();
+        }
+
+        StaticAsset asset = new StaticAsset(contentType, content, gzipContent, brContent,
+                buildEtag(content), formatHttpDate(lastModified), file, fileModified);
+
+        put(path, asset);
+
+        return asset;
+    }
+
+    /**
+     * 移除（同时移除 .gz、.br 兄弟变体；移除变体时，也移除带着它的原文件）
+     */
+    public void remove(String path) {
+        synchronized (assets) {
+            removeDo(path);
+            removeDo(path + ".gz");
+            removeDo(path + ".br");
+
+            if (path.endsWith(".gz") || path.endsWith(".br")) {
+                removeDo(path.substring(0, path.length() - 3));
+            }
+        }
+    }
+
+    private void removeDo(String path) {
+        StaticAsset asset = assets.remove(path);
+        if (asset != null) {
+            totalSize -= asset.memorySize();
+        }
+    }
+
+    /**
+     * 清空（静态映射变更时）
+     */
+    public void clear() {
+        synchronized (assets) {
+            assets.clear();
+            totalSize = 0;
+        }
+    }
+
+    /**
+     * 数量
+     */
+    public int count() {
+        synchronized (assets) {
+            return assets.size();
+        }
+    }
+
+    /**
+     * 总大小
+     */
+    public long totalSize() {
+        synchronized (assets) {
+            return totalSize;
+        }
+    }
+
+    private void put(String path, StaticAsset asset) {
+        long assetSize = asset.memorySize();
+        if (assetSize > maxSize) {
+            return;
+        }
+
+        synchronized (assets) {
+            StaticAsset old = assets.put(path, asset);
+            if (old != null) {
+                totalSize -= old.memorySize();
+            }
+            totalSize += assetSize;
+
+            //按 LRU 淘汰（最久未访问的在前）
+            Iterator<Map.Entry<String, StaticAsset>> iterator = assets.entrySet().iterator();
+            while (totalSize > maxSize && iterator.hasNext()) {
+                Map.Entry<String, StaticAsset> eldest = iterator.next();
+                if (eldest.getValue() != asset) {
+                    totalSize -= eldest.getValue().memorySize();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private byte[] readSibling(String path) throws Exception {
+        URL uri = StaticMappings.find(path);
+        if (uri == null) {
+            return null;
+        }
+
+        byte[] bytes = readBytes(uri.openConnection());
+        if (bytes != null && bytes.length > maxFileSize) {
+            return null;
+        }
+
+        return bytes;
+    }
+
+    private static byte[] readBytes(URLConnection connection) throws IOException {
+        try (InputStream stream = connection.getInputStream()) {
+            return IoUtil.transferToBytes(stream);
+        }
+    }
+
+    private static File getLocalFile(URL uri) {
+        if ("file".equals(uri.getProtocol())) {
+            try {
+                File file = new File(uri.toURI());
+                if (file.isFile()) {
+                    return file;
+                }
+            } catch (URISyntaxException | IllegalArgumentException ignored) {
+                //不能转为本地文件的，按普通资源处理
+            }
+        }
+
+        return null;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(content);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static String buildEtag(byte[] content) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(content, 0, content.length);
+
+        return "\"" + Long.toHexString(content.length) + "-" + Long.toHexString(crc32.getValue()) + "\"";
+    }
+
+    private static String formatHttpDate(long time) {
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format.format(new Date(time));
+    }
+}
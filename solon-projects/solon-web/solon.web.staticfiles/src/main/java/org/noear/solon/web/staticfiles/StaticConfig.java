@@ -13,6 +13,9 @@ public class StaticConfig {
     private static final String PROP_MAX_AGE = "solon.staticfiles.maxAge";
     public static final String PROP_CACHE_MAX_AGE = "solon.staticfiles.cacheMaxAge";
     public static final String PROP_MAPPINGS = "solon.staticfiles.mappings";
+    public static final String PROP_MEMORY_CACHE_ENABLE = "solon.staticfiles.memoryCache.enable";
+    public static final String PROP_MEMORY_CACHE_MAX_SIZE = "solon.staticfiles.memoryCache.maxSize";
+    public static final String PROP_MEMORY_CACHE_MAX_FILE_SIZE = "solon.staticfiles.memoryCache.maxFileSize";
 
     public static final String RES_STATIC_LOCATION = "static/";
     public static final String RES_WEB_INF_STATIC_LOCATION = "WEB-INF/static/";
@@ -59,4 +62,54 @@ public class StaticConfig {
     public static boolean isEnable() {
         return Solon.cfg().getBool(PROP_ENABLE, true);
     }
+
+    /**
+     * 是否启用内存缓存（调试模式下不启用）
+     *
+     * @since 2.6
+     */
+    public static boolean isMemoryCacheEnable() {
+        if (Solon.cfg().isDebugMode()) {
+            return false;
+        }
+
+        return Solon.cfg().getBool(PROP_MEMORY_CACHE_ENABLE, false);
+    }
+
+    /**
+     * 内存缓存的最大总大小（默认 32mb）
+     *
+     * @since 2.6
+     */
+    public static long getMemoryCacheMaxSize() {
+        return getSize(Solon.cfg().get(PROP_MEMORY_CACHE_MAX_SIZE), 32 * 1024 * 1024L);
+    }
+
+    /**
+     * 内存缓存的单文件最大大小（默认 1mb；超过的不缓存）
+     *
+     * @since 2.6
+     */
+    public static long getMemoryCacheMaxFileSize() {
+        return getSize(Solon.cfg().get(PROP_MEMORY_CACHE_MAX_FILE_SIZE), 1024 * 1024L);
+    }
+
+    /**
+     * 获取大小（支持：1024 或 512kb 或 32mb）
+     */
+    private static long getSize(String tmp, long def) {
+        if (Utils.isEmpty(tmp)) {
+            return def;
+        }
+
+        tmp = tmp.trim().toLowerCase();
+
+        if (tmp.endsWith("mb")) {
+            return Long.parseLong(tmp.substring(0, tmp.length() - 2)) * 1024 * 1024;
+        } else if (tmp.endsWith("kb")) {
+            return Long.parseLong(tmp.substring(0, tmp.length() - 2)) * 1024;
+        } else {
+            return Long.parseLong(tmp);
+        }
+    }
 }
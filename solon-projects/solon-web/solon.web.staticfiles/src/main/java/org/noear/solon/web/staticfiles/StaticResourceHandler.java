@@ -7,7 +7,7 @@ import org.noear.solon.core.handle.Handler;
 import org.noear.solon.core.handle.MethodType;
 import org.noear.solon.boot.web.OutputUtils;
 
-import java.io.InputStream;
+import java.io.ByteArrayInputStream;
 import java.net.URL;
 import java.util.Date;
 
@@ -20,8 +20,11 @@ import java.util.Date;
 public class StaticResourceHandler implements Handler {
     private static final String CACHE_CONTROL = "Cache-Control";
     private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String ETAG = "ETag";
     private static final Date modified_time = new Date();
 
+    private final boolean memoryCacheEnable = StaticConfig.isMemoryCacheEnable();
+
 
     @Override
     public void handle(Context ctx) throws Exception {
@@ -53,9 +56,91 @@ public class StaticResourceHandler implements Handler {
             return;
         }
 
-        //找资源
+        //找资源（先找内存缓存）
+        if (memoryCacheEnable) {
+            StaticAsset asset = StaticAssetCache.global().get(path);
+
+            if (asset == null) {
+                URL uri = StaticMappings.find(path);
+                if (uri == null) {
+                    return;
+                }
+
+                asset = StaticAssetCache.global().load(path, uri, conentType);
+
+                if (asset == null) {
+                    //太大的，不缓存
+                    handleUri(ctx, path, uri, conentType);
+                    return;
+                }
+            }
+
+            ctx.setHandled(true);
+            handleAsset(ctx, asset);
+            return;
+        }
+
         URL uri = StaticMappings.find(path);
+        handleUri(ctx, path, uri, conentType);
+    }
 
+    /**
+     * 处理内存缓存的资产
+     */
+    private void handleAsset(Context ctx, StaticAsset asset) throws Exception {
+        byte[] body = asset.getContent();
+        String etag = asset.getEtag();
+        String encoding = null;
+
+        //选择压缩变体
+        if (asset.hasVariants()) {
+            ctx.headerSet("Vary", "Accept-Encoding");
+
+            String ae = ctx.headerOrDefault("Accept-Encoding", "");
+
+            if (asset.getBrContent() != null && ae.contains("br")) {
+                encoding = "br";
+                body = asset.getBrContent();
+            } else if (asset.getGzipContent() != null && ae.contains("gzip")) {
+                encoding = "gzip";
+                body = asset.getGzipContent();
+            }
+
+            if (encoding != null) {
+                etag = asset.getEtag(encoding);
+            }
+        }
+
+        if (StaticConfig.getCacheMaxAge() > 0) {
+            ctx.headerSet(CACHE_CONTROL, "max-age=" + StaticConfig.getCacheMaxAge());//单位秒
+        }
+        ctx.headerSet(LAST_MODIFIED, asset.getLastModified());
+        ctx.headerSet(ETAG, etag);
+
+        //协商缓存（If-None-Match 优先）
+        String none_match = ctx.header("If-None-Match");
+        if (none_match != null) {
+            if (none_match.equals(etag)) {
+                ctx.status(304);
+                return;
+            }
+        } else if (asset.getLastModified().equals(ctx.header("If-Modified-Since"))) {
+            ctx.status(304);
+            return;
+        }
+
+        ctx.contentType(asset.getContentType());
+        if (encoding != null) {
+            ctx.headerSet("Content-Encoding", encoding);
+        }
+
+        OutputUtils.global().outputStreamAsRange(ctx, new ByteArrayInputStream(body), body.length);
+    }
+
+    /**
+     * 处理资源地址
+     */
+    private void handleUri(Context ctx, String path, URL uri, String conentType) throws Exception {
         if (uri != null) {
             ctx.setHandled(true);
 
@@ -86,12 +171,10 @@ public class StaticResourceHandler implements Handler {
                     //如果支持 br
                     URL zipedFile = StaticMappings.find(path + ".br");
                     if (zipedFile != null) {
-                        try (InputStream stream = zipedFile.openStream()) {
-                            ctx.contentType(conentType);
-                            ctx.headerSet("Vary", "Accept-Encoding");
-                            ctx.headerSet("Content-Encoding", "br");
-                            OutputUtils.global().outputStreamAsRange(ctx, stream, stream.available());
-                        }
+                        ctx.contentType(conentType);
+                        ctx.headerSet("Vary", "Accept-Encoding");
+                        ctx.headerSet("Content-Encoding", "br");
+                        OutputUtils.global().outputFileAsRange(ctx, zipedFile);
                         return;
                     }
                 }
@@ -100,12 +183,10 @@ public class StaticResourceHandler implements Handler {
                     //如果支持 gzip
                     URL zipedFile = StaticMappings.find(path + ".gz");
                     if (zipedFile != null) {
-                        try (InputStream stream = zipedFile.openStream()) {
-                            ctx.contentType(conentType);
-                            ctx.headerSet("Vary", "Accept-Encoding");
-                            ctx.headerSet("Content-Encoding", "gzip");
-                            OutputUtils.global().outputStreamAsRange(ctx, stream, stream.available());
-                        }
+                        ctx.contentType(conentType);
+                        ctx.headerSet("Vary", "Accept-Encoding");
+                        ctx.headerSet("Content-Encoding", "gzip");
+                        OutputUtils.global().outputFileAsRange(ctx, zipedFile);
                         return;
                     }
                 }
@@ -269,7 +269,8 @@ public class Solon {
 
             LogUtil.global().info("App: Security to stop: 2 completed " + hint);
 
-            //3.停止
+            //3.停止（先处理完异步队列里的事件）
+            EventBus.setAsyncQueueCapacity(0);
             Solon.cfg().plugs().forEach(p -> p.stop());
             Solon.context().stop();
             EventBus.publishTry(new AppStopEndEvent(Solon.app()));
@@ -281,7 +282,8 @@ public class Solon {
 
             //2.标停
             Solon.app().stopped = true;
-            //3.停止
+            //3.停止（先处理完异步队列里的事件）
+            EventBus.setAsyncQueueCapacity(0);
             Solon.cfg().plugs().forEach(p -> p.stop());
             Solon.context().stop();
             EventBus.publishTry(new AppStopEndEvent(Solon.app()));
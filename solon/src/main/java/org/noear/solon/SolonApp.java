@@ -9,7 +9,10 @@ import org.noear.solon.core.handle.*;
 import org.noear.solon.core.route.RouterWrapper;
 import org.noear.solon.core.runtime.NativeDetector;
 import org.noear.solon.core.util.ConsumerEx;
+import org.noear.solon.core.util.JavaUtil;
 import org.noear.solon.core.util.LogUtil;
+import org.noear.solon.core.util.RunUtil;
+import org.noear.solon.core.util.ThreadsUtil;
 
 import java.lang.annotation.Annotation;
 import java.util.*;
@@ -101,6 +104,22 @@ public class SolonApp extends RouterWrapper {
             }
         }
 
+        //1.1.尝试启用虚拟线程（需要 JDK21+）
+        if (_cfg.isEnabledVirtualThreads()) {
+            if (RunUtil.enableVirtualThread(true)) {
+                LogUtil.global().info("App: Virtual threads enabled");
+                ThreadsUtil.warnPinnedRisks();
+            } else {
+                LogUtil.global().warn("App: Virtual threads are not supported, java version: " + JavaUtil.JAVA_MAJOR_VERSION);
+            }
+        }
+
+        //1.2.事件总线（异步队列与指标）
+        if (_cfg.eventAsyncCapacity() > 0) {
+            EventBus.setAsyncQueueCapacity(_cfg.eventAsyncCapacity());
+        }
+        EventBus.enableMetrics(_cfg.isEnabledEventMetrics());
+
         //2.0.内部初始化等待（尝试ping等待）
         initAwait();
 
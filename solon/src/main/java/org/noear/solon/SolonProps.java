@@ -593,6 +593,33 @@ public final class SolonProps extends Props {
         return isDebugMode;
     }
 
+    /**
+     * 是否启用虚拟线程（需要 JDK21+）
+     *
+     * @since 2.6
+     */
+    public boolean isEnabledVirtualThreads() {
+        return getBool("solon.threads.virtual.enabled", false);
+    }
+
+    /**
+     * 事件异步队列容量（0 表示不启用，按 RunUtil.async 执行）
+     *
+     * @since 2.6
+     */
+    public int eventAsyncCapacity() {
+        return getInt("solon.event.async.capacity", 0);
+    }
+
+    /**
+     * 是否启用事件指标
+     *
+     * @since 2.6
+     */
+    public boolean isEnabledEventMetrics() {
+        return getBool("solon.event.metrics.enabled", false);
+    }
+
     /**
      * 是否为安装模式
      */
@@ -11,12 +11,18 @@ import org.noear.solon.core.event.EventBus;
 import org.noear.solon.core.event.EventListener;
 import org.noear.solon.core.handle.*;
 import org.noear.solon.core.route.RouterInterceptor;
+import org.noear.solon.core.runtime.StartupTimeline;
 import org.noear.solon.core.util.*;
 import org.noear.solon.core.wrap.*;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -34,6 +40,30 @@ import java.util.stream.Collectors;
  * @since 2.6
  * */
 public class AppContext extends BeanContainer {
+    /**
+     * 是否使用组件索引（默认为 false；索引由构建插件生成）
+     *
+     * @since 2.6
+     */
+    public static final String PROP_SCAN_INDEX = "solon.scan.index";
+    /**
+     * 是否并行启动生命周期（默认为 false）
+     *
+     * @since 2.6
+     */
+    public static final String PROP_START_PARALLEL = "solon.start.parallel";
+    /**
+     * 并行启动的线程数
+     *
+     * @since 2.6
+     */
+    public static final String PROP_START_PARALLEL_THREADS = "solon.start.parallel.threads";
+    /**
+     * 是否打印启动时间线（默认为 false）
+     *
+     * @since 2.6
+     */
+    public static final String PROP_START_TIMELINE = "solon.start.timeline";
 
     public AppContext(ClassLoader classLoader, Props props) {
         super(classLoader, props);
@@ -58,6 +88,8 @@ public class AppContext extends BeanContainer {
 
 
     private final Set<RankEntity<LifecycleBean>> lifecycleBeans = new HashSet<>();
+    //顺序位由完整依赖图构建的生命周期（并行启动时，同顺序位的可并行）
+    private final Set<LifecycleBean> lifecycleGraphed = Collections.newSetFromMap(new IdentityHashMap<>());
 
     private final Map<Method, MethodWrap> methodCached = new HashMap<>();
     private final Set<InjectGather> gatherSet = new HashSet<>();
@@ -101,7 +133,12 @@ public class AppContext extends BeanContainer {
 
         gatherSet.clear();
 
-        lifecycleBeans.clear();
+        synchronized (lifecycleBeans) {
+            lifecycleBeans.clear();
+            lifecycleGraphed.clear();
+        }
+
+        startExecutorShutdown();
 
         started = false;
     }
@@ -143,14 +180,25 @@ public class AppContext extends BeanContainer {
             beanInjectProperties(clz, bw.raw());
 
             //构建小饼
+            List<Method> parallelMethods = new ArrayList<>();
             for (Method m : ClassWrap.get(bw.clz()).getDeclaredMethods()) {
                 Bean ma = m.getAnnotation(Bean.class);
 
                 if (ma != null) {
-                    tryCreateBeanOfMethod(bw, m, ma);
+                    if (isStartParallel() && started == false && m.getParameterCount() == 0
+                            && ConditionUtil.ifMissing(m.getAnnotation(Condition.class)) == false) {
+                        //并行启动时，无参数的可以并行执行（之后按申明顺序注册）
+                        parallelMethods.add(m);
+                    } else {
+                        tryCreateBeanOfMethod(bw, m, ma);
+                    }
                 }
             }
 
+            if (parallelMethods.size() > 0) {
+                tryCreateBeanOfMethodParallel(bw, parallelMethods);
+            }
+
             //添加bean形态处理
             beanShapeRegister(clz, bw, clz);
 
@@ -298,11 +346,18 @@ public class AppContext extends BeanContainer {
         if (LifecycleBean.class.isAssignableFrom(clz)) {
             //让注解产生的生命周期，排序晚1个点
             int index = bw.index();
+            boolean graphed = false;
             if (index == 0) {
                 index = IndexUtil.buildLifecycleIndex(clz);
+                //类注解产生且依赖图完整的（@Bean 函数产生的，依赖在参数上不可知）
+                graphed = (annoEl instanceof Class) && bw.rawCreated() && IndexUtil.isLifecycleIndexComplete(clz);
             }
 
-            lifecycle(index + 1, bw.raw());
+            if (graphed) {
+                lifecycleOfGraph(index + 1, bw.raw());
+            } else {
+                lifecycle(index + 1, bw.raw());
+            }
         }
 
         //EventListener
@@ -558,6 +613,28 @@ public class AppContext extends BeanContainer {
 
         String dir = basePackage.replace('.', '/');
 
+        //启用时，优先使用构建时生成的组件索引（只加载有构建器注解的类；没有索引或索引过时，回退为扫描）
+        if (cfg().getBool(PROP_SCAN_INDEX, false)) {
+            ComponentIndex index = null;
+            try {
+                index = ComponentIndex.load(classLoader, dir);
+            } catch (IOException e) {
+                LogUtil.global().warn("Component index load failed, fallback to scanning: " + basePackage, e);
+            }
+
+            if (index != null) {
+                for (ComponentIndex.Entry entry : index.getEntries()) {
+                    if (hasBeanBuilderOf(entry.getAnnotations())) {
+                        Class<?> clz = ClassUtil.loadClass(classLoader, entry.getClassName());
+                        if (clz != null) {
+                            tryCreateBeanOfClass(clz);
+                        }
+                    }
+                }
+                return;
+            }
+        }
+
         //扫描类文件并处理（采用两段式加载，可以部分bean先处理；剩下的为第二段处理）
         ScanUtil.scan(classLoader, dir, n -> n.endsWith(".class"))
                 .stream()
@@ -573,6 +650,30 @@ public class AppContext extends BeanContainer {
                 });
     }
 
+    private Set<String> beanBuilderNames = Collections.emptySet();
+
+    /**
+     * 是否有对应的构建器（按注解类名）
+     */
+    private boolean hasBeanBuilderOf(String[] annotations) {
+        //构建器只增不减，数量变了就重建
+        if (beanBuilderNames.size() != beanBuilders.size()) {
+            Set<String> names = new HashSet<>();
+            for (Class<?> clz : beanBuilders.keySet()) {
+                names.add(clz.getName());
+            }
+            beanBuilderNames = names;
+        }
+
+        for (String anno : annotations) {
+            if (beanBuilderNames.contains(anno) || ComponentIndex.ANNOTATION_UNKNOWN.equals(anno)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     /**
      * ::制造 bean 及对应处理
      */
@@ -648,6 +749,72 @@ public class AppContext extends BeanContainer {
         tryBuildBean(ma, mWrap, bw);
     }
 
+    /**
+     * 尝试并行生成 bean（无参数的 @Bean 函数；执行是并行的，注册仍按申明顺序在当前线程）
+     */
+    private void tryCreateBeanOfMethodParallel(BeanWrap bw, List<Method> methods) throws Throwable {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        List<MethodWrap> mWraps = new ArrayList<>(methods.size());
+        List<Future<Object>> futures = new ArrayList<>(methods.size());
+
+        for (Method m : methods) {
+            //增加条件检测
+            if (ConditionUtil.test(this, m.getAnnotation(Condition.class)) == false) {
+                continue;
+            }
+
+            //支持非公有函数
+            if (m.isAccessible() == false) {
+                m.setAccessible(true);
+            }
+
+            MethodWrap mWrap = methodGet(m);
+            mWraps.add(mWrap);
+
+            if (methods.size() == 1) {
+                futures.add(null);
+            } else {
+                futures.add(startExecutor().submit(() -> {
+                    Thread.currentThread().setContextClassLoader(contextClassLoader);
+                    try {
+                        return mWrap.invoke(bw.raw(), new Object[]{});
+                    } catch (Exception | Error e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+            }
+        }
+
+        //等全部完成（有异常的，抛出第一个）
+        List<Object> raws = new ArrayList<>(futures.size());
+        Throwable error = null;
+        for (int i = 0; i < futures.size(); i++) {
+            Future<Object> future = futures.get(i);
+
+            try {
+                if (future == null) {
+                    raws.add(mWraps.get(i).invoke(bw.raw(), new Object[]{}));
+                } else {
+                    raws.add(future.get());
+                }
+            } catch (ExecutionException e) {
+                if (error == null) {
+                    error = e.getCause();
+                }
+            }
+        }
+
+        if (error != null) {
+            throw error;
+        }
+
+        for (int i = 0; i < raws.size(); i++) {
+            tryBuildBean0(mWraps.get(i), mWraps.get(i).getMethod().getAnnotation(Bean.class), raws.get(i));
+        }
+    }
+
     /**
      * 尝试生成 bean，并注册
      */
@@ -846,12 +1013,27 @@ public class AppContext extends BeanContainer {
         lifecycle(0, lifecycle);
     }
 
+    /**
+     * 添加生命周期 bean（顺序位由完整的注入依赖图构建，同顺序位之间没有依赖）
+     *
+     * @since 2.6
+     */
+    void lifecycleOfGraph(int index, LifecycleBean lifecycle) {
+        synchronized (lifecycleBeans) {
+            lifecycleGraphed.add(lifecycle);
+        }
+
+        lifecycle(index, lifecycle);
+    }
+
     /**
      * 添加生命周期 bean
      */
     @Override
     public void lifecycle(int index, LifecycleBean lifecycle) {
-        lifecycleBeans.add(new RankEntity<>(lifecycle, index));
+        synchronized (lifecycleBeans) {
+            lifecycleBeans.add(new RankEntity<>(lifecycle, index));
+        }
 
         if (started) {
             //如果已启动，则执行启动函数
@@ -884,6 +1066,34 @@ public class AppContext extends BeanContainer {
             startInjectReview();
         } catch (Throwable e) {
             throw new IllegalStateException("AppContext start failed", e);
+        } finally {
+            startExecutorShutdown();
+        }
+    }
+
+    //并行启动的执行器（启动完成后关闭）
+    private ExecutorService startExecutor;
+
+    /**
+     * 是否并行启动
+     */
+    private boolean isStartParallel() {
+        return cfg().getBool(PROP_START_PARALLEL, false);
+    }
+
+    private synchronized ExecutorService startExecutor() {
+        if (startExecutor == null) {
+            int threads = cfg().getInt(PROP_START_PARALLEL_THREADS, Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+            startExecutor = Executors.newFixedThreadPool(threads, new NamedThreadFactory("Solon-start-"));
+        }
+
+        return startExecutor;
+    }
+
+    private synchronized void startExecutorShutdown() {
+        if (startExecutor != null) {
+            startExecutor.shutdown();
+            startExecutor = null;
         }
     }
 
@@ -892,12 +1102,104 @@ public class AppContext extends BeanContainer {
      */
     private void startBeanLifecycle() throws Throwable {
         //执行生命周期bean //支持排序
-        List<RankEntity<LifecycleBean>> beans = new ArrayList<>(lifecycleBeans);
-        beans.sort(Comparator.comparingInt(f -> f.index));
+        List<RankEntity<LifecycleBean>> beans;
+        Set<LifecycleBean> graphed;
+        synchronized (lifecycleBeans) {
+            beans = new ArrayList<>(lifecycleBeans);
+            graphed = Collections.newSetFromMap(new IdentityHashMap<>());
+            graphed.addAll(lifecycleGraphed);
+        }
+        //同顺序位的，依赖图完整的在前（它们不会依赖同顺序位的；不完整的，却可能依赖它们）
+        beans.sort(Comparator.<RankEntity<LifecycleBean>>comparingInt(f -> f.index)
+                .thenComparing(f -> graphed.contains(f.target) == false));
+
+        StartupTimeline timeline = null;
+        if (cfg().getBool(PROP_START_TIMELINE, false)) {
+            timeline = new StartupTimeline();
+        }
 
         //start
-        for (RankEntity<LifecycleBean> b : beans) {
+        if (isStartParallel()) {
+            startBeanLifecycleParallel(beans, graphed, timeline);
+        } else {
+            for (RankEntity<LifecycleBean> b : beans) {
+                startBeanLifecycleDo(b, timeline);
+            }
+        }
+
+        if (timeline != null) {
+            LogUtil.global().info(timeline.report());
+        }
+    }
+
+    /**
+     * 并行开始Bean生命周期（依赖图完整的，同顺序位的为一组并行执行；其它的保持顺序执行）
+     *
+     * <p>依赖图完整的，顺序位由注入依赖自动构建（有依赖的，顺序位必然更大），同组之间没有依赖；
+     * 依赖图不完整的（如注入接口、手动指定顺序位、@Bean 函数产生的），依赖不可知，不参与并行</p>
+     */
+    private void startBeanLifecycleParallel(List<RankEntity<LifecycleBean>> beans, Set<LifecycleBean> graphed, StartupTimeline timeline) throws Throwable {
+        int i = 0;
+        while (i < beans.size()) {
+            RankEntity<LifecycleBean> b = beans.get(i);
+
+            int j = i + 1;
+            if (b.index > 0 && graphed.contains(b.target)) {
+                while (j < beans.size()
+                        && beans.get(j).index == b.index
+                        && graphed.contains(beans.get(j).target)) {
+                    j++;
+                }
+            }
+
+            if (j - i == 1) {
+                startBeanLifecycleDo(b, timeline);
+            } else {
+                startBeanLifecycleGroup(beans.subList(i, j), startExecutor(), timeline);
+            }
+
+            i = j;
+        }
+    }
+
+    private void startBeanLifecycleGroup(List<RankEntity<LifecycleBean>> group, ExecutorService executor, StartupTimeline timeline) throws Throwable {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        List<Future<?>> futures = new ArrayList<>(group.size());
+
+        for (RankEntity<LifecycleBean> b : group) {
+            futures.add(executor.submit(() -> {
+                Thread.currentThread().setContextClassLoader(contextClassLoader);
+                RunUtil.runOrThrow(() -> startBeanLifecycleDo(b, timeline));
+            }));
+        }
+
+        //等全组完成（有异常的，抛出第一个）
+        Throwable error = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (error == null) {
+                    error = e.getCause();
+                }
+            }
+        }
+
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void startBeanLifecycleDo(RankEntity<LifecycleBean> b, StartupTimeline timeline) throws Throwable {
+        if (timeline == null) {
             b.target.start();
+        } else {
+            long startTime = timeline.now();
+            try {
+                b.target.start();
+            } finally {
+                timeline.record(ClassUtil.nameOf(b.target), b.index, startTime);
+            }
         }
     }
 
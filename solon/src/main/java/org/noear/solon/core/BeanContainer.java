@@ -19,6 +19,7 @@ import java.io.Closeable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.*;
 
 /**
@@ -121,9 +122,9 @@ public abstract class BeanContainer {
     /**
      * bean包装库
      */
-    private final Map<Class<?>, BeanWrap> beanWrapsOfType = new HashMap<>();
-    private final Map<String, BeanWrap> beanWrapsOfName = new HashMap<>();
-    private final Set<BeanWrap> beanWrapSet = new HashSet<>();
+    private final Map<Class<?>, BeanWrap> beanWrapsOfType = new ConcurrentHashMap<>();
+    private final Map<String, BeanWrap> beanWrapsOfName = new ConcurrentHashMap<>();
+    private final Set<BeanWrap> beanWrapSet = ConcurrentHashMap.newKeySet();
 
 
     /**
@@ -404,6 +405,10 @@ public abstract class BeanContainer {
      * @param nameOrType bean name or type
      */
     public BeanWrap getWrap(Object nameOrType) {
+        if (nameOrType == null) {
+            return null;
+        }
+
         if (nameOrType instanceof String) {
             return beanWrapsOfName.get(nameOrType);
         } else {
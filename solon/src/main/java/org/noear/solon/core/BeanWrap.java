@@ -6,6 +6,7 @@ import java.lang.reflect.Method;
 
 import org.noear.solon.Utils;
 import org.noear.solon.annotation.Init;
+import org.noear.solon.core.bean.LifecycleBean;
 import org.noear.solon.annotation.Singleton;
 import org.noear.solon.core.util.ClassUtil;
 import org.noear.solon.core.util.IndexUtil;
@@ -30,6 +31,8 @@ public class BeanWrap {
     // bean raw（初始实例）
     private Object raw;
     private Object rawUnproxied;
+    // bean raw 是否由自己构建（否则注入依赖不可知）
+    private boolean rawCreated;
     // 是否为单例
     private boolean singleton;
     // 是否为远程服务
@@ -87,6 +90,7 @@ public class BeanWrap {
         if (raw == null) {
             this.rawUnproxied = _new();
             this.raw = rawUnproxied;
+            this.rawCreated = true;
         } else {
             this.rawUnproxied = raw;
             this.raw = raw;
@@ -96,6 +100,13 @@ public class BeanWrap {
         tryInit();
     }
 
+    /**
+     * bean raw 是否由自己构建
+     */
+    boolean rawCreated() {
+        return rawCreated;
+    }
+
     public AppContext context() {
         return context;
     }
@@ -296,22 +307,42 @@ public class BeanWrap {
      */
     protected void tryInit() {
         if (clzInit != null) {
-            if (clzInitIndex == 0) {
+            int index = clzInitIndex;
+            boolean graphed = false;
+
+            if (index == 0) {
                 //如果为0，则自动识别
-                clzInitIndex = IndexUtil.buildLifecycleIndex(clz);
+                index = IndexUtil.buildLifecycleIndex(clz);
+                //自己构建且依赖图完整的，同顺序位之间没有依赖
+                graphed = rawCreated && IndexUtil.isLifecycleIndexComplete(clz);
             }
 
-            //保持与 LifecycleBean 相同策略：+1
-            context.lifecycle(clzInitIndex + 1, () -> {
-                try {
-                    if (raw() != null) {
-                        clzInit.invoke(raw());
+            LifecycleBean lifecycle = new LifecycleBean() {
+                @Override
+                public void start() throws Throwable {
+                    try {
+                        if (raw() != null) {
+                            clzInit.invoke(raw());
+                        }
+                    } catch (InvocationTargetException e) {
+                        Throwable e2 = e.getTargetException();
+                        throw Utils.throwableUnwrap(e2);
                     }
-                } catch (InvocationTargetException e) {
-                    Throwable e2 = e.getTargetException();
-                    throw Utils.throwableUnwrap(e2);
                 }
-            });
+
+                @Override
+                public String toString() {
+                    //用于启动时间线
+                    return clz.getName() + "::" + clzInit.getName();
+                }
+            };
+
+            //保持与 LifecycleBean 相同策略：+1
+            if (graphed) {
+                context.lifecycleOfGraph(index + 1, lifecycle);
+            } else {
+                context.lifecycle(index + 1, lifecycle);
+            }
         }
     }
 
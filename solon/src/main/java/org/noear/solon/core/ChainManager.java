@@ -3,7 +3,8 @@ package org.noear.solon.core;
 import org.noear.solon.Solon;
 import org.noear.solon.core.handle.*;
 import org.noear.solon.core.route.RouterInterceptor;
-import org.noear.solon.core.route.RouterInterceptorChainImpl;
+import org.noear.solon.core.route.RouterInterceptorChain;
+import org.noear.solon.core.route.RouterInterceptorChainNode;
 import org.noear.solon.core.route.RouterInterceptorLimiter;
 import org.noear.solon.core.util.RankEntity;
 import org.noear.solon.lang.Nullable;
@@ -26,6 +27,10 @@ public class ChainManager {
      * 过滤器 节点
      */
     private final List<RankEntity<Filter>> filterNodes = new ArrayList<>();
+    /**
+     * 过滤器 调用链（预编译，变更时重建）
+     */
+    private volatile FilterChain filterChain = FilterChainNode.compile(filterNodes);
 
     public Collection<Filter> getFilterNodes() {
         List<Filter> tmp = new ArrayList<>();
@@ -45,6 +50,7 @@ public class ChainManager {
 
         filterNodes.add(new RankEntity(filter, index));
         filterNodes.sort(Comparator.comparingInt(f -> f.index));
+        filterChain = FilterChainNode.compile(filterNodes);
     }
 
     /**
@@ -60,13 +66,14 @@ public class ChainManager {
 
         filterNodes.add(new RankEntity(filter, index));
         filterNodes.sort(Comparator.comparingInt(f -> f.index));
+        filterChain = FilterChainNode.compile(filterNodes);
     }
 
     /**
      * 执行过滤
      */
     public void doFilter(Context x) throws Throwable {
-        new FilterChainImpl(filterNodes).doFilter(x);
+        filterChain.doFilter(x);
     }
 
     //=======================
@@ -75,6 +82,14 @@ public class ChainManager {
      * 路由拦截器节点
      */
     private final List<RankEntity<RouterInterceptor>> interceptorNodes = new ArrayList<>();
+    /**
+     * 路由拦截器 调用链（预编译，变更时重建）
+     */
+    private volatile RouterInterceptorChain interceptorChain = RouterInterceptorChainNode.compile(interceptorNodes);
+    /**
+     * 路由拦截器 提交结果用的倒序数组（预编译，变更时重建）
+     */
+    private volatile RouterInterceptor[] interceptorPosts = new RouterInterceptor[0];
 
     /**
      * 获取所有路由拦截器
@@ -103,6 +118,7 @@ public class ChainManager {
         interceptor = new RouterInterceptorLimiter(interceptor, interceptor.pathPatterns());
         interceptorNodes.add(new RankEntity<>(interceptor, index));
         interceptorNodes.sort(Comparator.comparingInt(f -> f.index));
+        compileInterceptors();
     }
 
     /**
@@ -119,6 +135,7 @@ public class ChainManager {
         interceptor = new RouterInterceptorLimiter(interceptor, interceptor.pathPatterns());
         interceptorNodes.add(new RankEntity<>(interceptor, index));
         interceptorNodes.sort(Comparator.comparingInt(f -> f.index));
+        compileInterceptors();
     }
 
     /**
@@ -134,6 +151,20 @@ public class ChainManager {
                 return i.target.getClass() == clz;
             }
         });
+        compileInterceptors();
+    }
+
+    /**
+     * 编译路由拦截器（调用链 + 提交结果用的倒序数组）
+     */
+    private void compileInterceptors() {
+        RouterInterceptor[] posts = new RouterInterceptor[interceptorNodes.size()];
+        for (int i = 0; i < posts.length; i++) {
+            posts[i] = interceptorNodes.get(posts.length - 1 - i).target;
+        }
+
+        interceptorPosts = posts;
+        interceptorChain = RouterInterceptorChainNode.compile(interceptorNodes);
     }
 
     /**
@@ -141,7 +172,7 @@ public class ChainManager {
      */
     public void doIntercept(Context x, @Nullable Handler mainHandler) throws Throwable {
         //先执行的，包住后执行的
-        new RouterInterceptorChainImpl(interceptorNodes).doIntercept(x, mainHandler);
+        interceptorChain.doIntercept(x, mainHandler);
     }
 
     /**
@@ -149,9 +180,8 @@ public class ChainManager {
      */
     public Object postResult(Context x, @Nullable Object result) throws Throwable {
         //后执行的，包住先执行的（与 doIntercept 的顺序反了一下）
-        for (int i = interceptorNodes.size() - 1; i >= 0; i--) {
-            RankEntity<RouterInterceptor> e = interceptorNodes.get(i);
-            result = e.target.postResult(x, result);
+        for (RouterInterceptor interceptor : interceptorPosts) {
+            result = interceptor.postResult(x, result);
         }
 
         return result;
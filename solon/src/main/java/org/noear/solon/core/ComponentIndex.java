@@ -0,0 +1,233 @@
+package org.noear.solon.core;
+
+import org.noear.solon.core.util.LogUtil;
+import org.noear.solon.core.util.ResourceUtil;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 组件索引（构建时由 solon-maven-plugin / solon-gradle-plugin 生成，用于替代类扫描）
+ *
+ * <p>资源为 META-INF/solon/components.idx；每行格式：类名=注解1,注解2（只收录有运行时类注解的类，含从父类继承的；
+ * 父类不在同一目录的，注解里带一个 *，表示要加载后再确认）</p>
+ *
+ * <p>索引头有 #stamp=类文件数:最后修改时间；目录形式的类路径根会重新计算并核对，不一致（索引过时）时不能用</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class ComponentIndex {
+    /**
+     * 索引资源名
+     */
+    public static final String RESOURCE_NAME = "META-INF/solon/components.idx";
+    /**
+     * 索引戳前缀（类文件数:最后修改时间）
+     */
+    public static final String STAMP_PREFIX = "#stamp=";
+    /**
+     * 未知的注解（父类不在索引范围内，可能有继承的注解）
+     */
+    public static final String ANNOTATION_UNKNOWN = "*";
+
+    /**
+     * 加载路径下的索引（路径所在的每个类路径根都有索引时才有效；否则返回 null，由调用方回退为扫描）
+     *
+     * @param classLoader 类加载器
+     * @param path        路径（如：org/noear/demo）
+     */
+    public static ComponentIndex load(ClassLoader classLoader, String path) throws IOException {
+        Enumeration<URL> roots = ResourceUtil.getResources(classLoader, path);
+        String prefix = path.replace('/', '.') + ".";
+        Map<String, Entry> entries = new LinkedHashMap<>();
+
+        if (roots.hasMoreElements() == false) {
+            return null;
+        }
+
+        while (roots.hasMoreElements()) {
+            URL indexUrl = getIndexUrl(roots.nextElement(), path);
+
+            if (indexUrl == null || loadDo(indexUrl, prefix, entries) == false) {
+                //有一个根没有索引，就不能用
+                return null;
+            }
+        }
+
+        List<Entry> list = new ArrayList<>(entries.values());
+        list.sort(Comparator.comparing(e -> e.getClassName().length()));
+
+        return new ComponentIndex(list);
+    }
+
+    private static URL getIndexUrl(URL root, String path) throws IOException {
+        String url = root.toString();
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+
+        if (url.endsWith(path) == false) {
+            return null;
+        }
+
+        return new URL(url.substring(0, url.length() - path.length()) + RESOURCE_NAME);
+    }
+
+    private static boolean loadDo(URL indexUrl, String prefix, Map<String, Entry> entries) {
+        InputStream stream;
+        try {
+            stream = indexUrl.openStream();
+        } catch (IOException e) {
+            //不存在
+            return false;
+        }
+
+        Map<String, Entry> loaded = new LinkedHashMap<>();
+        String stamp = null;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+
+                if (line.startsWith(STAMP_PREFIX)) {
+                    stamp = line.substring(STAMP_PREFIX.length());
+                    continue;
+                }
+
+                if (line.length() == 0 || line.charAt(0) == '#') {
+                    continue;
+                }
+
+                int idx = line.indexOf('=');
+                String className = (idx < 0 ? line : line.substring(0, idx)).trim();
+
+                if (className.startsWith(prefix) == false) {
+                    continue;
+                }
+
+                String[] annotations;
+                if (idx < 0 || idx == line.length() - 1) {
+                    annotations = new String[0];
+                } else {
+                    annotations = line.substring(idx + 1).trim().split(",");
+                }
+
+                loaded.putIfAbsent(className, new Entry(className, annotations));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Component index read failed: " + indexUrl, e);
+        }
+
+        if ("file".equals(indexUrl.getProtocol())) {
+            //目录形式的（开发时，可能增量编译过），核对索引戳
+            File classesDir = getClassesDir(indexUrl);
+
+            try {
+                String stampNow = stampOf(classesDir);
+
+                if (stampNow.equals(stamp) == false) {
+                    LogUtil.global().warn("Component index is stale, fallback to scanning: " + classesDir);
+                    return false;
+                }
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        for (Entry entry : loaded.values()) {
+            entries.putIfAbsent(entry.getClassName(), entry);
+        }
+
+        return true;
+    }
+
+    private static File getClassesDir(URL indexUrl) {
+        try {
+            File indexFile = new File(indexUrl.toURI());
+            String path = indexFile.getPath();
+            //去掉 META-INF/solon/components.idx
+            return new File(path.substring(0, path.length() - RESOURCE_NAME.length()));
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 计算索引戳（目录下的类文件数:最后修改时间；与构建插件的计算一致）
+     *
+     * @param classesDir 类目录
+     */
+    public static String stampOf(File classesDir) throws IOException {
+        long count = 0;
+        long lastModified = 0;
+
+        try (Stream<Path> pathStream = Files.walk(classesDir.toPath())) {
+            for (Path path : (Iterable<Path>) pathStream::iterator) {
+                if (path.toString().endsWith(".class")) {
+                    count++;
+                    lastModified = Math.max(lastModified, Files.getLastModifiedTime(path).toMillis());
+                }
+            }
+        }
+
+        return count + ":" + lastModified;
+    }
+
+
+    private final List<Entry> entries;
+
+    private ComponentIndex(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * 获取条目（按类名长度排序，与扫描时的顺序规则一致）
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * 索引条目
+     */
+    public static class Entry {
+        private final String className;
+        private final String[] annotations;
+
+        public Entry(String className, String[] annotations) {
+            this.className = className;
+            this.annotations = annotations;
+        }
+
+        /**
+         * 类名
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * 类注解（运行时可见的，含 @Condition 与从父类继承的；可能有 *）
+         */
+        public String[] getAnnotations() {
+            return annotations;
+        }
+    }
+}
@@ -12,4 +12,7 @@ public class Constants {
     public static final String mainHandler = "mainHandler";
     public static final String mainStatus = "mainStatus";
     public static final String action = "action";
+
+    //@since: 2.6
+    public static final String mainPathVars = "mainPathVars";
 }
@@ -0,0 +1,168 @@
+package org.noear.solon.core.event;
+
+import org.noear.solon.core.util.LogUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 事件异步队列（有界环形缓冲，单线程按批消费；事件顺序与发布顺序一致）
+ *
+ * <p>队列满时，发布线程阻塞等待（反压，不丢事件；溢出会记数并告警）。在消费线程上发布的，直接处理（不能等自己）</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class EventAsyncQueue {
+    private static final int BATCH_SIZE = 256;
+    //停止时，等待剩余事件处理完的最长时间
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+    //停止信号（用于唤醒消费线程）
+    private static final Object STOP_SIGNAL = new Object();
+
+    private final ArrayBlockingQueue<Object> queue;
+    private final Consumer<Object> handler;
+    private final Thread worker;
+    private final AtomicLong overflowCount = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * @param capacity 容量
+     * @param handler  事件处理
+     */
+    public EventAsyncQueue(int capacity, Consumer<Object> handler) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.handler = handler;
+
+        this.worker = new Thread(this::run, "Solon-event-async");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 容量
+     */
+    public int capacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    /**
+     * 待处理数量
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * 溢出次数（队列满时，发布线程阻塞等待的次数）
+     */
+    public long overflowCount() {
+        return overflowCount.get();
+    }
+
+    /**
+     * 提交
+     */
+    public void submit(Object event) {
+        if (running == false) {
+            reject(event, "stopped");
+            return;
+        }
+
+        if (queue.offer(event)) {
+            return;
+        }
+
+        if (Thread.currentThread() == worker) {
+            //在消费线程上发布的（不能等自己），直接处理
+            handler.accept(event);
+            return;
+        }
+
+        //满了：告警，并阻塞等待
+        long count = overflowCount.incrementAndGet();
+        if ((count & (count - 1)) == 0) {
+            //按 1,2,4,8... 次告警，避免刷屏
+            LogUtil.global().warn("EventBus async queue is full (capacity=" + capacity() + ", overflow=" + count + "), publisher blocked");
+        }
+
+        try {
+            while (queue.offer(event, 100, TimeUnit.MILLISECONDS) == false) {
+                if (running == false) {
+                    reject(event, "stopped");
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(event, "interrupted");
+        }
+    }
+
+    private void reject(Object event, String reason) {
+        LogUtil.global().warn("EventBus async event dropped (" + reason + "): " + event.getClass().getName());
+    }
+
+    /**
+     * 停止（发出停止信号，等消费线程把剩余的事件处理完）
+     */
+    public void stop() {
+        if (running == false) {
+            return;
+        }
+
+        running = false;
+        //唤醒空闲的消费线程（满的时候，说明消费线程正忙；它每批之后会检查停止状态）
+        queue.offer(STOP_SIGNAL);
+
+        if (Thread.currentThread() == worker) {
+            return;
+        }
+
+        try {
+            worker.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (worker.isAlive()) {
+            LogUtil.global().warn("EventBus async queue stop timeout, pending: " + queue.size());
+        }
+    }
+
+    private void run() {
+        List<Object> batch = new ArrayList<>(BATCH_SIZE);
+
+        while (true) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                //过滤中断（由停止信号来结束）
+                continue;
+            }
+
+            for (Object event : batch) {
+                if (event == STOP_SIGNAL) {
+                    continue;
+                }
+
+                try {
+                    handler.accept(event);
+                } catch (Throwable e) {
+                    LogUtil.global().warn("EventBus async dispatch failed!", e);
+                }
+            }
+
+            batch.clear();
+
+            if (running == false && queue.isEmpty()) {
+                break;
+            }
+        }
+    }
+}
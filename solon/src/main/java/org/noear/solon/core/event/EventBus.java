@@ -6,6 +6,7 @@ import org.noear.solon.core.util.LogUtil;
 import org.noear.solon.core.util.RunUtil;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 事件总线（内部类，外部不要使用）
@@ -20,6 +21,13 @@ public final class EventBus {
     private static List<HH> sOther = new ArrayList<>();
     //订阅管道
     private static Map<Class<?>, EventListenPipeline<?>> sPipeline = new HashMap<>();
+    //分发缓存（按事件的具体类，预先解析出匹配的订阅者；有新的订阅类型时失效）
+    private static final Map<Class<?>, HH[]> sDispatch = new ConcurrentHashMap<>();
+
+    //异步队列（为 null 时，按 RunUtil.async 执行）
+    private static volatile EventAsyncQueue sAsyncQueue;
+    //是否启用指标
+    private static volatile boolean sMetricsEnabled;
 
     /**
      * 异步推送事件（一般不推荐）；
@@ -28,14 +36,73 @@ public final class EventBus {
      */
     public static void publishAsync(Object event) {
         if (event != null) {
-            RunUtil.async(() -> {
-                try {
-                    publish0(event);
-                } catch (Throwable e) {
-                    publish(e);
-                }
-            });
+            EventAsyncQueue asyncQueue = sAsyncQueue;
+
+            if (asyncQueue == null) {
+                RunUtil.async(() -> publishAsyncDo(event));
+            } else {
+                asyncQueue.submit(event);
+            }
+        }
+    }
+
+    private static void publishAsyncDo(Object event) {
+        try {
+            publish0(event);
+        } catch (Throwable e) {
+            publish(e);
+        }
+    }
+
+    /**
+     * 设置异步队列容量（大于 0 时，异步推送改用有界的批量队列；否则按 RunUtil.async 执行）
+     *
+     * @param capacity 容量
+     * @since 2.6
+     */
+    public synchronized static void setAsyncQueueCapacity(int capacity) {
+        EventAsyncQueue old = sAsyncQueue;
+
+        if (capacity > 0) {
+            sAsyncQueue = new EventAsyncQueue(capacity, EventBus::publishAsyncDo);
+        } else {
+            sAsyncQueue = null;
+        }
+
+        if (old != null) {
+            old.stop();
+        }
+    }
+
+    /**
+     * 启用指标（按事件类型 + 监听器统计次数与耗时）
+     *
+     * @since 2.6
+     */
+    public static void enableMetrics(boolean enable) {
+        sMetricsEnabled = enable;
+    }
+
+    /**
+     * 是否启用指标
+     *
+     * @since 2.6
+     */
+    public static boolean isMetricsEnabled() {
+        return sMetricsEnabled;
+    }
+
+    /**
+     * 获取指标
+     *
+     * @since 2.6
+     */
+    public synchronized static List<EventMetrics> getMetrics() {
+        List<EventMetrics> list = new ArrayList<>();
+        for (EventListenPipeline<?> pipeline : sPipeline.values()) {
+            list.addAll(pipeline.getMetrics());
         }
+        return list;
     }
 
     /**
@@ -111,34 +178,53 @@ public final class EventBus {
 
 
     private static void publish0(Object event) throws Throwable {
-        if (event instanceof Throwable) {
-            //异常分发
-            publish1(sThrow, event, false);
-        } else {
-            //其它事件分发
-            publish1(sOther, event, true);
+        HH[] hhs = sDispatch.get(event.getClass());
+        if (hhs == null) {
+            hhs = resolveDispatch(event.getClass());
         }
+
+        //异常分发（不转发异常），其它事件分发
+        publish1(hhs, event, (event instanceof Throwable) == false);
     }
 
-    private static void publish1(List<HH> hhs, Object event, boolean thrown) throws Throwable {
-        //用 i，可以避免遍历时添加监听的异常
-        for (int i = 0; i < hhs.size(); i++) {
-            HH h1 = hhs.get(i);
-            if (h1.t.isInstance(event)) {
-                try {
-                    h1.l.onEvent(event);
-                } catch (Throwable e) {
-                    if (thrown) {
-                        throw e;
-                    } else {
-                        //此处不能再转发异常 //不然会死循环
-                        e.printStackTrace();
-                    }
+    private static void publish1(HH[] hhs, Object event, boolean thrown) throws Throwable {
+        for (HH h1 : hhs) {
+            try {
+                h1.l.onEvent(event);
+            } catch (Throwable e) {
+                if (thrown) {
+                    throw e;
+                } else {
+                    //此处不能再转发异常 //不然会死循环
+                    e.printStackTrace();
                 }
             }
         }
     }
 
+    /**
+     * 解析事件类的分发订阅者（按订阅顺序，沿类型层级匹配）
+     */
+    private synchronized static HH[] resolveDispatch(Class<?> eventClz) {
+        HH[] hhs = sDispatch.get(eventClz);
+
+        if (hhs == null) {
+            List<HH> list = (Throwable.class.isAssignableFrom(eventClz) ? sThrow : sOther);
+            List<HH> tmp = new ArrayList<>();
+
+            for (HH h1 : list) {
+                if (h1.t.isAssignableFrom(eventClz)) {
+                    tmp.add(h1);
+                }
+            }
+
+            hhs = tmp.toArray(new HH[0]);
+            sDispatch.put(eventClz, hhs);
+        }
+
+        return hhs;
+    }
+
 
     /**
      * 订阅事件
@@ -170,9 +256,12 @@ public final class EventBus {
         EventListenPipeline<T> pipeline = (EventListenPipeline<T>) sPipeline.get(eventType);
 
         if (pipeline == null) {
-            pipeline = new EventListenPipeline<>();
+            pipeline = new EventListenPipeline<>(eventType);
             sPipeline.put(eventType, pipeline);
             registerDo(eventType, pipeline);
+
+            //有新的订阅类型，分发缓存失效
+            sDispatch.clear();
         }
 
         return pipeline;
@@ -1,6 +1,9 @@
 package org.noear.solon.core.event;
 
+import org.noear.solon.core.util.ClassUtil;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -11,7 +14,21 @@ import java.util.List;
  * @since 2.4
  */
 public class EventListenPipeline<Event> implements EventListener<Event> {
-    private List<EH> list = new ArrayList<>();
+    //写时复制（遍历时添加或移除监听，不影响当次遍历）
+    private volatile EH[] list = new EH[0];
+    private final Class<?> eventType;
+
+    public EventListenPipeline() {
+        this(Object.class);
+    }
+
+    /**
+     * @param eventType 事件类型（用于指标）
+     * @since 2.6
+     */
+    public EventListenPipeline(Class<?> eventType) {
+        this.eventType = eventType;
+    }
 
     /**
      * 添加监听
@@ -26,9 +43,13 @@ public class EventListenPipeline<Event> implements EventListener<Event> {
      * @param index    顺序位
      * @param listener 监听器
      */
-    public void add(int index, EventListener<Event> listener) {
-        list.add(new EH(index, listener));
-        list.sort(Comparator.comparing(EH::getIndex));
+    @SuppressWarnings("unchecked")
+    public synchronized void add(int index, EventListener<Event> listener) {
+        EH[] tmp = Arrays.copyOf(list, list.length + 1);
+        //登记时转一次类型（事件都由本管道分发，类型一致）
+        tmp[tmp.length - 1] = new EH(index, (EventListener<Object>) listener, new EventMetrics(eventType, ClassUtil.nameOf(listener)));
+        Arrays.sort(tmp, Comparator.comparing(EH::getIndex));
+        list = tmp;
     }
 
     /**
@@ -36,30 +57,59 @@ public class EventListenPipeline<Event> implements EventListener<Event> {
      *
      * @param listener 监听器
      */
-    public void remove(EventListener<Event> listener) {
-        for (int i = 0; i < list.size(); i++) {
-            if (listener.equals(list.get(i).listener)) {
-                list.remove(i);
-                i--;
+    public synchronized void remove(EventListener<Event> listener) {
+        List<EH> tmp = new ArrayList<>(list.length);
+        for (EH eh : list) {
+            if (listener.equals(eh.listener) == false) {
+                tmp.add(eh);
             }
         }
+
+        list = tmp.toArray(new EH[0]);
+    }
+
+    /**
+     * 获取指标
+     *
+     * @since 2.6
+     */
+    public List<EventMetrics> getMetrics() {
+        List<EventMetrics> tmp = new ArrayList<>();
+        for (EH eh : list) {
+            tmp.add(eh.metrics);
+        }
+        return tmp;
     }
 
     @Override
     public void onEvent(Event event) throws Throwable {
-        //用 i，可以避免遍历时添加监听的异常
-        for (int i = 0; i < list.size(); i++) {
-            list.get(i).listener.onEvent(event);
+        if (EventBus.isMetricsEnabled()) {
+            for (EH eh : list) {
+                long start = System.nanoTime();
+                boolean error = true;
+                try {
+                    eh.listener.onEvent(event);
+                    error = false;
+                } finally {
+                    eh.metrics.record(System.nanoTime() - start, error);
+                }
+            }
+        } else {
+            for (EH eh : list) {
+                eh.listener.onEvent(event);
+            }
         }
     }
 
-    static class EH<Event> {
-        int index;
-        EventListener<Event> listener;
+    static class EH {
+        final int index;
+        final EventListener<Object> listener;
+        final EventMetrics metrics;
 
-        EH(int index, EventListener<Event> listener) {
+        EH(int index, EventListener<Object> listener, EventMetrics metrics) {
             this.index = index;
             this.listener = listener;
+            this.metrics = metrics;
         }
 
         public int getIndex() {
@@ -0,0 +1,107 @@
+package org.noear.solon.core.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 事件监听指标（按事件类型 + 监听器统计；需要启用 EventBus.enableMetrics）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class EventMetrics {
+    private final Class<?> eventType;
+    private final String listener;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public EventMetrics(Class<?> eventType, String listener) {
+        this.eventType = eventType;
+        this.listener = listener;
+    }
+
+    /**
+     * 记录一次执行
+     *
+     * @param nanos 耗时（纳秒）
+     * @param error 是否出错
+     */
+    public void record(long nanos, boolean error) {
+        count.increment();
+        totalNanos.add(nanos);
+
+        if (error) {
+            errorCount.increment();
+        }
+
+        long max = maxNanos.get();
+        while (nanos > max && maxNanos.compareAndSet(max, nanos) == false) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * 事件类型
+     */
+    public Class<?> getEventType() {
+        return eventType;
+    }
+
+    /**
+     * 监听器（类名）
+     */
+    public String getListener() {
+        return listener;
+    }
+
+    /**
+     * 执行次数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 出错次数
+     */
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    /**
+     * 总耗时（纳秒）
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * 平均耗时（纳秒）
+     */
+    public long getAvgNanos() {
+        long c = getCount();
+        return c == 0 ? 0 : getTotalNanos() / c;
+    }
+
+    /**
+     * 最大耗时（纳秒）
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return "EventMetrics{" +
+                "eventType=" + eventType.getName() +
+                ", listener=" + listener +
+                ", count=" + getCount() +
+                ", errorCount=" + getErrorCount() +
+                ", avgNanos=" + getAvgNanos() +
+                ", maxNanos=" + getMaxNanos() +
+                '}';
+    }
+}
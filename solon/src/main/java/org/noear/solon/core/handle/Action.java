@@ -13,6 +13,7 @@ import org.noear.solon.annotation.Mapping;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 
 /**
@@ -313,6 +314,17 @@ public class Action extends HandlerAide implements Handler {
 
     private void bindPathVarDo(Context c) throws Throwable {
         if (pathKeysAnalyzer != null) {
+            if (c.attr(Constants.mainHandler) == this) {
+                //如果路由匹配时已收集（免去再次正则分析）
+                Map<String, String> pathVars = c.attr(Constants.mainPathVars);
+                if (pathVars != null) {
+                    for (Map.Entry<String, String> kv : pathVars.entrySet()) {
+                        c.paramSet(kv.getKey(), kv.getValue());
+                    }
+                    return;
+                }
+            }
+
             Matcher pm = pathKeysAnalyzer.matcher(c.pathNew());
             if (pm.find()) {
                 for (int i = 0, len = pathKeys.size(); i < len; i++) {
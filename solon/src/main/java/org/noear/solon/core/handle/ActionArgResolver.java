@@ -0,0 +1,19 @@
+package org.noear.solon.core.handle;
+
+/**
+ * 动作参数解析器（每个参数一个，在首次执行时编译为参数绑定计划）
+ *
+ * @see ActionExecuteHandlerDefault#buildArgResolver(org.noear.solon.core.wrap.MethodWrap, org.noear.solon.core.wrap.ParamWrap, int)
+ * @author noear
+ * @since 2.6
+ */
+@FunctionalInterface
+public interface ActionArgResolver {
+    /**
+     * 解析参数值
+     *
+     * @param ctx     上下文
+     * @param bodyObj 转换后的 body（由 changeBody 产生）
+     */
+    Object resolve(Context ctx, Object bodyObj) throws Throwable;
+}
@@ -0,0 +1,21 @@
+package org.noear.solon.core.handle;
+
+import java.io.InputStream;
+
+/**
+ * 动作 body 读取器（直接从 body 流反序列化为参数值，不经过 changeBody）
+ *
+ * @see ActionExecuteHandlerDefault#buildBodyReader(org.noear.solon.core.wrap.MethodWrap, org.noear.solon.core.wrap.ParamWrap)
+ * @author noear
+ * @since 2.6
+ */
+@FunctionalInterface
+public interface ActionBodyReader {
+    /**
+     * 读取参数值
+     *
+     * @param ctx  上下文
+     * @param body body 流（不会为空）
+     */
+    Object read(Context ctx, InputStream body) throws Throwable;
+}
@@ -8,13 +8,17 @@ import org.noear.solon.core.wrap.MethodWrap;
 import org.noear.solon.core.util.ConvertUtil;
 import org.noear.solon.core.wrap.ParamWrap;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.lang.reflect.Type;
-import java.lang.reflect.TypeVariable;
-import java.util.ArrayList;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 默认的ActionExecutor实现
@@ -24,6 +28,11 @@ import java.util.Map;
  * @since 1.0
  * */
 public class ActionExecuteHandlerDefault implements ActionExecuteHandler {
+    //参数绑定计划（按函数缓存）
+    private final Map<MethodWrap, ArgPlan> argPlans = new ConcurrentHashMap<>();
+    //子类是否重写了（旧的）buildArgs；重写了的，仍走 buildArgs
+    private final boolean buildArgsOverridden = isBuildArgsOverridden(getClass());
+
     /**
      * 是否匹配
      *
@@ -44,113 +53,378 @@ public class ActionExecuteHandlerDefault implements ActionExecuteHandler {
      */
     @Override
     public Object executeHandle(Context ctx, Object obj, MethodWrap mWrap) throws Throwable {
-        List<Object> args = buildArgs(ctx, obj, mWrap);
-        return mWrap.invokeByAspect(obj, args.toArray());
+        if (buildArgsOverridden) {
+            List<Object> args = buildArgs(ctx, obj, mWrap);
+            return mWrap.invokeByAspect(obj, args.toArray());
+        }
+
+        Object[] args = buildArgsArray(ctx, mWrap);
+        return mWrap.invokeByAspect(obj, args);
     }
 
+    private static boolean isBuildArgsOverridden(Class<?> clz) {
+        for (Class<?> c = clz; c != null && c != ActionExecuteHandlerDefault.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("buildArgs", Context.class, Object.class, MethodWrap.class);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+
+        return false;
+    }
 
     /**
      * 构建执行参数
      *
      * @param ctx 上下文
+     * @deprecated 2.6 {@link #buildArgsArray(Context, MethodWrap)}（子类重写了的，仍会被调用）
      */
+    @Deprecated
     protected List<Object> buildArgs(Context ctx, Object target, MethodWrap mWrap) throws Exception {
-        ParamWrap[] pSet = mWrap.getParamWraps();
-        List<Object> args = new ArrayList<>(pSet.length);
+        try {
+            return Arrays.asList(buildArgsArray(ctx, mWrap));
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 构建执行参数（按参数绑定计划，每个参数一次解析调用）
+     *
+     * @param ctx   上下文
+     * @param mWrap 函数包装器
+     * @since 2.6
+     */
+    protected Object[] buildArgsArray(Context ctx, MethodWrap mWrap) throws Throwable {
+        ArgPlan plan = argPlans.get(mWrap);
+        if (plan == null) {
+            plan = argPlans.computeIfAbsent(mWrap, this::compileArgPlan);
+        }
+
+        //body 由读取器直接处理时，不需要 changeBody
+        Object bodyObj = (plan.bodyDirect ? null : changeBody(ctx, mWrap));
+        ActionArgResolver[] resolvers = plan.resolvers;
+        Object[] args = new Object[resolvers.length];
 
-        Object bodyObj = changeBody(ctx, mWrap);
+        for (int i = 0; i < resolvers.length; i++) {
+            args[i] = resolvers[i].resolve(ctx, bodyObj);
+        }
+
+        return args;
+    }
+
+    private ArgPlan compileArgPlan(MethodWrap mWrap) {
+        ActionArgResolver[] resolvers = buildArgPlan(mWrap);
+
+        int bi = bodyParamIndex(mWrap);
+        if (bi >= 0) {
+            ParamWrap p = mWrap.getParamWraps()[bi];
+            ActionBodyReader reader = buildBodyReader(mWrap, p);
+
+            if (reader != null) {
+                resolvers[bi] = new BodyArgResolver(mWrap, p, reader, resolvers[bi]);
+                return new ArgPlan(resolvers, true);
+            }
+        }
 
-        //p 参数
-        //pt 参数原类型
-        for (int i = 0, len = pSet.length; i < len; i++) {
+        return new ArgPlan(resolvers, false);
+    }
+
+    /**
+     * 获取可直接读取 body 的参数位置（只有一个实体类型的 @Body 参数，且其它参数都不依赖 body；否则为 -1）
+     */
+    private int bodyParamIndex(MethodWrap mWrap) {
+        ParamWrap[] pSet = mWrap.getParamWraps();
+        int bi = -1;
+
+        for (int i = 0; i < pSet.length; i++) {
             ParamWrap p = pSet[i];
             Class<?> pt = p.getType();
 
-            if (Context.class.isAssignableFrom(pt)) {
-                //如果是 Context 类型，直接加入参数
-                //
-                args.add(ctx);
-            } else if (ModelAndView.class.isAssignableFrom(pt)) {
-                //如果是 ModelAndView 类型，直接加入参数
-                //
-                args.add(new ModelAndView());
-            } else if (Locale.class.isAssignableFrom(pt)) {
-                //如果是 Locale 类型，直接加入参数
-                //
-                args.add(ctx.getLocale());
-            } else if (UploadedFile.class == pt) {
-                //如果是 UploadedFile
-                //
-                args.add(ctx.file(p.getName()));
-            } else if (pt.isInstance(ctx.request())) { //getTypeName().equals("javax.servlet.http.HttpServletRequest")
-                args.add(ctx.request());
-            } else if (pt.isInstance(ctx.response())) { //getTypeName().equals("javax.servlet.http.HttpServletResponse")
-                args.add(ctx.response());
+            if (Context.class.isAssignableFrom(pt) ||
+                    ModelAndView.class.isAssignableFrom(pt) ||
+                    Locale.class.isAssignableFrom(pt) ||
+                    p.isRequiredPath() || p.isRequiredCookie() || p.isRequiredHeader()) {
+                continue;
+            }
+
+            if (bi < 0 && p.isRequiredBody() && isEntityType(pt)) {
+                bi = i;
             } else {
-                Object tv = null;
+                return -1;
+            }
+        }
 
+        return bi;
+    }
 
-                if (p.isRequiredBody()) {
-                    //需要 body 数据
-                    if (String.class.equals(pt)) {
-                        tv = ctx.bodyNew();
-                    } else if (InputStream.class.equals(pt)) {
-                        tv = ctx.bodyAsStream();
-                    } else if (Map.class.equals(pt) && bodyObj instanceof NvMap) {
-                        tv = bodyObj;
-                    }
+    private static boolean isEntityType(Class<?> pt) {
+        if (pt.isPrimitive() || pt.isArray() || pt.getName().startsWith("java.lang.")) {
+            return false;
+        }
+
+        if (Collection.class.isAssignableFrom(pt) ||
+                InputStream.class.isAssignableFrom(pt) ||
+                UploadedFile.class.isAssignableFrom(pt)) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * 构建 body 读取器（函数只有一个实体类型的 @Body 参数时，可直接从 body 流反序列化；返回 null 则按 changeBody + changeValue 处理）
+     *
+     * @param mWrap 函数包装器
+     * @param p     参数包装器
+     * @since 2.6
+     */
+    protected ActionBodyReader buildBodyReader(MethodWrap mWrap, ParamWrap p) {
+        return null;
+    }
+
+    /**
+     * 编译参数绑定计划
+     *
+     * @param mWrap 函数包装器
+     * @since 2.6
+     */
+    protected ActionArgResolver[] buildArgPlan(MethodWrap mWrap) {
+        ParamWrap[] pSet = mWrap.getParamWraps();
+        ActionArgResolver[] plan = new ActionArgResolver[pSet.length];
+
+        for (int i = 0; i < pSet.length; i++) {
+            plan[i] = buildArgResolver(mWrap, pSet[i], i);
+        }
+
+        return plan;
+    }
+
+    /**
+     * 构建参数解析器（子类可按需替换某些参数的解析）
+     *
+     * @param mWrap 函数包装器
+     * @param p     参数包装器
+     * @param pi    参数位置
+     * @since 2.6
+     */
+    protected ActionArgResolver buildArgResolver(MethodWrap mWrap, ParamWrap p, int pi) {
+        Class<?> pt = p.getType();
+
+        if (Context.class.isAssignableFrom(pt)) {
+            //如果是 Context 类型，直接加入参数
+            //
+            return (ctx, bodyObj) -> ctx;
+        } else if (ModelAndView.class.isAssignableFrom(pt)) {
+            //如果是 ModelAndView 类型，直接加入参数
+            //
+            return (ctx, bodyObj) -> new ModelAndView();
+        } else if (Locale.class.isAssignableFrom(pt)) {
+            //如果是 Locale 类型，直接加入参数
+            //
+            return (ctx, bodyObj) -> ctx.getLocale();
+        } else if (UploadedFile.class == pt) {
+            //如果是 UploadedFile
+            //
+            String name = p.getName();
+            return (ctx, bodyObj) -> ctx.file(name);
+        } else {
+            return new ValueArgResolver(mWrap, p, pi);
+        }
+    }
+
+    /**
+     * 参数绑定计划
+     */
+    private static class ArgPlan {
+        final ActionArgResolver[] resolvers;
+        //是否由 body 读取器直接处理 body
+        final boolean bodyDirect;
+
+        ArgPlan(ActionArgResolver[] resolvers, boolean bodyDirect) {
+            this.resolvers = resolvers;
+            this.bodyDirect = bodyDirect;
+        }
+    }
+
+    /**
+     * body 参数解析器（直接从 body 字节读取，字节会缓存在上下文上；body 为空时，按原解析器处理）
+     */
+    private static class BodyArgResolver implements ActionArgResolver {
+        private final MethodWrap mWrap;
+        private final ParamWrap p;
+        private final ActionBodyReader reader;
+        private final ActionArgResolver fallback;
+
+        BodyArgResolver(MethodWrap mWrap, ParamWrap p, ActionBodyReader reader, ActionArgResolver fallback) {
+            this.mWrap = mWrap;
+            this.p = p;
+            this.reader = reader;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public Object resolve(Context ctx, Object bodyObj) throws Throwable {
+            InputStream body;
+            String bodyStr = ctx.bodyNewIfRead();
+
+            if (bodyStr == null) {
+                //还没有读取过：读为字节并缓存（不转字符串、不建树；之后的 body() 仍可用）
+                byte[] bytes = ctx.bodyAsBytesCached();
+
+                if (bytes.length == 0) {
+                    body = null;
+                } else {
+                    body = new ByteArrayInputStream(bytes);
                 }
+            } else if (bodyStr.isEmpty()) {
+                body = null;
+            } else {
+                //已被读取（或被替换）的，用字符串
+                body = new ByteArrayInputStream(bodyStr.getBytes(charsetOf(ctx)));
+            }
 
-                if (tv == null) {
-                    //尝试数据转换
-                    try {
-                        tv = changeValue(ctx, p, i, pt, bodyObj);
-                    } catch (Exception e) {
-                        String methodFullName = mWrap.getDeclaringClz().getName() + "::" + mWrap.getName() + "@" + p.getName();
-                        throw new IllegalArgumentException("Action parameter change failed: " + methodFullName, e);
-                    }
+            if (body == null) {
+                return fallback.resolve(ctx, null);
+            }
+
+            Object tv;
+            try {
+                tv = reader.read(ctx, body);
+            } catch (Exception e) {
+                String methodFullName = mWrap.getDeclaringClz().getName() + "::" + mWrap.getName() + "@" + p.getName();
+                throw new IllegalArgumentException("Action parameter change failed: " + methodFullName, e);
+            }
+
+            if (tv == null) {
+                if (p.isRequiredInput()) {
+                    ctx.status(400);
+                    throw new IllegalArgumentException(p.getRequiredHint());
                 }
+            }
 
-                if (tv == null) {
-                    //
-                    // 如果是基类类型（int,long...），则抛出异常
+            return tv;
+        }
+    }
+
+    /**
+     * 获取内容字符集
+     *
+     * @param ctx 上下文
+     * @since 2.6
+     */
+    protected static Charset charsetOf(Context ctx) {
+        String charset = ctx.contentCharset();
+
+        if (Utils.isEmpty(charset)) {
+            return StandardCharsets.UTF_8;
+        } else {
+            return Charset.forName(charset);
+        }
+    }
+
+    /**
+     * 值参数解析器（也可能是 request, response 对象）
+     */
+    private class ValueArgResolver implements ActionArgResolver {
+        private final MethodWrap mWrap;
+        private final ParamWrap p;
+        private final int pi;
+        private final Class<?> pt;
+        //是否可能为 request, response 类型（基本类型、数组、java.* 的 final 类，不可能）
+        private final boolean maybeNative;
+        //基本类型的默认值
+        private final Object primitiveDef;
+
+        ValueArgResolver(MethodWrap mWrap, ParamWrap p, int pi) {
+            this.mWrap = mWrap;
+            this.p = p;
+            this.pi = pi;
+            this.pt = p.getType();
+
+            this.maybeNative = (pt.isPrimitive() || pt.isArray() ||
+                    (Modifier.isFinal(pt.getModifiers()) && pt.getName().startsWith("java."))) == false;
+
+            if (pt == short.class) {
+                primitiveDef = (short) 0;
+            } else if (pt == int.class) {
+                primitiveDef = 0;
+            } else if (pt == long.class) {
+                primitiveDef = 0L;
+            } else if (pt == double.class) {
+                primitiveDef = 0d;
+            } else if (pt == float.class) {
+                primitiveDef = 0f;
+            } else if (pt == boolean.class) {
+                primitiveDef = false;
+            } else {
+                primitiveDef = null;
+            }
+        }
+
+        @Override
+        public Object resolve(Context ctx, Object bodyObj) throws Throwable {
+            if (maybeNative) {
+                if (pt.isInstance(ctx.request())) { //getTypeName().equals("javax.servlet.http.HttpServletRequest")
+                    return ctx.request();
+                } else if (pt.isInstance(ctx.response())) { //getTypeName().equals("javax.servlet.http.HttpServletResponse")
+                    return ctx.response();
+                }
+            }
+
+            Object tv = null;
+
+            if (p.isRequiredBody()) {
+                //需要 body 数据
+                if (String.class.equals(pt)) {
+                    tv = ctx.bodyNew();
+                } else if (InputStream.class.equals(pt)) {
+                    tv = ctx.bodyAsStream();
+                } else if (Map.class.equals(pt) && bodyObj instanceof NvMap) {
+                    tv = bodyObj;
+                }
+            }
+
+            if (tv == null) {
+                //尝试数据转换
+                try {
+                    tv = changeValue(ctx, p, pi, pt, bodyObj);
+                } catch (Exception e) {
+                    String methodFullName = mWrap.getDeclaringClz().getName() + "::" + mWrap.getName() + "@" + p.getName();
+                    throw new IllegalArgumentException("Action parameter change failed: " + methodFullName, e);
+                }
+            }
+
+            if (tv == null) {
+                //
+                // 如果是基类类型（int,long...），则抛出异常
+                //
+                if (pt.isPrimitive()) {
+                    //如果是基本类型，则为给个默认值
                     //
-                    if (pt.isPrimitive()) {
-                        //如果是基本类型，则为给个默认值
+                    if (primitiveDef == null) {
                         //
-                        if (pt == short.class) {
-                            tv = (short) 0;
-                        } else if (pt == int.class) {
-                            tv = 0;
-                        } else if (pt == long.class) {
-                            tv = 0L;
-                        } else if (pt == double.class) {
-                            tv = 0d;
-                        } else if (pt == float.class) {
-                            tv = 0f;
-                        } else if (pt == boolean.class) {
-                            tv = false;
-                        } else {
-                            //
-                            //其它类型不支持
-                            //
-                            throw new IllegalArgumentException("Please enter a valid parameter @" + p.getName());
-                        }
+                        //其它类型不支持
+                        //
+                        throw new IllegalArgumentException("Please enter a valid parameter @" + p.getName());
                     }
-                }
 
-                if (tv == null) {
-                    if (p.isRequiredInput()) {
-                        ctx.status(400);
-                        throw new IllegalArgumentException(p.getRequiredHint());
-                    }
+                    tv = primitiveDef;
                 }
+            }
 
-                args.add(tv);
+            if (tv == null) {
+                if (p.isRequiredInput()) {
+                    ctx.status(400);
+                    throw new IllegalArgumentException(p.getRequiredHint());
+                }
             }
-        }
 
-        return args;
+            return tv;
+        }
     }
 
     /**
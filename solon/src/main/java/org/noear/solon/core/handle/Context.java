@@ -13,6 +13,7 @@ import org.noear.solon.lang.Nullable;
 import java.io.*;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
@@ -354,8 +355,17 @@ public abstract class Context {
      * */
     public String body(String charset) throws IOException {
         if (body == null) {
-            try (InputStream ins = bodyAsStream()) {
-                body = IoUtil.transferToString(ins, charset);
+            if (bodyBytes == null) {
+                try (InputStream ins = bodyAsStream()) {
+                    body = IoUtil.transferToString(ins, charset);
+                }
+            } else {
+                //已被读取为字节的（如动作参数直接绑定时；字符集的处理与 IoUtil 一致）
+                if (Utils.isEmpty(charset)) {
+                    body = new String(bodyBytes);
+                } else {
+                    body = new String(bodyBytes, charset);
+                }
             }
         }
 
@@ -382,10 +392,44 @@ public abstract class Context {
         this.bodyNew = bodyNew;
     }
 
+    /**
+     * 获取已读取的body（没有读取过，则为 null）
+     * */
+    String bodyNewIfRead() {
+        if (bodyNew == null) {
+            return body;
+        } else {
+            return bodyNew;
+        }
+    }
+
+    private byte[] bodyBytes;
+
+    /**
+     * 获取body内容为byte[]，并缓存（之后的 body()、bodyAsBytes() 仍可用）
+     * */
+    byte[] bodyAsBytesCached() throws IOException {
+        if (bodyBytes == null) {
+            try (InputStream ins = bodyAsStream()) {
+                if (ins == null) {
+                    bodyBytes = new byte[0];
+                } else {
+                    bodyBytes = IoUtil.transferToBytes(ins);
+                }
+            }
+        }
+
+        return bodyBytes;
+    }
+
     /**
      * 获取body内容为byte[]
      */
     public byte[] bodyAsBytes() throws IOException {
+        if (bodyBytes != null) {
+            return bodyBytes.clone();
+        }
+
         try (InputStream ins = bodyAsStream()) {
             if (ins == null) {
                 return null;
@@ -834,6 +878,22 @@ public abstract class Context {
      */
     public abstract OutputStream outputStream() throws IOException;
 
+    /**
+     * 输出 文件通道（适配器可原生实现零拷贝，例如 nettyhttp 的 sendfile；默认为缓冲复制到 outputStream()，没有零拷贝）
+     *
+     * <p>通道的所有权转交给本方法，输出完成后由它负责关闭</p>
+     *
+     * @param channel  文件通道
+     * @param position 开始位置
+     * @param count    输出长度
+     * @since 2.6
+     */
+    public void outputFile(FileChannel channel, long position, long count) throws IOException {
+        try (FileChannel ins = channel) {
+            IoUtil.transferTo(ins, outputStream(), position, count);
+        }
+    }
+
     /**
      * 输出 字符串
      */
@@ -0,0 +1,47 @@
+package org.noear.solon.core.handle;
+
+import org.noear.solon.core.util.RankEntity;
+
+import java.util.List;
+
+/**
+ * 过滤器调用链节点（预编译的链；不可变，跨请求复用，执行时不需要分配对象）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class FilterChainNode implements FilterChain {
+    /**
+     * 链尾（不再有过滤器）
+     */
+    private static final FilterChain END = ctx -> {
+    };
+
+    /**
+     * 编译
+     *
+     * @param filterList 过滤器列表（已排序）
+     */
+    public static FilterChain compile(List<RankEntity<Filter>> filterList) {
+        FilterChain next = END;
+
+        for (int i = filterList.size() - 1; i >= 0; i--) {
+            next = new FilterChainNode(filterList.get(i).target, next);
+        }
+
+        return next;
+    }
+
+    private final Filter filter;
+    private final FilterChain next;
+
+    private FilterChainNode(Filter filter, FilterChain next) {
+        this.filter = filter;
+        this.next = next;
+    }
+
+    @Override
+    public void doFilter(Context ctx) throws Throwable {
+        filter.doFilter(ctx, next);
+    }
+}
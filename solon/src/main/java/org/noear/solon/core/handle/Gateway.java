@@ -50,6 +50,8 @@ public abstract class Gateway extends HandlerAide implements Handler, Render {
     private Mapping mappingAnno;
     //过滤列表
     private List<RankEntity<Filter>> filterList = new ArrayList<>();
+    //过滤调用链（预编译，变更时重建）
+    private volatile FilterChain filterChain;
 
     /**
      * 获取内部主路由（方便文档生成）
@@ -77,6 +79,7 @@ public abstract class Gateway extends HandlerAide implements Handler, Render {
         mainDef = (c) -> c.status(404);
 
         filterList.add(new RankEntity<>(this::doFilter, Integer.MAX_VALUE));
+        filterChain = FilterChainNode.compile(filterList);
 
         Solon.context().lifecycle(()->{
             //通过生命周期触发注册，可以在注册时使用注入字段
@@ -153,9 +156,10 @@ public abstract class Gateway extends HandlerAide implements Handler, Render {
         filter(0, filter);
     }
 
-    public void filter(int index, Filter filter) {
+    public synchronized void filter(int index, Filter filter) {
         filterList.add(new RankEntity<>(filter, index));
         filterList.sort(Comparator.comparingInt(f -> f.index));
+        filterChain = FilterChainNode.compile(filterList);
     }
 
     /**
@@ -164,7 +168,7 @@ public abstract class Gateway extends HandlerAide implements Handler, Render {
     @Override
     public void handle(Context c) throws Throwable {
         try {
-            new FilterChainImpl(filterList).doFilter(c);
+            filterChain.doFilter(c);
         } catch (Throwable e) {
             c.setHandled(true); //停止处理
 
@@ -191,7 +195,7 @@ public abstract class Gateway extends HandlerAide implements Handler, Render {
 
         //m 不可能为 null；有 _def 打底
         if (m != null) {
-            Boolean is_action = m instanceof Action;
+            boolean is_action = m instanceof Action;
             //预加载控制器，确保所有的'处理器'可以都可以获取控制器
             if (is_action) {
                 if (allowReadyController()) {
@@ -207,7 +211,7 @@ public abstract class Gateway extends HandlerAide implements Handler, Render {
         }
     }
 
-    private void handle0(Context c, Handler m, Object obj, Boolean is_action) throws Throwable {
+    private void handle0(Context c, Handler m, Object obj, boolean is_action) throws Throwable {
         /**
          * 1.保持与XAction相同的逻辑
          * */
@@ -14,11 +14,11 @@ public class RouterDefault implements Router{
     private final RoutingTable<Handler>[] routesH;
 
     public RouterDefault() {
-        routesH = new RoutingTableDefault[3];
+        routesH = new RoutingTableRadix[3];
 
-        routesH[0] = new RoutingTableDefault<>();//before:0
-        routesH[1] = new RoutingTableDefault<>();//main
-        routesH[2] = new RoutingTableDefault<>();//after:2
+        routesH[0] = new RoutingTableRadix<>();//before:0
+        routesH[1] = new RoutingTableRadix<>();//main
+        routesH[2] = new RoutingTableRadix<>();//after:2
     }
     /**
      * 添加路由关系 for Handler
@@ -82,10 +82,17 @@ public class RouterDefault implements Router{
         String pathNew = ctx.pathNew();
         MethodType method = MethodTypeUtil.valueOf(ctx.method());
 
-        Result<Handler> result = routesH[Endpoint.main.code].matchOneAndStatus(pathNew, method);
+        //路径变量在匹配时一并收集（HashMap 在首次 put 时才分配空间）
+        Map<String, String> pathVars = new HashMap<>();
+        Result<Handler> result = routesH[Endpoint.main.code].matchOneAndStatus(pathNew, method, pathVars);
 
         if (result.getData() != null) {
             ctx.attrSet(Constants.mainHandler, result.getData());
+
+            if (pathVars.size() > 0 || ctx.attr(Constants.mainPathVars) != null) {
+                //转发时会重新匹配，需要覆盖旧的变量
+                ctx.attrSet(Constants.mainPathVars, pathVars.size() > 0 ? pathVars : null);
+            }
         } else {
             ctx.attrSet(Constants.mainStatus, result.getCode());
         }
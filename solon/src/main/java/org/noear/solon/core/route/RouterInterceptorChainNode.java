@@ -0,0 +1,76 @@
+package org.noear.solon.core.route;
+
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.Handler;
+import org.noear.solon.core.util.RankEntity;
+import org.noear.solon.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * 路由拦截器调用链节点（预编译的链；不可变，跨请求复用，执行时不需要分配对象）
+ *
+ * <p>没有路径规则的限制器，编译时直接展开为原拦截器；有规则的，不匹配时直接跳到下个节点</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class RouterInterceptorChainNode implements RouterInterceptorChain {
+    /**
+     * 链尾（不再有拦截器）
+     */
+    private static final RouterInterceptorChain END = (ctx, mainHandler) -> {
+    };
+
+    /**
+     * 编译
+     *
+     * @param interceptorList 拦截器列表（已排序）
+     */
+    public static RouterInterceptorChain compile(List<RankEntity<RouterInterceptor>> interceptorList) {
+        RouterInterceptorChain next = END;
+
+        for (int i = interceptorList.size() - 1; i >= 0; i--) {
+            RouterInterceptor interceptor = interceptorList.get(i).target;
+            PathRule rule = null;
+
+            if (interceptor instanceof RouterInterceptorLimiter) {
+                RouterInterceptorLimiter limiter = (RouterInterceptorLimiter) interceptor;
+
+                if (limiter.getClass() == RouterInterceptorLimiter.class) {
+                    //标准限制器，可以展开（子类可能改写了匹配逻辑，保持原样）
+                    interceptor = limiter.getInterceptor();
+
+                    if (limiter.rule != null && limiter.rule.isEmpty() == false) {
+                        rule = limiter.rule;
+                    }
+                }
+            }
+
+            next = new RouterInterceptorChainNode(interceptor, rule, next);
+        }
+
+        return next;
+    }
+
+    private final RouterInterceptor interceptor;
+    private final PathRule rule;
+    private final RouterInterceptorChain next;
+
+    private RouterInterceptorChainNode(RouterInterceptor interceptor, PathRule rule, RouterInterceptorChain next) {
+        this.interceptor = interceptor;
+        this.rule = rule;
+        this.next = next;
+    }
+
+    @Override
+    public void doIntercept(Context ctx, @Nullable Handler mainHandler) throws Throwable {
+        if (rule == null || rule.test(ctx.pathNew())) {
+            //执行拦截
+            interceptor.doIntercept(ctx, mainHandler, next);
+        } else {
+            //不匹配，跳过
+            next.doIntercept(ctx, mainHandler);
+        }
+    }
+}
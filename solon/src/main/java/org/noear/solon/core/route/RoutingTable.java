@@ -5,6 +5,7 @@ import org.noear.solon.core.handle.Result;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 路由表
@@ -64,6 +65,19 @@ public interface RoutingTable<T> {
      */
     Result<T> matchOneAndStatus(String path, MethodType method);
 
+    /**
+     * 区配一个目标并给出状态（同时收集路径变量；不支持收集的实现，不做处理）
+     *
+     * @since 2.6
+     * @param path     路径
+     * @param method   方法
+     * @param pathVars 路径变量收集器
+     * @return 一个区配的目标
+     */
+    default Result<T> matchOneAndStatus(String path, MethodType method, Map<String, String> pathVars) {
+        return matchOneAndStatus(path, method);
+    }
+
 
     /**
      * 区配多个目标
@@ -0,0 +1,598 @@
+package org.noear.solon.core.route;
+
+import org.noear.solon.core.handle.MethodType;
+import org.noear.solon.core.handle.Result;
+import org.noear.solon.core.util.PathAnalyzer;
+import org.noear.solon.core.util.PathUtil;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 路由表基数树实现（按路径段建树，匹配时不再逐条执行正则）
+ *
+ * <p>以路由记录在表中的位置为优先级，匹配结果与 RoutingTableDefault 保持一致。
+ * 含 ** 或 {xxx_} 的记录，会挂在其前缀节点上，仍由路由记录自身做正则匹配</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class RoutingTableRadix<T> implements RoutingTable<T> {
+    private final List<Routing<T>> table = new ArrayList<>();
+    //路由树（记录变更后置空，匹配时懒构建；变更与构建用同一把锁，构建时不会漏掉并发的变更）
+    private volatile Tree<T> tree;
+
+    /**
+     * 添加路由记录
+     *
+     * @param routing 路由
+     */
+    @Override
+    public synchronized void add(Routing<T> routing) {
+        table.add(routing);
+        tree = null;
+    }
+
+    /**
+     * 添加路由记录
+     *
+     * @param routing 路由
+     * @param index   索引位置
+     */
+    @Override
+    public synchronized void add(int index, Routing<T> routing) {
+        table.add(index, routing);
+        tree = null;
+    }
+
+    @Override
+    public synchronized void remove(String pathPrefix) {
+        table.removeIf(l -> l.path().startsWith(pathPrefix));
+        tree = null;
+    }
+
+    @Override
+    public int count() {
+        return table.size();
+    }
+
+    @Override
+    public Collection<Routing<T>> getAll() {
+        return Collections.unmodifiableList(table);
+    }
+
+    /**
+     * 区配一个目标
+     *
+     * @param path   路径
+     * @param method 方法
+     * @return 一个区配的目标
+     */
+    @Override
+    public T matchOne(String path, MethodType method) {
+        Walker<T> walker = new Walker<>(path, method, false);
+        getTree().match(walker);
+
+        return walker.best == null ? null : walker.best.routing.target();
+    }
+
+    /**
+     * 区配一个目标并给出状态
+     *
+     * @param path   路径
+     * @param method 方法
+     * @return 一个区配的目标
+     */
+    @Override
+    public Result<T> matchOneAndStatus(String path, MethodType method) {
+        return matchOneAndStatus(path, method, null);
+    }
+
+    /**
+     * 区配一个目标并给出状态（同时收集路径变量）
+     *
+     * @param path     路径
+     * @param method   方法
+     * @param pathVars 路径变量收集器
+     * @return 一个区配的目标
+     */
+    @Override
+    public Result<T> matchOneAndStatus(String path, MethodType method, Map<String, String> pathVars) {
+        Walker<T> walker = new Walker<>(path, method, false);
+        getTree().match(walker);
+
+        if (walker.best != null) {
+            if (pathVars != null && walker.bestVals != null) {
+                String[] names = walker.best.varNames;
+                for (int i = 0; i < names.length; i++) {
+                    pathVars.put(names[i], walker.bestVals[i]);
+                }
+            }
+
+            return Result.succeed(walker.best.routing.target());
+        }
+
+        if (walker.degrees == 1) {
+            return Result.failure(405);
+        } else {
+            return Result.failure(404);
+        }
+    }
+
+    /**
+     * 区配多个目标
+     *
+     * @param path   路径
+     * @param method 方法
+     * @return 一批区配的目标
+     */
+    @Override
+    public List<T> matchMore(String path, MethodType method) {
+        Walker<T> walker = new Walker<>(path, method, true);
+        getTree().match(walker);
+
+        if (walker.more == null) {
+            return new ArrayList<>();
+        }
+
+        //先按表中位置，再按顺序位（与 RoutingTableDefault 的稳定排序一致）
+        walker.more.sort(Comparator.comparingInt((Entry<T> l) -> l.routing.index()).thenComparingInt(l -> l.order));
+
+        List<T> list = new ArrayList<>(walker.more.size());
+        for (Entry<T> e : walker.more) {
+            list.add(e.routing.target());
+        }
+        return list;
+    }
+
+    @Override
+    public synchronized void clear() {
+        table.clear();
+        tree = null;
+    }
+
+    private Tree<T> getTree() {
+        Tree<T> tmp = tree;
+        if (tmp == null) {
+            synchronized (this) {
+                tmp = tree;
+                if (tmp == null) {
+                    tmp = new Tree<>(new ArrayList<>(table), PathAnalyzer.isCaseSensitive());
+                    tree = tmp;
+                }
+            }
+        }
+
+        return tmp;
+    }
+
+
+    /**
+     * 路由树
+     */
+    static class Tree<T> {
+        //正则元字符（路径中出现时，退回逐条匹配）
+        private static final String REGEX_CHARS = "\\()[]+?^|";
+
+        private final boolean caseSensitive;
+        private final Node<T> root = new Node<>();
+        //不能建树的记录（逐条匹配）
+        private final List<Entry<T>> linear = new ArrayList<>();
+        //全部记录（路径不以 / 开头时，逐条匹配）
+        private final List<Entry<T>> all = new ArrayList<>();
+        private int maxVars;
+
+        Tree(List<Routing<T>> routings, boolean caseSensitive) {
+            this.caseSensitive = caseSensitive;
+
+            for (int i = 0; i < routings.size(); i++) {
+                Routing<T> routing = routings.get(i);
+                Entry<T> entry = new Entry<>(routing, i);
+
+                all.add(entry);
+
+                if (routing instanceof RoutingDefault && isIndexable(routing.path())) {
+                    insert(entry);
+                } else {
+                    linear.add(entry);
+                }
+            }
+
+            root.complete();
+        }
+
+        private static boolean isIndexable(String path) {
+            for (int i = 0; i < path.length(); i++) {
+                if (REGEX_CHARS.indexOf(path.charAt(i)) >= 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private void insert(Entry<T> entry) {
+            String path = entry.routing.path();
+            String[] segs = split(path.startsWith("/") ? path.substring(1) : path);
+
+            Node<T> node = root;
+            List<String> varNames = new ArrayList<>();
+
+            for (String seg : segs) {
+                if (seg.contains("**") || seg.contains("_}")) {
+                    //余下部分可跨段，交由路由记录自己匹配
+                    node.addTail(entry);
+                    maxVars = Math.max(maxVars, varNames.size());
+                    return;
+                }
+
+                if (isVarSeg(seg)) {
+                    varNames.add(seg.substring(1, seg.length() - 1));
+
+                    if (node.varChild == null) {
+                        node.varChild = new Node<>();
+                    }
+                    node = node.varChild;
+                } else if (seg.indexOf('*') >= 0 || seg.indexOf('{') >= 0) {
+                    Matcher pm = PathUtil.pathKeyExpr.matcher(seg);
+                    while (pm.find()) {
+                        varNames.add(pm.group(1));
+                    }
+
+                    node = node.patternChild(seg, caseSensitive);
+                } else {
+                    node = node.staticChild(caseSensitive ? seg : seg.toLowerCase(Locale.ROOT));
+                }
+            }
+
+            if (varNames.size() > 0) {
+                entry.varNames = varNames.toArray(new String[0]);
+                maxVars = Math.max(maxVars, varNames.size());
+            }
+
+            node.addEnd(entry);
+        }
+
+        private static boolean isVarSeg(String seg) {
+            return seg.length() > 2
+                    && seg.charAt(0) == '{'
+                    && seg.indexOf('}') == seg.length() - 1
+                    && seg.indexOf('{', 1) < 0;
+        }
+
+        void match(Walker<T> w) {
+            if (w.path.startsWith("/") == false) {
+                //不规范的路径，保持原始的逐条匹配
+                for (Entry<T> e : all) {
+                    w.tryRouting(e);
+                }
+                return;
+            }
+
+            for (Entry<T> e : linear) {
+                w.tryRouting(e);
+            }
+
+            String[] segs = split(w.path.substring(1));
+            String[] keys = segs;
+            if (caseSensitive == false) {
+                //静态段用小写查找；变量仍取原值
+                keys = new String[segs.length];
+                for (int i = 0; i < segs.length; i++) {
+                    keys[i] = segs[i].toLowerCase(Locale.ROOT);
+                }
+            }
+
+            walk(root, segs, keys, 0, maxVars > 0 ? new String[maxVars] : null, 0, w);
+        }
+
+        private void walk(Node<T> node, String[] segs, String[] keys, int i, String[] vals, int vc, Walker<T> w) {
+            if (w.more == null && node.minOrder >= w.bestOrder) {
+                //此分支不可能有更优的结果
+                return;
+            }
+
+            if (node.tails != null) {
+                for (Entry<T> e : node.tails) {
+                    w.tryRouting(e);
+                }
+            }
+
+            if (i == segs.length) {
+                if (node.ends != null) {
+                    if ((node.endMask & w.methodBit) == 0) {
+                        w.degrees(1);
+                    } else {
+                        for (Entry<T> e : node.ends) {
+                            w.tryEnd(e, vals, vc);
+                        }
+                    }
+                }
+                return;
+            }
+
+            String seg = segs[i];
+
+            if (node.statics != null) {
+                Node<T> child = node.statics.get(keys[i]);
+                if (child != null) {
+                    walk(child, segs, keys, i + 1, vals, vc, w);
+                }
+            }
+
+            if (node.varChild != null && seg.length() > 0) {
+                vals[vc] = seg;
+                walk(node.varChild, segs, keys, i + 1, vals, vc + 1, w);
+            }
+
+            if (node.patterns != null) {
+                for (Node<T> child : node.patterns) {
+                    Matcher m = child.pattern.matcher(seg);
+                    if (m.matches()) {
+                        int gc = m.groupCount();
+                        for (int g = 0; g < gc; g++) {
+                            vals[vc + g] = m.group(g + 1);
+                        }
+                        walk(child, segs, keys, i + 1, vals, vc + gc, w);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 按 / 切分（保留空段）
+         */
+        static String[] split(String path) {
+            int count = 1;
+            for (int i = 0; i < path.length(); i++) {
+                if (path.charAt(i) == '/') {
+                    count++;
+                }
+            }
+
+            String[] segs = new String[count];
+            int start = 0;
+            int idx = 0;
+            for (int i = 0; i < path.length(); i++) {
+                if (path.charAt(i) == '/') {
+                    segs[idx++] = path.substring(start, i);
+                    start = i + 1;
+                }
+            }
+            segs[idx] = path.substring(start);
+
+            return segs;
+        }
+
+        /**
+         * 将单个路径段编译为正则（与 PathAnalyzer 的规则一致）
+         */
+        static Pattern compileSeg(String seg, boolean caseSensitive) {
+            String p = seg;
+
+            p = p.replace(".", "\\.");
+            p = p.replace("$", "\\$");
+            p = p.replace("*", "[^/]*");
+            p = p.replaceAll("\\{[^\\}]+?\\}", "([^/]+)");
+
+            if (caseSensitive) {
+                return Pattern.compile(p);
+            } else {
+                return Pattern.compile(p, Pattern.CASE_INSENSITIVE);
+            }
+        }
+    }
+
+    /**
+     * 路由树节点
+     */
+    static class Node<T> {
+        //静态段子节点
+        Map<String, Node<T>> statics;
+        //{var} 段子节点
+        Node<T> varChild;
+        //模式段子节点（如：*、*.js、{id}.html）
+        List<Node<T>> patterns;
+        String patternExpr;
+        Pattern pattern;
+
+        //在此结束的记录
+        List<Entry<T>> ends;
+        //在此结束的记录所支持的方法掩码
+        long endMask;
+        //在此之后需要正则匹配的记录
+        List<Entry<T>> tails;
+        //子树内最小的表位置（用于剪枝）
+        int minOrder = Integer.MAX_VALUE;
+
+        Node<T> staticChild(String seg) {
+            if (statics == null) {
+                statics = new HashMap<>();
+            }
+
+            return statics.computeIfAbsent(seg, k -> new Node<>());
+        }
+
+        Node<T> patternChild(String seg, boolean caseSensitive) {
+            if (patterns == null) {
+                patterns = new ArrayList<>();
+            }
+
+            for (Node<T> n : patterns) {
+                if (n.patternExpr.equals(seg)) {
+                    return n;
+                }
+            }
+
+            Node<T> n = new Node<>();
+            n.patternExpr = seg;
+            n.pattern = Tree.compileSeg(seg, caseSensitive);
+            patterns.add(n);
+            return n;
+        }
+
+        void addEnd(Entry<T> entry) {
+            if (ends == null) {
+                ends = new ArrayList<>();
+            }
+
+            ends.add(entry);
+            endMask |= entry.methodMask;
+        }
+
+        void addTail(Entry<T> entry) {
+            if (tails == null) {
+                tails = new ArrayList<>();
+            }
+
+            tails.add(entry);
+        }
+
+        /**
+         * 完成构建（计算剪枝信息）
+         */
+        int complete() {
+            int min = Integer.MAX_VALUE;
+
+            if (ends != null) {
+                for (Entry<T> e : ends) {
+                    min = Math.min(min, e.order);
+                }
+            }
+
+            if (tails != null) {
+                for (Entry<T> e : tails) {
+                    min = Math.min(min, e.order);
+                }
+            }
+
+            if (statics != null) {
+                for (Node<T> n : statics.values()) {
+                    min = Math.min(min, n.complete());
+                }
+            }
+
+            if (varChild != null) {
+                min = Math.min(min, varChild.complete());
+            }
+
+            if (patterns != null) {
+                for (Node<T> n : patterns) {
+                    min = Math.min(min, n.complete());
+                }
+            }
+
+            minOrder = min;
+            return min;
+        }
+    }
+
+    /**
+     * 路由树条目
+     */
+    static class Entry<T> {
+        final Routing<T> routing;
+        //在表中的位置（越小越优先）
+        final int order;
+        final long methodMask;
+        String[] varNames;
+
+        Entry(Routing<T> routing, int order) {
+            this.routing = routing;
+            this.order = order;
+            this.methodMask = methodMask(routing.method());
+        }
+
+        static long methodMask(MethodType method) {
+            if (method == MethodType.ALL) {
+                return -1L;
+            }
+
+            if (method == MethodType.HTTP) {
+                long mask = 0;
+                for (MethodType m : MethodType.values()) {
+                    if (m.signal == MethodType.HTTP.signal) {
+                        mask |= methodBit(m);
+                    }
+                }
+                return mask;
+            }
+
+            return methodBit(method);
+        }
+
+        static long methodBit(MethodType method) {
+            return 1L << method.ordinal();
+        }
+    }
+
+    /**
+     * 匹配过程状态
+     */
+    static class Walker<T> {
+        final String path;
+        final MethodType method;
+        final long methodBit;
+
+        //匹配程度（0,不匹配；1,匹配路径；2,完全匹配）
+        int degrees;
+        int bestOrder = Integer.MAX_VALUE;
+        Entry<T> best;
+        String[] bestVals;
+        List<Entry<T>> more;
+
+        Walker(String path, MethodType method, boolean matchMore) {
+            this.path = path;
+            this.method = method;
+            this.methodBit = Entry.methodBit(method);
+
+            if (matchMore) {
+                more = new ArrayList<>();
+            }
+        }
+
+        void degrees(int tmp) {
+            if (tmp > degrees) {
+                degrees = tmp;
+            }
+        }
+
+        void tryRouting(Entry<T> e) {
+            if (more == null && e.order >= bestOrder) {
+                return;
+            }
+
+            int tmp = e.routing.degrees(method, path);
+            degrees(tmp);
+
+            if (tmp == 2) {
+                succeed(e, null, 0);
+            }
+        }
+
+        void tryEnd(Entry<T> e, String[] vals, int vc) {
+            if ((e.methodMask & methodBit) == 0) {
+                degrees(1);
+            } else {
+                degrees(2);
+                succeed(e, vals, vc);
+            }
+        }
+
+        private void succeed(Entry<T> e, String[] vals, int vc) {
+            if (more != null) {
+                more.add(e);
+            } else if (e.order < bestOrder) {
+                bestOrder = e.order;
+                best = e;
+
+                if (vc > 0) {
+                    bestVals = Arrays.copyOf(vals, vc);
+                } else {
+                    bestVals = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.noear.solon.core.runtime;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 启动时间线（记录每个生命周期的开始时间、耗时与线程）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class StartupTimeline {
+    private final long baseTime = System.nanoTime();
+    private final List<Record> records = new ArrayList<>();
+
+    /**
+     * 当前时间点（相对基准的纳秒）
+     */
+    public long now() {
+        return System.nanoTime() - baseTime;
+    }
+
+    /**
+     * 记录
+     *
+     * @param name      名字
+     * @param index     顺序位
+     * @param startTime 开始时间点（相对基准的纳秒）
+     */
+    public void record(String name, int index, long startTime) {
+        Record record = new Record(name, index, Thread.currentThread().getName(), startTime, now() - startTime);
+
+        synchronized (records) {
+            records.add(record);
+        }
+    }
+
+    /**
+     * 获取记录（按开始时间排序）
+     */
+    public List<Record> getRecords() {
+        List<Record> tmp;
+        synchronized (records) {
+            tmp = new ArrayList<>(records);
+        }
+
+        tmp.sort(Comparator.comparingLong(r -> r.startTime));
+        return tmp;
+    }
+
+    /**
+     * 报告（文本）
+     */
+    public String report() {
+        StringBuilder buf = new StringBuilder();
+        buf.append("Startup timeline (start ms / cost ms / index / thread / name):");
+
+        for (Record r : getRecords()) {
+            buf.append("\n  ")
+                    .append(String.format("%8.1f", r.startTime / 1000000.0D)).append(" / ")
+                    .append(String.format("%8.1f", r.costTime / 1000000.0D)).append(" / ")
+                    .append(r.index).append(" / ")
+                    .append(r.thread).append(" / ")
+                    .append(r.name);
+        }
+
+        return buf.toString();
+    }
+
+    /**
+     * 时间线记录
+     */
+    public static class Record {
+        public final String name;
+        public final int index;
+        public final String thread;
+        public final long startTime;
+        public final long costTime;
+
+        public Record(String name, int index, String thread, long startTime, long costTime) {
+            this.name = name;
+            this.index = index;
+            this.thread = thread;
+            this.startTime = startTime;
+            this.costTime = costTime;
+        }
+    }
+}
@@ -176,4 +176,25 @@ public class ClassUtil {
     public static <T> T newInstance(ClassLoader classLoader, String className, Properties prop) {
         return tryInstance(classLoader, className, prop);
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取对象的显示名（lambda 取其声明类；有自定义 toString 的，取 toString）
+     *
+     * @since 2.6
+     */
+    public static String nameOf(Object obj) {
+        String clzName = obj.getClass().getName();
+
+        int idx = clzName.indexOf("$$Lambda");
+        if (idx > 0) {
+            return clzName.substring(0, idx) + "::lambda";
+        }
+
+        String name = obj.toString();
+        if (name == null || name.startsWith(clzName + "@")) {
+            return clzName;
+        } else {
+            return name;
+        }
+    }
+}
@@ -4,53 +4,68 @@ import org.noear.solon.core.NvMap;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 忽略大小写的LinkedMap
  *
+ * <p>按插入顺序存放（平铺数组）+ 开放寻址索引；键的哈希与比较按 convertKey 的语义。
+ * 没有重写 convertKey 时，ASCII 键走按字符忽略大小写的快速路径（与 convertKey 结果一致），不需要生成小写键</p>
+ *
  * @see NvMap
  * @author noear
  * @since 1.0
  * */
 @SuppressWarnings("serial")
 public class IgnoreCaseMap<V> implements Map<String, V>, Serializable, Cloneable {
+    //按插入顺序的节点（移除的为 null）
+    private Node<V>[] nodes;
+    //已用的节点位（含移除的）
+    private int used;
+    //数量
+    private int size;
+    //开放寻址索引（值为节点位 + 1；0 表示空）
+    private int[] table;
 
-    private final LinkedHashMap<String, V> _m;
-    private final HashMap<String, String> _k;
     private final Locale locale;
+    //是否可走快速路径（没有重写 convertKey，且语言环境对 ASCII 的小写规则是通用的）
+    private final boolean fastKeys;
+
+    //是否重写了 convertKey（按类缓存）
+    private static final Map<Class<?>, Boolean> convertKeyOverridden = new ConcurrentHashMap<>();
+
+    private transient Set<Entry<String, V>> entrySet;
+    private transient Set<String> keySet;
+    private transient Collection<V> values;
 
     public IgnoreCaseMap() {
         this(16, null);
     }
 
     public IgnoreCaseMap(int initialCapacity, Locale locale) {
-        this._m = new LinkedHashMap<String, V>(initialCapacity) {
-            @Override
-            public boolean containsKey(Object key) {
-                return IgnoreCaseMap.this.containsKey(key);
-            }
+        int capacity = Math.max(4, initialCapacity);
 
-            @Override
-            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
-                boolean doRemove = IgnoreCaseMap.this.removeEldestEntry(eldest);
-                if (doRemove) {
-                    _k.remove(convertKey(eldest.getKey()));
-                }
-                return doRemove;
-            }
-        };
-        this._k = new HashMap<>(initialCapacity);
+        this.nodes = newNodes(capacity);
+        this.table = new int[tableSizeFor(capacity)];
         this.locale = (locale != null ? locale : Locale.getDefault());
+        this.fastKeys = isFastKeys(getClass(), this.locale);
     }
 
     /**
      * Copy constructor.
      */
-    @SuppressWarnings("unchecked")
     private IgnoreCaseMap(IgnoreCaseMap<V> other) {
-        this._m = (LinkedHashMap<String, V>) other._m.clone();
-        this._k = (HashMap<String, String>) other._k.clone();
+        this.nodes = newNodes(Math.max(4, other.size));
+        this.table = new int[tableSizeFor(this.nodes.length)];
         this.locale = other.locale;
+        this.fastKeys = other.fastKeys;
+
+        for (int i = 0; i < other.used; i++) {
+            Node<V> n = other.nodes[i];
+            if (n != null) {
+                append(n.hash, n.key, n.ckey, n.value);
+            }
+        }
     }
 
 
@@ -58,30 +73,36 @@ public class IgnoreCaseMap<V> implements Map<String, V>, Serializable, Cloneable
 
     @Override
     public int size() {
-        return this._m.size();
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return this._m.isEmpty();
+        return size == 0;
     }
 
     @Override
     public boolean containsKey(Object key) {
-        return (key instanceof String && this._k.containsKey(convertKey((String) key)));
+        return (key instanceof String && findNode((String) key) != null);
     }
 
     @Override
     public boolean containsValue(Object value) {
-        return this._m.containsValue(value);
+        for (int i = 0; i < used; i++) {
+            Node<V> n = nodes[i];
+            if (n != null && Objects.equals(n.value, value)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public V get(Object key) {
         if (key instanceof String) {
-            String key2 = this._k.get(convertKey((String) key));
-            if (key2 != null) {
-                return this._m.get(key2);
+            Node<V> n = findNode((String) key);
+            if (n != null) {
+                return n.value;
             }
         }
         return null;
@@ -90,9 +111,9 @@ public class IgnoreCaseMap<V> implements Map<String, V>, Serializable, Cloneable
     @Override
     public V getOrDefault(Object key, V defaultValue) {
         if (key instanceof String) {
-            String key2 = this._k.get(convertKey((String) key));
-            if (key2 != null) {
-                return this._m.getOrDefault(key2, defaultValue);
+            Node<V> n = findNode((String) key);
+            if (n != null) {
+                return n.value;
             }
         }
         return defaultValue;
@@ -100,11 +121,34 @@ public class IgnoreCaseMap<V> implements Map<String, V>, Serializable, Cloneable
 
     @Override
     public V put(String key, V value) {
-        String oldKey = this._k.put(convertKey(key), key);
-        if (oldKey != null && !oldKey.equals(key)) {
-            this._m.remove(oldKey);
+        String ckey = fastKeys ? null : convertKey(key);
+        int hash = hash(key, ckey);
+        int pos = findPos(hash, key, ckey);
+
+        if (pos >= 0) {
+            Node<V> n = nodes[pos];
+            V oldValue = n.value;
+
+            if (n.key.equals(key)) {
+                //同名，原位替换
+                n.value = value;
+                return oldValue;
+            } else {
+                //大小写不同，按新键重新入列（与之前的行为一致）
+                removeAt(pos);
+                append(hash, key, ckey, value);
+                return oldValue;
+            }
+        }
+
+        append(hash, key, ckey, value);
+
+        Node<V> eldest = firstNode();
+        if (eldest != null && removeEldestEntry(eldest)) {
+            remove(eldest.key);
         }
-        return this._m.put(key, value);
+
+        return null;
     }
 
     @Override
@@ -118,9 +162,11 @@ public class IgnoreCaseMap<V> implements Map<String, V>, Serializable, Cloneable
     @Override
     public V remove(Object key) {
         if (key instanceof String) {
-            String key2 = this._k.remove(convertKey((String) key));
-            if (key2 != null) {
-                return this._m.remove(key2);
+            int pos = findPos((String) key);
+            if (pos >= 0) {
+                V oldValue = nodes[pos].value;
+                removeAt(pos);
+                return oldValue;
             }
         }
         return null;
@@ -128,23 +174,129 @@ public class IgnoreCaseMap<V> implements Map<String, V>, Serializable, Cloneable
 
     @Override
     public void clear() {
-        this._k.clear();
-        this._m.clear();
+        Arrays.fill(nodes, 0, used, null);
+        Arrays.fill(table, 0);
+        used = 0;
+        size = 0;
     }
 
     @Override
     public Set<String> keySet() {
-        return this._m.keySet();
+        if (keySet == null) {
+            keySet = new AbstractSet<String>() {
+                @Override
+                public Iterator<String> iterator() {
+                    Iterator<Entry<String, V>> iterator = new NodeIterator();
+                    return new Iterator<String>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public String next() {
+                            return iterator.next().getKey();
+                        }
+
+                        @Override
+                        public void remove() {
+                            iterator.remove();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return containsKey(o);
+                }
+
+                @Override
+                public boolean remove(Object o) {
+                    if (containsKey(o)) {
+                        IgnoreCaseMap.this.remove(o);
+                        return true;
+                    } else {
+                        return false;
+                    }
+                }
+
+                @Override
+                public void clear() {
+                    IgnoreCaseMap.this.clear();
+                }
+            };
+        }
+
+        return keySet;
     }
 
     @Override
     public Collection<V> values() {
-        return this._m.values();
+        if (values == null) {
+            values = new AbstractCollection<V>() {
+                @Override
+                public Iterator<V> iterator() {
+                    Iterator<Entry<String, V>> iterator = new NodeIterator();
+                    return new Iterator<V>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public V next() {
+                            return iterator.next().getValue();
+                        }
+
+                        @Override
+                        public void remove() {
+                            iterator.remove();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public void clear() {
+                    IgnoreCaseMap.this.clear();
+                }
+            };
+        }
+
+        return values;
     }
 
     @Override
     public Set<Entry<String, V>> entrySet() {
-        return this._m.entrySet();
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<String, V>>() {
+                @Override
+                public Iterator<Entry<String, V>> iterator() {
+                    return new NodeIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public void clear() {
+                    IgnoreCaseMap.this.clear();
+                }
+            };
+        }
+
+        return entrySet;
     }
 
     @Override
@@ -154,17 +306,68 @@ public class IgnoreCaseMap<V> implements Map<String, V>, Serializable, Cloneable
 
     @Override
     public boolean equals(Object obj) {
-        return this._m.equals(obj);
+        if (obj == this) {
+            return true;
+        }
+
+        if (!(obj instanceof Map)) {
+            return false;
+        }
+
+        Map<?, ?> m = (Map<?, ?>) obj;
+        if (m.size() != size) {
+            return false;
+        }
+
+        for (int i = 0; i < used; i++) {
+            Node<V> n = nodes[i];
+            if (n != null) {
+                Object v2 = m.get(n.key);
+                if (n.value == null) {
+                    if (v2 != null || !m.containsKey(n.key)) {
+                        return false;
+                    }
+                } else if (!n.value.equals(v2)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return this._m.hashCode();
+        int h = 0;
+        for (int i = 0; i < used; i++) {
+            Node<V> n = nodes[i];
+            if (n != null) {
+                h += n.hashCode();
+            }
+        }
+        return h;
     }
 
     @Override
     public String toString() {
-        return this._m.toString();
+        StringBuilder buf = new StringBuilder();
+        buf.append('{');
+
+        boolean first = true;
+        for (int i = 0; i < used; i++) {
+            Node<V> n = nodes[i];
+            if (n != null) {
+                if (first) {
+                    first = false;
+                } else {
+                    buf.append(", ");
+                }
+
+                buf.append(n.key).append('=').append(n.value == this ? "(this Map)" : n.value);
+            }
+        }
+
+        return buf.append('}').toString();
     }
 
 
@@ -175,6 +378,9 @@ public class IgnoreCaseMap<V> implements Map<String, V>, Serializable, Cloneable
         return this.locale;
     }
 
+    /**
+     * 转换键（决定键的哈希与比较；重写后，存取按重写的结果）
+     */
     protected String convertKey(String key) {
         return key.toLowerCase(getLocale());
     }
@@ -182,4 +388,372 @@ public class IgnoreCaseMap<V> implements Map<String, V>, Serializable, Cloneable
     protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
         return false;
     }
-}
\ No newline at end of file
+
+
+    // 存储
+
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V>[] newNodes(int capacity) {
+        return (Node<V>[]) new Node<?>[capacity];
+    }
+
+    private static boolean isFastKeys(Class<?> clz, Locale locale) {
+        String lang = locale.getLanguage();
+        if ("tr".equals(lang) || "az".equals(lang) || "lt".equals(lang)) {
+            //这些语言的 I/i 小写规则特殊
+            return false;
+        }
+
+        if (clz == IgnoreCaseMap.class) {
+            return true;
+        }
+
+        return convertKeyOverridden.computeIfAbsent(clz, k -> {
+            for (Class<?> c = k; c != IgnoreCaseMap.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("convertKey", String.class);
+                    return true;
+                } catch (NoSuchMethodException e) {
+                    //继续找父类
+                }
+            }
+            return false;
+        }) == false;
+    }
+
+    private Node<V> findNode(String key) {
+        int pos = findPos(key);
+        return pos < 0 ? null : nodes[pos];
+    }
+
+    private int findPos(String key) {
+        String ckey = fastKeys ? null : convertKey(key);
+        return findPos(hash(key, ckey), key, ckey);
+    }
+
+    /**
+     * @param ckey 转换后的键（快速路径时为 null）
+     */
+    private int findPos(int hash, String key, String ckey) {
+        int mask = table.length - 1;
+        int i = hash & mask;
+
+        while (true) {
+            int p = table[i];
+            if (p == 0) {
+                return -1;
+            }
+
+            Node<V> n = nodes[p - 1];
+            if (n.hash == hash && keyEquals(n, key, ckey)) {
+                return p - 1;
+            }
+
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void append(int hash, String key, String ckey, V value) {
+        if (used == nodes.length) {
+            if (size < (used >> 1)) {
+                //移除的多，压缩
+                compact(nodes.length);
+            } else {
+                compact(nodes.length << 1);
+            }
+        }
+
+        int pos = used++;
+        nodes[pos] = new Node<>(hash, key, ckey, value);
+        size++;
+
+        indexPut(hash, pos);
+    }
+
+    private void removeAt(int pos) {
+        indexRemove(nodes[pos].hash, pos);
+
+        nodes[pos] = null;
+        size--;
+
+        if (pos == used - 1) {
+            used--;
+        }
+    }
+
+    private void compact(int capacity) {
+        Node<V>[] tmp = newNodes(capacity);
+        int j = 0;
+        for (int i = 0; i < used; i++) {
+            if (nodes[i] != null) {
+                tmp[j++] = nodes[i];
+            }
+        }
+
+        nodes = tmp;
+        used = j;
+
+        if (table.length < tableSizeFor(capacity)) {
+            table = new int[tableSizeFor(capacity)];
+        }
+
+        reindex();
+    }
+
+    private void reindex() {
+        Arrays.fill(table, 0);
+        for (int i = 0; i < used; i++) {
+            if (nodes[i] != null) {
+                indexPut(nodes[i].hash, i);
+            }
+        }
+    }
+
+    private void indexPut(int hash, int pos) {
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = pos + 1;
+    }
+
+    /**
+     * 移除索引（线性探测的后移删除：把后面同一探测链上的项前移补位，不留墓碑）
+     */
+    private void indexRemove(int hash, int pos) {
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != pos + 1) {
+            i = (i + 1) & mask;
+        }
+
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int p = table[j];
+            if (p == 0) {
+                break;
+            }
+
+            //项 j 的理想位置 k；如果 k 不在 (i, j] 之间，说明它的探测链经过 i，可以前移到 i
+            int k = nodes[p - 1].hash & mask;
+            if ((j > i) ? (k <= i || k > j) : (k <= i && k > j)) {
+                table[i] = p;
+                i = j;
+            }
+        }
+
+        table[i] = 0;
+    }
+
+    private Node<V> firstNode() {
+        for (int i = 0; i < used; i++) {
+            if (nodes[i] != null) {
+                return nodes[i];
+            }
+        }
+        return null;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        //负载不超过 0.5
+        int n = Integer.highestOneBit(Math.max(4, capacity) - 1) << 2;
+        return Math.max(8, n);
+    }
+
+    private static char lowerAscii(char c) {
+        return (c >= 'A' && c <= 'Z') ? (char) (c + 32) : c;
+    }
+
+    /**
+     * 哈希（等同于 convertKey(key).hashCode() 再打散；ASCII 键不用生成转换键）
+     */
+    private int hash(String key, String ckey) {
+        int h = 0;
+
+        if (ckey != null) {
+            h = ckey.hashCode();
+        } else {
+            for (int i = 0, len = key.length(); i < len; i++) {
+                char c = key.charAt(i);
+                if (c >= 128) {
+                    //非 ASCII，按转换键
+                    h = convertKey(key).hashCode();
+                    break;
+                }
+                h = 31 * h + lowerAscii(c);
+            }
+        }
+
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 键比较（等同于 convertKey 后比较）
+     */
+    private boolean keyEquals(Node<V> n, String key, String ckey) {
+        if (ckey != null) {
+            return ckey.equals(n.ckey);
+        }
+
+        String a = n.key;
+        if (a == key) {
+            return true;
+        }
+
+        int len = a.length();
+        if (len == key.length()) {
+            int i = 0;
+            for (; i < len; i++) {
+                char c1 = a.charAt(i);
+                char c2 = key.charAt(i);
+                if (c1 != c2) {
+                    if (c1 >= 128 || c2 >= 128) {
+                        break;
+                    }
+
+                    if (lowerAscii(c1) != lowerAscii(c2)) {
+                        return false;
+                    }
+                }
+            }
+
+            if (i == len) {
+                return true;
+            }
+        } else if (isAscii(a) && isAscii(key)) {
+            return false;
+        }
+
+        //有非 ASCII 的，按转换键
+        return convertKey(a).equals(convertKey(key));
+    }
+
+    private static boolean isAscii(String str) {
+        for (int i = 0, len = str.length(); i < len; i++) {
+            if (str.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 节点
+     */
+    static class Node<V> implements Map.Entry<String, V>, Serializable {
+        final int hash;
+        final String key;
+        //转换后的键（快速路径时为 null）
+        final String ckey;
+        V value;
+
+        Node(int hash, String key, String ckey, V value) {
+            this.hash = hash;
+            this.key = key;
+            this.ckey = ckey;
+            this.value = value;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = this.value;
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+
+            if (o instanceof Map.Entry) {
+                Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+            }
+
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * 节点遍历器（按插入顺序）
+     */
+    private class NodeIterator implements Iterator<Entry<String, V>> {
+        private Node<V>[] snapshot = nodes;
+        private int next = -1;
+        private Node<V> current;
+
+        NodeIterator() {
+            advance();
+        }
+
+        private void advance() {
+            if (snapshot != nodes) {
+                //已压缩（遍历时有添加），从当前节点之后继续
+                snapshot = nodes;
+                next = -1;
+                if (current != null) {
+                    for (int i = 0; i < used; i++) {
+                        if (nodes[i] == current) {
+                            next = i;
+                            break;
+                        }
+                    }
+                }
+            }
+
+            do {
+                next++;
+            } while (next < used && nodes[next] == null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (next >= used) {
+                throw new NoSuchElementException();
+            }
+
+            current = nodes[next];
+            advance();
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+
+            IgnoreCaseMap.this.remove(current.key);
+            current = null;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package org.noear.solon.core.util;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.noear.solon.annotation.Component;
 import org.noear.solon.annotation.Inject;
 
 /**
@@ -95,6 +99,76 @@ public class IndexBuilder {
 		}
 	}
 
+	/**
+	 * 依赖图是否完整（注入的都是可直接分析的具体类，且依赖的依赖也是如此）
+	 *
+	 * <p>注入接口、抽象类、框架类型，或者有其它注入注解时，不完整（顺序位只能作参考）</p>
+	 *
+	 * @param clazz bean类
+	 * @since 2.6
+	 */
+	public boolean isComplete(Class<?> clazz) {
+		return isCompleteDo(clazz, new HashSet<>());
+	}
+
+	private boolean isCompleteDo(Class<?> clazz, Set<String> visited) {
+		if (visited.add(clazz.getName()) == false) {
+			//已在检查中的（循环依赖由顺序位构建时检查）
+			return true;
+		}
+
+		Field[] fields = ReflectUtil.getDeclaredFields(clazz);
+
+		for (Field field : fields) {
+			if (field.isAnnotationPresent(Inject.class)) {
+				Inject inject = field.getAnnotation(Inject.class);
+				if (inject.value().contains("${")) {
+					//注入的是参数, 略过
+					continue;
+				}
+
+				if (clazz.equals(field.getType())) {
+					//自己注入自己，略过
+					continue;
+				}
+
+				if (isConcrete(field.getType()) == false) {
+					return false;
+				}
+
+				if (isCompleteDo(field.getType(), visited) == false) {
+					return false;
+				}
+			} else if (field.getAnnotations().length > 0) {
+				//可能是其它注入器的注解（注入什么不可知）
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * 是否为可直接分析的具体类
+	 */
+	private boolean isConcrete(Class<?> clazz) {
+		if (clazz.isInterface() || clazz.isArray() || clazz.isPrimitive()) {
+			return false;
+		}
+
+		if (Modifier.isAbstract(clazz.getModifiers())) {
+			return false;
+		}
+
+		if (clazz.getName().startsWith("java.") || clazz.getName().startsWith("javax.")) {
+			return false;
+		}
+
+		//手动指定了顺序位的，与自动构建的不可比较
+		Component anno = clazz.getAnnotation(Component.class);
+		return anno == null || anno.index() == 0;
+	}
+
 	/**
 	 * 寻找依赖类
 	 *
@@ -20,6 +20,15 @@ public class IndexUtil {
         return new IndexBuilder().buildIndex(clz);
     }
 
+    /**
+     * 生命周期执行顺序位的依赖图是否完整（完整的，同顺序位之间没有依赖）
+     *
+     * @since 2.6
+     */
+    public static boolean isLifecycleIndexComplete(Class<?> clz) {
+        return new IndexBuilder().isComplete(clz);
+    }
+
     /**
      * 构建变量收集器的检查顺序位
      */
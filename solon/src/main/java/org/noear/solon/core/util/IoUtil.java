@@ -7,6 +7,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * 输入输出工具
@@ -107,4 +109,37 @@ public class IoUtil {
 
         return out;
     }
+
+    /**
+     * 将文件通道转换为输出流（缓冲复制；按位置读取，不改变通道的位置）
+     *
+     * @param ins    文件通道
+     * @param out    输出流
+     * @param start  开始位
+     * @param length 长度
+     * @since 2.6
+     */
+    public static <T extends OutputStream> T transferTo(FileChannel ins, T out, long start, long length) throws IOException {
+        byte[] buf = new byte[(int) Math.min(4096, Math.max(length, 1))];
+        ByteBuffer buffer = ByteBuffer.wrap(buf);
+
+        while (length > 0) {
+            buffer.clear();
+            if (length < buf.length) {
+                buffer.limit((int) length);
+            }
+
+            int len = ins.read(buffer, start);
+            if (len < 0) {
+                //说明已到文件尾
+                break;
+            }
+
+            out.write(buf, 0, len);
+            start += len;
+            length -= len;
+        }
+
+        return out;
+    }
 }
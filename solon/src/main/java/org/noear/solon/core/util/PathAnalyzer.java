@@ -29,6 +29,13 @@ public class PathAnalyzer {
         PathAnalyzer.caseSensitive = caseSensitive;
     }
 
+    /**
+     * 是否区分大小写
+     */
+    public static boolean isCaseSensitive() {
+        return caseSensitive;
+    }
+
     public static PathAnalyzer get(String expr) {
         PathAnalyzer pa = cached.get(expr);
         if (pa == null) {
@@ -74,6 +74,26 @@ public class RunUtil {
         }
     }
 
+    /**
+     * 启用虚拟线程（替换并行与异步执行器；JDK21+ 有效）
+     *
+     * @return 是否已启用
+     * @since 2.6
+     */
+    public static boolean enableVirtualThread(boolean enable) {
+        if (enable == false) {
+            return false;
+        }
+
+        if (ThreadsUtil.isSupportedVirtualThreads() == false) {
+            return false;
+        }
+
+        setParallelExecutor(ThreadsUtil.newVirtualThreadPerTaskExecutor("Solon-executor-"));
+        setAsyncExecutor(ThreadsUtil.newVirtualThreadPerTaskExecutor("Solon-asyncExecutor-"));
+        return true;
+    }
+
     /**
      * 运行或异常
      */
@@ -0,0 +1,97 @@
+package org.noear.solon.core.util;
+
+import org.noear.solon.Utils;
+import org.noear.solon.core.runtime.NativeDetector;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 线程工具（虚拟线程支持，运行时检测；Java 8 下自动降级）
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class ThreadsUtil {
+    private static final boolean supportedVirtualThreads;
+    private static boolean pinnedRisksWarned;
+    private static Method ofVirtualMethod;
+    private static Method newThreadPerTaskExecutorMethod;
+
+    static {
+        boolean supported = false;
+
+        if (JavaUtil.JAVA_MAJOR_VERSION >= 21) {
+            try {
+                ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+                newThreadPerTaskExecutorMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                supported = true;
+            } catch (Throwable ignored) {
+                //不支持（或者预览特性未开启）
+            }
+        }
+
+        supportedVirtualThreads = supported;
+    }
+
+    /**
+     * 是否支持虚拟线程（JDK21+）
+     */
+    public static boolean isSupportedVirtualThreads() {
+        return supportedVirtualThreads;
+    }
+
+    /**
+     * 构建虚拟线程工厂
+     *
+     * @param namePrefix 线程名前缀
+     */
+    public static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+        if (supportedVirtualThreads == false) {
+            throw new IllegalStateException("Virtual threads are not supported: java " + JavaUtil.JAVA_MAJOR_VERSION);
+        }
+
+        try {
+            //Thread.ofVirtual().name(namePrefix, 0).factory()
+            Object builder = ofVirtualMethod.invoke(null);
+            Class<?> builderClz = ofVirtualMethod.getReturnType();
+
+            builder = builderClz.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClz.getMethod("factory").invoke(builder);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Virtual thread factory build failed", Utils.throwableUnwrap(e));
+        }
+    }
+
+    /**
+     * 构建虚拟线程执行器（每个任务一个虚拟线程）
+     *
+     * @param namePrefix 线程名前缀
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory threadFactory = newVirtualThreadFactory(namePrefix);
+
+        try {
+            return (ExecutorService) newThreadPerTaskExecutorMethod.invoke(null, threadFactory);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Virtual thread executor build failed", Utils.throwableUnwrap(e));
+        }
+    }
+
+    /**
+     * 打印虚拟线程的钉住（pinned carrier）诊断提示（具体有哪些同步块会钉住，由 jdk 跟踪输出）
+     */
+    public static synchronized void warnPinnedRisks() {
+        if (pinnedRisksWarned) {
+            return;
+        } else {
+            pinnedRisksWarned = true;
+        }
+
+        if (System.getProperty("jdk.tracePinnedThreads") == null && NativeDetector.inNativeImage() == false) {
+            LogUtil.global().warn("Virtual threads: add '-Djdk.tracePinnedThreads=short' to diagnose pinned carrier threads");
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.noear.solon.core.util.ParameterizedTypeImpl;
 import org.noear.solon.lang.Nullable;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.*;
 import java.util.Map;
 
@@ -54,6 +55,19 @@ public class FieldWrap {
      */
     private Method _getter;
 
+    /**
+     * 值设置句柄（启用 MethodHandle 调用器时有效）
+     */
+    private MethodHandle _setterHandle;
+    /**
+     * 值获取句柄（启用 MethodHandle 调用器时有效）
+     */
+    private MethodHandle _getterHandle;
+    /**
+     * 字段设置句柄（启用 MethodHandle 调用器时有效）
+     */
+    private MethodHandle _fieldSetHandle;
+
     protected FieldWrap(Class<?> clz, Field f1, boolean isFinal) {
         entityClz = clz;
         field = f1;
@@ -105,6 +119,22 @@ public class FieldWrap {
 
         _setter = doFindSetter(clz, f1);
         _getter = dofindGetter(clz, f1);
+
+        if (MethodHandleInvoker.isEnabled()) {
+            if (_setter != null) {
+                _setterHandle = MethodHandleInvoker.setterOf(_setter);
+            }
+
+            if (_getter != null) {
+                _getterHandle = MethodHandleInvoker.getterOf(_getter);
+            } else {
+                _getterHandle = MethodHandleInvoker.getterOf(f1);
+            }
+
+            if (readonly == false) {
+                _fieldSetHandle = MethodHandleInvoker.setterOf(f1);
+            }
+        }
     }
 
 
@@ -139,6 +169,16 @@ public class FieldWrap {
      * 获取字段的值
      */
     public Object getValue(Object tObj) throws ReflectiveOperationException {
+        if (_getterHandle != null) {
+            try {
+                return (Object) _getterHandle.invokeExact(tObj);
+            } catch (ReflectiveOperationException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
         if (_getter == null) {
             return get(tObj);
         } else {
@@ -170,7 +210,11 @@ public class FieldWrap {
                 return;
             }
 
-            if (_setter == null || disFun) {
+            if (_setterHandle != null && disFun == false) {
+                _setterHandle.invokeExact(tObj, val);
+            } else if (_fieldSetHandle != null && (_setter == null || disFun)) {
+                _fieldSetHandle.invokeExact(tObj, val);
+            } else if (_setter == null || disFun) {
                 if (!field.isAccessible()) {
                     field.setAccessible(true);
                 }
@@ -178,7 +222,7 @@ public class FieldWrap {
             } else {
                 _setter.invoke(tObj, new Object[]{val});
             }
-        } catch (IllegalArgumentException ex) {
+        } catch (IllegalArgumentException | ClassCastException ex) {
             if (val == null) {
                 throw new IllegalArgumentException(field.getName() + "(" + field.getType().getSimpleName() + ") Type receive failur!", ex);
             }
@@ -186,9 +230,18 @@ public class FieldWrap {
             throw new IllegalArgumentException(
                     field.getName() + "(" + field.getType().getSimpleName() +
                             ") Type receive failure ：val(" + val.getClass().getSimpleName() + ")", ex);
+        } catch (NullPointerException ex) {
+            if (val == null && field.getType().isPrimitive()) {
+                //句柄设置时，基础类型拆箱 null 会是空指针（与反射保持一致）
+                throw new IllegalArgumentException(field.getName() + "(" + field.getType().getSimpleName() + ") Type receive failur!", ex);
+            }
+
+            throw ex;
         } catch (RuntimeException ex) {
             throw ex;
-        } catch (Exception ex) {
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
             throw new RuntimeException(ex);
         }
     }
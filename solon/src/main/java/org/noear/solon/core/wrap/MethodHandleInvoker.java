@@ -0,0 +1,224 @@
+package org.noear.solon.core.wrap;
+
+import org.noear.solon.Solon;
+import org.noear.solon.core.runtime.NativeDetector;
+import org.noear.solon.core.util.LogUtil;
+import org.noear.solon.lang.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 基于 MethodHandle 的函数调用器（可选启用：solon.reflect.invoker=handle）
+ *
+ * <p>免去 Method.invoke 每次的访问检查与 InvocationTargetException 包装；构建失败时，退回反射</p>
+ *
+ * @author noear
+ * @since 2.6
+ */
+public class MethodHandleInvoker implements MethodInvoker {
+    public static final String PROP_INVOKER = "solon.reflect.invoker";
+    public static final String INVOKER_HANDLE = "handle";
+
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * 是否启用
+     */
+    public static boolean isEnabled() {
+        if (NativeDetector.inNativeImage()) {
+            return false;
+        }
+
+        String mode;
+        if (Solon.app() == null) {
+            mode = System.getProperty(PROP_INVOKER);
+        } else {
+            mode = Solon.cfg().get(PROP_INVOKER);
+        }
+
+        return INVOKER_HANDLE.equals(mode);
+    }
+
+    /**
+     * 构建函数调用器（失败时返回 null）
+     */
+    public static @Nullable MethodInvoker of(Method method) {
+        try {
+            method.setAccessible(true);
+            MethodHandle mh = MethodHandles.lookup().unreflect(method);
+
+            if (Modifier.isStatic(method.getModifiers())) {
+                mh = MethodHandles.dropArguments(mh, 0, Object.class);
+            }
+
+            //(obj, p1..pn) -> (Object, Object[])Object
+            mh = mh.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKE_TYPE);
+
+            return new MethodHandleInvoker(method, mh);
+        } catch (Throwable e) {
+            LogUtil.global().warn("MethodHandle build failed, fallback to reflect: " + method, e);
+            return null;
+        }
+    }
+
+    /**
+     * 构建字段获取句柄（失败时返回 null）
+     */
+    public static @Nullable MethodHandle getterOf(Field field) {
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 构建字段设置句柄（失败时返回 null）
+     */
+    public static @Nullable MethodHandle setterOf(Field field) {
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 构建属性获取句柄（即 getXxx()；失败时返回 null）
+     */
+    public static @Nullable MethodHandle getterOf(Method getter) {
+        try {
+            getter.setAccessible(true);
+            return MethodHandles.lookup().unreflect(getter).asType(GETTER_TYPE);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 构建属性设置句柄（即 setXxx(v)；失败时返回 null）
+     */
+    public static @Nullable MethodHandle setterOf(Method setter) {
+        try {
+            setter.setAccessible(true);
+            return MethodHandles.lookup().unreflect(setter).asType(SETTER_TYPE);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+
+    private final Method method;
+    private final MethodHandle handle;
+
+    private MethodHandleInvoker(Method method, MethodHandle handle) {
+        this.method = method;
+        this.handle = handle;
+    }
+
+    @Override
+    public Object invoke(Object obj, Object[] args) throws Throwable {
+        try {
+            return (Object) handle.invokeExact(obj, args);
+        } catch (ClassCastException | NullPointerException | WrongMethodTypeException | IllegalArgumentException e) {
+            //句柄适配（展开、拆箱、转型）出错时，与 Method.invoke 保持一致；否则是目标函数自己抛的，原样抛出
+            String error = checkArgs(obj, args);
+
+            if (error != null) {
+                if (error.isEmpty()) {
+                    throw new NullPointerException("The target object is null: " + method);
+                } else {
+                    throw new IllegalArgumentException(error + ": " + method, e);
+                }
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * 检查参数（与 Method.invoke 的校验对应；没问题时返回 null，目标对象为 null 时返回空）
+     */
+    private String checkArgs(Object obj, Object[] args) {
+        if (Modifier.isStatic(method.getModifiers()) == false) {
+            if (obj == null) {
+                return "";
+            }
+
+            if (method.getDeclaringClass().isInstance(obj) == false) {
+                return "The object is not an instance of declaring class";
+            }
+        }
+
+        Class<?>[] types = method.getParameterTypes();
+        int argsLength = (args == null ? 0 : args.length);
+
+        if (types.length != argsLength) {
+            return "Wrong number of arguments, expected " + types.length + " but was " + argsLength;
+        }
+
+        for (int i = 0; i < types.length; i++) {
+            if (isAssignable(types[i], args[i]) == false) {
+                return "Argument type mismatch at index " + i;
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isAssignable(Class<?> type, Object arg) {
+        if (type.isPrimitive() == false) {
+            return arg == null || type.isInstance(arg);
+        }
+
+        if (arg == null) {
+            return false;
+        }
+
+        //基础类型：拆箱后允许放宽转换（如 int -> long）
+        Class<?> argType = arg.getClass();
+
+        if (type == boolean.class) {
+            return argType == Boolean.class;
+        }
+
+        if (type == char.class) {
+            return argType == Character.class;
+        }
+
+        int argRank = rankOf(argType);
+        int typeRank = rankOf(type);
+
+        if (argRank < 0) {
+            return false;
+        }
+
+        if (argType == Character.class) {
+            //char 只能放宽到 int 及以上
+            return typeRank >= rankOf(int.class);
+        }
+
+        return argRank <= typeRank;
+    }
+
+    private static int rankOf(Class<?> type) {
+        if (type == byte.class || type == Byte.class) return 0;
+        if (type == short.class || type == Short.class) return 1;
+        if (type == char.class || type == Character.class) return 1;
+        if (type == int.class || type == Integer.class) return 2;
+        if (type == long.class || type == Long.class) return 3;
+        if (type == float.class || type == Float.class) return 4;
+        if (type == double.class || type == Double.class) return 5;
+        return -1;
+    }
+}
@@ -0,0 +1,18 @@
+package org.noear.solon.core.wrap;
+
+/**
+ * 函数调用器（用于替代 Method.invoke）
+ *
+ * @author noear
+ * @since 2.6
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+    /**
+     * 执行
+     *
+     * @param obj  目标对象（静态函数时为 null）
+     * @param args 执行参数
+     */
+    Object invoke(Object obj, Object[] args) throws Throwable;
+}
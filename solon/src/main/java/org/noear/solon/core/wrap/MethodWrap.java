@@ -35,6 +35,7 @@ public class MethodWrap implements Interceptor, MethodHolder {
         declaringClz = m.getDeclaringClass();
 
         method = m;
+        invoker = MethodHandleInvoker.isEnabled() ? MethodHandleInvoker.of(m) : null;
         parameters = buildParamsWrap(m.getParameters(), genericInfo);
         annotations = m.getAnnotations();
         interceptors = new ArrayList<>();
@@ -115,6 +116,8 @@ public class MethodWrap implements Interceptor, MethodHolder {
     private final Class<?> declaringClz;
     //函数
     private final Method method;
+    //函数调用器（为 null 时，使用反射）
+    private final MethodInvoker invoker;
     //函数参数
     private final ParamWrap[] parameters;
     //函数Body参数(用于 web)
@@ -239,6 +242,14 @@ public class MethodWrap implements Interceptor, MethodHolder {
      * @param args 执行参数
      */
     public Object invoke(Object obj, Object[] args) throws Throwable {
+        if (invoker != null) {
+            try {
+                return invoker.invoke(obj, args);
+            } catch (Throwable e) {
+                throw Utils.throwableUnwrap(e);
+            }
+        }
+
         try {
             return method.invoke(obj, args);
         } catch (InvocationTargetException e) {
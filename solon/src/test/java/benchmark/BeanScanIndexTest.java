@@ -0,0 +1,107 @@
+package benchmark;
+
+import org.noear.solon.core.AppContext;
+import org.noear.solon.core.ComponentIndex;
+import org.noear.solon.core.Props;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * beanScan 启动耗时：组件索引 vs 类扫描（合成 5000 个类，其中 10% 为组件）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class BeanScanIndexTest {
+    static final int CLASS_COUNT = 5000;
+    static final int CLASSES_PER_FILE = 100;
+
+    public static void main(String[] args) throws Exception {
+        Path root = Files.createTempDirectory("solon-scan-");
+        File classesDir = build(root);
+        System.out.println("Classes: " + classesDir);
+
+        for (int i = 0; i < 5; i++) {
+            System.out.println("scan : " + run(classesDir, false) + "ms");
+            System.out.println("index: " + run(classesDir, true) + "ms");
+        }
+    }
+
+    static long run(File classesDir, boolean useIndex) throws Exception {
+        //每次新的类加载器（冷加载）
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDir.toURI().toURL()},
+                BeanScanIndexTest.class.getClassLoader())) {
+            Props props = new Props();
+            props.put(AppContext.PROP_SCAN_INDEX, String.valueOf(useIndex));
+            AppContext context = new AppContext(classLoader, props);
+
+            long start = System.currentTimeMillis();
+            context.beanScan(classLoader, "synthetic");
+            return System.currentTimeMillis() - start;
+        }
+    }
+
+    static File build(Path root) throws Exception {
+        Path srcDir = root.resolve("src/synthetic");
+        File classesDir = root.resolve("classes").toFile();
+        Files.createDirectories(srcDir);
+        classesDir.mkdirs();
+
+        List<String> files = new ArrayList<>();
+        StringBuilder index = new StringBuilder();
+
+        for (int f = 0; f < CLASS_COUNT / CLASSES_PER_FILE; f++) {
+            StringBuilder buf = new StringBuilder();
+            buf.append("package synthetic;\n\npublic class Module").append(f).append(" {\n");
+
+            for (int c = 0; c < CLASSES_PER_FILE; c++) {
+                int n = f * CLASSES_PER_FILE + c;
+                if (n % 10 == 0) {
+                    buf.append("    @org.noear.solon.annotation.Component\n");
+                    index.append("synthetic.Module").append(f).append("$C").append(n)
+                            .append("=org.noear.solon.annotation.Component\n");
+                }
+                buf.append("    public static class C").append(n).append(" {\n")
+                        .append("        public int v").append(n).append(";\n")
+                        .append("        public String hello() { return \"").append(n).append("\"; }\n")
+                        .append("    }\n");
+            }
+
+            buf.append("}\n");
+
+            Path file = srcDir.resolve("Module" + f + ".java");
+            Files.write(file, buf.toString().getBytes(StandardCharsets.UTF_8));
+            files.add(file.toString());
+        }
+
+        List<String> compileArgs = new ArrayList<>();
+        compileArgs.add("-nowarn");
+        compileArgs.add("-cp");
+        compileArgs.add(System.getProperty("java.class.path"));
+        compileArgs.add("-d");
+        compileArgs.add(classesDir.getAbsolutePath());
+        compileArgs.addAll(files);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler.run(null, null, null, compileArgs.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Compile failed");
+        }
+
+        //索引（与构建插件生成的格式一致；带上索引戳，否则会被当作过时）
+        index.insert(0, ComponentIndex.STAMP_PREFIX + ComponentIndex.stampOf(classesDir) + "\n");
+
+        Path indexFile = classesDir.toPath().resolve(ComponentIndex.RESOURCE_NAME);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, index.toString().getBytes(StandardCharsets.UTF_8));
+
+        return classesDir;
+    }
+}
@@ -0,0 +1,103 @@
+package benchmark;
+
+import org.noear.solon.core.ChainManager;
+import org.noear.solon.core.handle.Context;
+import org.noear.solon.core.handle.ContextEmpty;
+import org.noear.solon.core.handle.Filter;
+import org.noear.solon.core.handle.FilterChainImpl;
+import org.noear.solon.core.handle.Handler;
+import org.noear.solon.core.route.PathRule;
+import org.noear.solon.core.route.RouterInterceptor;
+import org.noear.solon.core.route.RouterInterceptorChain;
+import org.noear.solon.core.route.RouterInterceptorChainImpl;
+import org.noear.solon.core.route.RouterInterceptorLimiter;
+import org.noear.solon.core.util.RankEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 请求链（10 个过滤器 + 5 个路由拦截器，其中 2 个有路径规则且不匹配）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class ChainManagerTest {
+    static long counter;
+
+    public static void main(String[] args) throws Throwable {
+        ChainManager chainManager = new ChainManager();
+        List<RankEntity<Filter>> filterList = new ArrayList<>();
+        List<RankEntity<RouterInterceptor>> interceptorList = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            RouterInterceptor interceptor;
+            if (i < 2) {
+                interceptor = new DemoInterceptor(new PathRule().include("/admin/**"));
+            } else {
+                interceptor = new DemoInterceptor(null);
+            }
+
+            chainManager.addInterceptor(interceptor, i);
+            interceptorList.add(new RankEntity<>(new RouterInterceptorLimiter(interceptor, interceptor.pathPatterns()), i));
+        }
+
+        //模拟 RouterHandler（链尾）
+        RouterInterceptor last = (ctx, mainHandler, chain) -> counter++;
+        chainManager.addInterceptor(last, Integer.MAX_VALUE);
+        interceptorList.add(new RankEntity<>(new RouterInterceptorLimiter(last, null), Integer.MAX_VALUE));
+
+        for (int i = 0; i < 10; i++) {
+            Filter filter = (ctx, chain) -> {
+                counter++;
+                chain.doFilter(ctx);
+            };
+
+            chainManager.addFilter(filter, i);
+            filterList.add(new RankEntity<>(filter, i));
+        }
+
+        //模拟 SolonApp::doFilter（链尾）
+        chainManager.addFilter((ctx, chain) -> chainManager.doIntercept(ctx, null), Integer.MAX_VALUE);
+        filterList.add(new RankEntity<>((ctx, chain) -> new RouterInterceptorChainImpl(interceptorList).doIntercept(ctx, null), Integer.MAX_VALUE));
+
+        Context ctx = new ContextEmpty();
+        ctx.pathNew("/user/info");
+
+        int count = 10_000_000;
+
+        for (int r = 0; r < 3; r++) {
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < count; i++) {
+                new FilterChainImpl(filterList).doFilter(ctx);
+            }
+            System.out.println("old: " + (System.currentTimeMillis() - start) + "ms");
+
+            start = System.currentTimeMillis();
+            for (int i = 0; i < count; i++) {
+                chainManager.doFilter(ctx);
+            }
+            System.out.println("new: " + (System.currentTimeMillis() - start) + "ms");
+        }
+
+        System.out.println(counter);
+    }
+
+    static class DemoInterceptor implements RouterInterceptor {
+        private final PathRule rule;
+
+        DemoInterceptor(PathRule rule) {
+            this.rule = rule;
+        }
+
+        @Override
+        public PathRule pathPatterns() {
+            return rule;
+        }
+
+        @Override
+        public void doIntercept(Context ctx, Handler mainHandler, RouterInterceptorChain chain) throws Throwable {
+            counter++;
+            chain.doIntercept(ctx, mainHandler);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package benchmark;
+
+import org.noear.solon.core.event.EventBus;
+import org.noear.solon.core.event.EventMetrics;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 事件推送（有大量订阅类型时）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class EventBusTest {
+    public static void main(String[] args) throws Exception {
+        LongAdder counter = new LongAdder();
+
+        //用多维数组类，模拟 600 个不同的订阅类型
+        for (Class<?> comp : new Class<?>[]{String.class, Integer.class, Long.class}) {
+            for (int d = 1; d <= 200; d++) {
+                Class<?> type = Array.newInstance(comp, new int[d]).getClass();
+                EventBus.subscribe(type, e -> counter.increment());
+            }
+        }
+
+        EventBus.subscribe(DemoEvent.class, e -> counter.increment());
+        EventBus.subscribe(DemoEvent.class, e -> counter.increment());
+
+        DemoEvent event = new DemoEvent();
+        int count = 1_000_000;
+
+        for (int r = 0; r < 3; r++) {
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < count; i++) {
+                EventBus.publish(event);
+            }
+            System.out.println("publish: " + (System.currentTimeMillis() - start) + "ms");
+        }
+
+        //异步（有界批量队列）
+        EventBus.setAsyncQueueCapacity(4096);
+        CountDownLatch latch = new CountDownLatch(count);
+        EventBus.subscribe(AsyncEvent.class, e -> latch.countDown());
+
+        AsyncEvent asyncEvent = new AsyncEvent();
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            EventBus.publishAsync(asyncEvent);
+        }
+        latch.await();
+        System.out.println("publishAsync: " + (System.currentTimeMillis() - start) + "ms");
+
+        //指标
+        EventBus.enableMetrics(true);
+        for (int i = 0; i < 1000; i++) {
+            EventBus.publish(event);
+        }
+
+        for (EventMetrics metrics : EventBus.getMetrics()) {
+            if (metrics.getCount() > 0) {
+                System.out.println(metrics);
+            }
+        }
+    }
+
+    public static class DemoEvent {
+    }
+
+    public static class AsyncEvent {
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import org.noear.solon.core.NvMap;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 忽略大小写 Map（模拟一次请求：15 个 header + 10 个 param，填充后按不同大小写读取）
+ *
+ * @author noear 2023/12/1 created
+ */
+public class IgnoreCaseMapTest {
+    static final String[] headerNames = {"Host", "Connection", "Cache-Control", "User-Agent", "Accept",
+            "Accept-Encoding", "Accept-Language", "Cookie", "Content-Type", "Content-Length",
+            "Origin", "Referer", "X-Requested-With", "X-Forwarded-For", "Authorization"};
+    static final String[] headerReads = {"content-type", "Content-Type", "CONTENT-LENGTH", "cookie", "Authorization",
+            "x-forwarded-for", "Origin", "user-agent"};
+    static final String[] paramNames = {"id", "name", "pageIndex", "pageSize", "orderBy",
+            "userId", "token", "startTime", "endTime", "type"};
+
+    public static void main(String[] args) {
+        int count = 1_000_000;
+
+        for (int r = 0; r < 3; r++) {
+            long start = System.currentTimeMillis();
+            long sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += request(new OldMap());
+            }
+            System.out.println("old: " + (System.currentTimeMillis() - start) + "ms (" + sum + ")");
+
+            start = System.currentTimeMillis();
+            sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += request(new NvMap());
+            }
+            System.out.println("new: " + (System.currentTimeMillis() - start) + "ms (" + sum + ")");
+        }
+    }
+
+    static long request(Map<String, String> map) {
+        for (String k : headerNames) {
+            map.put(k, k);
+        }
+
+        for (String k : paramNames) {
+            map.put(k, k);
+        }
+
+        long sum = 0;
+        for (String k : headerReads) {
+            sum += map.get(k).length();
+        }
+
+        for (String k : paramNames) {
+            sum += map.get(k).length();
+        }
+
+        return sum;
+    }
+
+    /**
+     * 之前的实现（LinkedHashMap + 小写键索引）
+     */
+    static class OldMap extends LinkedHashMap<String, String> {
+        private final Map<String, String> caseInsensitiveKeys = new HashMap<>();
+        private final Locale locale = Locale.getDefault();
+
+        @Override
+        public String put(String key, String value) {
+            String oldKey = caseInsensitiveKeys.put(key.toLowerCase(locale), key);
+            String oldKeyValue = null;
+            if (oldKey != null && !oldKey.equals(key)) {
+                oldKeyValue = super.remove(oldKey);
+            }
+            String oldValue = super.put(key, value);
+            return (oldKeyValue != null ? oldKeyValue : oldValue);
+        }
+
+        @Override
+        public String get(Object key) {
+            if (key instanceof String) {
+                String caseInsensitiveKey = caseInsensitiveKeys.get(((String) key).toLowerCase(locale));
+                if (caseInsensitiveKey != null) {
+                    return super.get(caseInsensitiveKey);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package benchmark;
+
+import org.noear.solon.core.wrap.MethodHandleInvoker;
+import org.noear.solon.core.wrap.MethodInvoker;
+
+import java.lang.reflect.Method;
+
+/**
+ * Method.invoke 与 MethodHandleInvoker 对比（0/3/8 个参数）
+ *
+ * @author noear 2024/2/1 created
+ */
+public class MethodInvokerTest {
+    public static void main(String[] args) throws Throwable {
+        DemoController obj = new DemoController();
+
+        Method m0 = DemoController.class.getMethod("hello0");
+        Method m3 = DemoController.class.getMethod("hello3", String.class, int.class, long.class);
+        Method m8 = DemoController.class.getMethod("hello8", String.class, int.class, long.class, String.class,
+                int.class, long.class, String.class, boolean.class);
+
+        Object[] a0 = new Object[]{};
+        Object[] a3 = new Object[]{"a", 1, 2L};
+        Object[] a8 = new Object[]{"a", 1, 2L, "b", 3, 4L, "c", true};
+
+        for (int r = 0; r < 3; r++) {
+            System.out.println("---- round " + r);
+            test("reflect 0", m0, null, obj, a0);
+            test("handle  0", m0, MethodHandleInvoker.of(m0), obj, a0);
+            test("reflect 3", m3, null, obj, a3);
+            test("handle  3", m3, MethodHandleInvoker.of(m3), obj, a3);
+            test("reflect 8", m8, null, obj, a8);
+            test("handle  8", m8, MethodHandleInvoker.of(m8), obj, a8);
+        }
+    }
+
+    private static void test(String name, Method method, MethodInvoker invoker, Object obj, Object[] args) throws Throwable {
+        int count = 10_000_000;
+        Object tmp = null;
+
+        long timeStart = System.currentTimeMillis();
+
+        if (invoker == null) {
+            for (int i = 0; i < count; i++) {
+                tmp = method.invoke(obj, args);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                tmp = invoker.invoke(obj, args);
+            }
+        }
+
+        System.out.println(name + ": " + (System.currentTimeMillis() - timeStart) + "ms (" + tmp + ")");
+    }
+
+    public static class DemoController {
+        public String hello0() {
+            return "0";
+        }
+
+        public String hello3(String a, int b, long c) {
+            return a;
+        }
+
+        public String hello8(String a, int b, long c, String d, int e, long f, String g, boolean h) {
+            return g;
+        }
+    }
+}